@@ -10,6 +10,8 @@ CREATE TABLE users (
     full_name VARCHAR(100) NOT NULL,
     is_active BOOLEAN DEFAULT TRUE,
     role ENUM('USER', 'ADMIN', 'MANAGER') DEFAULT 'USER',
+    -- Assigned issues not yet RESOLVED or CLOSED, kept in step by the issue DAO
+    active_issues_count INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -17,7 +19,8 @@ CREATE TABLE users (
     INDEX idx_users_username (username),
     INDEX idx_users_email (email),
     INDEX idx_users_active (is_active),
-    INDEX idx_users_role (role)
+    INDEX idx_users_role (role),
+    INDEX idx_users_updated_at (updated_at)
 ) ENGINE=InnoDB COMMENT='User accounts for authentication and assignment';
 
 CREATE TABLE issues (
@@ -33,8 +36,14 @@ CREATE TABLE issues (
     updated_on DATE NULL,
     unit VARCHAR(50) NOT NULL,
     category VARCHAR(50) DEFAULT 'GENERAL',
+    -- Bumped by every update; writers check it instead of locking the row
+    version INT NOT NULL DEFAULT 0,
+    -- Triage sort keys derived from priority and due_date, so the triage index can order by them
+    priority_level TINYINT GENERATED ALWAYS AS (
+        CASE priority WHEN 'CRITICAL' THEN 4 WHEN 'HIGH' THEN 3 WHEN 'MEDIUM' THEN 2 ELSE 1 END) STORED,
+    due_sort DATE GENERATED ALWAYS AS (COALESCE(due_date, DATE '9999-12-31')) STORED,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
     CONSTRAINT chk_status CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED', 'REOPENED')),
     CONSTRAINT chk_priority CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
@@ -48,12 +57,17 @@ CREATE TABLE issues (
     INDEX idx_issues_category (category),
     INDEX idx_issues_due_date (due_date),
     INDEX idx_issues_resolved_date (resolved_date),
+    INDEX idx_issues_updated_at (updated_at, issue_id),
     
     
     INDEX idx_issues_status_priority (status, priority),
     INDEX idx_issues_assignee_status (assigned_to_user_id, status),
     INDEX idx_issues_reporter_date (reported_by_user_id, reporting_date),
-    INDEX idx_issues_unit_status (unit, status)
+    INDEX idx_issues_unit_status (unit, status),
+    -- Work queue: open unassigned issues of one unit, most urgent and oldest first
+    INDEX idx_issues_claim_queue (unit, status, assigned_to_user_id, priority_level DESC, reporting_date, issue_id),
+    -- Triage: most urgent first within one unit and status, read in index order up to the LIMIT
+    INDEX idx_issues_triage (unit, status, priority_level DESC, due_sort, reporting_date)
 ) ENGINE=InnoDB COMMENT='Main issues table with full audit trail support';
 
 CREATE TABLE issue_history (
@@ -63,8 +77,9 @@ CREATE TABLE issue_history (
     action_performed VARCHAR(100) NOT NULL,
     old_value TEXT NULL,
     new_value TEXT NULL,
-    action_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    action_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     comments TEXT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
     -- Performance indexes for audit queries
     INDEX idx_history_issue_id (issue_id),
@@ -74,6 +89,24 @@ CREATE TABLE issue_history (
     INDEX idx_history_issue_date (issue_id, action_date)
 ) ENGINE=InnoDB COMMENT='Complete audit trail for issue changes';
 
+-- Periodic per-issue state snapshots so point-in-time replay only folds events after the snapshot
+CREATE TABLE issue_snapshots (
+    snapshot_id INT AUTO_INCREMENT PRIMARY KEY,
+    issue_id VARCHAR(50) NOT NULL,
+    last_history_id INT NOT NULL,
+    snapshot_date TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    assigned_to_user_id INT NULL,
+    event_count INT NOT NULL,
+    -- Kept so purged issues still count towards past backlogs
+    unit VARCHAR(50) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_snapshots_issue_history (issue_id, last_history_id),
+    INDEX idx_snapshots_issue_date (issue_id, snapshot_date),
+    INDEX idx_snapshots_date (snapshot_date)
+) ENGINE=InnoDB COMMENT='Replay snapshots of issue state derived from issue_history';
+
 -- adding for Store detailed comments and discussions on issues
 
 CREATE TABLE issue_comments (
@@ -86,15 +119,17 @@ CREATE TABLE issue_comments (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
-    -- Indexes for comment retrieval
-    INDEX idx_comments_issue_id (issue_id),
+    -- Indexes for comment retrieval; a whole thread is read in creation order from one range scan
+    INDEX idx_comments_issue_created (issue_id, created_at),
+    -- Top-level comments of an issue in creation order, for paging threads
+    INDEX idx_comments_issue_threads (issue_id, parent_comment_id, created_at, comment_id),
     INDEX idx_comments_user_id (user_id),
     INDEX idx_comments_created_at (created_at),
     INDEX idx_comments_parent (parent_comment_id)
 ) ENGINE=InnoDB COMMENT='Issue comments and discussions';
 
 
--- for  the  File attachments for issues (future enhancement)
+-- for  the  File attachments for issues
 
 CREATE TABLE issue_attachments (
     attachment_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -104,13 +139,80 @@ CREATE TABLE issue_attachments (
     file_path VARCHAR(500) NOT NULL,
     file_size BIGINT NOT NULL,
     mime_type VARCHAR(100) NOT NULL,
+    content_hash CHAR(64) NOT NULL,
     uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
     INDEX idx_attachments_issue_id (issue_id),
-    INDEX idx_attachments_user_id (user_id)
+    INDEX idx_attachments_user_id (user_id),
+    -- Identical uploads share one file on disk, keyed by SHA-256 of the content
+    INDEX idx_attachments_content_hash (content_hash)
 ) ENGINE=InnoDB COMMENT='File attachments for issues';
 
 
+-- Incremental export positions; runs read again from shortly before last_value_at and skip the
+-- rows recent_rows lists with the same hash
+CREATE TABLE export_watermarks (
+    export_name VARCHAR(50) PRIMARY KEY,
+    last_value_at TIMESTAMP NULL,
+    last_key VARCHAR(50) NULL,
+    recent_rows MEDIUMTEXT NULL,
+    last_row_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB COMMENT='High-water marks for incremental data exports';
+
+
+-- Which users work each unit; rows are deactivated rather than deleted so incremental refreshes see removals
+CREATE TABLE unit_members (
+    unit VARCHAR(50) NOT NULL,
+    user_id INT NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (unit, user_id),
+    INDEX idx_unit_members_user_id (user_id),
+    INDEX idx_unit_members_updated_at (updated_at)
+) ENGINE=InnoDB COMMENT='Unit membership used to pick assignees';
+
+
+-- Notification outbox, written in the same transaction as the issue change it describes
+CREATE TABLE notification_outbox (
+    outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    issue_id VARCHAR(50) NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(10) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP NULL,
+    last_error TEXT NULL,
+    
+    CONSTRAINT chk_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    
+    INDEX idx_outbox_due (status, next_attempt_at, outbox_id),
+    INDEX idx_outbox_issue_id (issue_id)
+) ENGINE=InnoDB COMMENT='Pending issue notifications for the batched dispatcher';
+
+
+-- Hi/lo blocks for generated issue ids; each allocation moves next_value past one block
+CREATE TABLE issue_id_sequences (
+    sequence_name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB COMMENT='Next unallocated number of each issue id sequence';
+
+
+-- Client-supplied request keys for reportAnIssue; a retried request finds its original issue here
+CREATE TABLE idempotency_keys (
+    request_key VARCHAR(64) PRIMARY KEY,
+    issue_id VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    INDEX idx_idempotency_keys_created_at (created_at)
+) ENGINE=InnoDB COMMENT='Request keys of reported issues, purged after their time-to-live';
+
+
 --  for Track user login sessions for security audit
 CREATE TABLE user_sessions (
     session_id VARCHAR(64) PRIMARY KEY,
@@ -163,6 +265,23 @@ INSERT INTO issues (issue_id, description, status, priority, unit, category, rep
 ('MTI-I-009-CSG', 'Course completion tracking inaccurate', 'CLOSED', 'MEDIUM', 'CONSIGNMENT', 'Bug', 10, 2, DATE_SUB(CURDATE(), INTERVAL 20 DAY), DATE_SUB(CURDATE(), INTERVAL 5 DAY)),
 ('MTI-I-010-CSG', 'Barcode scanner integration needed', 'OPEN', 'MEDIUM', 'CONSIGNMENT', 'Feature Request', 2, NULL, DATE_SUB(CURDATE(), INTERVAL 3 DAY), DATE_ADD(CURDATE(), INTERVAL 10 DAY));
 
+INSERT INTO unit_members (unit, user_id) VALUES
+('ADMINISTRATION', 3),
+('ADMINISTRATION', 4),
+('ADMINISTRATION', 7),
+('ADMINISTRATION', 10),
+('CONSIGNMENT', 2),
+('CONSIGNMENT', 5),
+('PAYMENT', 6),
+('PAYMENT', 8),
+('SHIPMENT', 5),
+('SHIPMENT', 9);
+
+UPDATE users u SET active_issues_count = (
+    SELECT COUNT(*) FROM issues i
+    WHERE i.assigned_to_user_id = u.user_id AND i.status NOT IN ('RESOLVED', 'CLOSED')
+);
+
 INSERT INTO issue_history (issue_id, user_id, action_performed, old_value, new_value, comments) VALUES
 ('MTI-I-001-ADM', 2, 'ISSUE_CREATED', NULL, 'OPEN', 'Login authentication system failing for multiple users'),
 ('MTI-I-001-ADM', 1, 'ISSUE_ASSIGNED', NULL, '3', 'Assigned to Jane Smith for investigation'),
@@ -202,6 +321,12 @@ INSERT INTO issue_comments (issue_id, user_id, comment_text, is_internal) VALUES
 ('MTI-I-006-PAY', 7, 'Critical issue - customers unable to complete purchases.', FALSE),
 ('MTI-I-006-PAY', 8, 'Investigating payment gateway timeout settings.', TRUE);
 
+-- Continue issue numbering after the highest number already used
+INSERT INTO issue_id_sequences (sequence_name, next_value)
+SELECT 'issue_id', COALESCE(MAX(CAST(SUBSTRING_INDEX(SUBSTRING_INDEX(issue_id, '-', -2), '-', 1) AS UNSIGNED)), 0) + 1
+FROM issues
+WHERE issue_id REGEXP '-[0-9]+-[A-Z]+$';
+
 -- Insert system settings
 INSERT INTO system_settings (setting_key, setting_value, description, is_system_setting) VALUES
 ('max_file_upload_size', '10485760', 'Maximum file upload size in bytes (10MB)', TRUE),
@@ -383,6 +508,9 @@ DELIMITER ;
 CREATE INDEX idx_issues_status_assignee_priority ON issues(status, assigned_to_user_id, priority);
 CREATE INDEX idx_issues_unit_priority_date ON issues(unit, priority, reporting_date);
 CREATE INDEX idx_issues_due_date_status ON issues(due_date, status);
+
+-- Keyword search over descriptions (MATCH ... AGAINST); replaces LIKE '%word%' scans
+CREATE FULLTEXT INDEX ft_issues_description ON issues(description);
 CREATE INDEX idx_history_user_action_date ON issue_history(user_id, action_performed, action_date);
 
 
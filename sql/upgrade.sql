@@ -0,0 +1,149 @@
+-- Brings an existing issuetrackersystem database up to the current schema.sql.
+-- Run once against a database created from an earlier schema.sql; fresh installs only need schema.sql.
+USE issuetrackersystem;
+
+-- Users: cached count of assigned issues not yet RESOLVED or CLOSED
+ALTER TABLE users
+    ADD COLUMN active_issues_count INT NOT NULL DEFAULT 0 AFTER role,
+    ADD INDEX idx_users_updated_at (updated_at);
+
+-- Keep updated_at as it is; the assignee directory polls it for profile changes
+UPDATE users u SET active_issues_count = (
+    SELECT COUNT(*) FROM issues i
+    WHERE i.assigned_to_user_id = u.user_id AND i.status NOT IN ('RESOLVED', 'CLOSED')
+), updated_at = updated_at;
+
+-- Issues: optimistic locking version, triage sort keys and the new access paths
+ALTER TABLE issues
+    ADD COLUMN version INT NOT NULL DEFAULT 0 AFTER category,
+    ADD COLUMN priority_level TINYINT GENERATED ALWAYS AS (
+        CASE priority WHEN 'CRITICAL' THEN 4 WHEN 'HIGH' THEN 3 WHEN 'MEDIUM' THEN 2 ELSE 1 END) STORED AFTER version,
+    ADD COLUMN due_sort DATE GENERATED ALWAYS AS (COALESCE(due_date, DATE '9999-12-31')) STORED AFTER priority_level;
+
+ALTER TABLE issues
+    ADD INDEX idx_issues_updated_at (updated_at, issue_id),
+    ADD INDEX idx_issues_claim_queue (unit, status, assigned_to_user_id, priority_level DESC, reporting_date, issue_id),
+    ADD INDEX idx_issues_triage (unit, status, priority_level DESC, due_sort, reporting_date);
+
+CREATE FULLTEXT INDEX ft_issues_description ON issues(description);
+
+-- Incremental exports read updated_at and action_date as plain index ranges, so neither may be NULL
+UPDATE issues SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP)
+WHERE updated_at IS NULL;
+
+ALTER TABLE issues
+    MODIFY COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+-- History: insert time, read back with every history entry
+ALTER TABLE issue_history
+    ADD COLUMN created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP AFTER comments;
+
+UPDATE issue_history SET created_at = COALESCE(action_date, CURRENT_TIMESTAMP);
+
+UPDATE issue_history SET action_date = created_at
+WHERE action_date IS NULL;
+
+ALTER TABLE issue_history
+    MODIFY COLUMN action_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TABLE issue_snapshots (
+    snapshot_id INT AUTO_INCREMENT PRIMARY KEY,
+    issue_id VARCHAR(50) NOT NULL,
+    last_history_id INT NOT NULL,
+    snapshot_date TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    assigned_to_user_id INT NULL,
+    event_count INT NOT NULL,
+    unit VARCHAR(50) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    UNIQUE KEY uk_snapshots_issue_history (issue_id, last_history_id),
+    INDEX idx_snapshots_issue_date (issue_id, snapshot_date),
+    INDEX idx_snapshots_date (snapshot_date)
+) ENGINE=InnoDB COMMENT='Replay snapshots of issue state derived from issue_history';
+
+-- Comments: threads are read by issue in creation order
+ALTER TABLE issue_comments
+    ADD INDEX idx_comments_issue_created (issue_id, created_at),
+    ADD INDEX idx_comments_issue_threads (issue_id, parent_comment_id, created_at, comment_id);
+
+ALTER TABLE issue_comments
+    DROP INDEX idx_comments_issue_id;
+
+-- Attachments: content hash for shared storage. Existing files are not rehashed; each old row gets
+-- a key of its own, so it never matches a new upload and its file is removed with the row.
+ALTER TABLE issue_attachments
+    ADD COLUMN content_hash CHAR(64) NULL AFTER mime_type;
+
+UPDATE issue_attachments SET content_hash = SHA2(CONCAT('legacy:', attachment_id), 256)
+WHERE content_hash IS NULL;
+
+ALTER TABLE issue_attachments
+    MODIFY COLUMN content_hash CHAR(64) NOT NULL,
+    ADD INDEX idx_attachments_content_hash (content_hash);
+
+CREATE TABLE export_watermarks (
+    export_name VARCHAR(50) PRIMARY KEY,
+    last_value_at TIMESTAMP NULL,
+    last_key VARCHAR(50) NULL,
+    recent_rows MEDIUMTEXT NULL,
+    last_row_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB COMMENT='High-water marks for incremental data exports';
+
+CREATE TABLE unit_members (
+    unit VARCHAR(50) NOT NULL,
+    user_id INT NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (unit, user_id),
+    INDEX idx_unit_members_user_id (user_id),
+    INDEX idx_unit_members_updated_at (updated_at)
+) ENGINE=InnoDB COMMENT='Unit membership used to pick assignees';
+
+-- Start membership from who already works each unit's issues; adjust by hand afterwards
+INSERT IGNORE INTO unit_members (unit, user_id)
+SELECT DISTINCT i.unit, i.assigned_to_user_id
+FROM issues i
+JOIN users u ON u.user_id = i.assigned_to_user_id AND u.is_active = TRUE
+WHERE i.assigned_to_user_id IS NOT NULL;
+
+CREATE TABLE notification_outbox (
+    outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    issue_id VARCHAR(50) NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(10) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP NULL,
+    last_error TEXT NULL,
+
+    CONSTRAINT chk_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+
+    INDEX idx_outbox_due (status, next_attempt_at, outbox_id),
+    INDEX idx_outbox_issue_id (issue_id)
+) ENGINE=InnoDB COMMENT='Pending issue notifications for the batched dispatcher';
+
+CREATE TABLE issue_id_sequences (
+    sequence_name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB COMMENT='Next unallocated number of each issue id sequence';
+
+-- Continue issue numbering after the highest number already used
+INSERT INTO issue_id_sequences (sequence_name, next_value)
+SELECT 'issue_id', COALESCE(MAX(CAST(SUBSTRING_INDEX(SUBSTRING_INDEX(issue_id, '-', -2), '-', 1) AS UNSIGNED)), 0) + 1
+FROM issues
+WHERE issue_id REGEXP '-[0-9]+-[A-Z]+$';
+
+CREATE TABLE idempotency_keys (
+    request_key VARCHAR(64) PRIMARY KEY,
+    issue_id VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    INDEX idx_idempotency_keys_created_at (created_at)
+) ENGINE=InnoDB COMMENT='Request keys of reported issues, purged after their time-to-live';
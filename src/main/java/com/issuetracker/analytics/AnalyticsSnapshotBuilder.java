@@ -0,0 +1,59 @@
+package com.issuetracker.analytics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.dao.IssueHistoryDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.IssueReport;
+
+/**
+ * Dumps the issues table and the audit trail into a columnar snapshot.
+ * History is read in keyset pages so the audit trail is never held in
+ * memory as objects all at once.
+ */
+public class AnalyticsSnapshotBuilder {
+
+    private static final int HISTORY_PAGE_SIZE = 5000;
+
+    private final IssueDAO issueDAO;
+    private final IssueHistoryDAO issueHistoryDAO;
+
+    public AnalyticsSnapshotBuilder(IssueDAO issueDAO, IssueHistoryDAO issueHistoryDAO) {
+        this.issueDAO = issueDAO;
+        this.issueHistoryDAO = issueHistoryDAO;
+    }
+
+    /**
+     * Build a snapshot file from the current database contents
+     * @return Writer used, for its row counts
+     */
+    public ColumnarSnapshotWriter build(Path target) throws IssueTrackerException {
+        ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter();
+
+        for (IssueReport issue : issueDAO.showIssues(Collections.emptyMap())) {
+            writer.addIssue(issue);
+        }
+
+        int afterHistoryId = 0;
+        List<IssueHistory> page;
+        do {
+            page = issueHistoryDAO.findHistoryPage(afterHistoryId, HISTORY_PAGE_SIZE);
+            for (IssueHistory history : page) {
+                writer.addHistory(history);
+                afterHistoryId = history.getHistoryId();
+            }
+        } while (page.size() == HISTORY_PAGE_SIZE);
+
+        try {
+            writer.write(target);
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error writing analytics snapshot: " + e.getMessage());
+        }
+        return writer;
+    }
+}
\ No newline at end of file
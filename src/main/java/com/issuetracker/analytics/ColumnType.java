@@ -0,0 +1,34 @@
+package com.issuetracker.analytics;
+
+/**
+ * Physical encodings used in a columnar snapshot file
+ */
+public enum ColumnType {
+    /** Fixed 4-byte ints, Integer.MIN_VALUE for null */
+    INT32(1),
+    /** Distinct values stored once; rows hold 1, 2 or 4 byte codes, 0 for null */
+    DICTIONARY(2),
+    /** Zigzag varint deltas between consecutive longs with a null bitmap */
+    DELTA_VARINT(3),
+    /** UTF-8 bytes addressed by an int offset table */
+    STRING(4);
+
+    private final byte code;
+
+    ColumnType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static ColumnType fromCode(byte code) {
+        for (ColumnType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column type " + code);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,474 @@
+package com.issuetracker.analytics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only, memory-mapped view of a file written by
+ * {@link ColumnarSnapshotWriter}.
+ *
+ * Fixed-width columns are read straight from the mapping. Delta-encoded
+ * columns are decoded into a long[] on first use and cached, since they can
+ * only be read front to back. Safe for concurrent readers.
+ */
+public final class ColumnarSnapshot {
+
+    /** Null marker in decoded long columns */
+    public static final long NULL = Long.MIN_VALUE;
+
+    public static final String ISSUE_ID = "issues.issue_id";
+    public static final String ISSUE_STATUS = "issues.status";
+    public static final String ISSUE_PRIORITY = "issues.priority";
+    public static final String ISSUE_UNIT = "issues.unit";
+    public static final String ISSUE_ASSIGNEE = "issues.assignee_email";
+    public static final String ISSUE_REPORTER = "issues.reporter_email";
+    /** Epoch day */
+    public static final String ISSUE_REPORTING_DATE = "issues.reporting_date";
+    /** Epoch day */
+    public static final String ISSUE_RESOLVED_DATE = "issues.resolved_date";
+    /** Epoch day */
+    public static final String ISSUE_UPDATED_ON = "issues.updated_on";
+
+    public static final String HISTORY_ID = "history.history_id";
+    /** Row of the issue in the issue columns, -1 if it was not in the snapshot */
+    public static final String HISTORY_ISSUE_ROW = "history.issue_row";
+    public static final String HISTORY_USER_ID = "history.user_id";
+    public static final String HISTORY_ACTION = "history.action_performed";
+    /** Epoch second, action_date read as UTC */
+    public static final String HISTORY_ACTION_TIME = "history.action_time";
+
+    private static final int DENSE_GROUP_LIMIT = 1 << 20;
+
+    private final MappedByteBuffer buffer;
+    private final long createdAtMillis;
+    private final int issueCount;
+    private final int historyCount;
+    private final Map<String, ColumnInfo> columns;
+    private final Map<String, long[]> decodedLongs = new ConcurrentHashMap<>();
+    private final Map<String, DictionaryColumn> dictionaries = new ConcurrentHashMap<>();
+    private final Map<String, IntColumn> ints = new ConcurrentHashMap<>();
+
+    private ColumnarSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        ByteBuffer header = buffer.duplicate();
+        if (header.getInt() != ColumnarSnapshotWriter.MAGIC) {
+            throw new IOException("Not a columnar snapshot file");
+        }
+        int version = header.getInt();
+        if (version != ColumnarSnapshotWriter.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        createdAtMillis = header.getLong();
+        issueCount = header.getInt();
+        historyCount = header.getInt();
+
+        int columnCount = header.getInt();
+        Map<String, ColumnInfo> directory = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            byte[] name = new byte[header.getShort() & 0xFFFF];
+            header.get(name);
+            ColumnType type = ColumnType.fromCode(header.get());
+            long offset = header.getLong();
+            long length = header.getLong();
+            directory.put(new String(name, StandardCharsets.UTF_8), new ColumnInfo(type, (int) offset, (int) length));
+        }
+        columns = Collections.unmodifiableMap(directory);
+    }
+
+    /**
+     * Map a snapshot file; files over 2 GB are not supported
+     */
+    public static ColumnarSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            return new ColumnarSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    public int getHistoryCount() {
+        return historyCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.ofEpochSecond(createdAtMillis / 1000, 0, ZoneOffset.UTC);
+    }
+
+    public Map<String, ColumnType> getColumns() {
+        Map<String, ColumnType> types = new LinkedHashMap<>();
+        columns.forEach((name, info) -> types.put(name, info.type));
+        return types;
+    }
+
+    private ColumnInfo column(String name, ColumnType expected) {
+        ColumnInfo info = columns.get(name);
+        if (info == null) {
+            throw new IllegalArgumentException("No column " + name);
+        }
+        if (info.type != expected) {
+            throw new IllegalArgumentException("Column " + name + " is " + info.type + ", not " + expected);
+        }
+        return info;
+    }
+
+    public IntColumn intColumn(String name) {
+        return ints.computeIfAbsent(name, key -> {
+            ColumnInfo info = column(key, ColumnType.INT32);
+            return new IntColumn(buffer, info.offset, info.length / 4);
+        });
+    }
+
+    public DictionaryColumn dictionaryColumn(String name) {
+        return dictionaries.computeIfAbsent(name, key -> {
+            ColumnInfo info = column(key, ColumnType.DICTIONARY);
+            return new DictionaryColumn(buffer, info.offset);
+        });
+    }
+
+    public StringColumn stringColumn(String name) {
+        ColumnInfo info = column(name, ColumnType.STRING);
+        return new StringColumn(buffer, info.offset);
+    }
+
+    /**
+     * Decoded values of a delta-encoded column, {@link #NULL} for nulls.
+     * The array is shared and must not be modified.
+     */
+    public long[] longColumn(String name) {
+        return decodedLongs.computeIfAbsent(name, key -> decodeLongs(column(key, ColumnType.DELTA_VARINT)));
+    }
+
+    private long[] decodeLongs(ColumnInfo info) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(info.offset);
+        int size = in.getInt();
+        int nullCount = in.getInt();
+
+        int bitmapStart = in.position();
+        if (nullCount > 0) {
+            in.position(bitmapStart + (size + 7) / 8);
+        }
+
+        long[] values = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get();
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+
+        if (nullCount > 0) {
+            for (int i = 0; i < size; i++) {
+                if ((buffer.get(bitmapStart + (i >>> 3)) & (1 << (i & 7))) != 0) {
+                    values[i] = NULL;
+                }
+            }
+        }
+        return values;
+    }
+
+    // Aggregates over the mapped columns
+
+    /**
+     * Equivalent of SELECT column, COUNT(*) ... GROUP BY column
+     */
+    public Map<String, Integer> countBy(String dictionaryColumn) {
+        DictionaryColumn column = dictionaryColumn(dictionaryColumn);
+        int[] counts = column.histogram();
+
+        Map<String, Integer> result = new TreeMap<>();
+        for (int code = 1; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(column.valueOf(code), counts[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Equivalent of SELECT outer, inner, COUNT(*) ... GROUP BY outer, inner
+     */
+    public Map<String, Map<String, Integer>> countBy(String outerColumn, String innerColumn) {
+        DictionaryColumn outer = dictionaryColumn(outerColumn);
+        DictionaryColumn inner = dictionaryColumn(innerColumn);
+        int stride = inner.cardinality() + 1;
+        int[] counts = new int[(outer.cardinality() + 1) * stride];
+
+        int rows = outer.size();
+        for (int row = 0; row < rows; row++) {
+            counts[outer.code(row) * stride + inner.code(row)]++;
+        }
+
+        Map<String, Map<String, Integer>> result = new TreeMap<>();
+        for (int o = 1; o <= outer.cardinality(); o++) {
+            for (int i = 1; i <= inner.cardinality(); i++) {
+                int count = counts[o * stride + i];
+                if (count > 0) {
+                    result.computeIfAbsent(outer.valueOf(o), key -> new TreeMap<>()).put(inner.valueOf(i), count);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Average of (to - from) per group over rows where both are set, e.g.
+     * days to resolve by unit
+     */
+    public Map<String, Double> averageDifferenceBy(String groupColumn, String fromColumn, String toColumn) {
+        DictionaryColumn group = dictionaryColumn(groupColumn);
+        long[] from = longColumn(fromColumn);
+        long[] to = longColumn(toColumn);
+
+        long[] sums = new long[group.cardinality() + 1];
+        int[] counts = new int[group.cardinality() + 1];
+        for (int row = 0; row < from.length; row++) {
+            if (from[row] != NULL && to[row] != NULL) {
+                int code = group.code(row);
+                sums[code] += to[row] - from[row];
+                counts[code]++;
+            }
+        }
+
+        Map<String, Double> result = new TreeMap<>();
+        for (int code = 1; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(group.valueOf(code), (double) sums[code] / counts[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Equivalent of SELECT user_id, COUNT(*) FROM issue_history
+     * WHERE action_date BETWEEN from AND to GROUP BY user_id
+     */
+    public Map<Integer, Integer> countHistoryByUser(LocalDateTime from, LocalDateTime to) {
+        long start = from.toEpochSecond(ZoneOffset.UTC);
+        long end = to.toEpochSecond(ZoneOffset.UTC);
+        long[] times = longColumn(HISTORY_ACTION_TIME);
+        IntColumn users = intColumn(HISTORY_USER_ID);
+
+        // User ids are small and dense, so count into an array rather than boxing per row
+        int[] range = users.range();
+        // An empty column reports {MAX_VALUE, MIN_VALUE}
+        if (times.length == 0 || range[1] < range[0]) {
+            return new TreeMap<>();
+        }
+        if (range[0] < 0 || range[1] >= DENSE_GROUP_LIMIT) {
+            Map<Integer, Integer> result = new TreeMap<>();
+            for (int row = 0; row < times.length; row++) {
+                long time = times[row];
+                if (time != NULL && time >= start && time <= end) {
+                    result.merge(users.get(row), 1, Integer::sum);
+                }
+            }
+            return result;
+        }
+
+        int[] counts = new int[range[1] + 1];
+        for (int row = 0; row < times.length; row++) {
+            long time = times[row];
+            if (time != NULL && time >= start && time <= end) {
+                counts[users.get(row)]++;
+            }
+        }
+
+        Map<Integer, Integer> result = new TreeMap<>();
+        for (int userId = 0; userId < counts.length; userId++) {
+            if (counts[userId] > 0) {
+                result.put(userId, counts[userId]);
+            }
+        }
+        return result;
+    }
+
+    private static final class ColumnInfo {
+        final ColumnType type;
+        final int offset;
+        final int length;
+
+        ColumnInfo(ColumnType type, int offset, int length) {
+            this.type = type;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    public static final class IntColumn {
+        private final ByteBuffer buffer;
+        private final int base;
+        private final int size;
+
+        IntColumn(ByteBuffer buffer, int base, int size) {
+            this.buffer = buffer;
+            this.base = base;
+            this.size = size;
+        }
+
+        private volatile int[] range;
+
+        public int get(int row) {
+            return buffer.getInt(base + (row << 2));
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Smallest and largest value, computed on first use
+         */
+        public int[] range() {
+            int[] result = range;
+            if (result == null) {
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int row = 0; row < size; row++) {
+                    int value = get(row);
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                result = new int[] {min, max};
+                range = result;
+            }
+            return result.clone();
+        }
+    }
+
+    public static final class DictionaryColumn {
+        private final ByteBuffer buffer;
+        private final String[] dictionary;
+        private final int width;
+        private final int base;
+        private final int size;
+
+        DictionaryColumn(ByteBuffer source, int offset) {
+            ByteBuffer in = source.duplicate();
+            in.position(offset);
+            size = in.getInt();
+            int cardinality = in.getInt();
+            width = in.get();
+
+            dictionary = new String[cardinality + 1];
+            for (int i = 1; i <= cardinality; i++) {
+                byte[] value = new byte[in.getShort() & 0xFFFF];
+                in.get(value);
+                dictionary[i] = new String(value, StandardCharsets.UTF_8);
+            }
+            base = in.position();
+            buffer = source;
+        }
+
+        /**
+         * Dictionary code of a row, 0 for null
+         */
+        public int code(int row) {
+            switch (width) {
+                case 1: return buffer.get(base + row) & 0xFF;
+                case 2: return buffer.getShort(base + (row << 1)) & 0xFFFF;
+                default: return buffer.getInt(base + (row << 2));
+            }
+        }
+
+        public String get(int row) {
+            return dictionary[code(row)];
+        }
+
+        public String valueOf(int code) {
+            return dictionary[code];
+        }
+
+        /**
+         * Code of a value, 0 if it never occurs
+         */
+        public int codeOf(String value) {
+            for (int code = 1; code < dictionary.length; code++) {
+                if (dictionary[code].equals(value)) {
+                    return code;
+                }
+            }
+            return 0;
+        }
+
+        public int cardinality() {
+            return dictionary.length - 1;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Row count per code in one pass over the codes
+         */
+        public int[] histogram() {
+            int[] counts = new int[dictionary.length];
+            if (width == 1) {
+                for (int row = 0; row < size; row++) {
+                    counts[buffer.get(base + row) & 0xFF]++;
+                }
+            } else {
+                for (int row = 0; row < size; row++) {
+                    counts[code(row)]++;
+                }
+            }
+            return counts;
+        }
+    }
+
+    public static final class StringColumn {
+        private final ByteBuffer buffer;
+        private final int offsetsBase;
+        private final int dataBase;
+        private final int size;
+
+        StringColumn(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.size = buffer.getInt(offset);
+            this.offsetsBase = offset + 4;
+            this.dataBase = offsetsBase + (size + 1) * 4;
+        }
+
+        public String get(int row) {
+            int start = buffer.getInt(offsetsBase + (row << 2));
+            int end = buffer.getInt(offsetsBase + ((row + 1) << 2));
+            byte[] bytes = new byte[end - start];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(dataBase + start);
+            slice.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,329 @@
+package com.issuetracker.analytics;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.IssueReport;
+
+/**
+ * Builds a columnar snapshot file from issue and history rows.
+ *
+ * Rows are decomposed into primitive column builders as they are added, so
+ * the writer never holds the model objects. Issues must be added before the
+ * history that refers to them; history rows link to their issue by row
+ * number. Not thread-safe.
+ */
+public class ColumnarSnapshotWriter {
+
+    static final int MAGIC = 0x49544353; // "ITCS"
+    static final int VERSION = 1;
+
+    private final StringColumnBuilder issueIds = new StringColumnBuilder();
+    private final DictionaryBuilder issueStatus = new DictionaryBuilder();
+    private final DictionaryBuilder issuePriority = new DictionaryBuilder();
+    private final DictionaryBuilder issueUnit = new DictionaryBuilder();
+    private final DictionaryBuilder issueAssignee = new DictionaryBuilder();
+    private final DictionaryBuilder issueReporter = new DictionaryBuilder();
+    private final LongColumnBuilder issueReportingDate = new LongColumnBuilder();
+    private final LongColumnBuilder issueResolvedDate = new LongColumnBuilder();
+    private final LongColumnBuilder issueUpdatedOn = new LongColumnBuilder();
+    private final Map<String, Integer> issueRows = new HashMap<>();
+
+    private final IntColumnBuilder historyIds = new IntColumnBuilder();
+    private final IntColumnBuilder historyIssueRows = new IntColumnBuilder();
+    private final IntColumnBuilder historyUserIds = new IntColumnBuilder();
+    private final DictionaryBuilder historyAction = new DictionaryBuilder();
+    private final LongColumnBuilder historyActionTime = new LongColumnBuilder();
+
+    private int issueCount;
+    private int historyCount;
+
+    public void addIssue(IssueReport issue) {
+        issueRows.put(issue.getIssueId(), issueCount);
+        issueIds.add(issue.getIssueId());
+        issueStatus.add(issue.getStatus() != null ? issue.getStatus().name() : null);
+        issuePriority.add(issue.getPriority() != null ? issue.getPriority().name() : null);
+        issueUnit.add(issue.getUnit() != null ? issue.getUnit().name() : null);
+        issueAssignee.add(issue.getAssigneeEmail());
+        issueReporter.add(issue.getReporterEmail());
+        issueReportingDate.add(epochDay(issue.getReportingDate()));
+        issueResolvedDate.add(epochDay(issue.getClosingDate()));
+        issueUpdatedOn.add(epochDay(issue.getUpdatedOn()));
+        issueCount++;
+    }
+
+    public void addHistory(IssueHistory history) {
+        historyIds.add(history.getHistoryId());
+        historyIssueRows.add(issueRows.getOrDefault(history.getIssueId(), -1));
+        historyUserIds.add(history.getUserId());
+        historyAction.add(history.getActionPerformed());
+        historyActionTime.add(history.getActionDate() != null
+            ? history.getActionDate().toEpochSecond(ZoneOffset.UTC) : ColumnarSnapshot.NULL);
+        historyCount++;
+    }
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    public int getHistoryCount() {
+        return historyCount;
+    }
+
+    private static long epochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : ColumnarSnapshot.NULL;
+    }
+
+    /**
+     * Write the snapshot to a temporary file and move it over the target
+     * @return Size of the written file in bytes
+     */
+    public long write(Path target) throws IOException {
+        Map<String, Section> sections = new LinkedHashMap<>();
+        sections.put(ColumnarSnapshot.ISSUE_ID, issueIds.encode());
+        sections.put(ColumnarSnapshot.ISSUE_STATUS, issueStatus.encode());
+        sections.put(ColumnarSnapshot.ISSUE_PRIORITY, issuePriority.encode());
+        sections.put(ColumnarSnapshot.ISSUE_UNIT, issueUnit.encode());
+        sections.put(ColumnarSnapshot.ISSUE_ASSIGNEE, issueAssignee.encode());
+        sections.put(ColumnarSnapshot.ISSUE_REPORTER, issueReporter.encode());
+        sections.put(ColumnarSnapshot.ISSUE_REPORTING_DATE, issueReportingDate.encode());
+        sections.put(ColumnarSnapshot.ISSUE_RESOLVED_DATE, issueResolvedDate.encode());
+        sections.put(ColumnarSnapshot.ISSUE_UPDATED_ON, issueUpdatedOn.encode());
+        sections.put(ColumnarSnapshot.HISTORY_ID, historyIds.encode());
+        sections.put(ColumnarSnapshot.HISTORY_ISSUE_ROW, historyIssueRows.encode());
+        sections.put(ColumnarSnapshot.HISTORY_USER_ID, historyUserIds.encode());
+        sections.put(ColumnarSnapshot.HISTORY_ACTION, historyAction.encode());
+        sections.put(ColumnarSnapshot.HISTORY_ACTION_TIME, historyActionTime.encode());
+
+        long headerSize = 4 + 4 + 8 + 4 + 4 + 4;
+        for (String name : sections.keySet()) {
+            headerSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 1 + 8 + 8;
+        }
+
+        // Sections start on 8-byte boundaries
+        List<Long> offsets = new ArrayList<>();
+        long offset = align(headerSize);
+        for (Section section : sections.values()) {
+            offsets.add(offset);
+            offset = align(offset + section.bytes.length);
+        }
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(issueCount);
+                out.writeInt(historyCount);
+                out.writeInt(sections.size());
+
+                int index = 0;
+                for (Map.Entry<String, Section> entry : sections.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeByte(entry.getValue().type.getCode());
+                    out.writeLong(offsets.get(index++));
+                    out.writeLong(entry.getValue().bytes.length);
+                }
+
+                long position = headerSize;
+                index = 0;
+                for (Section section : sections.values()) {
+                    long start = offsets.get(index++);
+                    while (position < start) {
+                        out.writeByte(0);
+                        position++;
+                    }
+                    out.write(section.bytes);
+                    position += section.bytes.length;
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            return Files.size(target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static final class Section {
+        final ColumnType type;
+        final byte[] bytes;
+
+        Section(ColumnType type, byte[] bytes) {
+            this.type = type;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class IntColumnBuilder {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        Section encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 4);
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(values[i]);
+            }
+            return new Section(ColumnType.INT32, bytes.toByteArray());
+        }
+    }
+
+    private static final class LongColumnBuilder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        Section encode() throws IOException {
+            int nullCount = 0;
+            for (int i = 0; i < size; i++) {
+                if (values[i] == ColumnarSnapshot.NULL) {
+                    nullCount++;
+                }
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 2 + 16);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(size);
+            out.writeInt(nullCount);
+            if (nullCount > 0) {
+                byte[] bitmap = new byte[(size + 7) / 8];
+                for (int i = 0; i < size; i++) {
+                    if (values[i] == ColumnarSnapshot.NULL) {
+                        bitmap[i >>> 3] |= 1 << (i & 7);
+                    }
+                }
+                out.write(bitmap);
+            }
+
+            // Null rows repeat the previous value so they cost one byte
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                long value = values[i] == ColumnarSnapshot.NULL ? previous : values[i];
+                long delta = value - previous;
+                writeVarLong(out, (delta << 1) ^ (delta >> 63));
+                previous = value;
+            }
+            return new Section(ColumnType.DELTA_VARINT, bytes.toByteArray());
+        }
+
+        private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    private static final class DictionaryBuilder {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final IntColumnBuilder rows = new IntColumnBuilder();
+
+        void add(String value) {
+            if (value == null) {
+                rows.add(0);
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                dictionary.add(value);
+                code = dictionary.size();
+                codes.put(value, code);
+            }
+            rows.add(code);
+        }
+
+        Section encode() throws IOException {
+            int width = dictionary.size() < 0xFF ? 1 : dictionary.size() < 0xFFFF ? 2 : 4;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size * width + 64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(rows.size);
+            out.writeInt(dictionary.size());
+            out.writeByte(width);
+            for (String value : dictionary) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(utf8.length);
+                out.write(utf8);
+            }
+            for (int i = 0; i < rows.size; i++) {
+                int code = rows.values[i];
+                if (width == 1) {
+                    out.writeByte(code);
+                } else if (width == 2) {
+                    out.writeShort(code);
+                } else {
+                    out.writeInt(code);
+                }
+            }
+            return new Section(ColumnType.DICTIONARY, bytes.toByteArray());
+        }
+    }
+
+    private static final class StringColumnBuilder {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private final IntColumnBuilder offsets = new IntColumnBuilder();
+
+        StringColumnBuilder() {
+            offsets.add(0);
+        }
+
+        void add(String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                data.write(bytes, 0, bytes.length);
+            }
+            offsets.add(data.size());
+        }
+
+        Section encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(offsets.size * 4 + data.size() + 4);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(offsets.size - 1);
+            for (int i = 0; i < offsets.size; i++) {
+                out.writeInt(offsets.values[i]);
+            }
+            data.writeTo(out);
+            return new Section(ColumnType.STRING, bytes.toByteArray());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.issuetracker.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.issuetracker.analytics.AnalyticsSnapshotBuilder;
+import com.issuetracker.analytics.ColumnarSnapshot;
+import com.issuetracker.analytics.ColumnarSnapshotWriter;
+import com.issuetracker.dao.IssueDAOJdbcImpl;
+import com.issuetracker.dao.IssueHistoryDAOImpl;
+import com.issuetracker.util.DatabaseUtil;
+
+/**
+ * Times the analytics aggregates against the configured database and
+ * against a columnar snapshot built from it. Meant for MySQL; an embedded
+ * database that caches repeated query results will flatter the SQL side.
+ *
+ * Usage: ColumnarSnapshotBenchmark [snapshot-file] [iterations]
+ */
+public class ColumnarSnapshotBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Paths.get(args.length > 0 ? args[0] : "target/analytics.snapshot");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        long started = System.nanoTime();
+        ColumnarSnapshotWriter writer = new AnalyticsSnapshotBuilder(new IssueDAOJdbcImpl(), new IssueHistoryDAOImpl())
+            .build(file);
+        System.out.printf("Snapshot: %d issues, %d history rows, %d bytes, built in %d ms%n",
+            writer.getIssueCount(), writer.getHistoryCount(), Files.size(file),
+            (System.nanoTime() - started) / 1_000_000);
+
+        ColumnarSnapshot snapshot = ColumnarSnapshot.open(file);
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(30);
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            compare("count by status", iterations,
+                sql(conn, "SELECT status, COUNT(*) FROM issues GROUP BY status"),
+                () -> snapshot.countBy(ColumnarSnapshot.ISSUE_STATUS));
+
+            compare("count by unit, status", iterations,
+                sql(conn, "SELECT unit, status, COUNT(*) FROM issues GROUP BY unit, status"),
+                () -> snapshot.countBy(ColumnarSnapshot.ISSUE_UNIT, ColumnarSnapshot.ISSUE_STATUS));
+
+            compare("avg days to resolve by unit", iterations,
+                sql(conn, "SELECT unit, AVG(DATEDIFF(resolved_date, reporting_date)) FROM issues "
+                    + "WHERE resolved_date IS NOT NULL GROUP BY unit"),
+                () -> snapshot.averageDifferenceBy(ColumnarSnapshot.ISSUE_UNIT,
+                    ColumnarSnapshot.ISSUE_REPORTING_DATE, ColumnarSnapshot.ISSUE_RESOLVED_DATE));
+
+            compare("history by user, last 30 days", iterations,
+                sql(conn, "SELECT user_id, COUNT(*) FROM issue_history WHERE action_date BETWEEN ? AND ? "
+                    + "GROUP BY user_id", Timestamp.valueOf(from), Timestamp.valueOf(to)),
+                () -> snapshot.countHistoryByUser(from, to));
+        }
+    }
+
+    private static Supplier<Object> sql(Connection conn, String query, Object... parameters) {
+        return () -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    pstmt.setObject(i + 1, parameters[i]);
+                }
+                Map<String, Object> rows = new HashMap<>();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    int columns = rs.getMetaData().getColumnCount();
+                    while (rs.next()) {
+                        StringBuilder key = new StringBuilder();
+                        for (int i = 1; i < columns; i++) {
+                            key.append(rs.getString(i)).append('|');
+                        }
+                        rows.put(key.toString(), rs.getObject(columns));
+                    }
+                }
+                return rows;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        };
+    }
+
+    private static void compare(String name, int iterations, Supplier<Object> sql, Supplier<Object> snapshot) {
+        try {
+            double sqlMicros = time(sql, iterations);
+            double snapshotMicros = time(snapshot, iterations);
+            System.out.printf("%-32s sql %10.1f us   snapshot %10.1f us   x%.1f%n",
+                name, sqlMicros, snapshotMicros, sqlMicros / snapshotMicros);
+        } catch (IllegalStateException e) {
+            System.out.printf("%-32s skipped: %s%n", name, e.getMessage());
+        }
+    }
+
+    private static double time(Supplier<Object> query, int iterations) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = query.get();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = query.get();
+        }
+        long elapsed = System.nanoTime() - started;
+
+        if (sink == null) {
+            throw new IllegalStateException("no result");
+        }
+        return elapsed / 1000.0 / iterations;
+    }
+}
\ No newline at end of file
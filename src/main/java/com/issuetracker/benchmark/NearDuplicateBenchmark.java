@@ -0,0 +1,186 @@
+package com.issuetracker.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.issuetracker.service.DuplicateDetector;
+import com.issuetracker.util.MinHashIndex;
+
+/**
+ * Measures the recall and latency of the MinHash/LSH duplicate check over
+ * generated descriptions. Half the queries are light edits of an indexed
+ * description (a word replaced, dropped or added, or a typo), half are new.
+ * Recall and precision are against the exact Jaccard similarity of the
+ * shingle sets at the detector's threshold; latency is compared with a linear
+ * scan over every signature. Needs no database.
+ *
+ * Usage: NearDuplicateBenchmark [open-issues] [queries]
+ */
+public class NearDuplicateBenchmark {
+
+    private static final int VOCABULARY_SIZE = 800;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        double threshold = DuplicateDetector.DEFAULT_THRESHOLD;
+
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random);
+        List<String> descriptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            descriptions.add(sentence(random, vocabulary, 6 + random.nextInt(10)));
+        }
+        List<String> queries = new ArrayList<>(queryCount);
+        for (int i = 0; i < queryCount; i++) {
+            queries.add(i % 2 == 0
+                ? edit(random, vocabulary, descriptions.get(random.nextInt(count)))
+                : sentence(random, vocabulary, 6 + random.nextInt(10)));
+        }
+
+        long started = System.nanoTime();
+        MinHashIndex index = new MinHashIndex();
+        for (int i = 0; i < count; i++) {
+            index.put(key(i), descriptions.get(i));
+        }
+        System.out.printf("Indexed %d descriptions in %d ms, %d KB%n", count,
+            (System.nanoTime() - started) / 1_000_000, index.memoryBytes() / 1024);
+
+        // Ground truth from exact shingle sets
+        long[][] shingles = new long[count][];
+        for (int i = 0; i < count; i++) {
+            shingles[i] = MinHashIndex.shingleHashes(descriptions.get(i));
+        }
+        List<Set<String>> truth = new ArrayList<>(queryCount);
+        started = System.nanoTime();
+        for (String query : queries) {
+            long[] queryShingles = MinHashIndex.shingleHashes(query);
+            Set<String> similar = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                if (MinHashIndex.jaccard(queryShingles, shingles[i]) >= threshold) {
+                    similar.add(key(i));
+                }
+            }
+            truth.add(similar);
+        }
+        long exactNanos = System.nanoTime() - started;
+
+        // LSH lookups
+        List<List<MinHashIndex.Match>> found = new ArrayList<>(queryCount);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String query : queries) {
+                index.findSimilar(query, threshold, Integer.MAX_VALUE);
+            }
+        }
+        started = System.nanoTime();
+        for (String query : queries) {
+            found.add(index.findSimilar(query, threshold, Integer.MAX_VALUE));
+        }
+        long lshNanos = System.nanoTime() - started;
+
+        // Linear scan over the same signatures, to isolate what the banding saves
+        int[][] signatures = new int[count][];
+        for (int i = 0; i < count; i++) {
+            signatures[i] = index.signature(descriptions.get(i));
+        }
+        int scanned = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            scanned += scan(index, signatures, queries, threshold);
+        }
+        started = System.nanoTime();
+        scanned += scan(index, signatures, queries, threshold);
+        long scanNanos = System.nanoTime() - started;
+
+        long relevant = 0;
+        long retrieved = 0;
+        long hits = 0;
+        for (int q = 0; q < queryCount; q++) {
+            relevant += truth.get(q).size();
+            retrieved += found.get(q).size();
+            for (MinHashIndex.Match match : found.get(q)) {
+                if (truth.get(q).contains(match.getKey())) {
+                    hits++;
+                }
+            }
+        }
+
+        System.out.printf("Threshold %.2f, %d bands x %d rows, %d queries, %d similar pairs%n",
+            threshold, index.getBands(), index.getRows(), queryCount, relevant);
+        System.out.printf("Recall    %.4f%n", relevant == 0 ? 1.0 : (double) hits / relevant);
+        System.out.printf("Precision %.4f%n", retrieved == 0 ? 1.0 : (double) hits / retrieved);
+        System.out.printf("%-22s %10.1f us/query%n", "LSH", lshNanos / 1_000.0 / queryCount);
+        System.out.printf("%-22s %10.1f us/query (matches %d)%n", "Signature scan",
+            scanNanos / 1_000.0 / queryCount, scanned);
+        System.out.printf("%-22s %10.1f us/query%n", "Exact Jaccard scan", exactNanos / 1_000.0 / queryCount);
+    }
+
+    private static int scan(MinHashIndex index, int[][] signatures, List<String> queries, double threshold) {
+        int matches = 0;
+        for (String query : queries) {
+            int[] signature = index.signature(query);
+            for (int[] candidate : signatures) {
+                if (MinHashIndex.similarity(signature, candidate) >= threshold) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static String key(int i) {
+        return "MTI-I-" + i;
+    }
+
+    private static String[] vocabulary(Random random) {
+        String[] words = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String sentence(Random random, String[] vocabulary, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sentence.toString();
+    }
+
+    /**
+     * One small change, as between two people reporting the same problem
+     */
+    private static String edit(Random random, String[] vocabulary, String description) {
+        List<String> words = new ArrayList<>(List.of(description.split(" ")));
+        int position = random.nextInt(words.size());
+        switch (random.nextInt(4)) {
+        case 0:
+            words.set(position, vocabulary[random.nextInt(vocabulary.length)]);
+            break;
+        case 1:
+            words.remove(position);
+            break;
+        case 2:
+            words.add(position, vocabulary[random.nextInt(vocabulary.length)]);
+            break;
+        default:
+            char[] word = words.get(position).toCharArray();
+            word[random.nextInt(word.length)] = (char) ('a' + random.nextInt(26));
+            words.set(position, new String(word));
+            break;
+        }
+        return String.join(" ", words);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.issuetracker.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import com.issuetracker.model.Issue;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+import com.issuetracker.validator.Validator;
+
+/**
+ * Times Validator over a million generated issues, one in ten of them invalid,
+ * and reports the bytes allocated per issue by the measuring thread. Needs no
+ * database. Allocation figures come from HotSpot's thread allocation counter
+ * and read as -1 on JVMs without it.
+ *
+ * Usage: ValidatorBenchmark [issues] [iterations]
+ */
+public class ValidatorBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        List<Issue> issues = generate(count, new Random(42));
+        Validator validator = new Validator();
+
+        run("validate (first violation)", issues, iterations, list -> {
+            int invalid = 0;
+            for (Issue issue : list) {
+                try {
+                    validator.validate(issue);
+                } catch (Exception e) {
+                    invalid++;
+                }
+            }
+            return invalid;
+        });
+
+        run("collectViolations", issues, iterations, list -> {
+            int violations = 0;
+            for (Issue issue : list) {
+                violations += validator.collectViolations(issue).size();
+            }
+            return violations;
+        });
+
+        run("validateAll (batch)", issues, iterations, list -> {
+            Map<Integer, List<String>> invalid = validator.validateAll(list);
+            return invalid.size();
+        });
+
+        run("isValidIssueId", issues, iterations, list -> {
+            int valid = 0;
+            for (Issue issue : list) {
+                if (validator.isValidIssueId(issue.getIssueId())) {
+                    valid++;
+                }
+            }
+            return valid;
+        });
+
+        run("String.matches baseline for ids", issues, iterations, list -> {
+            int valid = 0;
+            for (Issue issue : list) {
+                if (issue.getIssueId().matches("^[A-Z][A-Z0-9]*(-[A-Z0-9]+)*-\\d{3,}-(ADM|CSG|PAY|SHP)$")) {
+                    valid++;
+                }
+            }
+            return valid;
+        });
+    }
+
+    private static void run(String label, List<Issue> issues, int iterations, ToIntFunction<List<Issue>> body) {
+        int result = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            result += body.applyAsInt(issues);
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            result += body.applyAsInt(issues);
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long checked = (long) issues.size() * iterations;
+        System.out.printf("%-34s %8.1f ns/issue %10.0f issues/ms %8.2f bytes/issue (result %d)%n",
+            label, (double) elapsed / checked, checked * 1_000_000.0 / elapsed,
+            allocatedBefore < 0 ? -1.0 : (double) allocated / checked, result);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static List<Issue> generate(int count, Random random) {
+        Unit[] units = Unit.values();
+        Priority[] priorities = Priority.values();
+        List<Issue> issues = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Unit unit = units[random.nextInt(units.length)];
+            String issueId = String.format("MTI-I-%03d-%s", i + 1, unit.getCode());
+            String description = "Issue number " + i + " reported during the benchmark";
+            LocalDate reportedOn = LocalDate.now().minusDays(random.nextInt(365));
+            IssueStatus status = IssueStatus.OPEN;
+
+            // One in ten breaks a rule
+            switch (i % 50) {
+            case 7:
+                issueId = "mti-i-" + i + "-" + unit.getCode();
+                break;
+            case 17:
+                description = "   ";
+                break;
+            case 27:
+                reportedOn = LocalDate.now().plusDays(3);
+                break;
+            case 37:
+                status = IssueStatus.CLOSED;
+                break;
+            case 47:
+                issueId = String.format("MTI-I-%03d-XYZ", i + 1);
+                break;
+            default:
+                break;
+            }
+
+            issues.add(new Issue(issueId, description, unit, reportedOn, null, status,
+                priorities[random.nextInt(priorities.length)], 1, 0));
+        }
+        return issues;
+    }
+}
\ No newline at end of file
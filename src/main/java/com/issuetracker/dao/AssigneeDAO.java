@@ -1,9 +1,12 @@
 package com.issuetracker.dao;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.Assignee;
 import com.issuetracker.model.Unit;
+import com.issuetracker.model.UnitMember;
 
 public interface AssigneeDAO
 {
@@ -11,21 +14,55 @@ public interface AssigneeDAO
      * @params
      *         unit - The assignee unit
      * 
-     * @operation Fetches the assignees list for the given unit
+     * @operation Fetches the active members of the given unit
      * 
      * @returns
      *          List<Assignee> - List of assignees fetched
      */
-    public abstract List<Assignee> fetchAssignees(Unit unit);
+    public abstract List<Assignee> fetchAssignees(Unit unit) throws IssueTrackerException;
 
     /**
      * @params
      *         assigneeEmail - The assignee email id
      * 
-     * @operation Fetches the assignee by the given email of the assignee
+     * @operation Fetches the assignee by the given email of the assignee,
+     *            with the first unit the assignee is an active member of
      * 
      * @returns
-     *          Assignee - The fetched assignee object
+     *          Assignee - The fetched assignee object, null if not a member of any unit
      */
-    public abstract Assignee getAssigneeByEmail(String assigneeEmail);
-}
\ No newline at end of file
+    public abstract Assignee getAssigneeByEmail(String assigneeEmail) throws IssueTrackerException;
+
+    /**
+     * @params
+     *         since - Lower bound on updated_at, inclusive; null for every membership
+     * 
+     * @operation Fetches memberships changed since the given time, including
+     *            deactivated ones and those of users changed since then
+     * 
+     * @returns
+     *          List<UnitMember> - Memberships in updated_at order
+     */
+    public abstract List<UnitMember> findMembersUpdatedSince(LocalDateTime since) throws IssueTrackerException;
+
+    /**
+     * @params
+     *         unit - The unit to join
+     *         userId - The user joining it
+     * 
+     * @operation Adds the membership, or reactivates it if it was removed
+     */
+    public abstract void addMember(Unit unit, int userId) throws IssueTrackerException;
+
+    /**
+     * @params
+     *         unit - The unit to leave
+     *         userId - The user leaving it
+     * 
+     * @operation Deactivates the membership
+     * 
+     * @returns
+     *          boolean - true if the user was an active member
+     */
+    public abstract boolean removeMember(Unit unit, int userId) throws IssueTrackerException;
+}
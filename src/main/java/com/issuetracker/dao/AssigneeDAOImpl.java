@@ -1,101 +1,178 @@
 package com.issuetracker.dao;
 
+import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
+import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.Assignee;
 import com.issuetracker.model.Unit;
+import com.issuetracker.model.UnitMember;
+import com.issuetracker.util.DatabaseUtil;
 
 public class AssigneeDAOImpl implements AssigneeDAO
 {
-    private List<Assignee> assigneeList = new ArrayList<>();
+    private static final String MEMBER_COLUMNS =
+        "m.unit, m.user_id, m.is_active AS member_active, m.updated_at AS member_updated_at, " +
+        "u.full_name, u.email, u.is_active AS user_active, u.active_issues_count, u.updated_at AS user_updated_at ";
 
-    public AssigneeDAOImpl()
+    @Override
+    public List<Assignee> fetchAssignees(Unit unit) throws IssueTrackerException
     {
-	 Assignee assigneeOne = new Assignee("MTI-A-ADM-001", "Carry Luke",
-	 "carry.luke", Unit.ADMINISTRATION, 3);
-
-	 Assignee assigneeTwo = new Assignee("MTI-A-ADM-002", "Rodrick Luther",
-	 "rodrick_luther",
-	 Unit.ADMINISTRATION, 3);
-
-	 Assignee assigneeThree = new Assignee("MTI-A-CSG-001", "Miki Worth",
-	 "miki.w", Unit.CONSIGNMENT, 1);
-
-	 Assignee assigneeFour = new Assignee("MTI-A-CSG-002", "Carlena Fife",
-	 "c_fife", Unit.CONSIGNMENT, 0);
-
-	 Assignee assigneeFive = new Assignee("MTI-A-CSG-003", "Cedrick Padgett",
-	 "c.padgett", Unit.CONSIGNMENT, 0);
-
-	 Assignee assigneeSix = new Assignee("MTI-A-CSG-004", "Tyrell Eaves",
-	 "tyrell_e", Unit.CONSIGNMENT, 0);
-
-	 Assignee assigneeSeven = new Assignee("MTI-A-CSG-005", "Jewel Seaton",
-	 "jewel_seaton", Unit.CONSIGNMENT, 0);
-
-	 Assignee assigneeEight = new Assignee("MTI-A-PAY-001", "Larita Conklin",
-	 "larita.conklin", Unit.PAYMENT, 1);
-
-	 Assignee assigneeNine = new Assignee("MTI-A-PAY-002", "Elyse Chu",
-	 "elyse.chu", Unit.PAYMENT, 1);
-
-	 Assignee assigneeTen = new Assignee("MTI-A-SHP-001", "Elane Lester",
-	 "elane_lester", Unit.SHIPMENT, 1);
+        // Served by the (unit, user_id) primary key
+        String sql = "SELECT " + MEMBER_COLUMNS +
+                    "FROM unit_members m JOIN users u ON m.user_id = u.user_id " +
+                    "WHERE m.unit = ? AND m.is_active = TRUE AND u.is_active = TRUE " +
+                    "ORDER BY m.user_id";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, unit.toString());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Assignee> assignees = new ArrayList<>();
+                while (rs.next()) {
+                    assignees.add(mapResultSetToAssignee(rs));
+                }
+                return assignees;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error fetching unit members: " + e.getMessage());
+        }
+    }
 
-	 Assignee assigneeEleven = new Assignee("MTI-A-SHP-002",
-	 "Valery Champion", "valery_c",
-	 Unit.SHIPMENT, 0);
+    @Override
+    public Assignee getAssigneeByEmail(String assigneeEmail) throws IssueTrackerException
+    {
+        String sql = "SELECT " + MEMBER_COLUMNS +
+                    "FROM users u JOIN unit_members m ON m.user_id = u.user_id " +
+                    "WHERE u.email = ? AND m.is_active = TRUE AND u.is_active = TRUE " +
+                    "ORDER BY m.unit";
 
-	 Assignee assigneeTwelve = new Assignee("MTI-A-SHP-003", "Aaron Godfrey",
-	 "aaron.g", Unit.SHIPMENT, 0);
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-	 Assignee assigneeThirteen = new Assignee("MTI-A-SHP-004", "Jarvis Ivy",
-	 "jarvis_ivy", Unit.SHIPMENT, 0);
+            pstmt.setString(1, assigneeEmail);
 
-	 Assignee assigneeFourteen = new Assignee("MTI-A-SHP-005",
-	 "Zackary Marble", "zackary.m",
-	 Unit.SHIPMENT, 0);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToAssignee(rs) : null;
+            }
 
-	 Assignee assigneeFifteen = new Assignee("MTI-A-SHP-006",
-	 "Williams Weir",
-	 "williams_weir", Unit.SHIPMENT, 0);
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error fetching assignee by email: " + e.getMessage());
+        }
+    }
 
-	 assigneeList = List.of(assigneeOne, assigneeTwo, assigneeThree,
-	 assigneeFour, assigneeFive, assigneeSix,
-	 assigneeSeven, assigneeEight, assigneeNine,
-	 assigneeTen, assigneeEleven, assigneeTwelve,
-	 assigneeThirteen, assigneeFourteen,
-	 assigneeFifteen);
+    @Override
+    public List<UnitMember> findMembersUpdatedSince(LocalDateTime since) throws IssueTrackerException
+    {
+        String select = "SELECT " + MEMBER_COLUMNS +
+                    "FROM unit_members m JOIN users u ON m.user_id = u.user_id ";
+        // One range read per side: membership changes, then user changes, merged on the key
+        String sql = since == null
+                    ? select + "ORDER BY m.updated_at"
+                    : select + "WHERE m.updated_at >= ? " +
+                      "UNION " +
+                      select + "WHERE u.updated_at >= ? " +
+                      "ORDER BY member_updated_at";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            if (since != null) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(since));
+                pstmt.setTimestamp(2, Timestamp.valueOf(since));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<UnitMember> members = new ArrayList<>();
+                while (rs.next()) {
+                    UnitMember member = new UnitMember();
+                    member.setUnit(Unit.valueOf(rs.getString("unit")));
+                    member.setUserId(rs.getInt("user_id"));
+                    member.setFullName(rs.getString("full_name"));
+                    member.setEmail(rs.getString("email"));
+                    member.setActive(rs.getBoolean("member_active") && rs.getBoolean("user_active"));
+
+                    // Whichever side changed last is the position the next refresh starts from
+                    Timestamp memberUpdatedAt = rs.getTimestamp("member_updated_at");
+                    Timestamp userUpdatedAt = rs.getTimestamp("user_updated_at");
+                    Timestamp updatedAt = memberUpdatedAt;
+                    if (updatedAt == null || (userUpdatedAt != null && userUpdatedAt.after(updatedAt))) {
+                        updatedAt = userUpdatedAt;
+                    }
+                    if (updatedAt != null) {
+                        member.setUpdatedAt(updatedAt.toLocalDateTime());
+                    }
+
+                    members.add(member);
+                }
+                return members;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error fetching unit membership changes: " + e.getMessage());
+        }
     }
 
     @Override
-    public List<Assignee> fetchAssignees(Unit unit)
+    public void addMember(Unit unit, int userId) throws IssueTrackerException
     {
-	Map<Unit, String> issueTypeCodeMap = new EnumMap<>(Unit.class);
-	issueTypeCodeMap.put(Unit.ADMINISTRATION, "ADM");
-	issueTypeCodeMap.put(Unit.CONSIGNMENT, "CSG");
-	issueTypeCodeMap.put(Unit.PAYMENT, "PAY");
-	issueTypeCodeMap.put(Unit.SHIPMENT, "SHP");
-
-	String issueCode = issueTypeCodeMap.get(unit);
-
-	 return assigneeList.stream()
-	 .filter(assignee -> issueCode.equals(assignee.getAssigneeId()
-	 .split("-")[2]))
-	 .collect(Collectors.toList());
+        String updateSql = "UPDATE unit_members SET is_active = TRUE, updated_at = ? WHERE unit = ? AND user_id = ?";
+        String insertSql = "INSERT INTO unit_members (unit, user_id) VALUES (?, ?)";
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(updateSql)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                pstmt.setString(2, unit.toString());
+                pstmt.setInt(3, userId);
+                if (pstmt.executeUpdate() > 0) {
+                    return;
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+                pstmt.setString(1, unit.toString());
+                pstmt.setInt(2, userId);
+                pstmt.executeUpdate();
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error adding unit member: " + e.getMessage());
+        }
     }
 
     @Override
-    public Assignee getAssigneeByEmail(String assigneeEmail)
+    public boolean removeMember(Unit unit, int userId) throws IssueTrackerException
+    {
+        String sql = "UPDATE unit_members SET is_active = FALSE, updated_at = ? " +
+                    "WHERE unit = ? AND user_id = ? AND is_active = TRUE";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.setString(2, unit.toString());
+            pstmt.setInt(3, userId);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error removing unit member: " + e.getMessage());
+        }
+    }
+
+    private Assignee mapResultSetToAssignee(ResultSet rs) throws SQLException
     {
-	 return assigneeList.parallelStream()
-	 .filter(assignee ->
-	 assigneeEmail.equals(assignee.getAssigneeEmail()))
-	 .findFirst()
-	 .orElse(null);
+        Assignee assignee = new Assignee();
+        assignee.setUserId(rs.getInt("user_id"));
+        assignee.setAssigneeId("USR-" + rs.getInt("user_id"));
+        assignee.setAssigneeName(rs.getString("full_name"));
+        assignee.setAssigneeEmail(rs.getString("email"));
+        assignee.setUnit(Unit.valueOf(rs.getString("unit")));
+        assignee.setActiveIssuesCount(rs.getInt("active_issues_count"));
+        return assignee;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.issuetracker.dao;
+
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Attachment;
+
+public interface AttachmentDAO {
+
+    /**
+     * @return Generated attachment id
+     */
+    int addAttachment(Attachment attachment) throws IssueTrackerException;
+
+    Attachment getAttachmentById(int attachmentId) throws IssueTrackerException;
+
+    List<Attachment> findByIssue(String issueId) throws IssueTrackerException;
+
+    boolean deleteAttachment(int attachmentId) throws IssueTrackerException;
+
+    /**
+     * Number of attachment rows sharing the given content
+     */
+    int countByContentHash(String contentHash) throws IssueTrackerException;
+}
\ No newline at end of file
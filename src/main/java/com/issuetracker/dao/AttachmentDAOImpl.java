@@ -0,0 +1,137 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Attachment;
+import com.issuetracker.util.DatabaseUtil;
+
+public class AttachmentDAOImpl implements AttachmentDAO {
+
+    private static final String SELECT_COLUMNS =
+        "SELECT attachment_id, issue_id, user_id, filename, file_path, file_size, mime_type, content_hash, uploaded_at " +
+        "FROM issue_attachments ";
+
+    @Override
+    public int addAttachment(Attachment attachment) throws IssueTrackerException {
+        String sql = "INSERT INTO issue_attachments (issue_id, user_id, filename, file_path, file_size, mime_type, content_hash) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, attachment.getIssueId());
+            pstmt.setInt(2, attachment.getUserId());
+            pstmt.setString(3, attachment.getFilename());
+            pstmt.setString(4, attachment.getFilePath());
+            pstmt.setLong(5, attachment.getFileSize());
+            pstmt.setString(6, attachment.getMimeType());
+            pstmt.setString(7, attachment.getContentHash());
+            pstmt.executeUpdate();
+
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    attachment.setAttachmentId(keys.getInt(1));
+                    return attachment.getAttachmentId();
+                }
+            }
+            throw new IssueTrackerException("Error adding attachment: no id generated");
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error adding attachment: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Attachment getAttachmentById(int attachmentId) throws IssueTrackerException {
+        String sql = SELECT_COLUMNS + "WHERE attachment_id = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, attachmentId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToAttachment(rs) : null;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving attachment: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Attachment> findByIssue(String issueId) throws IssueTrackerException {
+        String sql = SELECT_COLUMNS + "WHERE issue_id = ? ORDER BY uploaded_at, attachment_id";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, issueId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Attachment> attachments = new ArrayList<>();
+                while (rs.next()) {
+                    attachments.add(mapResultSetToAttachment(rs));
+                }
+                return attachments;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving attachments: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean deleteAttachment(int attachmentId) throws IssueTrackerException {
+        String sql = "DELETE FROM issue_attachments WHERE attachment_id = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, attachmentId);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error deleting attachment: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int countByContentHash(String contentHash) throws IssueTrackerException {
+        String sql = "SELECT COUNT(*) FROM issue_attachments WHERE content_hash = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, contentHash);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting attachments: " + e.getMessage());
+        }
+    }
+
+    private Attachment mapResultSetToAttachment(ResultSet rs) throws SQLException {
+        Attachment attachment = new Attachment();
+        attachment.setAttachmentId(rs.getInt("attachment_id"));
+        attachment.setIssueId(rs.getString("issue_id"));
+        attachment.setUserId(rs.getInt("user_id"));
+        attachment.setFilename(rs.getString("filename"));
+        attachment.setFilePath(rs.getString("file_path"));
+        attachment.setFileSize(rs.getLong("file_size"));
+        attachment.setMimeType(rs.getString("mime_type"));
+        attachment.setContentHash(rs.getString("content_hash"));
+
+        Timestamp uploadedAt = rs.getTimestamp("uploaded_at");
+        if (uploadedAt != null) {
+            attachment.setUploadedAt(uploadedAt.toLocalDateTime());
+        }
+        return attachment;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.issuetracker.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Comment;
+
+public interface CommentDAO {
+
+    /**
+     * @return Generated comment id
+     */
+    int addComment(Comment comment) throws IssueTrackerException;
+
+    Comment getCommentById(int commentId) throws IssueTrackerException;
+
+    /**
+     * Every comment on an issue as a flat list in creation order, read with
+     * one query on the (issue_id, created_at) index
+     */
+    List<Comment> findByIssue(String issueId, boolean includeInternal) throws IssueTrackerException;
+
+    /**
+     * One page of top-level comments in creation order together with all of
+     * their replies, as a flat list in creation order, read with one query
+     */
+    List<Comment> findThreadPage(String issueId, boolean includeInternal, int offset, int limit)
+            throws IssueTrackerException;
+
+    int countThreads(String issueId, boolean includeInternal) throws IssueTrackerException;
+
+    /**
+     * Comment counts for many issues at once; issues without comments are absent
+     */
+    Map<String, Integer> countByIssues(Collection<String> issueIds, boolean includeInternal) throws IssueTrackerException;
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Comment;
+import com.issuetracker.util.DatabaseUtil;
+
+public class CommentDAOImpl implements CommentDAO {
+
+    // Keeps IN lists well below driver and optimizer limits
+    private static final int COUNT_CHUNK_SIZE = 500;
+
+    private static final String SELECT_COLUMNS =
+        "SELECT c.comment_id, c.issue_id, c.user_id, u.full_name, c.comment_text, c.is_internal, " +
+        "c.parent_comment_id, c.created_at, c.updated_at " +
+        "FROM issue_comments c LEFT JOIN users u ON c.user_id = u.user_id ";
+
+    @Override
+    public int addComment(Comment comment) throws IssueTrackerException {
+        String sql = "INSERT INTO issue_comments (issue_id, user_id, comment_text, is_internal, parent_comment_id) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, comment.getIssueId());
+            pstmt.setInt(2, comment.getUserId());
+            pstmt.setString(3, comment.getCommentText());
+            pstmt.setBoolean(4, comment.isInternal());
+            if (comment.isTopLevel()) {
+                pstmt.setNull(5, Types.INTEGER);
+            } else {
+                pstmt.setInt(5, comment.getParentCommentId());
+            }
+            pstmt.executeUpdate();
+
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    comment.setCommentId(keys.getInt(1));
+                    return comment.getCommentId();
+                }
+            }
+            throw new IssueTrackerException("Error adding comment: no id generated");
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error adding comment: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Comment getCommentById(int commentId) throws IssueTrackerException {
+        String sql = SELECT_COLUMNS + "WHERE c.comment_id = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, commentId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToComment(rs) : null;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving comment: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Comment> findByIssue(String issueId, boolean includeInternal) throws IssueTrackerException {
+        String sql = SELECT_COLUMNS + "WHERE c.issue_id = ? " +
+                    (includeInternal ? "" : "AND c.is_internal = FALSE ") +
+                    "ORDER BY c.created_at, c.comment_id";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, issueId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Comment> comments = new ArrayList<>();
+                while (rs.next()) {
+                    comments.add(mapResultSetToComment(rs));
+                }
+                return comments;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving comments: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Comment> findThreadPage(String issueId, boolean includeInternal, int offset, int limit)
+            throws IssueTrackerException {
+        String visible = includeInternal ? "" : "AND is_internal = FALSE ";
+        // The page of roots comes off idx_comments_issue_threads, their replies off idx_comments_parent
+        String sql = "WITH RECURSIVE roots AS (" +
+                    "SELECT comment_id FROM issue_comments " +
+                    "WHERE issue_id = ? AND parent_comment_id IS NULL " + visible +
+                    "ORDER BY created_at, comment_id LIMIT ? OFFSET ?), " +
+                    "thread (comment_id) AS (" +
+                    "SELECT comment_id FROM roots " +
+                    "UNION ALL " +
+                    "SELECT r.comment_id FROM issue_comments r JOIN thread t ON r.parent_comment_id = t.comment_id " +
+                    (includeInternal ? "" : "WHERE r.is_internal = FALSE") + ") " +
+                    SELECT_COLUMNS + "JOIN thread t ON t.comment_id = c.comment_id " +
+                    "ORDER BY c.created_at, c.comment_id";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, issueId);
+            pstmt.setInt(2, limit);
+            pstmt.setInt(3, offset);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Comment> comments = new ArrayList<>();
+                while (rs.next()) {
+                    comments.add(mapResultSetToComment(rs));
+                }
+                return comments;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving comment threads: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int countThreads(String issueId, boolean includeInternal) throws IssueTrackerException {
+        String sql = "SELECT COUNT(*) FROM issue_comments WHERE issue_id = ? AND parent_comment_id IS NULL " +
+                    (includeInternal ? "" : "AND is_internal = FALSE");
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, issueId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting comment threads: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Integer> countByIssues(Collection<String> issueIds, boolean includeInternal)
+            throws IssueTrackerException {
+        Map<String, Integer> counts = new HashMap<>();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(issueIds));
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            for (int from = 0; from < ids.size(); from += COUNT_CHUNK_SIZE) {
+                List<String> chunk = ids.subList(from, Math.min(from + COUNT_CHUNK_SIZE, ids.size()));
+                String sql = "SELECT issue_id, COUNT(*) FROM issue_comments " +
+                            "WHERE issue_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") " +
+                            (includeInternal ? "" : "AND is_internal = FALSE ") +
+                            "GROUP BY issue_id";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.put(rs.getString(1), rs.getInt(2));
+                        }
+                    }
+                }
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting comments: " + e.getMessage());
+        }
+    }
+
+    private Comment mapResultSetToComment(ResultSet rs) throws SQLException {
+        Comment comment = new Comment();
+        comment.setCommentId(rs.getInt("comment_id"));
+        comment.setIssueId(rs.getString("issue_id"));
+        comment.setUserId(rs.getInt("user_id"));
+        comment.setAuthorName(rs.getString("full_name"));
+        comment.setCommentText(rs.getString("comment_text"));
+        comment.setInternal(rs.getBoolean("is_internal"));
+        comment.setParentCommentId(rs.getInt("parent_comment_id"));
+
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            comment.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        if (updatedAt != null) {
+            comment.setUpdatedAt(updatedAt.toLocalDateTime());
+        }
+        return comment;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.issuetracker.dao;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.export.RecordWriter;
+import com.issuetracker.model.ExportWatermark;
+
+public interface ExportDAO {
+
+    /**
+     * Stream issues changed since the watermark (all issues when it is
+     * null or empty) to the writer, in (updated_at, issue_id) order. Issues
+     * without updated_at count as changed at created_at.
+     * @return Watermark of the last row read, or the given one if no rows
+     */
+    ExportWatermark streamIssues(ExportWatermark since, RecordWriter writer) throws IssueTrackerException;
+
+    /**
+     * Stream issue_history rows since the watermark to the writer, in
+     * (action_date, history_id) order
+     * @return Watermark of the last row read, or the given one if no rows
+     */
+    ExportWatermark streamHistory(ExportWatermark since, RecordWriter writer) throws IssueTrackerException;
+
+    ExportWatermark getWatermark(String exportName) throws IssueTrackerException;
+
+    void saveWatermark(ExportWatermark watermark) throws IssueTrackerException;
+}
\ No newline at end of file
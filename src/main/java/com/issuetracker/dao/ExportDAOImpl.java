@@ -0,0 +1,264 @@
+package com.issuetracker.dao;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.export.RecordWriter;
+import com.issuetracker.model.ExportWatermark;
+import com.issuetracker.util.DatabaseUtil;
+import com.issuetracker.util.DateTimeUtil;
+
+public class ExportDAOImpl implements ExportDAO {
+
+    /**
+     * How far before the watermark an incremental run reads again. Change
+     * times have one-second precision and are taken before the change
+     * commits, so a row can turn up behind the watermark after a run; rows
+     * read again are skipped when the watermark already holds their version.
+     */
+    public static final int OVERLAP_SECONDS = 5;
+
+    // The last column is the row's change time, used for the watermark and not written out
+    private static final String ISSUE_SQL =
+        "SELECT issue_id, description, status, priority, unit, category, reported_by_user_id, " +
+        "assigned_to_user_id, reporting_date, due_date, resolved_date, created_at, updated_at, " +
+        "updated_at AS changed_at " +
+        "FROM issues ";
+
+    private static final String HISTORY_SQL =
+        "SELECT history_id, issue_id, user_id, action_performed, old_value, new_value, action_date, comments, " +
+        "action_date AS changed_at " +
+        "FROM issue_history ";
+
+    @Override
+    public ExportWatermark streamIssues(ExportWatermark since, RecordWriter writer) throws IssueTrackerException {
+        // A range read of idx_issues_updated_at, already in this order
+        String sql = ISSUE_SQL +
+                    (isEmpty(since) ? "" : "WHERE updated_at >= ? ") +
+                    "ORDER BY updated_at, issue_id";
+
+        return streamRows(sql, since, "issue_id", writer);
+    }
+
+    @Override
+    public ExportWatermark streamHistory(ExportWatermark since, RecordWriter writer) throws IssueTrackerException {
+        // The action_date index carries the primary key, so this order is a range read of it
+        String sql = HISTORY_SQL +
+                    (isEmpty(since) ? "" : "WHERE action_date >= ? ") +
+                    "ORDER BY action_date, history_id";
+
+        return streamRows(sql, since, "history_id", writer);
+    }
+
+    private static boolean isEmpty(ExportWatermark watermark) {
+        return watermark == null || watermark.isEmpty();
+    }
+
+    /**
+     * Write the rows of the query, skipping those the watermark already
+     * exported in the same version. The returned watermark holds the key and
+     * a hash of every row changed within OVERLAP_SECONDS of its change time,
+     * as those are the rows the next run reads again.
+     */
+    private ExportWatermark streamRows(String sql, ExportWatermark since, String keyColumn, RecordWriter writer)
+            throws IssueTrackerException {
+        Map<String, Long> exported = isEmpty(since) ? new HashMap<>() : since.getRecentRows();
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = DatabaseUtil.prepareStreamingStatement(conn, sql)) {
+
+            if (!isEmpty(since)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(since.getLastValueAt().minusSeconds(OVERLAP_SECONDS)));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount() - 1;
+                String[] columns = new String[columnCount];
+                int[] types = new int[columnCount];
+                int keyIndex = -1;
+                for (int i = 0; i < columnCount; i++) {
+                    columns[i] = meta.getColumnLabel(i + 1).toLowerCase();
+                    types[i] = meta.getColumnType(i + 1);
+                    if (columns[i].equals(keyColumn)) {
+                        keyIndex = i;
+                    }
+                }
+                writer.writeHeader(columns);
+
+                // One row array reused for the whole result keeps memory flat
+                Object[] values = new Object[columnCount];
+                LocalDateTime lastAt = null;
+                String lastKey = null;
+                Map<String, Long> recent = new HashMap<>();
+                Map<String, LocalDateTime> recentAt = new HashMap<>();
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i] = readValue(rs, i + 1, types[i]);
+                    }
+                    String key = String.valueOf(values[keyIndex]);
+                    long hash = rowHash(values);
+                    Long exportedHash = exported.get(key);
+                    if (exportedHash == null || exportedHash != hash) {
+                        writer.writeRecord(values);
+                    }
+
+                    LocalDateTime at = rs.getTimestamp(columnCount + 1).toLocalDateTime();
+                    if (lastAt == null || !at.isBefore(lastAt)) {
+                        lastAt = at;
+                        lastKey = key;
+                    }
+                    if (!at.isBefore(lastAt.minusSeconds(OVERLAP_SECONDS))) {
+                        recent.put(key, hash);
+                        recentAt.put(key, at);
+                    }
+                    // Keep only the window behind the newest change seen so far
+                    if (recent.size() > 1024 && recent.size() % 1024 == 0) {
+                        dropBefore(recent, recentAt, lastAt.minusSeconds(OVERLAP_SECONDS));
+                    }
+                }
+
+                if (lastAt == null) {
+                    return since;
+                }
+                dropBefore(recent, recentAt, lastAt.minusSeconds(OVERLAP_SECONDS));
+                ExportWatermark reached = new ExportWatermark(since != null ? since.getExportName() : null, lastAt, lastKey);
+                reached.setRecentRows(recent);
+                return reached;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading export rows: " + e.getMessage());
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error writing export: " + e.getMessage());
+        }
+    }
+
+    private static void dropBefore(Map<String, Long> recent, Map<String, LocalDateTime> recentAt, LocalDateTime cutoff) {
+        Iterator<Map.Entry<String, LocalDateTime>> it = recentAt.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, LocalDateTime> entry = it.next();
+            if (entry.getValue().isBefore(cutoff)) {
+                recent.remove(entry.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    private static long rowHash(Object[] values) {
+        long hash = 1;
+        for (Object value : values) {
+            hash = hash * 1_000_003L + (value != null ? value.hashCode() : 0);
+        }
+        return hash;
+    }
+
+    private Object readValue(ResultSet rs, int column, int type) throws SQLException {
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                long number = rs.getLong(column);
+                return rs.wasNull() ? null : number;
+            case Types.DATE:
+                Date date = rs.getDate(column);
+                return date != null ? DateTimeUtil.formatDate(date.toLocalDate()) : null;
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                Timestamp timestamp = rs.getTimestamp(column);
+                return timestamp != null ? DateTimeUtil.formatDateTime(timestamp.toLocalDateTime()) : null;
+            default:
+                return rs.getString(column);
+        }
+    }
+
+    @Override
+    public ExportWatermark getWatermark(String exportName) throws IssueTrackerException {
+        String sql = "SELECT export_name, last_value_at, last_key, recent_rows, last_row_count, updated_at " +
+                    "FROM export_watermarks WHERE export_name = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, exportName);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+
+                ExportWatermark watermark = new ExportWatermark();
+                watermark.setExportName(rs.getString("export_name"));
+                watermark.setLastKey(rs.getString("last_key"));
+                watermark.setRecentRows(decodeRecentRows(rs.getString("recent_rows")));
+                watermark.setLastRowCount(rs.getLong("last_row_count"));
+
+                Timestamp lastValueAt = rs.getTimestamp("last_value_at");
+                if (lastValueAt != null) {
+                    watermark.setLastValueAt(lastValueAt.toLocalDateTime());
+                }
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+                if (updatedAt != null) {
+                    watermark.setUpdatedAt(updatedAt.toLocalDateTime());
+                }
+                return watermark;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving export watermark: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveWatermark(ExportWatermark watermark) throws IssueTrackerException {
+        String sql = "INSERT INTO export_watermarks (export_name, last_value_at, last_key, recent_rows, last_row_count) " +
+                    "VALUES (?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE last_value_at = VALUES(last_value_at), last_key = VALUES(last_key), " +
+                    "recent_rows = VALUES(recent_rows), last_row_count = VALUES(last_row_count), " +
+                    "updated_at = CURRENT_TIMESTAMP";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, watermark.getExportName());
+            pstmt.setTimestamp(2, watermark.getLastValueAt() != null ? Timestamp.valueOf(watermark.getLastValueAt()) : null);
+            pstmt.setString(3, watermark.getLastKey());
+            pstmt.setString(4, encodeRecentRows(watermark.getRecentRows()));
+            pstmt.setLong(5, watermark.getLastRowCount());
+            pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error saving export watermark: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recent rows are stored as one "key hash" pair per line
+     */
+    private static String encodeRecentRows(Map<String, Long> recentRows) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Long> entry : recentRows.entrySet()) {
+            text.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Long> decodeRecentRows(String text) {
+        Map<String, Long> recentRows = new HashMap<>();
+        if (text == null) {
+            return recentRows;
+        }
+        for (String line : text.split("\n")) {
+            int space = line.lastIndexOf(' ');
+            if (space > 0) {
+                recentRows.put(line.substring(0, space), Long.parseLong(line.substring(space + 1)));
+            }
+        }
+        return recentRows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.issuetracker.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import com.issuetracker.exception.IssueTrackerException;
+
+public interface IdempotencyKeyDAO {
+
+    /**
+     * Record the key on the caller's connection so it commits or rolls back
+     * together with the issue it was used to create
+     * @return false if the key has already been recorded
+     */
+    boolean insert(Connection conn, String requestKey, String issueId) throws SQLException;
+
+    /**
+     * Issue created with the key, or null if the key is unknown or purged
+     */
+    String findIssueId(String requestKey) throws IssueTrackerException;
+
+    /**
+     * Delete keys recorded before the cutoff
+     * @return Number of keys deleted
+     */
+    int deleteCreatedBefore(LocalDateTime cutoff) throws IssueTrackerException;
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.util.DatabaseUtil;
+
+public class IdempotencyKeyDAOImpl implements IdempotencyKeyDAO {
+
+    /** SQLSTATE class for integrity constraint violations, including duplicate keys */
+    private static final String INTEGRITY_VIOLATION = "23";
+
+    @Override
+    public boolean insert(Connection conn, String requestKey, String issueId) throws SQLException {
+        String sql = "INSERT INTO idempotency_keys (request_key, issue_id) VALUES (?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, requestKey);
+            pstmt.setString(2, issueId);
+            pstmt.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if (e.getSQLState() != null && e.getSQLState().startsWith(INTEGRITY_VIOLATION)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String findIssueId(String requestKey) throws IssueTrackerException {
+        String sql = "SELECT issue_id FROM idempotency_keys WHERE request_key = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, requestKey);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString("issue_id") : null;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving request key: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime cutoff) throws IssueTrackerException {
+        String sql = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error purging request keys: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -2,11 +2,15 @@ package com.issuetracker.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.Issue;
 import com.issuetracker.model.IssueReport;
 import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.TriageEntry;
+import com.issuetracker.model.Unit;
 
 public interface IssueDAO
 {
@@ -22,9 +26,19 @@ public interface IssueDAO
      * 
      * @returns
      *          String - The issue id
+     * @throws DuplicateIssueIdException if another issue already has the id
      */
     public abstract String reportAnIssue(Issue issue) throws IssueTrackerException;
 
+    /**
+     * Store a new issue and record the client's request key in the same transaction
+     * @returns
+     *          String - The issue id, or the id of the issue originally created
+     *                   with the key when it has been used before
+     * @throws DuplicateIssueIdException if another issue already has the id
+     */
+    public abstract String reportAnIssue(Issue issue, String requestKey) throws IssueTrackerException;
+
     /**
      * @params
      *         issueId - The issue id to be updated
@@ -45,11 +59,56 @@ public interface IssueDAO
      *          Issue - The fetched issue object
      */
     public abstract Issue getIssueById(String issueId) throws IssueTrackerException;
+
+    /**
+     * Exact existence check that reads only the primary key
+     */
+    public abstract boolean existsById(String issueId) throws IssueTrackerException;
+
+    /**
+     * Stream every issue id to the action without holding them all in memory
+     */
+    public abstract void forEachIssueId(Consumer<String> action) throws IssueTrackerException;
+
+    /**
+     * Stream the searchable text of every issue: its description followed by its
+     * public comments in the order they were written, one call per issue
+     */
+    public abstract void forEachIssueText(BiConsumer<String, List<String>> action) throws IssueTrackerException;
+
+    /**
+     * Stream the id and description of every issue in one of the given statuses
+     */
+    public abstract void forEachIssueDescription(List<IssueStatus> statuses, BiConsumer<String, String> action)
+            throws IssueTrackerException;
+
+    /**
+     * The most urgent open and in-progress issues of one unit: highest priority,
+     * then earliest due date, then oldest
+     */
+    public abstract List<TriageEntry> getTriageQueue(Unit unit, int limit) throws IssueTrackerException;
+
+    /**
+     * Stream every open and in-progress issue as a triage entry
+     */
+    public abstract void forEachTriageEntry(Consumer<TriageEntry> action) throws IssueTrackerException;
+
+    /**
+     * Triage entry of one issue in any status, null if it does not exist
+     */
+    public abstract TriageEntry getTriageEntry(String issueId) throws IssueTrackerException;
     
     /**
      * Show issues based on filter criteria
      */
     public abstract List<IssueReport> showIssues(Map<Character, Object> filterCriteria) throws IssueTrackerException;
+
+    /**
+     * Issues whose description matches the query words, most relevant first,
+     * narrowed by the same filter criteria as showIssues
+     */
+    public abstract List<IssueReport> searchIssues(String query, Map<Character, Object> filterCriteria,
+                                                   int offset, int limit) throws IssueTrackerException;
     
     /**
      * Delete resolved/closed issues
@@ -61,6 +120,18 @@ public interface IssueDAO
      */
     public abstract boolean assignIssue(String issueId, int assigneeId) throws IssueTrackerException;
     
+    /**
+     * Change the status only if the issue still has the version it was read with
+     * @throws IssueConflictException if the issue has been changed since
+     */
+    public abstract boolean updateStatus(Issue current, IssueStatus status) throws IssueTrackerException;
+    
+    /**
+     * Assign the issue only if it still has the version it was read with
+     * @throws IssueConflictException if the issue has been changed since
+     */
+    public abstract boolean assignIssue(Issue current, int assigneeId) throws IssueTrackerException;
+    
     /**
      * Get issues by user
      */
@@ -70,4 +141,11 @@ public interface IssueDAO
      * Delete a specific issue
      */
     public abstract boolean deleteIssue(String issueId) throws IssueTrackerException;
+    
+    /**
+     * Atomically assign the highest-priority, oldest open unassigned issue of the
+     * unit to the user, recording the assignment in history in the same transaction.
+     * Returns the issue as it was before the claim, or null when the queue is empty.
+     */
+    public abstract Issue claimNext(int userId, Unit unit) throws IssueTrackerException;
 }
\ No newline at end of file
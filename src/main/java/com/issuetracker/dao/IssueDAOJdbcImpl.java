@@ -2,17 +2,38 @@ package com.issuetracker.dao;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import com.issuetracker.exception.DuplicateIssueIdException;
+import com.issuetracker.exception.IssueConflictException;
 import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.*;
 import com.issuetracker.util.DatabaseUtil;
 
 public class IssueDAOJdbcImpl implements IssueDAO {
     
+    private NotificationOutboxDAO outboxDAO = new NotificationOutboxDAOImpl();
+    private IssueHistoryDAO historyDAO = new IssueHistoryDAOImpl();
+    private IdempotencyKeyDAO idempotencyKeyDAO = new IdempotencyKeyDAOImpl();
+    
+    /** Unassigned open issues considered per attempt when SKIP LOCKED is not available */
+    private static final int CLAIM_CANDIDATES = 20;
+    private static final int CLAIM_ROUNDS = 5;
+    
+    private static volatile boolean embeddedFullTextReady;
+    
+    /** Read in idx_issues_claim_queue order, so SKIP LOCKED stops at the first free row */
+    private static final String CLAIM_QUEUE_SQL = "SELECT * FROM issues " +
+        "WHERE unit = ? AND status = 'OPEN' AND assigned_to_user_id IS NULL " +
+        "ORDER BY priority_level DESC, reporting_date, issue_id " +
+        "LIMIT ?";
+    
     @Override
     public List<Issue> getIssueList() {
         // This method is deprecated in JDBC implementation
@@ -33,24 +54,56 @@ public class IssueDAOJdbcImpl implements IssueDAO {
     
     @Override
     public String reportAnIssue(Issue issue) throws IssueTrackerException {
-        String sql = "INSERT INTO issues (issue_id, description, unit, reporting_date, status, priority, reported_by_user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        return reportAnIssue(issue, null);
+    }
+    
+    @Override
+    public String reportAnIssue(Issue issue, String requestKey) throws IssueTrackerException {
+        String sql = "INSERT INTO issues (issue_id, description, unit, reporting_date, status, priority, reported_by_user_id, due_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, issue.getIssueId());
-            pstmt.setString(2, issue.getIssueDescription());
-            pstmt.setString(3, issue.getIssueUnit().toString());
-            pstmt.setDate(4, Date.valueOf(issue.getReportedOn()));
-            pstmt.setString(5, issue.getStatus().toString());
-            pstmt.setString(6, issue.getPriority().toString());
-            pstmt.setInt(7, issue.getReportedByUserId());
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
             
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                return issue.getIssueId();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                // The key goes in first: a concurrent retry with the same key waits on it and then sees it taken
+                if (requestKey != null && !idempotencyKeyDAO.insert(conn, requestKey, issue.getIssueId())) {
+                    conn.rollback();
+                    return idempotencyKeyDAO.findIssueId(requestKey);
+                }
+                
+                pstmt.setString(1, issue.getIssueId());
+                pstmt.setString(2, issue.getIssueDescription());
+                pstmt.setString(3, issue.getIssueUnit().toString());
+                pstmt.setDate(4, Date.valueOf(issue.getReportedOn()));
+                pstmt.setString(5, issue.getStatus().toString());
+                pstmt.setString(6, issue.getPriority().toString());
+                pstmt.setInt(7, issue.getReportedByUserId());
+                if (issue.getDueDate() != null) {
+                    pstmt.setDate(8, Date.valueOf(issue.getDueDate()));
+                } else {
+                    pstmt.setNull(8, Types.DATE);
+                }
+                
+                int rowsAffected;
+                try {
+                    rowsAffected = pstmt.executeUpdate();
+                } catch (SQLException e) {
+                    if (isDuplicateKey(e)) {
+                        conn.rollback();
+                        throw new DuplicateIssueIdException(issue.getIssueId());
+                    }
+                    throw e;
+                }
+                if (rowsAffected > 0) {
+                    outboxDAO.enqueue(conn, new OutboxMessage(issue.getIssueId(), "ISSUE_CREATED",
+                        "New " + issue.getPriority() + " issue reported: " + issue.getIssueDescription()));
+                }
+                conn.commit();
+                return rowsAffected > 0 ? issue.getIssueId() : null;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
-            return null;
             
         } catch (SQLException e) {
             throw new IssueTrackerException("Error reporting issue: " + e.getMessage());
@@ -59,21 +112,47 @@ public class IssueDAOJdbcImpl implements IssueDAO {
     
     @Override
     public Boolean updateStatus(String issueId, IssueStatus status) throws IssueTrackerException {
-        String sql = "UPDATE issues SET status = ?, updated_on = ? WHERE issue_id = ?";
+        Issue current = getIssueById(issueId);
+        return current != null && updateStatus(current, status);
+    }
+    
+    @Override
+    public boolean updateStatus(Issue current, IssueStatus status) throws IssueTrackerException {
+        String sql = "UPDATE issues SET status = ?, updated_on = ?, version = version + 1 " +
+                    "WHERE issue_id = ? AND version = ?";
+        int rowsAffected;
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, status.toString());
-            pstmt.setDate(2, Date.valueOf(LocalDate.now()));
-            pstmt.setString(3, issueId);
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
             
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, status.toString());
+                pstmt.setDate(2, Date.valueOf(LocalDate.now()));
+                pstmt.setString(3, current.getIssueId());
+                pstmt.setInt(4, current.getVersion());
+                
+                rowsAffected = pstmt.executeUpdate();
+                if (rowsAffected > 0) {
+                    outboxDAO.enqueue(conn, new OutboxMessage(current.getIssueId(), "STATUS_CHANGED",
+                        "Status changed to " + status));
+                    
+                    // The version check guarantees current is what this update replaced
+                    boolean wasActive = isActive(current.getStatus());
+                    if (wasActive != isActive(status)) {
+                        adjustActiveIssueCount(conn, current.getAssignedToUserId(), wasActive ? -1 : 1);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             throw new IssueTrackerException("Error updating issue status: " + e.getMessage());
         }
+        
+        return rowsAffected > 0 || failOnConflict(current);
     }
     
     @Override
@@ -98,46 +177,181 @@ public class IssueDAOJdbcImpl implements IssueDAO {
     }
     
     @Override
-    public List<IssueReport> showIssues(Map<Character, Object> filterCriteria) throws IssueTrackerException {
-        StringBuilder sql = new StringBuilder("SELECT i.*, u.email as reporter_email, ua.email as assignee_email FROM issues i ");
-        sql.append("LEFT JOIN users u ON i.reported_by_user_id = u.user_id ");
-        sql.append("LEFT JOIN users ua ON i.assigned_to_user_id = ua.user_id ");
+    public boolean existsById(String issueId) throws IssueTrackerException {
+        String sql = "SELECT 1 FROM issues WHERE issue_id = ?";
         
-        List<Object> parameters = new ArrayList<>();
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, issueId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error checking issue: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public void forEachIssueId(Consumer<String> action) throws IssueTrackerException {
+        String sql = "SELECT issue_id FROM issues";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = DatabaseUtil.prepareStreamingStatement(conn, sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                action.accept(rs.getString(1));
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading issue ids: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public void forEachIssueText(BiConsumer<String, List<String>> action) throws IssueTrackerException {
+        // Rows arrive grouped by issue, so only one issue's text is held at a time
+        String sql = "SELECT i.issue_id, i.description, c.comment_text FROM issues i " +
+                    "LEFT JOIN issue_comments c ON c.issue_id = i.issue_id AND c.is_internal = FALSE " +
+                    "ORDER BY i.issue_id, c.created_at, c.comment_id";
         
-        if (filterCriteria != null && !filterCriteria.isEmpty()) {
-            sql.append("WHERE ");
-            boolean first = true;
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = DatabaseUtil.prepareStreamingStatement(conn, sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
-            for (Map.Entry<Character, Object> entry : filterCriteria.entrySet()) {
-                if (!first) {
-                    sql.append(" AND ");
+            String currentId = null;
+            List<String> texts = new ArrayList<>();
+            while (rs.next()) {
+                String issueId = rs.getString("issue_id");
+                if (!issueId.equals(currentId)) {
+                    if (currentId != null) {
+                        action.accept(currentId, texts);
+                        texts = new ArrayList<>();
+                    }
+                    currentId = issueId;
+                    texts.add(rs.getString("description"));
                 }
-                
-                Character key = entry.getKey();
-                Object value = entry.getValue();
-                
-                switch (key) {
-                    case 'S': // Status
-                        sql.append("i.status = ?");
-                        parameters.add(value.toString());
-                        break;
-                    case 'A': // Assignee
-                        sql.append("ua.email = ?");
-                        parameters.add(value.toString());
-                        break;
-                    case 'U': // Unit
-                        sql.append("i.unit = ?");
-                        parameters.add(value.toString());
-                        break;
-                    case 'P': // Priority
-                        sql.append("i.priority = ?");
-                        parameters.add(value.toString());
-                        break;
+                String comment = rs.getString("comment_text");
+                if (comment != null) {
+                    texts.add(comment);
+                }
+            }
+            if (currentId != null) {
+                action.accept(currentId, texts);
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading issue text: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public void forEachIssueDescription(List<IssueStatus> statuses, BiConsumer<String, String> action)
+            throws IssueTrackerException {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("SELECT issue_id, description FROM issues WHERE status IN (");
+        for (int i = 0; i < statuses.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = DatabaseUtil.prepareStreamingStatement(conn, sql.toString())) {
+            
+            for (int i = 0; i < statuses.size(); i++) {
+                pstmt.setString(i + 1, statuses.get(i).toString());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(rs.getString("issue_id"), rs.getString("description"));
                 }
-                first = false;
             }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading issue descriptions: " + e.getMessage());
         }
+    }
+    
+    @Override
+    public List<TriageEntry> getTriageQueue(Unit unit, int limit) throws IssueTrackerException {
+        // One index-ordered range per active status, each stopping at the limit, then merged;
+        // a single status IN (...) range would have to sort every active issue of the unit
+        String columns = "SELECT issue_id, description, unit, priority, status, due_date, reporting_date, " +
+                        "assigned_to_user_id, priority_level, due_sort FROM issues ";
+        String order = " ORDER BY priority_level DESC, due_sort, reporting_date, issue_id LIMIT ?";
+        String sql = "(" + columns + "WHERE unit = ? AND status = 'OPEN'" + order + ") UNION ALL (" +
+                    columns + "WHERE unit = ? AND status = 'IN_PROGRESS'" + order + ")" + order;
+        
+        List<TriageEntry> entries = new ArrayList<>();
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, unit.toString());
+            pstmt.setInt(2, limit);
+            pstmt.setString(3, unit.toString());
+            pstmt.setInt(4, limit);
+            pstmt.setInt(5, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(mapResultSetToTriageEntry(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading triage queue: " + e.getMessage());
+        }
+        return entries;
+    }
+    
+    @Override
+    public void forEachTriageEntry(Consumer<TriageEntry> action) throws IssueTrackerException {
+        String sql = "SELECT issue_id, description, unit, priority, status, due_date, reporting_date, " +
+                    "assigned_to_user_id FROM issues WHERE status IN ('OPEN', 'IN_PROGRESS')";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = DatabaseUtil.prepareStreamingStatement(conn, sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                action.accept(mapResultSetToTriageEntry(rs));
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading triage entries: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public TriageEntry getTriageEntry(String issueId) throws IssueTrackerException {
+        String sql = "SELECT issue_id, description, unit, priority, status, due_date, reporting_date, " +
+                    "assigned_to_user_id FROM issues WHERE issue_id = ?";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, issueId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToTriageEntry(rs) : null;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error reading triage entry: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public List<IssueReport> showIssues(Map<Character, Object> filterCriteria) throws IssueTrackerException {
+        StringBuilder sql = new StringBuilder("SELECT i.*, u.email as reporter_email, ua.email as assignee_email FROM issues i ");
+        sql.append("LEFT JOIN users u ON i.reported_by_user_id = u.user_id ");
+        sql.append("LEFT JOIN users ua ON i.assigned_to_user_id = ua.user_id ");
+        
+        List<Object> parameters = new ArrayList<>();
+        appendFilters(sql, filterCriteria, parameters, "WHERE ");
         
         sql.append(" ORDER BY i.reporting_date DESC");
         
@@ -152,25 +366,7 @@ public class IssueDAOJdbcImpl implements IssueDAO {
                 List<IssueReport> reports = new ArrayList<>();
                 
                 while (rs.next()) {
-                    IssueReport report = new IssueReport();
-                    report.setIssueId(rs.getString("issue_id"));
-                    report.setIssueDescription(rs.getString("description"));
-                    report.setReportingDate(rs.getDate("reporting_date").toLocalDate());
-                    report.setStatus(IssueStatus.valueOf(rs.getString("status")));
-                    report.setUnit(Unit.valueOf(rs.getString("unit")));
-                    report.setAssigneeEmail(rs.getString("assignee_email"));
-                    
-                    String priorityStr = rs.getString("priority");
-                    if (priorityStr != null) {
-                        report.setPriority(Priority.valueOf(priorityStr));
-                    }
-                    
-                    Date updatedOn = rs.getDate("updated_on");
-                    if (updatedOn != null) {
-                        report.setUpdatedOn(updatedOn.toLocalDate());
-                    }
-                    
-                    reports.add(report);
+                    reports.add(mapResultSetToIssueReport(rs));
                 }
                 
                 return reports;
@@ -181,6 +377,60 @@ public class IssueDAOJdbcImpl implements IssueDAO {
         }
     }
     
+    @Override
+    public List<IssueReport> searchIssues(String query, Map<Character, Object> filterCriteria, int offset, int limit)
+            throws IssueTrackerException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            StringBuilder sql = new StringBuilder();
+            List<Object> parameters = new ArrayList<>();
+            
+            if (DatabaseUtil.isMySql(conn)) {
+                // Natural-language mode ranks rows by how many query words they contain and how rare the words are
+                sql.append("SELECT i.*, u.email as reporter_email, ua.email as assignee_email, ");
+                sql.append("MATCH(i.description) AGAINST (? IN NATURAL LANGUAGE MODE) AS relevance FROM issues i ");
+                sql.append("LEFT JOIN users u ON i.reported_by_user_id = u.user_id ");
+                sql.append("LEFT JOIN users ua ON i.assigned_to_user_id = ua.user_id ");
+                sql.append("WHERE MATCH(i.description) AGAINST (? IN NATURAL LANGUAGE MODE)");
+                parameters.add(query);
+                parameters.add(query);
+            } else {
+                // Embedded H2: its native full-text index matches rows containing every word, all with score 1
+                ensureEmbeddedFullTextIndex(conn);
+                sql.append("SELECT i.*, u.email as reporter_email, ua.email as assignee_email, ft.score AS relevance ");
+                sql.append("FROM FT_SEARCH_DATA(?, 0, 0) ft ");
+                sql.append("JOIN issues i ON i.issue_id = ft.keys[1] ");
+                sql.append("LEFT JOIN users u ON i.reported_by_user_id = u.user_id ");
+                sql.append("LEFT JOIN users ua ON i.assigned_to_user_id = ua.user_id ");
+                sql.append("WHERE 1 = 1");
+                parameters.add(query);
+            }
+            
+            appendFilters(sql, filterCriteria, parameters, " AND ");
+            sql.append(" ORDER BY relevance DESC, i.reporting_date DESC, i.issue_id LIMIT ? OFFSET ?");
+            parameters.add(limit);
+            parameters.add(offset);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    pstmt.setObject(i + 1, parameters.get(i));
+                }
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<IssueReport> reports = new ArrayList<>();
+                    while (rs.next()) {
+                        IssueReport report = mapResultSetToIssueReport(rs);
+                        report.setRelevance(rs.getDouble("relevance"));
+                        reports.add(report);
+                    }
+                    return reports;
+                }
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error searching issues: " + e.getMessage());
+        }
+    }
+    
     @Override
     public List<Issue> deleteIssues() throws IssueTrackerException {
         // Get resolved/closed issues that are at least 14 days old
@@ -213,20 +463,56 @@ public class IssueDAOJdbcImpl implements IssueDAO {
     
     @Override
     public boolean assignIssue(String issueId, int assigneeId) throws IssueTrackerException {
-        String sql = "UPDATE issues SET assigned_to_user_id = ? WHERE issue_id = ?";
+        Issue current = getIssueById(issueId);
+        return current != null && assignIssue(current, assigneeId);
+    }
+    
+    @Override
+    public boolean assignIssue(Issue current, int assigneeId) throws IssueTrackerException {
+        String sql = "UPDATE issues SET assigned_to_user_id = ?, version = version + 1 " +
+                    "WHERE issue_id = ? AND version = ?";
+        int rowsAffected;
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, assigneeId);
-            pstmt.setString(2, issueId);
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
             
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, assigneeId);
+                pstmt.setString(2, current.getIssueId());
+                pstmt.setInt(3, current.getVersion());
+                
+                rowsAffected = pstmt.executeUpdate();
+                if (rowsAffected > 0) {
+                    outboxDAO.enqueue(conn, new OutboxMessage(current.getIssueId(), "ISSUE_ASSIGNED",
+                        "Issue assigned to user ID " + assigneeId));
+                    
+                    if (isActive(current.getStatus()) && current.getAssignedToUserId() != assigneeId) {
+                        adjustActiveIssueCount(conn, current.getAssignedToUserId(), -1);
+                        adjustActiveIssueCount(conn, assigneeId, 1);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             throw new IssueTrackerException("Error assigning issue: " + e.getMessage());
         }
+        
+        return rowsAffected > 0 || failOnConflict(current);
+    }
+    
+    /**
+     * A versioned update matched no row: report a conflict if the issue still
+     * exists, otherwise it was deleted and the update simply did nothing
+     */
+    private boolean failOnConflict(Issue current) throws IssueTrackerException {
+        if (getIssueById(current.getIssueId()) != null) {
+            throw new IssueConflictException(current.getIssueId(), current.getVersion());
+        }
+        return false;
     }
     
     @Override
@@ -270,6 +556,255 @@ public class IssueDAOJdbcImpl implements IssueDAO {
         }
     }
     
+    @Override
+    public Issue claimNext(int userId, Unit unit) throws IssueTrackerException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                Issue claimed = DatabaseUtil.isMySql(conn)
+                    ? claimSkipLocked(conn, userId, unit)
+                    : claimConditional(conn, userId, unit);
+                
+                if (claimed != null) {
+                    adjustActiveIssueCount(conn, userId, 1);
+                    outboxDAO.enqueue(conn, new OutboxMessage(claimed.getIssueId(), "ISSUE_ASSIGNED",
+                        "Issue claimed by user ID " + userId));
+                    
+                    IssueHistory history = new IssueHistory();
+                    history.setIssueId(claimed.getIssueId());
+                    history.setActionPerformed("ASSIGNMENT");
+                    history.setNewValue(String.valueOf(userId));
+                    history.setUserId(userId);
+                    history.setActionDate(LocalDateTime.now());
+                    history.setComments("Assignment changed from UNASSIGNED to " + userId + " - Claimed from the work queue");
+                    historyDAO.addIssueHistory(conn, history);
+                }
+                conn.commit();
+                return claimed;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error claiming next issue: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Lock the first queue row nobody else holds; rows locked by other claimers are
+     * skipped rather than waited on
+     */
+    private Issue claimSkipLocked(Connection conn, int userId, Unit unit) throws SQLException {
+        Issue candidate = null;
+        try (PreparedStatement pstmt = conn.prepareStatement(CLAIM_QUEUE_SQL + " FOR UPDATE SKIP LOCKED")) {
+            pstmt.setString(1, unit.toString());
+            pstmt.setInt(2, 1);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    candidate = mapResultSetToIssue(rs);
+                }
+            }
+        }
+        
+        if (candidate != null) {
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE issues SET assigned_to_user_id = ?, version = version + 1 WHERE issue_id = ?")) {
+                pstmt.setInt(1, userId);
+                pstmt.setString(2, candidate.getIssueId());
+                pstmt.executeUpdate();
+            }
+        }
+        return candidate;
+    }
+    
+    /**
+     * Read the head of the queue without locks and take the first row whose
+     * conditional update still finds it unassigned; a claimer that loses a row
+     * to another moves on to the next one
+     */
+    private Issue claimConditional(Connection conn, int userId, Unit unit) throws SQLException {
+        String updateSql = "UPDATE issues SET assigned_to_user_id = ?, version = version + 1 " +
+                          "WHERE issue_id = ? AND assigned_to_user_id IS NULL AND status = 'OPEN'";
+        
+        for (int round = 0; round < CLAIM_ROUNDS; round++) {
+            List<Issue> candidates = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(CLAIM_QUEUE_SQL)) {
+                pstmt.setString(1, unit.toString());
+                pstmt.setInt(2, CLAIM_CANDIDATES);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        candidates.add(mapResultSetToIssue(rs));
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(updateSql)) {
+                for (Issue candidate : candidates) {
+                    pstmt.setInt(1, userId);
+                    pstmt.setString(2, candidate.getIssueId());
+                    if (pstmt.executeUpdate() > 0) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Move users.active_issues_count on the caller's connection; unassigned (0) is ignored
+     */
+    private void adjustActiveIssueCount(Connection conn, int userId, int delta) throws SQLException {
+        if (userId <= 0) {
+            return;
+        }
+        
+        // Keep updated_at as it is; the assignee directory polls it for profile changes
+        String sql = "UPDATE users SET active_issues_count = GREATEST(active_issues_count + ?, 0), " +
+                    "updated_at = updated_at WHERE user_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, delta);
+            pstmt.setInt(2, userId);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * A primary or unique key clash (MySQL error 1062, SQLSTATE 23505 elsewhere), as
+     * opposed to other integrity violations such as a missing foreign key
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+    
+    private boolean isActive(IssueStatus status) {
+        return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
+    }
+    
+    /**
+     * Append the showIssues filter criteria as conditions, the first one preceded by lead
+     */
+    private void appendFilters(StringBuilder sql, Map<Character, Object> filterCriteria, List<Object> parameters,
+                               String lead) {
+        if (filterCriteria == null || filterCriteria.isEmpty()) {
+            return;
+        }
+        
+        sql.append(lead);
+        boolean first = true;
+        
+        for (Map.Entry<Character, Object> entry : filterCriteria.entrySet()) {
+            if (!first) {
+                sql.append(" AND ");
+            }
+            
+            Character key = entry.getKey();
+            Object value = entry.getValue();
+            
+            switch (key) {
+                case 'S': // Status
+                    sql.append("i.status = ?");
+                    parameters.add(value.toString());
+                    break;
+                case 'A': // Assignee
+                    sql.append("ua.email = ?");
+                    parameters.add(value.toString());
+                    break;
+                case 'U': // Unit
+                    sql.append("i.unit = ?");
+                    parameters.add(value.toString());
+                    break;
+                case 'P': // Priority
+                    sql.append("i.priority = ?");
+                    parameters.add(value.toString());
+                    break;
+            }
+            first = false;
+        }
+    }
+    
+    private IssueReport mapResultSetToIssueReport(ResultSet rs) throws SQLException {
+        IssueReport report = new IssueReport();
+        report.setIssueId(rs.getString("issue_id"));
+        report.setIssueDescription(rs.getString("description"));
+        report.setReportingDate(rs.getDate("reporting_date").toLocalDate());
+        report.setStatus(IssueStatus.valueOf(rs.getString("status")));
+        report.setUnit(Unit.valueOf(rs.getString("unit")));
+        report.setAssigneeEmail(rs.getString("assignee_email"));
+        report.setReporterEmail(rs.getString("reporter_email"));
+        
+        String priorityStr = rs.getString("priority");
+        if (priorityStr != null) {
+            report.setPriority(Priority.valueOf(priorityStr));
+        }
+        
+        Date updatedOn = rs.getDate("updated_on");
+        if (updatedOn != null) {
+            report.setUpdatedOn(updatedOn.toLocalDate());
+        }
+        
+        Date resolvedDate = rs.getDate("resolved_date");
+        if (resolvedDate != null) {
+            report.setClosingDate(resolvedDate.toLocalDate());
+        }
+        
+        Date dueDate = rs.getDate("due_date");
+        if (dueDate != null) {
+            report.setDueDate(dueDate.toLocalDate());
+        }
+        
+        return report;
+    }
+    
+    /**
+     * Create H2's native full-text index on issues.description once per JVM. The
+     * index keeps itself current with triggers; creating it again fails with a
+     * duplicate key, which means another connection got there first.
+     */
+    private static void ensureEmbeddedFullTextIndex(Connection conn) throws SQLException {
+        if (embeddedFullTextReady) {
+            return;
+        }
+        
+        synchronized (IssueDAOJdbcImpl.class) {
+            if (embeddedFullTextReady) {
+                return;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init'");
+                stmt.execute("CALL FT_INIT()");
+                try {
+                    stmt.execute("CALL FT_CREATE_INDEX(SCHEMA(), 'issues', 'description')");
+                } catch (SQLException e) {
+                    if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                        throw e;
+                    }
+                }
+            }
+            embeddedFullTextReady = true;
+        }
+    }
+    
+    private TriageEntry mapResultSetToTriageEntry(ResultSet rs) throws SQLException {
+        Date dueDate = rs.getDate("due_date");
+        return new TriageEntry(
+            rs.getString("issue_id"),
+            rs.getString("description"),
+            Unit.valueOf(rs.getString("unit")),
+            Priority.valueOf(rs.getString("priority")),
+            IssueStatus.valueOf(rs.getString("status")),
+            dueDate != null ? dueDate.toLocalDate() : null,
+            rs.getDate("reporting_date").toLocalDate(),
+            rs.getInt("assigned_to_user_id"));
+    }
+    
     private Issue mapResultSetToIssue(ResultSet rs) throws SQLException {
         Issue issue = new Issue();
         issue.setIssueId(rs.getString("issue_id"));
@@ -294,6 +829,12 @@ public class IssueDAOJdbcImpl implements IssueDAO {
             issue.setUpdatedOn(updatedOn.toLocalDate());
         }
         
+        Date dueDate = rs.getDate("due_date");
+        if (dueDate != null) {
+            issue.setDueDate(dueDate.toLocalDate());
+        }
+        
+        issue.setVersion(rs.getInt("version"));
         return issue;
     }
     
@@ -307,6 +848,7 @@ public class IssueDAOJdbcImpl implements IssueDAO {
             issue.setReportedOn(report.getReportingDate());
             issue.setStatus(report.getStatus());
             issue.setPriority(report.getPriority());
+            issue.setDueDate(report.getDueDate());
             if (report.getUpdatedOn() != null) {
                 issue.setUpdatedOn(report.getUpdatedOn());
             }
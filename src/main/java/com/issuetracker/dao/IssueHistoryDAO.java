@@ -1,13 +1,25 @@
 package com.issuetracker.dao;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.BiConsumer;
 import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.IssueSnapshot;
+import com.issuetracker.model.Unit;
 import com.issuetracker.exception.IssueTrackerException;
 
 public interface IssueHistoryDAO {
     
     int addIssueHistory(IssueHistory history) throws IssueTrackerException;
     
+    /**
+     * Insert a history row on the caller's connection so it commits or rolls
+     * back together with the issue change it records
+     */
+    void addIssueHistory(Connection conn, IssueHistory history) throws SQLException;
+    
     int saveHistory(IssueHistory history) throws IssueTrackerException;
     
     List<IssueHistory> getHistoryForIssue(String issueId) throws IssueTrackerException;
@@ -31,4 +43,38 @@ public interface IssueHistoryDAO {
     IssueHistory getHistoryById(int historyId) throws IssueTrackerException;
     
     boolean updateHistoryComments(int historyId, String comments) throws IssueTrackerException;
+    
+    /**
+     * Events of the issue after the given history id in history_id order,
+     * limited to action_date <= asOf unless asOf is null
+     */
+    List<IssueHistory> findEventsForReplay(String issueId, int afterHistoryId, LocalDateTime asOf) throws IssueTrackerException;
+    
+    /**
+     * Stream every event up to asOf that comes after the issue's latest
+     * snapshot at asOf, in (issue_id, history_id) order, with the issue's unit
+     * from that snapshot, or from issues when the snapshot has none
+     */
+    void forEachEventSinceLatestSnapshots(LocalDateTime asOf, BiConsumer<IssueHistory, Unit> action)
+            throws IssueTrackerException;
+    
+    /**
+     * Snapshot with the highest last_history_id whose snapshot_date is at or
+     * before asOf, or the latest of all when asOf is null
+     */
+    IssueSnapshot findLatestSnapshot(String issueId, LocalDateTime asOf) throws IssueTrackerException;
+    
+    /**
+     * Latest snapshot of each issue at asOf, with the unit filled in from
+     * issues for snapshots saved without one
+     */
+    List<IssueSnapshot> findLatestSnapshots(LocalDateTime asOf) throws IssueTrackerException;
+    
+    int saveSnapshot(IssueSnapshot snapshot) throws IssueTrackerException;
+    
+    /**
+     * Next page of the whole audit trail in history_id order, for bulk readers
+     * that must not hold the full table at once
+     */
+    List<IssueHistory> findHistoryPage(int afterHistoryId, int limit) throws IssueTrackerException;
 }
\ No newline at end of file
@@ -4,16 +4,20 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.IssueSnapshot;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Unit;
 import com.issuetracker.util.DatabaseUtil;
 
 public class IssueHistoryDAOImpl implements IssueHistoryDAO {
     
     @Override
     public int addIssueHistory(IssueHistory history) throws IssueTrackerException {
-        String sql = "INSERT INTO issue_history (issue_id, user_id, action_performed, action_date, comments) VALUES (?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO issue_history (issue_id, user_id, action_performed, old_value, new_value, action_date, comments) VALUES (?, ?, ?, ?, ?, ?, ?)";
         
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -21,8 +25,10 @@ public class IssueHistoryDAOImpl implements IssueHistoryDAO {
             pstmt.setString(1, history.getIssueId());
             pstmt.setInt(2, history.getUserId());
             pstmt.setString(3, history.getActionPerformed());
-            pstmt.setTimestamp(4, Timestamp.valueOf(history.getActionDate()));
-            pstmt.setString(5, history.getComments());
+            pstmt.setString(4, history.getOldValue());
+            pstmt.setString(5, history.getNewValue());
+            pstmt.setTimestamp(6, Timestamp.valueOf(history.getActionDate()));
+            pstmt.setString(7, history.getComments());
             
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows == 0) {
@@ -42,6 +48,22 @@ public class IssueHistoryDAOImpl implements IssueHistoryDAO {
         }
     }
     
+    @Override
+    public void addIssueHistory(Connection conn, IssueHistory history) throws SQLException {
+        String sql = "INSERT INTO issue_history (issue_id, user_id, action_performed, old_value, new_value, action_date, comments) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, history.getIssueId());
+            pstmt.setInt(2, history.getUserId());
+            pstmt.setString(3, history.getActionPerformed());
+            pstmt.setString(4, history.getOldValue());
+            pstmt.setString(5, history.getNewValue());
+            pstmt.setTimestamp(6, Timestamp.valueOf(history.getActionDate()));
+            pstmt.setString(7, history.getComments());
+            pstmt.executeUpdate();
+        }
+    }
+    
     @Override
     public List<IssueHistory> getHistoryForIssue(String issueId) throws IssueTrackerException {
         String sql = "SELECT h.*, u.username, u.full_name " +
@@ -433,6 +455,181 @@ public class IssueHistoryDAOImpl implements IssueHistoryDAO {
         }
     }
     
+    // Replay support for point-in-time reconstruction
+    
+    @Override
+    public List<IssueHistory> findEventsForReplay(String issueId, int afterHistoryId, LocalDateTime asOf) throws IssueTrackerException {
+        String sql = "SELECT * FROM issue_history " +
+                    "WHERE issue_id = ? AND history_id > ?" + (asOf != null ? " AND action_date <= ?" : "") +
+                    " ORDER BY history_id";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, issueId);
+            pstmt.setInt(2, afterHistoryId);
+            if (asOf != null) {
+                pstmt.setTimestamp(3, Timestamp.valueOf(asOf));
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<IssueHistory> events = new ArrayList<>();
+                while (rs.next()) {
+                    events.add(mapResultSetToHistory(rs));
+                }
+                return events;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving history for replay: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public void forEachEventSinceLatestSnapshots(LocalDateTime asOf, BiConsumer<IssueHistory, Unit> action)
+            throws IssueTrackerException {
+        String sql = "SELECT h.*, COALESCE(s.unit, i.unit) AS issue_unit FROM issue_history h " +
+                    "LEFT JOIN (SELECT issue_id, MAX(last_history_id) AS last_history_id " +
+                    "           FROM issue_snapshots WHERE snapshot_date <= ? GROUP BY issue_id) latest " +
+                    "ON latest.issue_id = h.issue_id " +
+                    "LEFT JOIN issue_snapshots s " +
+                    "ON s.issue_id = latest.issue_id AND s.last_history_id = latest.last_history_id " +
+                    "LEFT JOIN issues i ON i.issue_id = h.issue_id " +
+                    "WHERE h.action_date <= ? AND h.history_id > COALESCE(latest.last_history_id, 0) " +
+                    "ORDER BY h.issue_id, h.history_id";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = DatabaseUtil.prepareStreamingStatement(conn, sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(asOf));
+            pstmt.setTimestamp(2, Timestamp.valueOf(asOf));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String unit = rs.getString("issue_unit");
+                    action.accept(mapResultSetToHistory(rs), unit != null ? Unit.valueOf(unit) : null);
+                }
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving history for replay: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public IssueSnapshot findLatestSnapshot(String issueId, LocalDateTime asOf) throws IssueTrackerException {
+        String sql = "SELECT * FROM issue_snapshots " +
+                    "WHERE issue_id = ?" + (asOf != null ? " AND snapshot_date <= ?" : "") +
+                    " ORDER BY last_history_id DESC LIMIT 1";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, issueId);
+            if (asOf != null) {
+                pstmt.setTimestamp(2, Timestamp.valueOf(asOf));
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToSnapshot(rs);
+                }
+                return null;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving issue snapshot: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public List<IssueSnapshot> findLatestSnapshots(LocalDateTime asOf) throws IssueTrackerException {
+        String sql = "SELECT s.snapshot_id, s.issue_id, s.last_history_id, s.snapshot_date, s.status, " +
+                    "s.assigned_to_user_id, s.event_count, COALESCE(s.unit, i.unit) AS unit " +
+                    "FROM issue_snapshots s " +
+                    "JOIN (SELECT issue_id, MAX(last_history_id) AS last_history_id " +
+                    "      FROM issue_snapshots WHERE snapshot_date <= ? GROUP BY issue_id) latest " +
+                    "ON latest.issue_id = s.issue_id AND latest.last_history_id = s.last_history_id " +
+                    "LEFT JOIN issues i ON i.issue_id = s.issue_id";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(asOf));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<IssueSnapshot> snapshots = new ArrayList<>();
+                while (rs.next()) {
+                    snapshots.add(mapResultSetToSnapshot(rs));
+                }
+                return snapshots;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving issue snapshots: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public int saveSnapshot(IssueSnapshot snapshot) throws IssueTrackerException {
+        String sql = "INSERT INTO issue_snapshots (issue_id, last_history_id, snapshot_date, status, assigned_to_user_id, event_count, unit) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            pstmt.setString(1, snapshot.getIssueId());
+            pstmt.setInt(2, snapshot.getLastHistoryId());
+            pstmt.setTimestamp(3, Timestamp.valueOf(snapshot.getSnapshotDate()));
+            pstmt.setString(4, snapshot.getStatus() != null ? snapshot.getStatus().toString() : null);
+            if (snapshot.getAssignedToUserId() > 0) {
+                pstmt.setInt(5, snapshot.getAssignedToUserId());
+            } else {
+                pstmt.setNull(5, Types.INTEGER);
+            }
+            pstmt.setInt(6, snapshot.getEventCount());
+            pstmt.setString(7, snapshot.getUnit() != null ? snapshot.getUnit().name() : null);
+            
+            pstmt.executeUpdate();
+            
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    return generatedKeys.getInt(1);
+                }
+                return 0;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error saving issue snapshot: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public List<IssueHistory> findHistoryPage(int afterHistoryId, int limit) throws IssueTrackerException {
+        String sql = "SELECT * FROM issue_history " +
+                    "WHERE history_id > ? " +
+                    "ORDER BY history_id " +
+                    "LIMIT ?";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, afterHistoryId);
+            pstmt.setInt(2, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<IssueHistory> page = new ArrayList<>();
+                while (rs.next()) {
+                    page.add(mapResultSetToHistory(rs));
+                }
+                return page;
+            }
+            
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving history page: " + e.getMessage());
+        }
+    }
+    
     /**
      * Helper method to map ResultSet to IssueHistory object
      */
@@ -442,6 +639,8 @@ public class IssueHistoryDAOImpl implements IssueHistoryDAO {
         history.setIssueId(rs.getString("issue_id"));
         history.setUserId(rs.getInt("user_id"));
         history.setActionPerformed(rs.getString("action_performed"));
+        history.setOldValue(rs.getString("old_value"));
+        history.setNewValue(rs.getString("new_value"));
         
         Timestamp actionDate = rs.getTimestamp("action_date");
         if (actionDate != null) {
@@ -457,4 +656,30 @@ public class IssueHistoryDAOImpl implements IssueHistoryDAO {
         
         return history;
     }
+    
+    private IssueSnapshot mapResultSetToSnapshot(ResultSet rs) throws SQLException {
+        IssueSnapshot snapshot = new IssueSnapshot();
+        snapshot.setSnapshotId(rs.getInt("snapshot_id"));
+        snapshot.setIssueId(rs.getString("issue_id"));
+        snapshot.setLastHistoryId(rs.getInt("last_history_id"));
+        snapshot.setSnapshotDate(rs.getTimestamp("snapshot_date").toLocalDateTime());
+        snapshot.setEventCount(rs.getInt("event_count"));
+        
+        String unit = rs.getString("unit");
+        if (unit != null) {
+            snapshot.setUnit(Unit.valueOf(unit));
+        }
+        
+        String status = rs.getString("status");
+        if (status != null) {
+            snapshot.setStatus(IssueStatus.valueOf(status));
+        }
+        
+        int assignedToUserId = rs.getInt("assigned_to_user_id");
+        if (!rs.wasNull()) {
+            snapshot.setAssignedToUserId(assignedToUserId);
+        }
+        
+        return snapshot;
+    }
 }
\ No newline at end of file
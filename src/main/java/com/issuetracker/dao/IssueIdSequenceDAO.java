@@ -0,0 +1,13 @@
+package com.issuetracker.dao;
+
+import com.issuetracker.exception.IssueTrackerException;
+
+public interface IssueIdSequenceDAO {
+
+    /**
+     * Reserve the next blockSize numbers of the sequence. The reservation is a
+     * single row update, so JVMs sharing the database never get overlapping blocks.
+     * @return First number of the block
+     */
+    long allocateBlock(String sequenceName, int blockSize) throws IssueTrackerException;
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.util.DatabaseUtil;
+
+public class IssueIdSequenceDAOImpl implements IssueIdSequenceDAO {
+
+    @Override
+    public long allocateBlock(String sequenceName, int blockSize) throws IssueTrackerException {
+        String updateSql = "UPDATE issue_id_sequences SET next_value = next_value + ? WHERE sequence_name = ?";
+        String selectSql = "SELECT next_value FROM issue_id_sequences WHERE sequence_name = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+
+            // The update takes the row lock, so the value read back is ours until commit
+            try (PreparedStatement update = conn.prepareStatement(updateSql);
+                 PreparedStatement select = conn.prepareStatement(selectSql)) {
+                update.setInt(1, blockSize);
+                update.setString(2, sequenceName);
+                if (update.executeUpdate() == 0) {
+                    conn.rollback();
+                    throw new IssueTrackerException("Unknown issue id sequence: " + sequenceName);
+                }
+
+                select.setString(1, sequenceName);
+                long end;
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    end = rs.getLong("next_value");
+                }
+                conn.commit();
+                return end - blockSize;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error allocating issue ids: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.issuetracker.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.OutboxMessage;
+
+public interface NotificationOutboxDAO {
+
+    /**
+     * Insert an outbox row on the caller's connection so it commits or rolls
+     * back together with the issue change it describes
+     */
+    void enqueue(Connection conn, OutboxMessage message) throws SQLException;
+
+    /**
+     * Oldest pending rows whose next attempt is due, with the issue's
+     * reporter and assignee emails resolved
+     */
+    List<OutboxMessage> fetchDue(int limit) throws IssueTrackerException;
+
+    int markSent(List<Long> outboxIds) throws IssueTrackerException;
+
+    int markRetry(List<Long> outboxIds, LocalDateTime nextAttemptAt, String error) throws IssueTrackerException;
+
+    int markFailed(List<Long> outboxIds, String error) throws IssueTrackerException;
+
+    int countPending() throws IssueTrackerException;
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.OutboxMessage;
+import com.issuetracker.util.DatabaseUtil;
+
+public class NotificationOutboxDAOImpl implements NotificationOutboxDAO {
+
+    @Override
+    public void enqueue(Connection conn, OutboxMessage message) throws SQLException {
+        String sql = "INSERT INTO notification_outbox (issue_id, event_type, payload) VALUES (?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, message.getIssueId());
+            pstmt.setString(2, message.getEventType());
+            pstmt.setString(3, message.getPayload());
+            pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public List<OutboxMessage> fetchDue(int limit) throws IssueTrackerException {
+        String sql = "SELECT o.outbox_id, o.issue_id, o.event_type, o.payload, o.attempts, o.created_at, " +
+                    "ur.email AS reporter_email, ua.email AS assignee_email " +
+                    "FROM notification_outbox o " +
+                    "LEFT JOIN issues i ON o.issue_id = i.issue_id " +
+                    "LEFT JOIN users ur ON i.reported_by_user_id = ur.user_id " +
+                    "LEFT JOIN users ua ON i.assigned_to_user_id = ua.user_id " +
+                    "WHERE o.status = 'PENDING' AND o.next_attempt_at <= ? " +
+                    "ORDER BY o.outbox_id " +
+                    "LIMIT ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<OutboxMessage> messages = new ArrayList<>();
+                while (rs.next()) {
+                    OutboxMessage message = new OutboxMessage();
+                    message.setOutboxId(rs.getLong("outbox_id"));
+                    message.setIssueId(rs.getString("issue_id"));
+                    message.setEventType(rs.getString("event_type"));
+                    message.setPayload(rs.getString("payload"));
+                    message.setAttempts(rs.getInt("attempts"));
+                    message.setReporterEmail(rs.getString("reporter_email"));
+                    message.setAssigneeEmail(rs.getString("assignee_email"));
+
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    if (createdAt != null) {
+                        message.setCreatedAt(createdAt.toLocalDateTime());
+                    }
+
+                    messages.add(message);
+                }
+                return messages;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving pending notifications: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int markSent(List<Long> outboxIds) throws IssueTrackerException {
+        String sql = "UPDATE notification_outbox SET status = 'SENT', sent_at = ?, attempts = attempts + 1 " +
+                    "WHERE outbox_id IN (" + placeholders(outboxIds.size()) + ")";
+
+        return updateRows(sql, outboxIds, Collections.singletonList(Timestamp.valueOf(LocalDateTime.now())),
+            "Error marking notifications as sent: ");
+    }
+
+    @Override
+    public int markRetry(List<Long> outboxIds, LocalDateTime nextAttemptAt, String error) throws IssueTrackerException {
+        String sql = "UPDATE notification_outbox SET attempts = attempts + 1, next_attempt_at = ?, last_error = ? " +
+                    "WHERE outbox_id IN (" + placeholders(outboxIds.size()) + ")";
+
+        List<Object> leading = new ArrayList<>();
+        leading.add(Timestamp.valueOf(nextAttemptAt));
+        leading.add(error);
+        return updateRows(sql, outboxIds, leading, "Error scheduling notification retry: ");
+    }
+
+    @Override
+    public int markFailed(List<Long> outboxIds, String error) throws IssueTrackerException {
+        String sql = "UPDATE notification_outbox SET status = 'FAILED', attempts = attempts + 1, last_error = ? " +
+                    "WHERE outbox_id IN (" + placeholders(outboxIds.size()) + ")";
+
+        return updateRows(sql, outboxIds, Collections.singletonList(error), "Error marking notifications as failed: ");
+    }
+
+    @Override
+    public int countPending() throws IssueTrackerException {
+        String sql = "SELECT COUNT(*) FROM notification_outbox WHERE status = 'PENDING'";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting pending notifications: " + e.getMessage());
+        }
+    }
+
+    private int updateRows(String sql, List<Long> outboxIds, List<?> leadingParameters, String errorPrefix)
+            throws IssueTrackerException {
+        if (outboxIds.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (Object parameter : leadingParameters) {
+                pstmt.setObject(index++, parameter);
+            }
+            for (Long outboxId : outboxIds) {
+                pstmt.setLong(index++, outboxId);
+            }
+
+            return pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException(errorPrefix + e.getMessage());
+        }
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(Math.max(count, 1), "?"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.issuetracker.dao;
+
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueCount;
+import com.issuetracker.model.IssueStatistics;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+import com.issuetracker.model.UserWorkload;
+
+/**
+ * Aggregate queries over the reporting views; every method is a single
+ * query that returns counts, never issue rows
+ */
+public interface StatisticsDAO {
+
+    IssueStatistics getIssueStatistics() throws IssueTrackerException;
+
+    Map<Priority, Long> getCountsByPriority() throws IssueTrackerException;
+
+    Map<Unit, Long> getActiveCountsByUnit() throws IssueTrackerException;
+
+    /**
+     * Active issues due between today and the given number of days from now
+     */
+    long countActiveDueWithin(int days) throws IssueTrackerException;
+
+    List<UserWorkload> getUserWorkload() throws IssueTrackerException;
+
+    /**
+     * Issue counts for every status, unit and priority combination that occurs
+     */
+    List<IssueCount> countByStatusUnitPriority() throws IssueTrackerException;
+
+    /**
+     * Unresolved issues per assignee, unassigned issues excluded
+     */
+    Map<Integer, Long> countActiveByAssignee() throws IssueTrackerException;
+
+    /**
+     * Unresolved issues per assignee broken down by priority, unassigned issues excluded
+     */
+    Map<Integer, Map<Priority, Long>> countActiveByAssigneeAndPriority() throws IssueTrackerException;
+}
\ No newline at end of file
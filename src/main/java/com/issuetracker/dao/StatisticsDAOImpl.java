@@ -0,0 +1,213 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueCount;
+import com.issuetracker.model.IssueStatistics;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+import com.issuetracker.model.UserWorkload;
+import com.issuetracker.util.DatabaseUtil;
+
+public class StatisticsDAOImpl implements StatisticsDAO {
+
+    @Override
+    public IssueStatistics getIssueStatistics() throws IssueTrackerException {
+        String sql = "SELECT total_issues, open_issues, in_progress_issues, resolved_issues, closed_issues, " +
+                    "critical_issues, high_priority_issues, unassigned_issues, overdue_issues " +
+                    "FROM v_issue_statistics";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            IssueStatistics statistics = new IssueStatistics();
+            if (rs.next()) {
+                statistics.setTotalIssues(rs.getLong("total_issues"));
+                statistics.setOpenIssues(rs.getLong("open_issues"));
+                statistics.setInProgressIssues(rs.getLong("in_progress_issues"));
+                statistics.setResolvedIssues(rs.getLong("resolved_issues"));
+                statistics.setClosedIssues(rs.getLong("closed_issues"));
+                statistics.setCriticalIssues(rs.getLong("critical_issues"));
+                statistics.setHighPriorityIssues(rs.getLong("high_priority_issues"));
+                statistics.setUnassignedIssues(rs.getLong("unassigned_issues"));
+                statistics.setOverdueIssues(rs.getLong("overdue_issues"));
+            }
+            return statistics;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving issue statistics: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<Priority, Long> getCountsByPriority() throws IssueTrackerException {
+        // Answered from idx_issues_priority without touching the rows
+        String sql = "SELECT priority, COUNT(*) AS issue_count FROM issues GROUP BY priority";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            Map<Priority, Long> counts = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                counts.put(priority, 0L);
+            }
+            while (rs.next()) {
+                counts.put(Priority.valueOf(rs.getString("priority")), rs.getLong("issue_count"));
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting issues by priority: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<Unit, Long> getActiveCountsByUnit() throws IssueTrackerException {
+        String sql = "SELECT unit, COUNT(*) AS issue_count FROM v_active_issues GROUP BY unit";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            Map<Unit, Long> counts = new EnumMap<>(Unit.class);
+            for (Unit unit : Unit.values()) {
+                counts.put(unit, 0L);
+            }
+            while (rs.next()) {
+                counts.put(Unit.valueOf(rs.getString("unit")), rs.getLong("issue_count"));
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting active issues by unit: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long countActiveDueWithin(int days) throws IssueTrackerException {
+        String sql = "SELECT COUNT(*) FROM v_active_issues " +
+                    "WHERE due_date IS NOT NULL AND days_until_due BETWEEN 0 AND ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, days);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting issues due soon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<UserWorkload> getUserWorkload() throws IssueTrackerException {
+        String sql = "SELECT user_id, username, full_name, email, role, total_assigned_issues, open_assignments, " +
+                    "in_progress_assignments, critical_assignments, overdue_assignments " +
+                    "FROM v_user_workload";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            List<UserWorkload> workloads = new ArrayList<>();
+            while (rs.next()) {
+                UserWorkload workload = new UserWorkload();
+                workload.setUserId(rs.getInt("user_id"));
+                workload.setUsername(rs.getString("username"));
+                workload.setFullName(rs.getString("full_name"));
+                workload.setEmail(rs.getString("email"));
+                workload.setRole(rs.getString("role"));
+                workload.setTotalAssignedIssues(rs.getInt("total_assigned_issues"));
+                workload.setOpenAssignments(rs.getInt("open_assignments"));
+                workload.setInProgressAssignments(rs.getInt("in_progress_assignments"));
+                workload.setCriticalAssignments(rs.getInt("critical_assignments"));
+                workload.setOverdueAssignments(rs.getInt("overdue_assignments"));
+                workloads.add(workload);
+            }
+            return workloads;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving user workload: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<IssueCount> countByStatusUnitPriority() throws IssueTrackerException {
+        String sql = "SELECT status, unit, priority, COUNT(*) AS issue_count FROM issues GROUP BY status, unit, priority";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            List<IssueCount> counts = new ArrayList<>();
+            while (rs.next()) {
+                String status = rs.getString("status");
+                // REOPENED exists in the table but not in IssueStatus; it behaves as OPEN
+                counts.add(new IssueCount(
+                    "REOPENED".equals(status) ? IssueStatus.OPEN : IssueStatus.valueOf(status),
+                    Unit.valueOf(rs.getString("unit")),
+                    Priority.valueOf(rs.getString("priority")),
+                    rs.getLong("issue_count")));
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting issues: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> countActiveByAssignee() throws IssueTrackerException {
+        String sql = "SELECT assigned_to_user_id, COUNT(*) AS issue_count FROM issues " +
+                    "WHERE assigned_to_user_id IS NOT NULL AND status NOT IN ('RESOLVED', 'CLOSED') " +
+                    "GROUP BY assigned_to_user_id";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            Map<Integer, Long> counts = new HashMap<>();
+            while (rs.next()) {
+                counts.put(rs.getInt("assigned_to_user_id"), rs.getLong("issue_count"));
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting issues by assignee: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<Integer, Map<Priority, Long>> countActiveByAssigneeAndPriority() throws IssueTrackerException {
+        String sql = "SELECT assigned_to_user_id, priority, COUNT(*) AS issue_count FROM issues " +
+                    "WHERE assigned_to_user_id IS NOT NULL AND status NOT IN ('RESOLVED', 'CLOSED') " +
+                    "GROUP BY assigned_to_user_id, priority";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            Map<Integer, Map<Priority, Long>> counts = new HashMap<>();
+            while (rs.next()) {
+                counts.computeIfAbsent(rs.getInt("assigned_to_user_id"), key -> new EnumMap<>(Priority.class))
+                    .put(Priority.valueOf(rs.getString("priority")), rs.getLong("issue_count"));
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting issues by assignee and priority: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
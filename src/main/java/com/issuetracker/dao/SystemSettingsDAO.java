@@ -0,0 +1,21 @@
+package com.issuetracker.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.SystemSetting;
+
+public interface SystemSettingsDAO {
+
+    List<SystemSetting> findAll() throws IssueTrackerException;
+
+    /**
+     * Settings whose updated_at is at or after the given time
+     */
+    List<SystemSetting> findUpdatedSince(LocalDateTime since) throws IssueTrackerException;
+
+    int countSettings() throws IssueTrackerException;
+
+    boolean updateSetting(String settingKey, String settingValue) throws IssueTrackerException;
+}
\ No newline at end of file
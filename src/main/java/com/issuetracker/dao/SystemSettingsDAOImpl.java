@@ -0,0 +1,100 @@
+package com.issuetracker.dao;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.SystemSetting;
+import com.issuetracker.util.DatabaseUtil;
+
+public class SystemSettingsDAOImpl implements SystemSettingsDAO {
+
+    private static final String SELECT_COLUMNS =
+        "SELECT setting_key, setting_value, description, is_system_setting, updated_at FROM system_settings ";
+
+    @Override
+    public List<SystemSetting> findAll() throws IssueTrackerException {
+        String sql = SELECT_COLUMNS + "ORDER BY setting_key";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            return mapResultSet(rs);
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving system settings: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<SystemSetting> findUpdatedSince(LocalDateTime since) throws IssueTrackerException {
+        String sql = SELECT_COLUMNS + "WHERE updated_at >= ? ORDER BY updated_at";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return mapResultSet(rs);
+            }
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error retrieving changed system settings: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int countSettings() throws IssueTrackerException {
+        String sql = "SELECT COUNT(*) FROM system_settings";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error counting system settings: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean updateSetting(String settingKey, String settingValue) throws IssueTrackerException {
+        // Set updated_at explicitly, H2 ignores ON UPDATE CURRENT_TIMESTAMP
+        String sql = "UPDATE system_settings SET setting_value = ?, updated_at = CURRENT_TIMESTAMP WHERE setting_key = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, settingValue);
+            pstmt.setString(2, settingKey);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Error updating system setting: " + e.getMessage());
+        }
+    }
+
+    private List<SystemSetting> mapResultSet(ResultSet rs) throws SQLException {
+        List<SystemSetting> settings = new ArrayList<>();
+        while (rs.next()) {
+            SystemSetting setting = new SystemSetting();
+            setting.setSettingKey(rs.getString("setting_key"));
+            setting.setSettingValue(rs.getString("setting_value"));
+            setting.setDescription(rs.getString("description"));
+            setting.setSystemSetting(rs.getBoolean("is_system_setting"));
+
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            if (updatedAt != null) {
+                setting.setUpdatedAt(updatedAt.toLocalDateTime());
+            }
+
+            settings.add(setting);
+        }
+        return settings;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.issuetracker.dao;
 
 import java.util.List;
+import java.util.Map;
 import com.issuetracker.model.User;
 import com.issuetracker.exception.IssueTrackerException;
 
@@ -23,4 +24,14 @@ public interface UserDAO {
     boolean deleteUser(int userId) throws IssueTrackerException;
     
     boolean validateCredentials(String email, String password) throws IssueTrackerException;
+    
+    /**
+     * Persisted active_issues_count of every user, keyed by user ID
+     */
+    Map<Integer, Integer> getActiveIssueCounts() throws IssueTrackerException;
+    
+    /**
+     * Overwrite a user's active_issues_count only if it still holds the expected value
+     */
+    boolean replaceActiveIssueCount(int userId, int expected, int count) throws IssueTrackerException;
 }
\ No newline at end of file
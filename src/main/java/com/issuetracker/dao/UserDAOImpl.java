@@ -2,7 +2,9 @@ package com.issuetracker.dao;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import com.issuetracker.model.User;
 import com.issuetracker.util.DatabaseUtil;
 import com.issuetracker.exception.IssueTrackerException;
@@ -178,6 +180,42 @@ public class UserDAOImpl implements UserDAO {
         }
     }
     
+    @Override
+    public Map<Integer, Integer> getActiveIssueCounts() throws IssueTrackerException {
+        String sql = "SELECT user_id, active_issues_count FROM users";
+        Map<Integer, Integer> counts = new HashMap<>();
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                counts.put(rs.getInt("user_id"), rs.getInt("active_issues_count"));
+            }
+            return counts;
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Database error while getting active issue counts: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public boolean replaceActiveIssueCount(int userId, int expected, int count) throws IssueTrackerException {
+        // Keep updated_at as it is; the assignee directory polls it for profile changes
+        String sql = "UPDATE users SET active_issues_count = ?, updated_at = updated_at " +
+                    "WHERE user_id = ? AND active_issues_count = ?";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, count);
+            pstmt.setInt(2, userId);
+            pstmt.setInt(3, expected);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new IssueTrackerException("Database error while updating active issue count: " + e.getMessage());
+        }
+    }
+    
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         User user = new User();
         user.setUserId(rs.getInt("user_id"));
@@ -0,0 +1,185 @@
+package com.issuetracker.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.issuetracker.model.Issue;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+
+/**
+ * Immutable description of a committed change to an issue.
+ * Carries both the before and after values so subscribers can adjust
+ * derived state without looking the issue up again.
+ */
+public final class IssueChangeEvent
+{
+    private final IssueChangeType type;
+    private final String issueId;
+    private final Unit unit;
+    private final Priority priority;
+    private final String description;
+    private final int reportedByUserId;
+    private final IssueStatus oldStatus;
+    private final IssueStatus newStatus;
+    private final int oldAssigneeId;
+    private final int newAssigneeId;
+    private final String comment;
+    private final LocalDate dueDate;
+    private final LocalDateTime occurredAt;
+
+    private IssueChangeEvent(IssueChangeType type, Issue issue,
+			     IssueStatus oldStatus, IssueStatus newStatus,
+			     int oldAssigneeId, int newAssigneeId, String comment)
+    {
+	this.type = type;
+	this.issueId = issue.getIssueId();
+	this.unit = issue.getIssueUnit();
+	this.priority = issue.getPriority();
+	this.description = issue.getIssueDescription();
+	this.reportedByUserId = issue.getReportedByUserId();
+	this.oldStatus = oldStatus;
+	this.newStatus = newStatus;
+	this.oldAssigneeId = oldAssigneeId;
+	this.newAssigneeId = newAssigneeId;
+	this.comment = comment;
+	this.dueDate = issue.getDueDate();
+	this.occurredAt = LocalDateTime.now();
+    }
+
+    public static IssueChangeEvent created(Issue issue)
+    {
+	return new IssueChangeEvent(IssueChangeType.CREATED, issue,
+				    null, issue.getStatus(),
+				    0, issue.getAssignedToUserId(), null);
+    }
+
+    public static IssueChangeEvent statusChanged(Issue before, IssueStatus newStatus)
+    {
+	return new IssueChangeEvent(IssueChangeType.STATUS_CHANGED, before,
+				    before.getStatus(), newStatus,
+				    before.getAssignedToUserId(), before.getAssignedToUserId(), null);
+    }
+
+    public static IssueChangeEvent assigned(Issue before, int newAssigneeId)
+    {
+	return new IssueChangeEvent(IssueChangeType.ASSIGNED, before,
+				    before.getStatus(), before.getStatus(),
+				    before.getAssignedToUserId(), newAssigneeId, null);
+    }
+
+    /**
+     * A comment added to the issue; status and assignee are unchanged
+     */
+    public static IssueChangeEvent commentAdded(Issue issue, String comment)
+    {
+	return new IssueChangeEvent(IssueChangeType.COMMENT_ADDED, issue,
+				    issue.getStatus(), issue.getStatus(),
+				    issue.getAssignedToUserId(), issue.getAssignedToUserId(), comment);
+    }
+
+    public static IssueChangeEvent deleted(Issue issue)
+    {
+	return new IssueChangeEvent(IssueChangeType.DELETED, issue,
+				    issue.getStatus(), null,
+				    issue.getAssignedToUserId(), 0, null);
+    }
+
+    public IssueChangeType getType()
+    {
+	return type;
+    }
+
+    public String getIssueId()
+    {
+	return issueId;
+    }
+
+    public Unit getUnit()
+    {
+	return unit;
+    }
+
+    public Priority getPriority()
+    {
+	return priority;
+    }
+
+    public String getDescription()
+    {
+	return description;
+    }
+
+    public int getReportedByUserId()
+    {
+	return reportedByUserId;
+    }
+
+    /**
+     * Status before the change, null for CREATED
+     */
+    public IssueStatus getOldStatus()
+    {
+	return oldStatus;
+    }
+
+    /**
+     * Status after the change, null for DELETED
+     */
+    public IssueStatus getNewStatus()
+    {
+	return newStatus;
+    }
+
+    /**
+     * Assignee before the change, 0 when unassigned
+     */
+    public int getOldAssigneeId()
+    {
+	return oldAssigneeId;
+    }
+
+    /**
+     * Assignee after the change, 0 when unassigned
+     */
+    public int getNewAssigneeId()
+    {
+	return newAssigneeId;
+    }
+
+    /**
+     * Text of the added comment, null for other change types
+     */
+    public String getComment()
+    {
+	return comment;
+    }
+
+    /**
+     * Due date of the issue, null when it has none
+     */
+    public LocalDate getDueDate()
+    {
+	return dueDate;
+    }
+
+    public LocalDateTime getOccurredAt()
+    {
+	return occurredAt;
+    }
+
+    @Override
+    public String toString()
+    {
+	return "IssueChangeEvent{" +
+		"type=" + type +
+		", issueId='" + issueId + '\'' +
+		", oldStatus=" + oldStatus +
+		", newStatus=" + newStatus +
+		", oldAssigneeId=" + oldAssigneeId +
+		", newAssigneeId=" + newAssigneeId +
+		", occurredAt=" + occurredAt +
+		'}';
+    }
+}
\ No newline at end of file
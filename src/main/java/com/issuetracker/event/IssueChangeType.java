@@ -0,0 +1,10 @@
+package com.issuetracker.event;
+
+public enum IssueChangeType
+{
+    CREATED,
+    STATUS_CHANGED,
+    ASSIGNED,
+    COMMENT_ADDED,
+    DELETED
+}
\ No newline at end of file
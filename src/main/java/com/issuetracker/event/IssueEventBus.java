@@ -0,0 +1,342 @@
+package com.issuetracker.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process bus for issue change events.
+ *
+ * Events go into a fixed-size ring buffer. Publishing is serialised so the
+ * ring has a single writer; every subscriber runs on its own daemon thread
+ * with its own read cursor and receives events in batches. A subscriber
+ * that falls a full ring behind either loses the oldest events (DROP) or
+ * holds up the publisher until it catches up (BLOCK). The publisher waits
+ * outside the publish lock, and a publish made from a delivery thread never
+ * waits: the subscriber it would wait for may be the one publishing, or be
+ * waiting on it, so such events can be dropped for a full BLOCK subscriber.
+ *
+ * Derived state is kept current in one of two ways. What a mutation's own
+ * checks read, or what must never drift, is updated inline by
+ * IssueServiceImpl before the call returns: KnownIssueIds, DuplicateDetector,
+ * TriageBoard, IssueCounterMatrix and AutoAssignmentEngine. Views that may
+ * lag by a batch subscribe here, all with BLOCK: IssueSearchIndex, Typeahead
+ * and SlaMonitor. Those three lose events only when a delivery thread
+ * publishes while they are full (none of them publish) or when their
+ * callback throws on a batch; both show in the Subscription's dropped and
+ * failure counts, and load() rebuilds the view from the database. A DROP
+ * subscriber loses the oldest events whenever it falls a ring behind, so it
+ * suits only state that is refreshed some other way.
+ */
+public class IssueEventBus {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+    private static final long BLOCKED_PARK_NANOS = 50_000L;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Slot> ring;
+    private final Object publishLock = new Object();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder blockedPublishes = new LongAdder();
+
+    /** Sequence of the last published event, -1 before the first */
+    private volatile long published = -1;
+    private volatile boolean running = true;
+
+    public IssueEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Ring size, rounded up to a power of two
+     */
+    public IssueEventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.ring = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Register a subscriber that receives every event published from now on
+     * @param name Name used for the delivery thread and in metrics
+     * @param subscriber Callback invoked with each batch
+     * @param policy What to do when the subscriber falls a full ring behind
+     * @param maxBatchSize Upper bound on events per callback
+     * @return Handle exposing the subscriber's metrics
+     */
+    public Subscription subscribe(String name, IssueEventSubscriber subscriber,
+                                  OverflowPolicy policy, int maxBatchSize) {
+        if (!running) {
+            throw new IllegalStateException("Event bus has been shut down");
+        }
+
+        Subscription subscription;
+        synchronized (publishLock) {
+            subscription = new Subscription(name, subscriber, policy, Math.max(1, maxBatchSize), published);
+            subscriptions.add(subscription);
+        }
+        subscription.thread.start();
+        return subscription;
+    }
+
+    public Subscription subscribe(String name, IssueEventSubscriber subscriber) {
+        return subscribe(name, subscriber, OverflowPolicy.DROP, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Append an event to the ring and wake the subscribers
+     * @param event Committed change to deliver
+     * @return Sequence assigned to the event
+     */
+    public long publish(IssueChangeEvent event) {
+        boolean mayWait = !isDeliveryThread();
+        boolean waited = false;
+        long sequence;
+        while (true) {
+            if (mayWait) {
+                waited |= awaitBlockingSubscribers(published + 1);
+            }
+            synchronized (publishLock) {
+                // Another publisher may have taken the room while we were waiting
+                sequence = published + 1;
+                if (!mayWait || hasRoom(sequence)) {
+                    ring.set((int) (sequence & mask), new Slot(sequence, event));
+                    published = sequence;
+                    break;
+                }
+            }
+        }
+        if (waited) {
+            blockedPublishes.increment();
+        }
+
+        for (Subscription subscription : subscriptions) {
+            LockSupport.unpark(subscription.thread);
+        }
+        return sequence;
+    }
+
+    /**
+     * Stop all delivery threads once they have drained what was already published
+     */
+    public void shutdown() {
+        running = false;
+        for (Subscription subscription : subscriptions) {
+            subscription.cancel();
+        }
+    }
+
+    public long getPublishedCount() {
+        return published + 1;
+    }
+
+    /**
+     * Number of publishes that had to wait for a BLOCK subscriber
+     */
+    public long getBlockedPublishCount() {
+        return blockedPublishes.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return Collections.unmodifiableList(subscriptions);
+    }
+
+    /**
+     * Wait, without holding the publish lock, until every BLOCK subscriber has room for the sequence
+     * @return Whether there was anything to wait for
+     */
+    private boolean awaitBlockingSubscribers(long sequence) {
+        boolean waited = false;
+        for (Subscription subscription : subscriptions) {
+            while (isFull(subscription, sequence)) {
+                waited = true;
+                LockSupport.unpark(subscription.thread);
+                LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+            }
+        }
+        return waited;
+    }
+
+    private boolean hasRoom(long sequence) {
+        for (Subscription subscription : subscriptions) {
+            if (isFull(subscription, sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFull(Subscription subscription, long sequence) {
+        return subscription.policy == OverflowPolicy.BLOCK && subscription.active && running
+            && sequence - subscription.cursor > capacity;
+    }
+
+    private boolean isDeliveryThread() {
+        Thread current = Thread.currentThread();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Slot {
+        private final long sequence;
+        private final IssueChangeEvent event;
+
+        private Slot(long sequence, IssueChangeEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    /**
+     * A registered subscriber together with its delivery thread and metrics
+     */
+    public final class Subscription {
+
+        private final String name;
+        private final IssueEventSubscriber subscriber;
+        private final OverflowPolicy policy;
+        private final int maxBatchSize;
+        private final Thread thread;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        /** Sequence of the last event handed to the subscriber */
+        private volatile long cursor;
+        private volatile boolean active = true;
+
+        private Subscription(String name, IssueEventSubscriber subscriber, OverflowPolicy policy,
+                             int maxBatchSize, long startAfter) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.policy = policy;
+            this.maxBatchSize = maxBatchSize;
+            this.cursor = startAfter;
+            this.thread = new Thread(this::run, "issue-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (true) {
+                long available = published;
+                if (available <= cursor) {
+                    if (!active) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                long from = cursor;
+                if (available - from > capacity) {
+                    // DROP subscribers, or BLOCK ones overrun by a publish from a delivery thread
+                    long skipTo = available - capacity;
+                    dropped.add(skipTo - from);
+                    from = skipTo;
+                }
+
+                long to = Math.min(available, from + maxBatchSize);
+                List<IssueChangeEvent> batch = new ArrayList<>((int) (to - from));
+                for (long sequence = from + 1; sequence <= to; sequence++) {
+                    Slot slot = ring.get((int) (sequence & mask));
+                    if (slot == null || slot.sequence != sequence) {
+                        // Overwritten while we were reading it
+                        dropped.increment();
+                        continue;
+                    }
+                    batch.add(slot.event);
+                }
+
+                if (!batch.isEmpty()) {
+                    try {
+                        subscriber.onEvents(batch);
+                        delivered.add(batch.size());
+                        batches.increment();
+                    } catch (RuntimeException e) {
+                        failures.increment();
+                        System.err.println("Warning: Subscriber " + name + " failed on a batch of " + batch.size()
+                            + " events: " + e.getMessage());
+                    }
+                }
+                cursor = to;
+            }
+        }
+
+        /**
+         * Stop delivery once the events already published have been handed over
+         */
+        public void cancel() {
+            active = false;
+            subscriptions.remove(this);
+            LockSupport.unpark(thread);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public OverflowPolicy getPolicy() {
+            return policy;
+        }
+
+        /**
+         * Events published but not yet delivered to this subscriber
+         */
+        public long getLag() {
+            return Math.max(0, published - cursor);
+        }
+
+        public long getDeliveredCount() {
+            return delivered.sum();
+        }
+
+        public long getDroppedCount() {
+            return dropped.sum();
+        }
+
+        public long getBatchCount() {
+            return batches.sum();
+        }
+
+        public long getFailureCount() {
+            return failures.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Subscription{" +
+                    "name='" + name + '\'' +
+                    ", policy=" + policy +
+                    ", lag=" + getLag() +
+                    ", delivered=" + getDeliveredCount() +
+                    ", dropped=" + getDroppedCount() +
+                    ", batches=" + getBatchCount() +
+                    ", failures=" + getFailureCount() +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
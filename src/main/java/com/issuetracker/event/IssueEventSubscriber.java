@@ -0,0 +1,16 @@
+package com.issuetracker.event;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface IssueEventSubscriber
+{
+    /**
+     * @params
+     *         events - The next batch of events, in publish order
+     * 
+     * @operation Handles a batch of issue change events on the subscriber's
+     *            own delivery thread
+     */
+    public abstract void onEvents(List<IssueChangeEvent> events);
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.issuetracker.event;
+
+/**
+ * What the bus does when a subscriber falls a full ring behind the publisher
+ */
+public enum OverflowPolicy
+{
+    /** Skip the oldest undelivered events and count them as dropped */
+    DROP,
+
+    /** Make the publisher wait until the subscriber has caught up */
+    BLOCK
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.issuetracker.exception;
+
+/**
+ * Thrown when a new issue's id is already taken by another issue
+ */
+public class DuplicateIssueIdException extends IssueTrackerException
+{
+    private static final long serialVersionUID = 5127093446123608114L;
+
+    private final String issueId;
+
+    public DuplicateIssueIdException(String issueId)
+    {
+	super("An issue with the same ID already exists: " + issueId);
+	this.issueId = issueId;
+    }
+
+    public String getIssueId()
+    {
+	return issueId;
+    }
+}
\ No newline at end of file
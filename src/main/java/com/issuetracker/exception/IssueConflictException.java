@@ -0,0 +1,29 @@
+package com.issuetracker.exception;
+
+/**
+ * Thrown when an issue changed between being read and being updated
+ */
+public class IssueConflictException extends IssueTrackerException
+{
+    private static final long serialVersionUID = -3402518842911875035L;
+
+    private final String issueId;
+    private final int expectedVersion;
+
+    public IssueConflictException(String issueId, int expectedVersion)
+    {
+	super("Issue " + issueId + " was changed by someone else (expected version " + expectedVersion + ")");
+	this.issueId = issueId;
+	this.expectedVersion = expectedVersion;
+    }
+
+    public String getIssueId()
+    {
+	return issueId;
+    }
+
+    public int getExpectedVersion()
+    {
+	return expectedVersion;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.issuetracker.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 Writer over a channel with fixed-size buffers: characters collect
+ * in a small char buffer, are encoded into a direct byte buffer and written
+ * to the channel whenever it fills. Not thread-safe.
+ */
+public class ChannelTextWriter extends Writer {
+
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private long bytesWritten;
+    private boolean closed;
+
+    public ChannelTextWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int n = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int n = Math.min(len, chars.remaining());
+            chars.put(str, off, off + n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+            drain();
+        }
+        // A trailing high surrogate stays behind until its pair arrives
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            bytesWritten += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Push everything written so far to the channel
+     */
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            encode(true);
+            CoderResult result;
+            while ((result = encoder.flush(bytes)).isOverflow()) {
+                drain();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Encoded bytes handed to the channel, before any compression it applies
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.issuetracker.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 CSV: comma separated, CRLF line endings, fields quoted only when
+ * they contain a comma, quote or line break. Null is an empty field.
+ */
+public class CsvRecordWriter implements RecordWriter {
+
+    private final Writer out;
+    private long recordCount;
+
+    public CsvRecordWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(String[] columns) throws IOException {
+        writeLine(columns);
+    }
+
+    @Override
+    public void writeRecord(Object[] values) throws IOException {
+        writeLine(values);
+        recordCount++;
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeField(values[i].toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+}
\ No newline at end of file
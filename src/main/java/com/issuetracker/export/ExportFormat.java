@@ -0,0 +1,22 @@
+package com.issuetracker.export;
+
+import java.io.Writer;
+
+public enum ExportFormat {
+    CSV("csv"),
+    JSONL("jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public RecordWriter newWriter(Writer out) {
+        return this == CSV ? new CsvRecordWriter(out) : new JsonLinesRecordWriter(out);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.issuetracker.export;
+
+import java.nio.file.Path;
+
+import com.issuetracker.model.ExportWatermark;
+
+/**
+ * Outcome of one export run
+ */
+public class ExportResult {
+    private final Path file;
+    private final long rowCount;
+    private final long uncompressedBytes;
+    private final long fileBytes;
+    private final long elapsedMillis;
+    private final ExportWatermark watermark;
+
+    public ExportResult(Path file, long rowCount, long uncompressedBytes, long fileBytes,
+                        long elapsedMillis, ExportWatermark watermark) {
+        this.file = file;
+        this.rowCount = rowCount;
+        this.uncompressedBytes = uncompressedBytes;
+        this.fileBytes = fileBytes;
+        this.elapsedMillis = elapsedMillis;
+        this.watermark = watermark;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Position reached by this run
+     */
+    public ExportWatermark getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportResult{" +
+                "file=" + file +
+                ", rowCount=" + rowCount +
+                ", uncompressedBytes=" + uncompressedBytes +
+                ", fileBytes=" + fileBytes +
+                ", elapsedMillis=" + elapsedMillis +
+                ", watermark=" + watermark +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.issuetracker.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One JSON object per line keyed by column name. Long values are written as
+ * numbers, everything else as strings.
+ */
+public class JsonLinesRecordWriter implements RecordWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private String[] keys;
+    private long recordCount;
+
+    public JsonLinesRecordWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(String[] columns) throws IOException {
+        // Escape each key once instead of once per row
+        keys = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            StringBuilder key = new StringBuilder();
+            key.append('"');
+            escape(columns[i], key);
+            key.append("\":");
+            keys[i] = key.toString();
+        }
+    }
+
+    @Override
+    public void writeRecord(Object[] values) throws IOException {
+        out.write('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(keys[i]);
+
+            Object value = values[i];
+            if (value == null) {
+                out.write("null");
+            } else if (value instanceof Long) {
+                out.write(value.toString());
+            } else {
+                out.write('"');
+                escape(value.toString(), out);
+                out.write('"');
+            }
+        }
+        out.write("}\n");
+        recordCount++;
+    }
+
+    private static void escape(String value, Appendable target) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': target.append("\\\""); break;
+                case '\\': target.append("\\\\"); break;
+                case '\n': target.append("\\n"); break;
+                case '\r': target.append("\\r"); break;
+                case '\t': target.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        target.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        target.append(c);
+                    }
+            }
+        }
+    }
+
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+}
\ No newline at end of file
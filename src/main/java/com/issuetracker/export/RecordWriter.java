@@ -0,0 +1,17 @@
+package com.issuetracker.export;
+
+import java.io.IOException;
+
+/**
+ * Writes rows one at a time as they are read; implementations keep no
+ * per-row state so memory stays flat however many rows pass through.
+ * Values are String, Long or null.
+ */
+public interface RecordWriter {
+
+    void writeHeader(String[] columns) throws IOException;
+
+    void writeRecord(Object[] values) throws IOException;
+
+    long getRecordCount();
+}
\ No newline at end of file
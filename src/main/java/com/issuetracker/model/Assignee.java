@@ -3,6 +3,7 @@ package com.issuetracker.model;
 public class Assignee
 {
     private String assigneeId;
+    private int userId;
     private String assigneeName;
     private String assigneeEmail;
     private Unit wokringUnit;
@@ -28,6 +29,14 @@ public class Assignee
         this.assigneeId = assigneeId;
     }
 
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
     public String getAssigneeName() {
         return assigneeName;
     }
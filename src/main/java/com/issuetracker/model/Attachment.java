@@ -0,0 +1,115 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+
+public class Attachment {
+    private int attachmentId;
+    private String issueId;
+    private int userId;
+    private String filename;
+    private String filePath;
+    private long fileSize;
+    private String mimeType;
+    private String contentHash;
+    private LocalDateTime uploadedAt;
+
+    public Attachment() {}
+
+    public Attachment(String issueId, int userId, String filename, String mimeType) {
+        this.issueId = issueId;
+        this.userId = userId;
+        this.filename = filename;
+        this.mimeType = mimeType;
+    }
+
+    public int getAttachmentId() {
+        return attachmentId;
+    }
+
+    public void setAttachmentId(int attachmentId) {
+        this.attachmentId = attachmentId;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Location of the content relative to the attachment store root
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    /**
+     * Hex SHA-256 of the content
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(LocalDateTime uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Attachment{" +
+                "attachmentId=" + attachmentId +
+                ", issueId='" + issueId + '\'' +
+                ", filename='" + filename + '\'' +
+                ", fileSize=" + fileSize +
+                ", mimeType='" + mimeType + '\'' +
+                ", contentHash='" + contentHash + '\'' +
+                ", uploadedAt=" + uploadedAt +
+                '}';
+    }
+}
\ No newline at end of file
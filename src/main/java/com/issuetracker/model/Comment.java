@@ -0,0 +1,128 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Comment {
+    private int commentId;
+    private String issueId;
+    private int userId;
+    private String authorName;
+    private String commentText;
+    private boolean internal;
+    private int parentCommentId; // 0 for a top-level comment
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private final List<Comment> replies = new ArrayList<>();
+
+    public Comment() {}
+
+    public Comment(String issueId, int userId, String commentText, boolean internal, int parentCommentId) {
+        this.issueId = issueId;
+        this.userId = userId;
+        this.commentText = commentText;
+        this.internal = internal;
+        this.parentCommentId = parentCommentId;
+    }
+
+    public int getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(int commentId) {
+        this.commentId = commentId;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getCommentText() {
+        return commentText;
+    }
+
+    public void setCommentText(String commentText) {
+        this.commentText = commentText;
+    }
+
+    public boolean isInternal() {
+        return internal;
+    }
+
+    public void setInternal(boolean internal) {
+        this.internal = internal;
+    }
+
+    public int getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(int parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+
+    public boolean isTopLevel() {
+        return parentCommentId == 0;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Direct replies in creation order; filled in when a thread is assembled
+     */
+    public List<Comment> getReplies() {
+        return replies;
+    }
+
+    public void addReply(Comment reply) {
+        replies.add(reply);
+    }
+
+    @Override
+    public String toString() {
+        return "Comment{" +
+                "commentId=" + commentId +
+                ", issueId='" + issueId + '\'' +
+                ", userId=" + userId +
+                ", internal=" + internal +
+                ", parentCommentId=" + parentCommentId +
+                ", replies=" + replies.size() +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.issuetracker.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of top-level comment threads for an issue, each with its
+ * replies already attached
+ */
+public class CommentThreadPage {
+    private final List<Comment> threads;
+    private final int totalThreads;
+    private final int totalComments;
+    private final int offset;
+    private final int limit;
+
+    public CommentThreadPage(List<Comment> threads, int totalThreads, int totalComments, int offset, int limit) {
+        this.threads = Collections.unmodifiableList(threads);
+        this.totalThreads = totalThreads;
+        this.totalComments = totalComments;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public List<Comment> getThreads() {
+        return threads;
+    }
+
+    public int getTotalThreads() {
+        return totalThreads;
+    }
+
+    public int getTotalComments() {
+        return totalComments;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean hasMore() {
+        return offset + threads.size() < totalThreads;
+    }
+
+    @Override
+    public String toString() {
+        return "CommentThreadPage{" +
+                "threads=" + threads.size() +
+                ", totalThreads=" + totalThreads +
+                ", totalComments=" + totalComments +
+                ", offset=" + offset +
+                ", limit=" + limit +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.issuetracker.model;
+
+/**
+ * An open issue whose description closely resembles a newly reported one
+ */
+public class DuplicateCandidate {
+    private final String issueId;
+    private final String issueDescription;
+    private final double similarity;
+
+    public DuplicateCandidate(String issueId, String issueDescription, double similarity) {
+        this.issueId = issueId;
+        this.issueDescription = issueDescription;
+        this.similarity = similarity;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public String getIssueDescription() {
+        return issueDescription;
+    }
+
+    /**
+     * Estimated share of the two descriptions' text they have in common, 0 to 1
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DuplicateCandidate{issueId='%s', similarity=%.2f}", issueId, similarity);
+    }
+}
\ No newline at end of file
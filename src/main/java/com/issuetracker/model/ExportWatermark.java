@@ -0,0 +1,94 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Position of the last exported row, as its change time and key, plus the
+ * rows exported close enough to that time to be read again by the next run
+ */
+public class ExportWatermark {
+    private String exportName;
+    private LocalDateTime lastValueAt;
+    private String lastKey;
+    private Map<String, Long> recentRows = new HashMap<>();
+    private long lastRowCount;
+    private LocalDateTime updatedAt;
+
+    public ExportWatermark() {}
+
+    public ExportWatermark(String exportName, LocalDateTime lastValueAt, String lastKey) {
+        this.exportName = exportName;
+        this.lastValueAt = lastValueAt;
+        this.lastKey = lastKey;
+    }
+
+    public String getExportName() {
+        return exportName;
+    }
+
+    public void setExportName(String exportName) {
+        this.exportName = exportName;
+    }
+
+    /**
+     * Change time of the last exported row, null when nothing was exported yet
+     */
+    public LocalDateTime getLastValueAt() {
+        return lastValueAt;
+    }
+
+    public void setLastValueAt(LocalDateTime lastValueAt) {
+        this.lastValueAt = lastValueAt;
+    }
+
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    public void setLastKey(String lastKey) {
+        this.lastKey = lastKey;
+    }
+
+    /**
+     * Key and row hash of each row exported shortly before lastValueAt
+     */
+    public Map<String, Long> getRecentRows() {
+        return recentRows;
+    }
+
+    public void setRecentRows(Map<String, Long> recentRows) {
+        this.recentRows = recentRows;
+    }
+
+    public long getLastRowCount() {
+        return lastRowCount;
+    }
+
+    public void setLastRowCount(long lastRowCount) {
+        this.lastRowCount = lastRowCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isEmpty() {
+        return lastValueAt == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportWatermark{" +
+                "exportName='" + exportName + '\'' +
+                ", lastValueAt=" + lastValueAt +
+                ", lastKey='" + lastKey + '\'' +
+                ", lastRowCount=" + lastRowCount +
+                '}';
+    }
+}
\ No newline at end of file
@@ -10,6 +10,7 @@ public class Issue
     private Unit issueUnit;
     private LocalDate reportedOn;
     private LocalDate updatedOn;
+    private LocalDate dueDate;
     private String assigneeEmail;
     private IssueStatus status;
     private Priority priority;
@@ -17,6 +18,7 @@ public class Issue
     private int assignedToUserId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private int version;
 
     public Issue() {}
 
@@ -104,6 +106,19 @@ public class Issue
 	this.updatedOn = updatedOn;
     }
 
+    /**
+     * Null when the issue has no due date
+     */
+    public LocalDate getDueDate()
+    {
+	return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate)
+    {
+	this.dueDate = dueDate;
+    }
+
     public String getAssigneeEmail()
     {
 	return assigneeEmail;
@@ -163,4 +178,15 @@ public class Issue
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    /**
+     * Row version read with the issue; updates succeed only while it is unchanged
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
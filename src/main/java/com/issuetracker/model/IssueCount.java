@@ -0,0 +1,44 @@
+package com.issuetracker.model;
+
+/**
+ * Number of issues sharing one status, unit and priority
+ */
+public class IssueCount {
+    private final IssueStatus status;
+    private final Unit unit;
+    private final Priority priority;
+    private final long count;
+
+    public IssueCount(IssueStatus status, Unit unit, Priority priority, long count) {
+        this.status = status;
+        this.unit = unit;
+        this.priority = priority;
+        this.count = count;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "IssueCount{" +
+                "status=" + status +
+                ", unit=" + unit +
+                ", priority=" + priority +
+                ", count=" + count +
+                '}';
+    }
+}
\ No newline at end of file
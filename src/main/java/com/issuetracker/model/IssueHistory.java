@@ -7,6 +7,8 @@ public class IssueHistory {
     private String issueId;
     private int userId;
     private String actionPerformed;
+    private String oldValue;
+    private String newValue;
     private LocalDateTime actionDate;
     private String comments;
     private LocalDateTime createdAt;
@@ -55,6 +57,22 @@ public class IssueHistory {
         this.actionPerformed = actionPerformed;
     }
     
+    public String getOldValue() {
+        return oldValue;
+    }
+    
+    public void setOldValue(String oldValue) {
+        this.oldValue = oldValue;
+    }
+    
+    public String getNewValue() {
+        return newValue;
+    }
+    
+    public void setNewValue(String newValue) {
+        this.newValue = newValue;
+    }
+    
     public LocalDateTime getActionDate() {
         return actionDate;
     }
@@ -86,6 +104,8 @@ public class IssueHistory {
                 ", issueId='" + issueId + '\'' +
                 ", userId=" + userId +
                 ", actionPerformed='" + actionPerformed + '\'' +
+                ", oldValue='" + oldValue + '\'' +
+                ", newValue='" + newValue + '\'' +
                 ", actionDate=" + actionDate +
                 ", comments='" + comments + '\'' +
                 ", createdAt=" + createdAt +
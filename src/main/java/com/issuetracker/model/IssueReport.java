@@ -13,7 +13,9 @@ public class IssueReport
     private Unit unit;
     private LocalDate reportingDate;
     private LocalDate closingDate;
+    private LocalDate dueDate;
     private LocalDate updatedOn;
+    private double relevance;
 
     public IssueReport() {
         // Default constructor
@@ -111,6 +113,17 @@ public class IssueReport
         this.closingDate = closingDate;
     }
 
+    /**
+     * Null when the issue has no due date
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
     public LocalDate getUpdatedOn() {
         return updatedOn;
     }
@@ -119,6 +132,17 @@ public class IssueReport
         this.updatedOn = updatedOn;
     }
 
+    /**
+     * Search score, higher is a better match; 0 outside search results
+     */
+    public double getRelevance() {
+        return relevance;
+    }
+
+    public void setRelevance(double relevance) {
+        this.relevance = relevance;
+    }
+
     @Override
     public String toString() {
         return "IssueReport{" +
@@ -131,6 +155,7 @@ public class IssueReport
                 ", unit=" + unit +
                 ", reportingDate=" + reportingDate +
                 ", closingDate=" + closingDate +
+                ", dueDate=" + dueDate +
                 '}' + "\n";
     }
 }
\ No newline at end of file
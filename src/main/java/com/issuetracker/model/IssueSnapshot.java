@@ -0,0 +1,116 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+
+public class IssueSnapshot {
+    private int snapshotId;
+    private String issueId;
+    private int lastHistoryId;
+    private LocalDateTime snapshotDate;
+    private IssueStatus status;
+    private int assignedToUserId;
+    private int eventCount;
+    private Unit unit;
+
+    public IssueSnapshot() {}
+
+    public IssueSnapshot(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public IssueSnapshot(IssueSnapshot other) {
+        this.snapshotId = other.snapshotId;
+        this.issueId = other.issueId;
+        this.lastHistoryId = other.lastHistoryId;
+        this.snapshotDate = other.snapshotDate;
+        this.status = other.status;
+        this.assignedToUserId = other.assignedToUserId;
+        this.eventCount = other.eventCount;
+        this.unit = other.unit;
+    }
+
+    public int getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(int snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public int getLastHistoryId() {
+        return lastHistoryId;
+    }
+
+    public void setLastHistoryId(int lastHistoryId) {
+        this.lastHistoryId = lastHistoryId;
+    }
+
+    /**
+     * Latest action_date of the events folded in; history rows can be written
+     * out of date order, so this is not necessarily the date of the last one
+     */
+    public LocalDateTime getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDateTime snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IssueStatus status) {
+        this.status = status;
+    }
+
+    public int getAssignedToUserId() {
+        return assignedToUserId;
+    }
+
+    public void setAssignedToUserId(int assignedToUserId) {
+        this.assignedToUserId = assignedToUserId;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(int eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * Unit of the issue when the snapshot was taken, kept so the issue still
+     * counts towards past backlogs after it has been purged
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public void setUnit(Unit unit) {
+        this.unit = unit;
+    }
+
+    @Override
+    public String toString() {
+        return "IssueSnapshot{" +
+                "issueId='" + issueId + '\'' +
+                ", lastHistoryId=" + lastHistoryId +
+                ", snapshotDate=" + snapshotDate +
+                ", status=" + status +
+                ", assignedToUserId=" + assignedToUserId +
+                ", eventCount=" + eventCount +
+                ", unit=" + unit +
+                '}';
+    }
+}
\ No newline at end of file
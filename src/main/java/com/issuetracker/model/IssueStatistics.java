@@ -0,0 +1,117 @@
+package com.issuetracker.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Issue totals as computed by the v_issue_statistics view
+ */
+public class IssueStatistics {
+    private long totalIssues;
+    private long openIssues;
+    private long inProgressIssues;
+    private long resolvedIssues;
+    private long closedIssues;
+    private long criticalIssues;
+    private long highPriorityIssues;
+    private long unassignedIssues;
+    private long overdueIssues;
+
+    public IssueStatistics() {}
+
+    public long getTotalIssues() {
+        return totalIssues;
+    }
+
+    public void setTotalIssues(long totalIssues) {
+        this.totalIssues = totalIssues;
+    }
+
+    public long getOpenIssues() {
+        return openIssues;
+    }
+
+    public void setOpenIssues(long openIssues) {
+        this.openIssues = openIssues;
+    }
+
+    public long getInProgressIssues() {
+        return inProgressIssues;
+    }
+
+    public void setInProgressIssues(long inProgressIssues) {
+        this.inProgressIssues = inProgressIssues;
+    }
+
+    public long getResolvedIssues() {
+        return resolvedIssues;
+    }
+
+    public void setResolvedIssues(long resolvedIssues) {
+        this.resolvedIssues = resolvedIssues;
+    }
+
+    public long getClosedIssues() {
+        return closedIssues;
+    }
+
+    public void setClosedIssues(long closedIssues) {
+        this.closedIssues = closedIssues;
+    }
+
+    public long getCriticalIssues() {
+        return criticalIssues;
+    }
+
+    public void setCriticalIssues(long criticalIssues) {
+        this.criticalIssues = criticalIssues;
+    }
+
+    public long getHighPriorityIssues() {
+        return highPriorityIssues;
+    }
+
+    public void setHighPriorityIssues(long highPriorityIssues) {
+        this.highPriorityIssues = highPriorityIssues;
+    }
+
+    public long getUnassignedIssues() {
+        return unassignedIssues;
+    }
+
+    public void setUnassignedIssues(long unassignedIssues) {
+        this.unassignedIssues = unassignedIssues;
+    }
+
+    public long getOverdueIssues() {
+        return overdueIssues;
+    }
+
+    public void setOverdueIssues(long overdueIssues) {
+        this.overdueIssues = overdueIssues;
+    }
+
+    public Map<IssueStatus, Long> getCountsByStatus() {
+        Map<IssueStatus, Long> counts = new EnumMap<>(IssueStatus.class);
+        counts.put(IssueStatus.OPEN, openIssues);
+        counts.put(IssueStatus.IN_PROGRESS, inProgressIssues);
+        counts.put(IssueStatus.RESOLVED, resolvedIssues);
+        counts.put(IssueStatus.CLOSED, closedIssues);
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "IssueStatistics{" +
+                "total=" + totalIssues +
+                ", open=" + openIssues +
+                ", inProgress=" + inProgressIssues +
+                ", resolved=" + resolvedIssues +
+                ", closed=" + closedIssues +
+                ", critical=" + criticalIssues +
+                ", high=" + highPriorityIssues +
+                ", unassigned=" + unassignedIssues +
+                ", overdue=" + overdueIssues +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+
+public class OutboxMessage {
+    private long outboxId;
+    private String issueId;
+    private String eventType;
+    private String payload;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private String reporterEmail;
+    private String assigneeEmail;
+
+    public OutboxMessage() {}
+
+    public OutboxMessage(String issueId, String eventType, String payload) {
+        this.issueId = issueId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    public long getOutboxId() {
+        return outboxId;
+    }
+
+    public void setOutboxId(long outboxId) {
+        this.outboxId = outboxId;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getReporterEmail() {
+        return reporterEmail;
+    }
+
+    public void setReporterEmail(String reporterEmail) {
+        this.reporterEmail = reporterEmail;
+    }
+
+    public String getAssigneeEmail() {
+        return assigneeEmail;
+    }
+
+    public void setAssigneeEmail(String assigneeEmail) {
+        this.assigneeEmail = assigneeEmail;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "outboxId=" + outboxId +
+                ", issueId='" + issueId + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", payload='" + payload + '\'' +
+                ", attempts=" + attempts +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
\ No newline at end of file
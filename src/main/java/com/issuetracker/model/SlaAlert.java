@@ -0,0 +1,74 @@
+package com.issuetracker.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An open issue that has come near to or gone past its due date
+ */
+public class SlaAlert {
+    private final String issueId;
+    private final String issueDescription;
+    private final Unit unit;
+    private final Priority priority;
+    private final int assignedToUserId;
+    private final LocalDate dueDate;
+    private final SlaState state;
+    private final LocalDateTime raisedAt;
+
+    public SlaAlert(String issueId, String issueDescription, Unit unit, Priority priority, int assignedToUserId,
+                    LocalDate dueDate, SlaState state, LocalDateTime raisedAt) {
+        this.issueId = issueId;
+        this.issueDescription = issueDescription;
+        this.unit = unit;
+        this.priority = priority;
+        this.assignedToUserId = assignedToUserId;
+        this.dueDate = dueDate;
+        this.state = state;
+        this.raisedAt = raisedAt;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public String getIssueDescription() {
+        return issueDescription;
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * 0 when unassigned
+     */
+    public int getAssignedToUserId() {
+        return assignedToUserId;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * NEAR_BREACH or BREACHED
+     */
+    public SlaState getState() {
+        return state;
+    }
+
+    public LocalDateTime getRaisedAt() {
+        return raisedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SlaAlert{issueId='" + issueId + "', state=" + state + ", dueDate=" + dueDate
+            + ", assignedToUserId=" + assignedToUserId + ", raisedAt=" + raisedAt + "}";
+    }
+}
\ No newline at end of file
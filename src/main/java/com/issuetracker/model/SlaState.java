@@ -0,0 +1,9 @@
+package com.issuetracker.model;
+
+/**
+ * Where an open issue stands against its due date
+ */
+public enum SlaState
+{
+    ON_TRACK, NEAR_BREACH, BREACHED
+}
\ No newline at end of file
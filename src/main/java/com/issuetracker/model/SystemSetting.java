@@ -0,0 +1,67 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+
+public class SystemSetting {
+    private String settingKey;
+    private String settingValue;
+    private String description;
+    private boolean systemSetting;
+    private LocalDateTime updatedAt;
+
+    public SystemSetting() {}
+
+    public SystemSetting(String settingKey, String settingValue) {
+        this.settingKey = settingKey;
+        this.settingValue = settingValue;
+    }
+
+    public String getSettingKey() {
+        return settingKey;
+    }
+
+    public void setSettingKey(String settingKey) {
+        this.settingKey = settingKey;
+    }
+
+    public String getSettingValue() {
+        return settingValue;
+    }
+
+    public void setSettingValue(String settingValue) {
+        this.settingValue = settingValue;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public boolean isSystemSetting() {
+        return systemSetting;
+    }
+
+    public void setSystemSetting(boolean systemSetting) {
+        this.systemSetting = systemSetting;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SystemSetting{" +
+                "settingKey='" + settingKey + '\'' +
+                ", settingValue='" + settingValue + '\'' +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the system_settings table.
+ * Values are parsed once when the snapshot is built, so typed getters are
+ * plain field reads and safe to call from any thread.
+ */
+public final class SystemSettings {
+
+    public static final String MAX_FILE_UPLOAD_SIZE = "max_file_upload_size";
+    public static final String SESSION_TIMEOUT = "session_timeout";
+    public static final String EMAIL_NOTIFICATIONS_ENABLED = "email_notifications_enabled";
+    public static final String AUTO_ASSIGN_ISSUES = "auto_assign_issues";
+    public static final String ISSUE_ID_PREFIX = "issue_id_prefix";
+    public static final String DEFAULT_PRIORITY = "default_priority";
+    public static final String CLEANUP_RESOLVED_DAYS = "cleanup_resolved_days";
+    public static final String MAX_ISSUES_PER_USER = "max_issues_per_user";
+    public static final String REQUIRE_DUE_DATE = "require_due_date";
+    public static final String ENABLE_ISSUE_COMMENTS = "enable_issue_comments";
+
+    private static final SystemSettings EMPTY = new SystemSettings(Collections.emptyMap(), null);
+
+    private final Map<String, String> values;
+    private final LocalDateTime lastUpdatedAt;
+
+    private final long maxFileUploadSize;
+    private final int sessionTimeoutSeconds;
+    private final boolean emailNotificationsEnabled;
+    private final boolean autoAssignIssues;
+    private final String issueIdPrefix;
+    private final Priority defaultPriority;
+    private final int cleanupResolvedDays;
+    private final int maxIssuesPerUser;
+    private final boolean requireDueDate;
+    private final boolean issueCommentsEnabled;
+
+    public SystemSettings(Map<String, String> values, LocalDateTime lastUpdatedAt) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.lastUpdatedAt = lastUpdatedAt;
+
+        this.maxFileUploadSize = parseLong(MAX_FILE_UPLOAD_SIZE, 10L * 1024 * 1024);
+        this.sessionTimeoutSeconds = parseInt(SESSION_TIMEOUT, 3600);
+        this.emailNotificationsEnabled = parseBoolean(EMAIL_NOTIFICATIONS_ENABLED, true);
+        this.autoAssignIssues = parseBoolean(AUTO_ASSIGN_ISSUES, false);
+        this.issueIdPrefix = getString(ISSUE_ID_PREFIX, "MTI-I");
+        this.defaultPriority = parsePriority(getString(DEFAULT_PRIORITY, null), Priority.MEDIUM);
+        this.cleanupResolvedDays = parseInt(CLEANUP_RESOLVED_DAYS, 90);
+        this.maxIssuesPerUser = parseInt(MAX_ISSUES_PER_USER, 20);
+        this.requireDueDate = parseBoolean(REQUIRE_DUE_DATE, false);
+        this.issueCommentsEnabled = parseBoolean(ENABLE_ISSUE_COMMENTS, true);
+    }
+
+    /**
+     * Snapshot with no rows, every getter returns its built-in default
+     */
+    public static SystemSettings empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Copy of this snapshot with the given keys replaced or removed (null value)
+     */
+    public SystemSettings with(Map<String, String> changes, LocalDateTime lastUpdatedAt) {
+        Map<String, String> merged = new HashMap<>(values);
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            if (change.getValue() == null) {
+                merged.remove(change.getKey());
+            } else {
+                merged.put(change.getKey(), change.getValue());
+            }
+        }
+        return new SystemSettings(merged, lastUpdatedAt);
+    }
+
+    /**
+     * Keys whose value differs between this snapshot and the other one
+     */
+    public Set<String> changedKeys(SystemSettings other) {
+        Set<String> changed = new HashSet<>();
+        Set<String> keys = new HashSet<>(values.keySet());
+        keys.addAll(other.values.keySet());
+        for (String key : keys) {
+            String mine = values.get(key);
+            String theirs = other.values.get(key);
+            if (mine == null ? theirs != null : !mine.equals(theirs)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return parseInt(key, defaultValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return parseLong(key, defaultValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return parseBoolean(key, defaultValue);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Newest updated_at seen when the snapshot was built, null when empty
+     */
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public long getMaxFileUploadSize() {
+        return maxFileUploadSize;
+    }
+
+    public int getSessionTimeoutSeconds() {
+        return sessionTimeoutSeconds;
+    }
+
+    public boolean isEmailNotificationsEnabled() {
+        return emailNotificationsEnabled;
+    }
+
+    public boolean isAutoAssignIssues() {
+        return autoAssignIssues;
+    }
+
+    public String getIssueIdPrefix() {
+        return issueIdPrefix;
+    }
+
+    public Priority getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    public int getCleanupResolvedDays() {
+        return cleanupResolvedDays;
+    }
+
+    public int getMaxIssuesPerUser() {
+        return maxIssuesPerUser;
+    }
+
+    public boolean isRequireDueDate() {
+        return requireDueDate;
+    }
+
+    public boolean isIssueCommentsEnabled() {
+        return issueCommentsEnabled;
+    }
+
+    private int parseInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private long parseLong(String key, long defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private boolean parseBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed) || "1".equals(trimmed)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(trimmed) || "0".equals(trimmed)) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    private static Priority parsePriority(String value, Priority defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Priority.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SystemSettings{" +
+                "values=" + values +
+                ", lastUpdatedAt=" + lastUpdatedAt +
+                '}';
+    }
+}
\ No newline at end of file
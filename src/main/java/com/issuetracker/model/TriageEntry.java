@@ -0,0 +1,99 @@
+package com.issuetracker.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * An open issue as the triage view sees it
+ */
+public class TriageEntry {
+
+    /**
+     * Most urgent first: higher priority, then earlier due date (none last),
+     * then reported earlier, then issue id
+     */
+    public static final Comparator<TriageEntry> MOST_URGENT_FIRST = Comparator
+        .comparingInt((TriageEntry e) -> -priorityLevel(e.getPriority()))
+        .thenComparing(TriageEntry::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(TriageEntry::getReportingDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(TriageEntry::getIssueId);
+
+    private final String issueId;
+    private final String issueDescription;
+    private final Unit unit;
+    private final Priority priority;
+    private final IssueStatus status;
+    private final LocalDate dueDate;
+    private final LocalDate reportingDate;
+    private final int assignedToUserId;
+
+    public TriageEntry(String issueId, String issueDescription, Unit unit, Priority priority, IssueStatus status,
+                       LocalDate dueDate, LocalDate reportingDate, int assignedToUserId) {
+        this.issueId = issueId;
+        this.issueDescription = issueDescription;
+        this.unit = unit;
+        this.priority = priority;
+        this.status = status;
+        this.dueDate = dueDate;
+        this.reportingDate = reportingDate;
+        this.assignedToUserId = assignedToUserId;
+    }
+
+    public TriageEntry withStatus(IssueStatus status) {
+        return new TriageEntry(issueId, issueDescription, unit, priority, status, dueDate, reportingDate,
+            assignedToUserId);
+    }
+
+    public TriageEntry withAssignee(int assignedToUserId) {
+        return new TriageEntry(issueId, issueDescription, unit, priority, status, dueDate, reportingDate,
+            assignedToUserId);
+    }
+
+    private static int priorityLevel(Priority priority) {
+        return priority == null ? 0 : priority.getLevel();
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public String getIssueDescription() {
+        return issueDescription;
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Null when the issue has no due date
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDate getReportingDate() {
+        return reportingDate;
+    }
+
+    /**
+     * 0 when unassigned
+     */
+    public int getAssignedToUserId() {
+        return assignedToUserId;
+    }
+
+    @Override
+    public String toString() {
+        return "TriageEntry{issueId='" + issueId + "', priority=" + priority + ", status=" + status
+            + ", dueDate=" + dueDate + ", reportingDate=" + reportingDate + "}";
+    }
+}
\ No newline at end of file
@@ -2,8 +2,23 @@ package com.issuetracker.model;
 
 public enum Unit
 {
-    ADMINISTRATION,
-    CONSIGNMENT,
-    PAYMENT,
-    SHIPMENT
+    ADMINISTRATION("ADM"),
+    CONSIGNMENT("CSG"),
+    PAYMENT("PAY"),
+    SHIPMENT("SHP");
+
+    private final String code;
+
+    Unit(String code)
+    {
+	this.code = code;
+    }
+
+    /**
+     * Three-letter suffix used in issue ids, e.g. MTI-I-001-ADM
+     */
+    public String getCode()
+    {
+	return code;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.issuetracker.model;
+
+import java.time.LocalDateTime;
+
+public class UnitMember {
+    private Unit unit;
+    private int userId;
+    private String fullName;
+    private String email;
+    private boolean active;
+    private LocalDateTime updatedAt;
+
+    public UnitMember() {}
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public void setUnit(Unit unit) {
+        this.unit = unit;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * False when the membership or the user has been deactivated
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UnitMember{" +
+                "unit=" + unit +
+                ", userId=" + userId +
+                ", email='" + email + '\'' +
+                ", active=" + active +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
\ No newline at end of file
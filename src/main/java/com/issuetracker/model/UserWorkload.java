@@ -0,0 +1,115 @@
+package com.issuetracker.model;
+
+/**
+ * Active assignments of one user, as computed by the v_user_workload view
+ */
+public class UserWorkload {
+    private int userId;
+    private String username;
+    private String fullName;
+    private String email;
+    private String role;
+    private int totalAssignedIssues;
+    private int openAssignments;
+    private int inProgressAssignments;
+    private int criticalAssignments;
+    private int overdueAssignments;
+
+    public UserWorkload() {}
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    /**
+     * Assigned issues that are not resolved or closed
+     */
+    public int getTotalAssignedIssues() {
+        return totalAssignedIssues;
+    }
+
+    public void setTotalAssignedIssues(int totalAssignedIssues) {
+        this.totalAssignedIssues = totalAssignedIssues;
+    }
+
+    public int getOpenAssignments() {
+        return openAssignments;
+    }
+
+    public void setOpenAssignments(int openAssignments) {
+        this.openAssignments = openAssignments;
+    }
+
+    public int getInProgressAssignments() {
+        return inProgressAssignments;
+    }
+
+    public void setInProgressAssignments(int inProgressAssignments) {
+        this.inProgressAssignments = inProgressAssignments;
+    }
+
+    public int getCriticalAssignments() {
+        return criticalAssignments;
+    }
+
+    public void setCriticalAssignments(int criticalAssignments) {
+        this.criticalAssignments = criticalAssignments;
+    }
+
+    public int getOverdueAssignments() {
+        return overdueAssignments;
+    }
+
+    public void setOverdueAssignments(int overdueAssignments) {
+        this.overdueAssignments = overdueAssignments;
+    }
+
+    @Override
+    public String toString() {
+        return "UserWorkload{" +
+                "userId=" + userId +
+                ", username='" + username + '\'' +
+                ", totalAssignedIssues=" + totalAssignedIssues +
+                ", openAssignments=" + openAssignments +
+                ", inProgressAssignments=" + inProgressAssignments +
+                ", criticalAssignments=" + criticalAssignments +
+                ", overdueAssignments=" + overdueAssignments +
+                '}';
+    }
+}
\ No newline at end of file
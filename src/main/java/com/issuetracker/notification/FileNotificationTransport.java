@@ -0,0 +1,65 @@
+package com.issuetracker.notification;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.util.DateTimeUtil;
+
+/**
+ * Stand-in for SMTP that appends each message, with its envelope, to a local file
+ */
+public class FileNotificationTransport implements NotificationTransport {
+
+    public static final String DEFAULT_FILE = "log/notifications.out";
+
+    private final Path file;
+
+    public FileNotificationTransport() {
+        this(Path.of(DEFAULT_FILE));
+    }
+
+    public FileNotificationTransport(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void send(Notification notification) throws IssueTrackerException {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write("MAIL FROM: <issuetracker@monttrance.com>");
+                writer.newLine();
+                for (String recipient : notification.getRecipients()) {
+                    writer.write("RCPT TO: <" + recipient + ">");
+                    writer.newLine();
+                }
+                writer.write("Date: " + DateTimeUtil.formatDateTime(LocalDateTime.now()));
+                writer.newLine();
+                writer.write("Subject: " + notification.getSubject());
+                writer.newLine();
+                writer.newLine();
+                writer.write(notification.getBody());
+                writer.newLine();
+                writer.write(".");
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error writing notification: " + e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
\ No newline at end of file
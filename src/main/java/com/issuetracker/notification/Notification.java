@@ -0,0 +1,46 @@
+package com.issuetracker.notification;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One outgoing message, possibly coalesced from several outbox rows for the same issue
+ */
+public class Notification {
+    private final String issueId;
+    private final List<String> recipients;
+    private final String subject;
+    private final String body;
+    private final int coalescedCount;
+
+    public Notification(String issueId, List<String> recipients, String subject, String body, int coalescedCount) {
+        this.issueId = issueId;
+        this.recipients = Collections.unmodifiableList(recipients);
+        this.subject = subject;
+        this.body = body;
+        this.coalescedCount = coalescedCount;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Number of outbox rows folded into this message
+     */
+    public int getCoalescedCount() {
+        return coalescedCount;
+    }
+}
\ No newline at end of file
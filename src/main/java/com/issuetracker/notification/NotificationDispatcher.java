@@ -0,0 +1,276 @@
+package com.issuetracker.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.NotificationOutboxDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.OutboxMessage;
+
+/**
+ * Drains notification_outbox in batches on a background thread.
+ *
+ * Rows for the same issue within a batch are coalesced into one message.
+ * A failed send is retried with exponential backoff until maxAttempts,
+ * after which the rows are marked FAILED. Runs as a single dispatcher per
+ * database; rows are not claimed, so two dispatchers would send twice.
+ */
+public class NotificationDispatcher {
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofSeconds(30);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final NotificationOutboxDAO outboxDAO;
+    private final NotificationTransport transport;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration pollInterval;
+    private final Duration baseBackoff;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean enabled = true;
+
+    private final LongAdder rowsSent = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder rowsRetried = new LongAdder();
+    private final LongAdder rowsFailed = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long startedAtMillis;
+
+    public NotificationDispatcher(NotificationOutboxDAO outboxDAO, NotificationTransport transport) {
+        this(outboxDAO, transport, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ATTEMPTS, DEFAULT_POLL_INTERVAL, DEFAULT_BASE_BACKOFF);
+    }
+
+    public NotificationDispatcher(NotificationOutboxDAO outboxDAO, NotificationTransport transport,
+                                  int batchSize, int maxAttempts, Duration pollInterval, Duration baseBackoff) {
+        this.outboxDAO = outboxDAO;
+        this.transport = transport;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollInterval = pollInterval;
+        this.baseBackoff = baseBackoff;
+    }
+
+    /**
+     * Start polling the outbox on a daemon thread
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        startedAtMillis = System.currentTimeMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Pause or resume sending; pending rows stay in the outbox while paused
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Send everything that is currently due, one batch at a time
+     * @return Number of outbox rows processed
+     */
+    public int drain() {
+        int processed = 0;
+        try {
+            while (enabled) {
+                int batch = dispatchBatch();
+                processed += batch;
+                if (batch < batchSize) {
+                    break;
+                }
+            }
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Notification dispatch stopped: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Warning: Notification dispatch failed: " + e);
+        }
+        return processed;
+    }
+
+    /**
+     * Fetch one batch of due rows, coalesce it per issue and send it
+     * @return Number of outbox rows in the batch
+     */
+    public int dispatchBatch() throws IssueTrackerException {
+        List<OutboxMessage> due = outboxDAO.fetchDue(batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxMessage>> byIssue = new LinkedHashMap<>();
+        for (OutboxMessage message : due) {
+            byIssue.computeIfAbsent(message.getIssueId(), key -> new ArrayList<>()).add(message);
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        LocalDateTime oldestDelivered = null;
+        for (List<OutboxMessage> group : byIssue.values()) {
+            List<Long> ids = new ArrayList<>(group.size());
+            for (OutboxMessage message : group) {
+                ids.add(message.getOutboxId());
+            }
+
+            Notification notification = coalesce(group);
+            if (notification.getRecipients().isEmpty()) {
+                // Nobody to tell, e.g. the issue was purged; nothing to retry either
+                sentIds.addAll(ids);
+                continue;
+            }
+
+            try {
+                transport.send(notification);
+                sentIds.addAll(ids);
+                messagesSent.increment();
+                for (OutboxMessage message : group) {
+                    if (message.getCreatedAt() != null
+                            && (oldestDelivered == null || message.getCreatedAt().isBefore(oldestDelivered))) {
+                        oldestDelivered = message.getCreatedAt();
+                    }
+                }
+            } catch (IssueTrackerException | RuntimeException e) {
+                scheduleRetry(group, ids, e.getMessage());
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxDAO.markSent(sentIds);
+            rowsSent.add(sentIds.size());
+        }
+        // Lag of what reached the transport; retried rows and rows with nobody to tell do not count
+        recordLag(oldestDelivered);
+        return due.size();
+    }
+
+    private Notification coalesce(List<OutboxMessage> group) {
+        OutboxMessage first = group.get(0);
+
+        Set<String> recipients = new LinkedHashSet<>();
+        if (first.getReporterEmail() != null) {
+            recipients.add(first.getReporterEmail());
+        }
+        if (first.getAssigneeEmail() != null) {
+            recipients.add(first.getAssigneeEmail());
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (OutboxMessage message : group) {
+            body.append("- ").append(message.getPayload()).append(System.lineSeparator());
+        }
+
+        String subject = group.size() == 1
+            ? "[" + first.getIssueId() + "] " + first.getEventType()
+            : "[" + first.getIssueId() + "] " + group.size() + " updates";
+
+        return new Notification(first.getIssueId(), new ArrayList<>(recipients), subject,
+            body.toString().trim(), group.size());
+    }
+
+    private void scheduleRetry(List<OutboxMessage> group, List<Long> ids, String error) throws IssueTrackerException {
+        int attempts = 0;
+        for (OutboxMessage message : group) {
+            attempts = Math.max(attempts, message.getAttempts());
+        }
+
+        if (attempts + 1 >= maxAttempts) {
+            outboxDAO.markFailed(ids, error);
+            rowsFailed.add(ids.size());
+            System.err.println("Warning: Giving up on notification for " + group.get(0).getIssueId() + ": " + error);
+            return;
+        }
+
+        long backoffMillis = baseBackoff.toMillis() << Math.min(attempts, 16);
+        backoffMillis = Math.min(backoffMillis, MAX_BACKOFF.toMillis());
+        outboxDAO.markRetry(ids, LocalDateTime.now().plus(Duration.ofMillis(backoffMillis)), error);
+        rowsRetried.add(ids.size());
+    }
+
+    private void recordLag(LocalDateTime oldestCreatedAt) {
+        if (oldestCreatedAt == null) {
+            return;
+        }
+
+        long lag = Math.max(0, Duration.between(oldestCreatedAt, LocalDateTime.now()).toMillis());
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    public long getRowsSent() {
+        return rowsSent.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getRowsRetried() {
+        return rowsRetried.sum();
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed.sum();
+    }
+
+    /**
+     * Age of the oldest row in the most recently sent batch
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    /**
+     * Outbox rows sent per second since start
+     */
+    public double getThroughputPerSecond() {
+        long elapsed = System.currentTimeMillis() - startedAtMillis;
+        return startedAtMillis == 0 || elapsed <= 0 ? 0.0 : getRowsSent() * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NotificationDispatcher{enabled=%s, rowsSent=%d, messagesSent=%d, retried=%d, "
+                + "failed=%d, lastLagMs=%d, maxLagMs=%d, rowsPerSec=%.2f}",
+            enabled, getRowsSent(), getMessagesSent(), getRowsRetried(), getRowsFailed(),
+            getLastLagMillis(), getMaxLagMillis(), getThroughputPerSecond());
+    }
+}
\ No newline at end of file
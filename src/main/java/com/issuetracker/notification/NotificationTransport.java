@@ -0,0 +1,13 @@
+package com.issuetracker.notification;
+
+import com.issuetracker.exception.IssueTrackerException;
+
+public interface NotificationTransport {
+
+    /**
+     * Deliver a notification
+     * @param notification Message to deliver
+     * @throws IssueTrackerException if delivery fails and should be retried
+     */
+    void send(Notification notification) throws IssueTrackerException;
+}
\ No newline at end of file
@@ -0,0 +1,571 @@
+package com.issuetracker.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted index over keyed documents, ranked with BM25.
+ *
+ * Each document gets an internal int doc id in insertion order. Every term has a
+ * PostingList of (doc id gap, frequency, position gaps) varints, and a forward
+ * index keeps each document's term ids, also as varints, so it can be removed
+ * or extended. Queries walk the posting lists with cursors that skip whole
+ * blocks and deleted documents, so nothing is decoded beyond what they visit.
+ * Posting lists are append-only: removing a document marks its id deleted, and
+ * changing one re-adds it under a new id. Once deleted ids make up a quarter of
+ * the index it is rebuilt from the live documents. Reads share a lock; writes
+ * are exclusive.
+ */
+public class InvertedIndex {
+
+    public static final double K1 = 1.2;
+    public static final double B = 0.75;
+
+    private static final int COMPACT_MIN_DELETED = 1024;
+    private static final double COMPACT_DELETED_RATIO = 0.25;
+
+    /** Marks the end of one section (description, comment) in a document's tokens */
+    private static final int SECTION_BREAK = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Integer> termIds = new HashMap<>();
+    private List<String> terms = new ArrayList<>();
+    private List<PostingList> postings = new ArrayList<>();
+
+    private String[] docKeys = new String[64];
+    private byte[][] docTokens = new byte[64][];
+    private int[] docLengths = new int[64];
+    private BitSet deleted = new BitSet();
+    private Map<String, Integer> docByKey = new HashMap<>();
+    private int docCount;
+    private long liveLength;
+
+    private volatile long compactions;
+
+    /**
+     * Index the text under the key, replacing whatever the key held
+     */
+    public void put(String key, String text) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(key);
+            addDocument(key, internTokens(null, text));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index the sections under the key, replacing whatever the key held.
+     * Phrases do not match across sections.
+     */
+    public void put(String key, List<String> sections) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(key);
+            int[] tokens = null;
+            for (String section : sections) {
+                tokens = internTokens(tokens, section);
+            }
+            addDocument(key, tokens == null ? new int[0] : tokens);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a section of text to the key's document, creating it if absent.
+     * Phrases do not match across sections.
+     */
+    public void append(String key, String text) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docByKey.get(key);
+            int[] previous = docId == null ? null : decodeTokens(docTokens[docId]);
+            removeDocument(key);
+            addDocument(key, internTokens(previous, text));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeDocument(key);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset(64);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The best-scoring documents for the query, highest score first
+     * @return Hits without snippets, at most limit of them
+     */
+    public List<SearchHit> search(SearchQuery query, int limit) {
+        if (query.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docByKey.size();
+            if (liveDocs == 0) {
+                return Collections.emptyList();
+            }
+            double averageLength = Math.max(1.0, (double) liveLength / liveDocs);
+
+            // One cursor per query term; a missing term ends an AND query
+            List<String> queryTerms = query.getTerms();
+            Map<String, PostingList.Cursor> byTerm = new HashMap<>();
+            List<PostingList.Cursor> cursors = new ArrayList<>();
+            List<Integer> documentFrequencies = new ArrayList<>();
+            List<Double> idfs = new ArrayList<>();
+            for (String term : queryTerms) {
+                Integer termId = termIds.get(term);
+                PostingList list = termId == null ? null : postings.get(termId);
+                if (list == null || list.liveDocuments() == 0) {
+                    if (!query.isAny()) {
+                        return Collections.emptyList();
+                    }
+                    continue;
+                }
+                PostingList.Cursor cursor = list.cursor(deleted);
+                byTerm.put(term, cursor);
+                cursors.add(cursor);
+                documentFrequencies.add(list.liveDocuments());
+                idfs.add(idf(liveDocs, list.liveDocuments()));
+            }
+            if (cursors.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+            if (query.isAny()) {
+                collectAny(query, byTerm, cursors, idfs, averageLength, top, limit);
+            } else {
+                collectAll(query, byTerm, cursors, documentFrequencies, idfs, averageLength, top, limit);
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Scored scored = top.poll();
+                hits.add(new SearchHit(docKeys[scored.docId], scored.score, null));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * AND: the rarest term leads and the others skip ahead to its documents,
+     * each jump taking the lead on to wherever the others landed
+     */
+    private void collectAll(SearchQuery query, Map<String, PostingList.Cursor> byTerm,
+                            List<PostingList.Cursor> cursors, List<Integer> documentFrequencies,
+                            List<Double> idfs, double averageLength, PriorityQueue<Scored> top, int limit) {
+        int rarest = 0;
+        for (int i = 1; i < cursors.size(); i++) {
+            if (documentFrequencies.get(i) < documentFrequencies.get(rarest)) {
+                rarest = i;
+            }
+        }
+        PostingList.Cursor lead = cursors.get(rarest);
+
+        int docId = lead.next();
+        candidates:
+        while (docId != PostingList.NO_MORE_DOCS) {
+            for (PostingList.Cursor cursor : cursors) {
+                int reached = cursor.advance(docId);
+                if (reached != docId) {
+                    docId = lead.advance(reached);
+                    continue candidates;
+                }
+            }
+
+            if (matchesPhrases(query, byTerm, docId)) {
+                double score = 0;
+                for (int i = 0; i < cursors.size(); i++) {
+                    score += termScore(idfs.get(i), cursors.get(i).frequency(), docId, averageLength);
+                }
+                offer(top, limit, docId, score);
+            }
+            docId = lead.next();
+        }
+    }
+
+    /**
+     * OR: merge the cursors, scoring every document that holds any term
+     */
+    private void collectAny(SearchQuery query, Map<String, PostingList.Cursor> byTerm,
+                            List<PostingList.Cursor> cursors, List<Double> idfs, double averageLength,
+                            PriorityQueue<Scored> top, int limit) {
+        for (PostingList.Cursor cursor : cursors) {
+            cursor.next();
+        }
+        while (true) {
+            int docId = PostingList.NO_MORE_DOCS;
+            for (PostingList.Cursor cursor : cursors) {
+                docId = Math.min(docId, cursor.docId());
+            }
+            if (docId == PostingList.NO_MORE_DOCS) {
+                return;
+            }
+
+            // Cursors still on the document hold its terms; check phrases before moving them on
+            boolean matches = matchesPhrases(query, byTerm, docId);
+            double score = 0;
+            for (int i = 0; i < cursors.size(); i++) {
+                PostingList.Cursor cursor = cursors.get(i);
+                if (cursor.docId() == docId) {
+                    score += termScore(idfs.get(i), cursor.frequency(), docId, averageLength);
+                    cursor.next();
+                }
+            }
+            if (matches) {
+                offer(top, limit, docId, score);
+            }
+        }
+    }
+
+    private boolean matchesPhrases(SearchQuery query, Map<String, PostingList.Cursor> byTerm, int docId) {
+        for (List<String> phrase : query.getPhrases()) {
+            if (!matchesPhrase(phrase, byTerm, docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Some position p of the first word has word k of the phrase at p + k.
+     * Every word's cursor must be on the document for it to hold the phrase.
+     */
+    private static boolean matchesPhrase(List<String> phrase, Map<String, PostingList.Cursor> byTerm, int docId) {
+        PostingList.Cursor[] words = new PostingList.Cursor[phrase.size()];
+        for (int k = 0; k < phrase.size(); k++) {
+            words[k] = byTerm.get(phrase.get(k));
+            if (words[k] == null || words[k].docId() != docId) {
+                return false;
+            }
+        }
+
+        int[] firstPositions = words[0].positions();
+        starts:
+        for (int p = 0; p < words[0].frequency(); p++) {
+            int start = firstPositions[p];
+            for (int k = 1; k < words.length; k++) {
+                if (Arrays.binarySearch(words[k].positions(), 0, words[k].frequency(), start + k) < 0) {
+                    continue starts;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private double termScore(double idf, int frequency, int docId, double averageLength) {
+        double norm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private static double idf(int documents, int documentFrequency) {
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static void offer(PriorityQueue<Scored> top, int limit, int docId, double score) {
+        if (top.size() < limit) {
+            top.add(new Scored(docId, score));
+        } else if (score > top.peek().score) {
+            top.poll();
+            top.add(new Scored(docId, score));
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return docByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids held by deleted documents that compaction has not reclaimed yet
+     */
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - docByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getCompactions() {
+        return compactions;
+    }
+
+    /**
+     * Rough heap footprint: posting bytes, forward index, keys and dictionary
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : postings) {
+                bytes += list.memoryBytes();
+            }
+            for (String term : terms) {
+                // String, its byte array and the dictionary entry
+                bytes += 40 + term.length() + 48;
+            }
+            for (int docId = 0; docId < docCount; docId++) {
+                if (docTokens[docId] != null) {
+                    bytes += 16 + docTokens[docId].length;
+                }
+                if (!deleted.get(docId)) {
+                    bytes += 40 + docKeys[docId].length() + 48;
+                }
+            }
+            bytes += 12L * docKeys.length + deleted.size() / 8;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Term ids of the text, after the previous tokens when extending a document
+     */
+    private int[] internTokens(int[] previous, String text) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        int offset = previous == null ? 0 : previous.length + 1;
+        int[] result = new int[offset + tokens.size()];
+        if (previous != null) {
+            System.arraycopy(previous, 0, result, 0, previous.length);
+            result[previous.length] = SECTION_BREAK;
+        }
+        for (int i = 0; i < tokens.size(); i++) {
+            result[offset + i] = termId(tokens.get(i));
+        }
+        return result;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = terms.size();
+            termIds.put(term, id);
+            terms.add(term);
+            postings.add(new PostingList());
+        }
+        return id;
+    }
+
+    private void addDocument(String key, int[] tokens) {
+        if (docCount == docKeys.length) {
+            int capacity = docKeys.length * 2;
+            docKeys = Arrays.copyOf(docKeys, capacity);
+            docTokens = Arrays.copyOf(docTokens, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+        }
+        int docId = docCount++;
+
+        // Sort (term, position) pairs so each term's positions come out together and ascending
+        long[] pairs = new long[tokens.length];
+        int length = 0;
+        for (int position = 0; position < tokens.length; position++) {
+            if (tokens[position] != SECTION_BREAK) {
+                pairs[length++] = ((long) tokens[position] << 32) | position;
+            }
+        }
+        Arrays.sort(pairs, 0, length);
+
+        int[] positions = new int[length];
+        int start = 0;
+        while (start < length) {
+            int termId = (int) (pairs[start] >>> 32);
+            int end = start;
+            while (end < length && (int) (pairs[end] >>> 32) == termId) {
+                positions[end] = (int) pairs[end];
+                end++;
+            }
+            postings.get(termId).append(docId, positions, start, end);
+            start = end;
+        }
+
+        docKeys[docId] = key;
+        docTokens[docId] = encodeTokens(tokens);
+        docLengths[docId] = length;
+        docByKey.put(key, docId);
+        liveLength += length;
+    }
+
+    private boolean removeDocument(String key) {
+        Integer docId = docByKey.remove(key);
+        if (docId == null) {
+            return false;
+        }
+
+        int[] tokens = decodeTokens(docTokens[docId]);
+        int[] distinct = Arrays.stream(tokens).filter(t -> t != SECTION_BREAK).distinct().toArray();
+        for (int termId : distinct) {
+            postings.get(termId).documentDeleted();
+        }
+        deleted.set(docId);
+        docTokens[docId] = null;
+        liveLength -= docLengths[docId];
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        int deletedDocs = docCount - docByKey.size();
+        if (deletedDocs >= COMPACT_MIN_DELETED && deletedDocs >= docCount * COMPACT_DELETED_RATIO) {
+            compact();
+        }
+    }
+
+    /**
+     * Re-add the live documents in doc id order under dense ids, dropping unused terms
+     */
+    private void compact() {
+        String[] oldKeys = docKeys;
+        byte[][] oldTokens = docTokens;
+        List<String> oldTerms = terms;
+        int oldCount = docCount;
+
+        reset(Math.max(64, docByKey.size() * 2));
+        for (int docId = 0; docId < oldCount; docId++) {
+            if (oldTokens[docId] == null) {
+                continue;
+            }
+            int[] tokens = decodeTokens(oldTokens[docId]);
+            int[] remapped = new int[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                remapped[i] = tokens[i] == SECTION_BREAK ? SECTION_BREAK : termId(oldTerms.get(tokens[i]));
+            }
+            addDocument(oldKeys[docId], remapped);
+        }
+        compactions++;
+    }
+
+    private void reset(int capacity) {
+        termIds = new HashMap<>();
+        terms = new ArrayList<>();
+        postings = new ArrayList<>();
+        docKeys = new String[capacity];
+        docTokens = new byte[capacity][];
+        docLengths = new int[capacity];
+        deleted = new BitSet();
+        docByKey = new HashMap<>();
+        docCount = 0;
+        liveLength = 0;
+    }
+
+    /**
+     * A document's term ids as varints, each shifted up by one so a section break is 0
+     */
+    private static byte[] encodeTokens(int[] tokens) {
+        byte[] encoded = new byte[5 * tokens.length];
+        int length = 0;
+        for (int token : tokens) {
+            int value = token + 1;
+            while ((value & ~0x7F) != 0) {
+                encoded[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            encoded[length++] = (byte) value;
+        }
+        return Arrays.copyOf(encoded, length);
+    }
+
+    private static int[] decodeTokens(byte[] encoded) {
+        int count = 0;
+        for (byte b : encoded) {
+            if (b >= 0) {
+                count++;
+            }
+        }
+        int[] tokens = new int[count];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            tokens[i] = value - 1;
+        }
+        return tokens;
+    }
+
+    private static final class Scored {
+        /** Lowest score at the head; among equal scores the later document goes first */
+        static final Comparator<Scored> WORST_FIRST = Comparator
+            .comparingDouble((Scored s) -> s.score)
+            .thenComparing(Comparator.comparingInt((Scored s) -> s.docId).reversed());
+
+        final int docId;
+        final double score;
+
+        Scored(int docId, double score) {
+            this.docId = docId;
+            this.score = score;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InvertedIndex{documents=" + size() + ", terms=" + termCount() + ", deleted=" + deletedCount()
+            + ", memoryBytes=" + memoryBytes() + ", compactions=" + compactions + "}";
+    }
+}
\ No newline at end of file
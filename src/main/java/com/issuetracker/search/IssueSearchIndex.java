@@ -0,0 +1,134 @@
+package com.issuetracker.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.event.IssueEventSubscriber;
+import com.issuetracker.exception.IssueTrackerException;
+
+/**
+ * Quick search over issue descriptions and public comments, answered from memory.
+ *
+ * The index is built once by streaming every issue's text, then kept current
+ * from the event bus: a reported issue is added, a public comment is appended to
+ * its issue and a purged issue is removed. Changes made by another JVM show up
+ * after the next load. Internal comments are never indexed.
+ */
+public class IssueSearchIndex implements IssueEventSubscriber {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int SNIPPET_LENGTH = 60;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<String, String> snippets = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+
+    /**
+     * Rebuild the index from the database
+     */
+    public void load(IssueDAO issueDAO) throws IssueTrackerException {
+        loaded = false;
+        index.clear();
+        snippets.clear();
+        issueDAO.forEachIssueText((issueId, texts) -> {
+            index.put(issueId, texts);
+            snippets.put(issueId, snippet(texts.get(0)));
+        });
+        loaded = true;
+    }
+
+    @Override
+    public void onEvents(List<IssueChangeEvent> events) {
+        for (IssueChangeEvent event : events) {
+            switch (event.getType()) {
+            case CREATED:
+                index.put(event.getIssueId(), event.getDescription());
+                snippets.put(event.getIssueId(), snippet(event.getDescription()));
+                break;
+            case COMMENT_ADDED:
+                index.append(event.getIssueId(), event.getComment());
+                snippets.putIfAbsent(event.getIssueId(), snippet(event.getDescription()));
+                break;
+            case DELETED:
+                index.remove(event.getIssueId());
+                snippets.remove(event.getIssueId());
+                break;
+            default:
+                // Status and assignee changes do not touch the text
+                break;
+            }
+        }
+    }
+
+    /**
+     * Rank issues against the query; see SearchQuery for the syntax
+     * @return At most limit hits, best first, each with a description snippet
+     */
+    public List<SearchHit> search(String query, int limit) {
+        long started = System.nanoTime();
+        List<SearchHit> hits = index.search(SearchQuery.parse(query), limit);
+
+        List<SearchHit> result = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            result.add(new SearchHit(hit.getIssueId(), hit.getScore(), snippets.get(hit.getIssueId())));
+        }
+        searches.increment();
+        searchNanos.add(System.nanoTime() - started);
+        return result;
+    }
+
+    private static String snippet(String description) {
+        if (description == null) {
+            return "";
+        }
+        String flat = description.replaceAll("\\s+", " ").trim();
+        return flat.length() <= SNIPPET_LENGTH ? flat : flat.substring(0, SNIPPET_LENGTH - 3) + "...";
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public int termCount() {
+        return index.termCount();
+    }
+
+    /**
+     * Estimated heap held by the index and snippets
+     */
+    public long memoryBytes() {
+        long bytes = index.memoryBytes();
+        for (String snippet : snippets.values()) {
+            bytes += 40 + snippet.length() + 48;
+        }
+        return bytes;
+    }
+
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    public double getAverageSearchMillis() {
+        long count = searches.sum();
+        return count == 0 ? 0.0 : searchNanos.sum() / 1_000_000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IssueSearchIndex{loaded=%s, issues=%d, terms=%d, memoryBytes=%d, searches=%d, "
+                + "avgSearchMs=%.3f}",
+            loaded, size(), termCount(), memoryBytes(), getSearches(), getAverageSearchMillis());
+    }
+}
\ No newline at end of file
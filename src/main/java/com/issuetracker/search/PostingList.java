@@ -0,0 +1,240 @@
+package com.issuetracker.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Documents containing one term, in ascending doc id order, as a byte array of
+ * variable-length ints: for each document the gap from the previous doc id, the
+ * term frequency, and the gaps between the term's positions. Documents are only
+ * ever appended with a higher id than the last, which keeps the gaps positive.
+ *
+ * Every BLOCK_SIZE documents start a block whose byte offset and preceding doc
+ * id go in a skip table, so a Cursor can jump past whole blocks instead of
+ * decoding them. Nothing is decoded up front: a cursor reads one document at a
+ * time and the positions only when asked for.
+ */
+final class PostingList {
+
+    /** Returned by a cursor that has run past the last document */
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    static final int BLOCK_SIZE = 64;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDocId = -1;
+    private int documents;
+    private int liveDocuments;
+
+    // Block b starts at blockOffsets[b]; blockLastDocIds[b] is the last doc id in it
+    private int[] blockOffsets = new int[1];
+    private int[] blockLastDocIds = new int[1];
+    private int blocks;
+
+    void append(int docId, int[] positions, int from, int to) {
+        if (documents % BLOCK_SIZE == 0) {
+            if (blocks == blockOffsets.length) {
+                blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+                blockLastDocIds = Arrays.copyOf(blockLastDocIds, blocks * 2);
+            }
+            blockOffsets[blocks++] = length;
+        }
+
+        ensureCapacity(5 * (2 + to - from));
+        writeVarInt(docId - lastDocId);
+        writeVarInt(to - from);
+        int previous = 0;
+        for (int i = from; i < to; i++) {
+            writeVarInt(positions[i] - previous);
+            previous = positions[i];
+        }
+        lastDocId = docId;
+        blockLastDocIds[blocks - 1] = docId;
+        documents++;
+        liveDocuments++;
+    }
+
+    /**
+     * A document holding the term was deleted; its bytes stay until the index compacts
+     */
+    void documentDeleted() {
+        liveDocuments--;
+    }
+
+    /**
+     * Number of live documents containing the term, the df of BM25
+     */
+    int liveDocuments() {
+        return liveDocuments;
+    }
+
+    long memoryBytes() {
+        return data.length + 8L * blockOffsets.length + 48;
+    }
+
+    /**
+     * A cursor before the first document; documents set in deleted are passed over
+     */
+    Cursor cursor(BitSet deleted) {
+        return new Cursor(deleted);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Reads the list forward one document at a time. A cursor sees the list as it
+     * was when created and must not outlive the read lock it was created under.
+     */
+    final class Cursor {
+        private final BitSet deleted;
+        private final int end = length;
+        private final int count = documents;
+
+        private int index = -1;
+        private int offset;
+        private int docId = -1;
+        private int frequency;
+        private int positionsOffset;
+        private int[] positions;
+        private boolean positionsRead;
+
+        private Cursor(BitSet deleted) {
+            this.deleted = deleted;
+        }
+
+        /**
+         * Current doc id: -1 before the first call to next or advance
+         */
+        int docId() {
+            return docId;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        /**
+         * Move to the next live document
+         * @return Its doc id, or NO_MORE_DOCS
+         */
+        int next() {
+            do {
+                if (!readNext()) {
+                    return docId;
+                }
+            } while (deleted.get(docId));
+            return docId;
+        }
+
+        /**
+         * Move to the first live document at or after target; stays put when the
+         * cursor is already there
+         * @return Its doc id, or NO_MORE_DOCS
+         */
+        int advance(int target) {
+            if (docId >= target) {
+                return docId;
+            }
+
+            // Jump to the first block that can hold the target, unless it is the current one
+            int block = index < 0 ? 0 : index / BLOCK_SIZE;
+            if (blockLastDocIds[block] < target) {
+                int lastBlock = (count - 1) / BLOCK_SIZE;
+                int low = block + 1;
+                int high = lastBlock;
+                while (low <= high) {
+                    int middle = (low + high) >>> 1;
+                    if (blockLastDocIds[middle] < target) {
+                        low = middle + 1;
+                    } else {
+                        high = middle - 1;
+                    }
+                }
+                if (low > lastBlock) {
+                    index = count;
+                    docId = NO_MORE_DOCS;
+                    return docId;
+                }
+                index = low * BLOCK_SIZE - 1;
+                offset = blockOffsets[low];
+                docId = blockLastDocIds[low - 1];
+            }
+
+            // The target is inside this block now, so the walk is at most BLOCK_SIZE documents
+            while (next() < target) {
+                continue;
+            }
+            return docId;
+        }
+
+        /**
+         * Positions of the term in the current document, ascending; only the
+         * first frequency() entries of the returned array are valid
+         */
+        int[] positions() {
+            if (!positionsRead) {
+                if (positions == null || positions.length < frequency) {
+                    positions = new int[Math.max(frequency, 8)];
+                }
+                int next = offset;
+                offset = positionsOffset;
+                int position = 0;
+                for (int p = 0; p < frequency; p++) {
+                    position += readVarInt();
+                    positions[p] = position;
+                }
+                offset = next;
+                positionsRead = true;
+            }
+            return positions;
+        }
+
+        /**
+         * Decode the doc id and frequency of the next document and step over its positions
+         */
+        private boolean readNext() {
+            if (++index >= count || offset >= end) {
+                index = count;
+                docId = NO_MORE_DOCS;
+                return false;
+            }
+            docId += readVarInt();
+            frequency = readVarInt();
+            positionsOffset = offset;
+            positionsRead = false;
+
+            // Each position ends on a byte without the continuation bit
+            for (int remaining = frequency; remaining > 0; ) {
+                if (data[offset++] >= 0) {
+                    remaining--;
+                }
+            }
+            return true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
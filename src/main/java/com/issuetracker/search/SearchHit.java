@@ -0,0 +1,37 @@
+package com.issuetracker.search;
+
+/**
+ * One issue matching a quick search, with its BM25 score
+ */
+public final class SearchHit {
+
+    private final String issueId;
+    private final double score;
+    private final String snippet;
+
+    public SearchHit(String issueId, double score, String snippet) {
+        this.issueId = issueId;
+        this.score = score;
+        this.snippet = snippet;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Start of the issue description, or null when the index keeps none
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchHit{issueId='%s', score=%.3f}", issueId, score);
+    }
+}
\ No newline at end of file
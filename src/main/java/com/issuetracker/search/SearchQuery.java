@@ -0,0 +1,93 @@
+package com.issuetracker.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed quick-search query. Words are required (AND) unless the query
+ * contains an upper-case OR, in which case any of them may match. Text in
+ * double quotes is a phrase: its words must appear consecutively, in order,
+ * in every matching document.
+ */
+public final class SearchQuery {
+
+    private final List<String> terms;
+    private final List<List<String>> phrases;
+    private final boolean any;
+
+    private SearchQuery(List<String> terms, List<List<String>> phrases, boolean any) {
+        this.terms = Collections.unmodifiableList(terms);
+        this.phrases = Collections.unmodifiableList(phrases);
+        this.any = any;
+    }
+
+    public static SearchQuery parse(String query) {
+        List<String> terms = new ArrayList<>();
+        List<List<String>> phrases = new ArrayList<>();
+        boolean any = false;
+        if (query == null) {
+            return new SearchQuery(terms, phrases, false);
+        }
+
+        // Even segments are outside quotes, odd ones inside; an unclosed quote runs to the end
+        String[] segments = query.split("\"", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (i % 2 == 1) {
+                List<String> phrase = Tokenizer.tokenize(segments[i]);
+                if (phrase.size() == 1) {
+                    addTerm(terms, phrase.get(0));
+                } else if (!phrase.isEmpty()) {
+                    phrases.add(phrase);
+                    for (String term : phrase) {
+                        addTerm(terms, term);
+                    }
+                }
+                continue;
+            }
+            for (String word : segments[i].trim().split("\\s+")) {
+                if (word.equals("OR")) {
+                    any = true;
+                } else {
+                    for (String term : Tokenizer.tokenize(word)) {
+                        addTerm(terms, term);
+                    }
+                }
+            }
+        }
+        return new SearchQuery(terms, phrases, any);
+    }
+
+    private static void addTerm(List<String> terms, String term) {
+        if (!terms.contains(term)) {
+            terms.add(term);
+        }
+    }
+
+    /**
+     * Distinct terms of the query, including those of its phrases
+     */
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    public List<List<String>> getPhrases() {
+        return phrases;
+    }
+
+    /**
+     * True when any term may match (OR), false when all must (AND)
+     */
+    public boolean isAny() {
+        return any;
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchQuery{terms=" + terms + ", phrases=" + phrases + ", any=" + any + "}";
+    }
+}
\ No newline at end of file
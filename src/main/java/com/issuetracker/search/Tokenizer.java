@@ -0,0 +1,42 @@
+package com.issuetracker.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case runs of letters and digits. Positions are the
+ * token's ordinal in the text, so phrase matching compares them directly.
+ */
+public final class Tokenizer {
+
+    /** Longer runs are truncated; they are almost always ids or encoded data */
+    public static final int MAX_TOKEN_LENGTH = 40;
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String token = text.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH));
+                tokens.add(token.toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.issuetracker.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.issuetracker.dao.AssigneeDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Unit;
+import com.issuetracker.model.UnitMember;
+
+/**
+ * In-memory index of unit_members: members per Unit and users by email.
+ *
+ * The first refresh reads every membership; later ones read only rows whose
+ * membership or user changed since the newest updated_at already seen, so a
+ * poll costs one indexed range query. Removals arrive as deactivated rows.
+ * Lookups never touch the database.
+ */
+public class AssigneeDirectory {
+
+    private final AssigneeDAO assigneeDAO;
+    private final Map<Unit, Map<Integer, UnitMember>> membersByUnit = new EnumMap<>(Unit.class);
+    private final Map<Integer, Set<Unit>> unitsByUser = new ConcurrentHashMap<>();
+    private final Map<String, Integer> userIdsByEmail = new ConcurrentHashMap<>();
+    private final List<UnitMembershipListener> listeners = new CopyOnWriteArrayList<>();
+
+    private LocalDateTime lastUpdatedAt;
+    private volatile boolean loaded;
+    private ScheduledExecutorService scheduler;
+
+    public AssigneeDirectory(AssigneeDAO assigneeDAO) {
+        this.assigneeDAO = assigneeDAO;
+        for (Unit unit : Unit.values()) {
+            membersByUnit.put(unit, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Apply membership changes since the last refresh
+     * @return Number of memberships that were added or removed
+     */
+    public synchronized int refresh() throws IssueTrackerException {
+        int changes = 0;
+        for (UnitMember member : assigneeDAO.findMembersUpdatedSince(lastUpdatedAt)) {
+            if (apply(member)) {
+                changes++;
+            }
+            if (member.getUpdatedAt() != null
+                    && (lastUpdatedAt == null || member.getUpdatedAt().isAfter(lastUpdatedAt))) {
+                lastUpdatedAt = member.getUpdatedAt();
+            }
+        }
+        loaded = true;
+        return changes;
+    }
+
+    public void addListener(UnitMembershipListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(UnitMembershipListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Active members of the unit, ordered by user ID
+     */
+    public List<UnitMember> getMembers(Unit unit) {
+        List<UnitMember> members = new ArrayList<>(membersByUnit.get(unit).values());
+        members.sort((a, b) -> Integer.compare(a.getUserId(), b.getUserId()));
+        return members;
+    }
+
+    public boolean isMember(Unit unit, int userId) {
+        return membersByUnit.get(unit).containsKey(userId);
+    }
+
+    public Set<Unit> getUnits(int userId) {
+        Set<Unit> units = unitsByUser.get(userId);
+        if (units == null) {
+            return EnumSet.noneOf(Unit.class);
+        }
+        synchronized (units) {
+            return units.isEmpty() ? EnumSet.noneOf(Unit.class) : EnumSet.copyOf(units);
+        }
+    }
+
+    /**
+     * Whether the first refresh has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Membership of the user with this email in the first of their units, null if they have none
+     */
+    public UnitMember findByEmail(String email) {
+        Integer userId = email == null ? null : userIdsByEmail.get(email.toLowerCase(Locale.ROOT));
+        if (userId == null) {
+            return null;
+        }
+
+        for (Unit unit : getUnits(userId)) {
+            UnitMember member = membersByUnit.get(unit).get(userId);
+            if (member != null) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Refresh on a daemon thread at a fixed interval
+     */
+    public synchronized void startPolling(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "assignee-directory-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (IssueTrackerException | RuntimeException e) {
+                System.err.println("Warning: Failed to refresh assignee directory: " + e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopPolling() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return true if the user joined or left the unit
+     */
+    private boolean apply(UnitMember member) {
+        Unit unit = member.getUnit();
+        int userId = member.getUserId();
+        Map<Integer, UnitMember> members = membersByUnit.get(unit);
+
+        if (member.isActive()) {
+            UnitMember previous = members.put(userId, member);
+            if (previous != null && previous.getEmail() != null && !previous.getEmail().equalsIgnoreCase(member.getEmail())) {
+                userIdsByEmail.remove(previous.getEmail().toLowerCase(Locale.ROOT));
+            }
+            if (member.getEmail() != null) {
+                userIdsByEmail.put(member.getEmail().toLowerCase(Locale.ROOT), userId);
+            }
+            unitsByUser.computeIfAbsent(userId, key -> Collections.synchronizedSet(EnumSet.noneOf(Unit.class))).add(unit);
+            if (previous == null) {
+                notifyListeners(unit, userId, true);
+                return true;
+            }
+            return false;
+        }
+
+        UnitMember previous = members.remove(userId);
+        if (previous == null) {
+            return false;
+        }
+
+        Set<Unit> units = unitsByUser.get(userId);
+        if (units != null) {
+            units.remove(unit);
+            if (units.isEmpty()) {
+                unitsByUser.remove(userId);
+                if (previous.getEmail() != null) {
+                    userIdsByEmail.remove(previous.getEmail().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        notifyListeners(unit, userId, false);
+        return true;
+    }
+
+    private void notifyListeners(Unit unit, int userId, boolean member) {
+        for (UnitMembershipListener listener : listeners) {
+            try {
+                listener.onMembershipChanged(unit, userId, member);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Unit membership listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        Map<Unit, Integer> sizes = new EnumMap<>(Unit.class);
+        for (Map.Entry<Unit, Map<Integer, UnitMember>> entry : membersByUnit.entrySet()) {
+            sizes.put(entry.getKey(), entry.getValue().size());
+        }
+        return "AssigneeDirectory{members=" + sizes + ", lastUpdatedAt=" + lastUpdatedAt + "}";
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.issuetracker.service;
 
 import java.util.List;
 
+import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.Assignee;
 import com.issuetracker.model.Unit;
 
@@ -29,4 +30,56 @@ public interface AssigneeService
      */
     public abstract void updateActiveIssueCount(String assigneeEmail,
 						Character operation);
+
+    /**
+     * @params
+     *         userId - The assignee user id
+     *         limit - The maximum active issues allowed, 0 or less for no limit
+     * 
+     * @operation Takes one active-issue slot for the assignee if the cached
+     *            count is below the limit; release it if the assignment fails
+     * 
+     * @returns
+     *          boolean - true if the slot was taken
+     */
+    public abstract boolean tryReserve(int userId, int limit);
+
+    /**
+     * @params
+     *         userId - The assignee user id
+     *         delta - The change to apply to the cached count
+     * 
+     * @operation Adjusts the cached active issues count, never below zero
+     */
+    public abstract void adjustActiveIssueCount(int userId, int delta);
+
+    /**
+     * @params
+     *         userId - The assignee user id
+     * 
+     * @returns
+     *          int - The cached active issues count for the assignee
+     */
+    public abstract int getActiveIssueCount(int userId);
+
+    /**
+     * @operation Marks the start of a change that moves active issue counts,
+     *            in the database and in the cache; reconcile waits until no
+     *            change is in flight
+     */
+    public abstract void beginCountChange();
+
+    /**
+     * @operation Marks the end of a change started with beginCountChange
+     */
+    public abstract void endCountChange();
+
+    /**
+     * @operation Compares the cached and persisted counts with v_user_workload
+     *            and corrects those that differ
+     * 
+     * @returns
+     *          int - Number of users whose counts were corrected
+     */
+    public abstract int reconcile() throws IssueTrackerException;
 }
\ No newline at end of file
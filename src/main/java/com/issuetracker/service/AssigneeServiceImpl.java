@@ -1,45 +1,261 @@
 package com.issuetracker.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.issuetracker.dao.AssigneeDAOImpl;
+import com.issuetracker.dao.StatisticsDAO;
+import com.issuetracker.dao.StatisticsDAOImpl;
 import com.issuetracker.dao.UserDAO;
 import com.issuetracker.dao.UserDAOImpl;
 import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.Assignee;
 import com.issuetracker.model.Unit;
+import com.issuetracker.model.UnitMember;
 import com.issuetracker.model.User;
+import com.issuetracker.model.UserWorkload;
 
+/**
+ * Active issue counts per assignee.
+ *
+ * users.active_issues_count is the persisted count, moved by the issue DAO in the
+ * same transaction as the assignment or status change. This class caches it in an
+ * AtomicInteger per user so the max_issues_per_user check is a compare-and-set on
+ * the cached value rather than a COUNT query, and concurrent assignments to the
+ * same user cannot both take the last slot.
+ *
+ * A change moves the two counts one after the other (a reservation before the
+ * database, a status change after it), so callers bracket it with
+ * beginCountChange/endCountChange and reconcile only compares them with the
+ * issues table over a window in which no change was in flight.
+ */
 public class AssigneeServiceImpl implements AssigneeService
 {
     private UserDAO userDAO = new UserDAOImpl();
+    private StatisticsDAO statisticsDAO = new StatisticsDAOImpl();
+    private AssigneeDirectory directory = new AssigneeDirectory(new AssigneeDAOImpl());
+
+    private static final int RECONCILE_ATTEMPTS = 5;
+    private static final long RECONCILE_BACKOFF_MILLIS = 20;
+
+    private final Map<Integer, AtomicInteger> activeCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger changesInFlight = new AtomicInteger();
+    private final AtomicLong changesFinished = new AtomicLong();
+    private volatile boolean loaded;
+
+    public AssigneeServiceImpl()
+    {
+    }
+
+    public AssigneeServiceImpl(UserDAO userDAO, StatisticsDAO statisticsDAO, AssigneeDirectory directory)
+    {
+        this.userDAO = userDAO;
+        this.statisticsDAO = statisticsDAO;
+        this.directory = directory;
+    }
 
     @Override
     public List<Assignee> fetchAssignee(Unit unit)
     {
+        List<Assignee> assignees = new ArrayList<>();
         try {
-            List<User> users = userDAO.getAllUsers();
-            List<Assignee> assignees = new ArrayList<>();
-            
-            for (User user : users) {
-                Assignee assignee = new Assignee();
-                assignee.setAssigneeId("USR-" + user.getUserId());
-                assignee.setAssigneeName(user.getFullName());
-                assignee.setAssigneeEmailId(user.getEmail());
-                assignee.setUnit(unit);
-                assignee.setActiveIssuesCount(0);
-                assignees.add(assignee);
-            }
-            
-            return assignees;
+            if (!directory.isLoaded()) {
+                directory.refresh();
+            }
         } catch (IssueTrackerException e) {
-            return new ArrayList<>();
+            System.err.println("Warning: Failed to load assignee directory: " + e.getMessage());
+            return assignees;
+        }
+
+        for (UnitMember member : directory.getMembers(unit)) {
+            Assignee assignee = new Assignee();
+            assignee.setUserId(member.getUserId());
+            assignee.setAssigneeId("USR-" + member.getUserId());
+            assignee.setAssigneeName(member.getFullName());
+            assignee.setAssigneeEmailId(member.getEmail());
+            assignee.setUnit(unit);
+            assignee.setActiveIssuesCount(getActiveIssueCount(member.getUserId()));
+            assignees.add(assignee);
         }
+        return assignees;
+    }
+
+    /**
+     * The directory used to resolve unit members and emails
+     */
+    public AssigneeDirectory getDirectory()
+    {
+        return directory;
     }
 
+    /**
+     * Operation 'I' increments and 'D' decrements the count
+     */
     @Override
     public void updateActiveIssueCount(String assigneeEmail, Character operation)
     {
-        // This method would require additional database logic to track active issue counts
-        // For now, it's a placeholder since we're managing counts differently in the database
+        int delta;
+        if (operation == 'I') {
+            delta = 1;
+        } else if (operation == 'D') {
+            delta = -1;
+        } else {
+            throw new IllegalArgumentException("Unknown operation code: " + operation);
+        }
+
+        UnitMember member = directory.findByEmail(assigneeEmail);
+        if (member != null) {
+            adjustActiveIssueCount(member.getUserId(), delta);
+            return;
+        }
+
+        try {
+            User user = userDAO.findByEmail(assigneeEmail);
+            if (user != null) {
+                adjustActiveIssueCount(user.getUserId(), delta);
+            }
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Failed to update active issue count: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean tryReserve(int userId, int limit)
+    {
+        AtomicInteger count = counter(userId);
+        while (true) {
+            int current = count.get();
+            if (limit > 0 && current >= limit) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void adjustActiveIssueCount(int userId, int delta)
+    {
+        if (userId <= 0 || delta == 0) {
+            return;
+        }
+        counter(userId).accumulateAndGet(delta, (current, change) -> Math.max(current + change, 0));
+    }
+
+    @Override
+    public int getActiveIssueCount(int userId)
+    {
+        return counter(userId).get();
+    }
+
+    @Override
+    public void beginCountChange()
+    {
+        changesInFlight.incrementAndGet();
+    }
+
+    @Override
+    public void endCountChange()
+    {
+        changesFinished.incrementAndGet();
+        changesInFlight.decrementAndGet();
+    }
+
+    @Override
+    public int reconcile() throws IssueTrackerException
+    {
+        ensureLoaded();
+
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            long finished = changesFinished.get();
+            if (changesInFlight.get() > 0) {
+                try {
+                    Thread.sleep(RECONCILE_BACKOFF_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                continue;
+            }
+
+            // Read what we hold before the view, so a change starting after this fails the CAS below
+            Map<Integer, Integer> persisted = userDAO.getActiveIssueCounts();
+            Map<Integer, Integer> cached = new HashMap<>();
+            for (Map.Entry<Integer, AtomicInteger> entry : activeCounts.entrySet()) {
+                cached.put(entry.getKey(), entry.getValue().get());
+            }
+            List<UserWorkload> workloads = statisticsDAO.getUserWorkload();
+
+            // A change that ran across the reads may be in one count and not the other
+            if (changesInFlight.get() == 0 && changesFinished.get() == finished) {
+                return correct(workloads, persisted, cached);
+            }
+        }
+
+        System.err.println("Warning: Active issue counts not reconciled, assignments kept changing");
+        return 0;
+    }
+
+    private int correct(List<UserWorkload> workloads, Map<Integer, Integer> persisted, Map<Integer, Integer> cached)
+            throws IssueTrackerException
+    {
+        int corrected = 0;
+        for (UserWorkload workload : workloads) {
+            int userId = workload.getUserId();
+            int actual = workload.getTotalAssignedIssues();
+            boolean drifted = false;
+
+            int stored = persisted.getOrDefault(userId, actual);
+            if (stored != actual && userDAO.replaceActiveIssueCount(userId, stored, actual)) {
+                drifted = true;
+            }
+
+            int held = cached.getOrDefault(userId, 0);
+            if (held != actual && counter(userId).compareAndSet(held, actual)) {
+                drifted = true;
+            }
+
+            if (drifted) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private AtomicInteger counter(int userId)
+    {
+        ensureLoaded();
+        return activeCounts.computeIfAbsent(userId, key -> new AtomicInteger());
+    }
+
+    /**
+     * Seed the cache from users.active_issues_count on first use
+     */
+    private void ensureLoaded()
+    {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (activeCounts) {
+            if (loaded) {
+                return;
+            }
+            try {
+                for (Map.Entry<Integer, Integer> entry : userDAO.getActiveIssueCounts().entrySet()) {
+                    activeCounts.put(entry.getKey(), new AtomicInteger(entry.getValue()));
+                }
+            } catch (IssueTrackerException e) {
+                // Start from zero; the next reconcile fills in the real counts
+                System.err.println("Warning: Failed to load active issue counts: " + e.getMessage());
+            }
+            loaded = true;
+        }
     }
 }
\ No newline at end of file
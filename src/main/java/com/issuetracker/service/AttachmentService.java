@@ -0,0 +1,85 @@
+package com.issuetracker.service;
+
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Attachment;
+
+/**
+ * Service interface for issue attachments
+ */
+public interface AttachmentService {
+
+    /**
+     * Stream content into the store and record it against an issue
+     * @param issueId Issue the file belongs to
+     * @param userId Uploading user
+     * @param filename Original file name
+     * @param mimeType Content type
+     * @param source Content, read until end of stream
+     * @return Stored attachment metadata
+     * @throws IssueTrackerException if the issue is unknown, the content is
+     *         larger than max_file_upload_size or storage fails
+     */
+    Attachment upload(String issueId, int userId, String filename, String mimeType, ReadableByteChannel source)
+            throws IssueTrackerException;
+
+    /**
+     * Upload a local file
+     * @param issueId Issue the file belongs to
+     * @param userId Uploading user
+     * @param file File to upload; its name is kept as the attachment name
+     * @param mimeType Content type, probed from the file when null
+     * @return Stored attachment metadata
+     * @throws IssueTrackerException if the upload fails
+     */
+    Attachment upload(String issueId, int userId, Path file, String mimeType) throws IssueTrackerException;
+
+    /**
+     * Stream a whole attachment to the target
+     * @param attachmentId Attachment ID
+     * @param target Destination channel
+     * @return Number of bytes written
+     * @throws IssueTrackerException if the attachment is unknown or unreadable
+     */
+    long download(int attachmentId, WritableByteChannel target) throws IssueTrackerException;
+
+    /**
+     * Stream part of an attachment to the target
+     * @param attachmentId Attachment ID
+     * @param offset First byte to send
+     * @param length Maximum number of bytes to send
+     * @param target Destination channel
+     * @return Number of bytes written, less than length at end of file
+     * @throws IssueTrackerException if the range starts outside the file
+     */
+    long download(int attachmentId, long offset, long length, WritableByteChannel target)
+            throws IssueTrackerException;
+
+    /**
+     * Attachment metadata by id
+     * @param attachmentId Attachment ID
+     * @return Attachment, null if not found
+     * @throws IssueTrackerException if retrieval fails
+     */
+    Attachment getAttachment(int attachmentId) throws IssueTrackerException;
+
+    /**
+     * Attachments of an issue, oldest first
+     * @param issueId Issue ID
+     * @return Attachment metadata
+     * @throws IssueTrackerException if retrieval fails
+     */
+    List<Attachment> getAttachments(String issueId) throws IssueTrackerException;
+
+    /**
+     * Remove an attachment; the stored content goes when nothing else refers to it
+     * @param attachmentId Attachment ID
+     * @return true if the attachment existed
+     * @throws IssueTrackerException if deletion fails
+     */
+    boolean deleteAttachment(int attachmentId) throws IssueTrackerException;
+}
\ No newline at end of file
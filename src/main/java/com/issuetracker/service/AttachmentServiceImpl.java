@@ -0,0 +1,288 @@
+package com.issuetracker.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import com.issuetracker.dao.AttachmentDAO;
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Attachment;
+import com.issuetracker.model.SystemSettings;
+
+/**
+ * Content-addressed attachment store on local disk.
+ *
+ * Uploads are streamed into a temporary file with FileChannel.transferFrom,
+ * hashed through memory-mapped windows and then moved to
+ * {@code <root>/<aa>/<bb>/<sha256>}, so identical uploads share one file.
+ * Downloads go out through FileChannel.transferTo. File content never
+ * passes through a heap buffer. Storing content with its row and removing
+ * content that lost its last row run under a lock striped by content hash,
+ * so a delete cannot remove a file an upload of the same bytes now uses.
+ */
+public class AttachmentServiceImpl implements AttachmentService {
+
+    public static final Path DEFAULT_STORAGE_ROOT = Paths.get("attachments");
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    private static final long HASH_WINDOW = 64L * 1024 * 1024;
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+    private static final int PROBE_SIZE = 8 * 1024;
+    private static final Object[] CONTENT_LOCKS = new Object[64];
+
+    static {
+        for (int i = 0; i < CONTENT_LOCKS.length; i++) {
+            CONTENT_LOCKS[i] = new Object();
+        }
+    }
+
+    private final AttachmentDAO attachmentDAO;
+    private final IssueDAO issueDAO;
+    private final Path storageRoot;
+    private SettingsService settingsService;
+
+    public AttachmentServiceImpl(AttachmentDAO attachmentDAO, IssueDAO issueDAO) {
+        this(attachmentDAO, issueDAO, DEFAULT_STORAGE_ROOT);
+    }
+
+    public AttachmentServiceImpl(AttachmentDAO attachmentDAO, IssueDAO issueDAO, Path storageRoot) {
+        this.attachmentDAO = attachmentDAO;
+        this.issueDAO = issueDAO;
+        this.storageRoot = storageRoot;
+    }
+
+    /**
+     * Take the upload limit from max_file_upload_size
+     */
+    public void setSettingsService(SettingsService settingsService) {
+        this.settingsService = settingsService;
+    }
+
+    private long maxUploadSize() {
+        SystemSettings settings = settingsService != null ? settingsService.getSettings() : SystemSettings.empty();
+        return settings.getMaxFileUploadSize();
+    }
+
+    @Override
+    public Attachment upload(String issueId, int userId, String filename, String mimeType, ReadableByteChannel source)
+            throws IssueTrackerException {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IssueTrackerException("File name is required");
+        }
+        if (issueDAO.getIssueById(issueId) == null) {
+            throw new IssueTrackerException("Issue not found: " + issueId);
+        }
+
+        long limit = maxUploadSize();
+        Path temp = null;
+        try {
+            Path tempDir = Files.createDirectories(storageRoot.resolve("tmp"));
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+
+            long size;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                size = receive(source, out, limit);
+            }
+            String hash = sha256(temp, size);
+
+            Path relative = contentPath(hash);
+            Path target = storageRoot.resolve(relative);
+            Attachment attachment = new Attachment(issueId, userId, Paths.get(filename).getFileName().toString(),
+                mimeType != null ? mimeType : DEFAULT_MIME_TYPE);
+            attachment.setFilePath(relative.toString().replace('\\', '/'));
+            attachment.setFileSize(size);
+            attachment.setContentHash(hash);
+
+            synchronized (contentLock(hash)) {
+                if (Files.exists(target)) {
+                    Files.delete(temp);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        // A concurrent upload of the same content got there first
+                        Files.delete(temp);
+                    }
+                }
+                temp = null;
+                attachmentDAO.addAttachment(attachment);
+            }
+            return attachment;
+
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error storing attachment: " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("Warning: Failed to remove partial upload " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the source to the file without staging it on the heap, failing as
+     * soon as more than limit bytes have arrived. transferFrom also returns 0
+     * when a non-blocking source has nothing ready, so the end of the upload
+     * is only taken from a read that returns -1.
+     */
+    private long receive(ReadableByteChannel source, FileChannel out, long limit)
+            throws IOException, IssueTrackerException {
+        ByteBuffer probe = null;
+        long position = 0;
+        while (true) {
+            // Ask for one byte past the limit so an oversized upload is caught without reading it all
+            long wanted = Math.min(TRANSFER_CHUNK, limit + 1 - position);
+            long transferred = out.transferFrom(source, position, wanted);
+            if (transferred == 0) {
+                if (probe == null) {
+                    probe = ByteBuffer.allocateDirect(PROBE_SIZE);
+                }
+                probe.clear().limit((int) Math.min(PROBE_SIZE, wanted));
+                int read = source.read(probe);
+                if (read < 0) {
+                    return position;
+                }
+                if (read == 0) {
+                    Thread.yield();
+                    continue;
+                }
+                probe.flip();
+                while (probe.hasRemaining()) {
+                    transferred += out.write(probe, position + transferred);
+                }
+            }
+            position += transferred;
+            if (position > limit) {
+                throw new IssueTrackerException("Attachment exceeds the maximum upload size of " + limit + " bytes");
+            }
+        }
+    }
+
+    private String sha256(Path file, long size) throws IOException, IssueTrackerException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IssueTrackerException("SHA-256 is not available: " + e.getMessage());
+        }
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (long position = 0; position < size; position += HASH_WINDOW) {
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(HASH_WINDOW, size - position));
+                digest.update(window);
+            }
+        }
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static Object contentLock(String hash) {
+        return CONTENT_LOCKS[(hash.hashCode() & 0x7fffffff) % CONTENT_LOCKS.length];
+    }
+
+    private static Path contentPath(String hash) {
+        return Paths.get(hash.substring(0, 2), hash.substring(2, 4), hash);
+    }
+
+    @Override
+    public Attachment upload(String issueId, int userId, Path file, String mimeType) throws IssueTrackerException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            String type = mimeType != null ? mimeType : Files.probeContentType(file);
+            return upload(issueId, userId, file.getFileName().toString(), type, in);
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error reading " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long download(int attachmentId, WritableByteChannel target) throws IssueTrackerException {
+        return download(attachmentId, 0, Long.MAX_VALUE, target);
+    }
+
+    @Override
+    public long download(int attachmentId, long offset, long length, WritableByteChannel target)
+            throws IssueTrackerException {
+        Attachment attachment = attachmentDAO.getAttachmentById(attachmentId);
+        if (attachment == null) {
+            throw new IssueTrackerException("Attachment not found: " + attachmentId);
+        }
+        if (offset < 0 || length < 0 || offset > attachment.getFileSize()) {
+            throw new IssueTrackerException("Invalid range " + offset + "+" + length
+                + " for attachment of " + attachment.getFileSize() + " bytes");
+        }
+
+        Path file = storageRoot.resolve(attachment.getFilePath());
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = offset + Math.min(length, in.size() - offset);
+            long position = offset;
+            while (position < end) {
+                long sent = in.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            return position - offset;
+
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error reading attachment " + attachmentId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Attachment getAttachment(int attachmentId) throws IssueTrackerException {
+        return attachmentDAO.getAttachmentById(attachmentId);
+    }
+
+    @Override
+    public List<Attachment> getAttachments(String issueId) throws IssueTrackerException {
+        return attachmentDAO.findByIssue(issueId);
+    }
+
+    @Override
+    public boolean deleteAttachment(int attachmentId) throws IssueTrackerException {
+        Attachment attachment = attachmentDAO.getAttachmentById(attachmentId);
+        if (attachment == null) {
+            return false;
+        }
+
+        // Held from the row delete to the file delete, so an upload of the
+        // same bytes either adds its row first and keeps the file, or waits
+        // and stores the content again
+        synchronized (contentLock(attachment.getContentHash())) {
+            if (!attachmentDAO.deleteAttachment(attachmentId)) {
+                return false;
+            }
+            if (attachmentDAO.countByContentHash(attachment.getContentHash()) == 0) {
+                try {
+                    Files.deleteIfExists(storageRoot.resolve(attachment.getFilePath()));
+                } catch (IOException e) {
+                    System.err.println("Warning: Failed to remove attachment content: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package com.issuetracker.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.issuetracker.dao.StatisticsDAO;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+
+/**
+ * Picks the least-loaded assignee of a unit for a new issue.
+ *
+ * Each unit keeps its candidates in a TreeSet ordered by (load, userId), so the
+ * pick and every load change are O(log n) under that unit's lock and never touch
+ * the database. Load is the number of active issues assigned to the user, or the
+ * sum of their priority levels when priority weighting is on. It follows the
+ * change events IssueServiceImpl applies inline, and the candidates follow the
+ * assignee directory it listens to.
+ */
+public class AutoAssignmentEngine implements UnitMembershipListener {
+
+    private final StatisticsDAO statisticsDAO;
+    private final boolean priorityWeighted;
+
+    private final Map<Unit, UnitQueue> queues = new EnumMap<>(Unit.class);
+    private final Map<Integer, Long> loads = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Unit>> unitsByUser = new ConcurrentHashMap<>();
+
+    public AutoAssignmentEngine(StatisticsDAO statisticsDAO) {
+        this(statisticsDAO, false);
+    }
+
+    public AutoAssignmentEngine(StatisticsDAO statisticsDAO, boolean priorityWeighted) {
+        this.statisticsDAO = statisticsDAO;
+        this.priorityWeighted = priorityWeighted;
+        for (Unit unit : Unit.values()) {
+            queues.put(unit, new UnitQueue(unit));
+        }
+    }
+
+    /**
+     * Read every user's load from the database and re-order the queues by it.
+     * Candidates come from addCandidate, normally driven by the assignee directory.
+     */
+    public void load() throws IssueTrackerException {
+        Map<Integer, Map<Priority, Long>> active = statisticsDAO.countActiveByAssigneeAndPriority();
+
+        Map<Integer, Long> fresh = new HashMap<>();
+        for (Map.Entry<Integer, Map<Priority, Long>> entry : active.entrySet()) {
+            long load = 0;
+            for (Map.Entry<Priority, Long> count : entry.getValue().entrySet()) {
+                load += weight(count.getKey()) * count.getValue();
+            }
+            fresh.put(entry.getKey(), load);
+        }
+
+        loads.clear();
+        loads.putAll(fresh);
+        for (Integer userId : unitsByUser.keySet()) {
+            repositionElsewhere(userId, null);
+        }
+    }
+
+    @Override
+    public void onMembershipChanged(Unit unit, int userId, boolean member) {
+        if (member) {
+            addCandidate(unit, userId);
+        } else {
+            removeCandidate(unit, userId);
+        }
+    }
+
+    /**
+     * Make the user eligible for issues of the unit
+     */
+    public void addCandidate(Unit unit, int userId) {
+        unitsByUser.computeIfAbsent(userId, key -> Collections.synchronizedSet(EnumSet.noneOf(Unit.class))).add(unit);
+        queues.get(unit).reposition(userId);
+    }
+
+    public void removeCandidate(Unit unit, int userId) {
+        Set<Unit> units = unitsByUser.get(userId);
+        if (units != null) {
+            units.remove(unit);
+        }
+        queues.get(unit).remove(userId);
+    }
+
+    /**
+     * Choose the least-loaded candidate of the unit and charge them the issue's
+     * weight straight away, so concurrent picks spread across candidates. The
+     * caller must release the charge once the assignment has been committed
+     * (its change event carries the permanent load) or has failed.
+     * @return User ID, or 0 when the unit has no candidates
+     */
+    public int pick(Unit unit, Priority priority) {
+        int userId = queues.get(unit).pickAndCharge(weight(priority));
+        if (userId > 0) {
+            repositionElsewhere(userId, unit);
+        }
+        return userId;
+    }
+
+    /**
+     * Undo the charge made by pick
+     */
+    public void release(int userId, Priority priority) {
+        adjust(userId, -weight(priority));
+    }
+
+    /**
+     * Move loads for one committed change
+     */
+    public void apply(IssueChangeEvent event) {
+        long weight = weight(event.getPriority());
+
+        if (isOpen(event.getOldStatus())) {
+            adjust(event.getOldAssigneeId(), -weight);
+        }
+        if (isOpen(event.getNewStatus())) {
+            adjust(event.getNewAssigneeId(), weight);
+        }
+    }
+
+    public long getLoad(int userId) {
+        return loads.getOrDefault(userId, 0L);
+    }
+
+    public int candidateCount(Unit unit) {
+        return queues.get(unit).size();
+    }
+
+    public boolean isPriorityWeighted() {
+        return priorityWeighted;
+    }
+
+    private void adjust(int userId, long delta) {
+        if (userId <= 0 || delta == 0) {
+            return;
+        }
+
+        loads.merge(userId, delta, (current, change) -> Math.max(current + change, 0));
+        repositionElsewhere(userId, null);
+    }
+
+    private void repositionElsewhere(int userId, Unit skip) {
+        Set<Unit> units = unitsByUser.get(userId);
+        if (units == null) {
+            return;
+        }
+
+        Set<Unit> copy;
+        synchronized (units) {
+            copy = units.isEmpty() ? EnumSet.noneOf(Unit.class) : EnumSet.copyOf(units);
+        }
+        for (Unit unit : copy) {
+            if (unit != skip) {
+                queues.get(unit).reposition(userId);
+            }
+        }
+    }
+
+    private long weight(Priority priority) {
+        return priorityWeighted && priority != null ? priority.getLevel() : 1;
+    }
+
+    private static boolean isOpen(IssueStatus status) {
+        return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
+    }
+
+    @Override
+    public String toString() {
+        Map<Unit, Integer> sizes = new EnumMap<>(Unit.class);
+        for (Map.Entry<Unit, UnitQueue> entry : queues.entrySet()) {
+            sizes.put(entry.getKey(), entry.getValue().size());
+        }
+        return "AutoAssignmentEngine{weighted=" + priorityWeighted + ", candidates=" + sizes + "}";
+    }
+
+    /**
+     * Candidates of one unit. Entries are re-keyed from the shared load map while
+     * holding the queue lock, so the last reposition always reflects the latest load.
+     */
+    private final class UnitQueue {
+        private final Unit unit;
+        private final TreeSet<Slot> order = new TreeSet<>();
+        private final Map<Integer, Slot> slots = new HashMap<>();
+
+        UnitQueue(Unit unit) {
+            this.unit = unit;
+        }
+
+        synchronized void reposition(int userId) {
+            remove(userId);
+            Set<Unit> units = unitsByUser.get(userId);
+            if (units != null && units.contains(unit)) {
+                Slot slot = new Slot(getLoad(userId), userId);
+                slots.put(userId, slot);
+                order.add(slot);
+            }
+        }
+
+        synchronized void remove(int userId) {
+            Slot previous = slots.remove(userId);
+            if (previous != null) {
+                order.remove(previous);
+            }
+        }
+
+        synchronized int pickAndCharge(long weight) {
+            if (order.isEmpty()) {
+                return 0;
+            }
+            int userId = order.first().userId;
+            loads.merge(userId, weight, Long::sum);
+            reposition(userId);
+            return userId;
+        }
+
+        synchronized int size() {
+            return slots.size();
+        }
+    }
+
+    private static final class Slot implements Comparable<Slot> {
+        private final long load;
+        private final int userId;
+
+        Slot(long load, int userId) {
+            this.load = load;
+            this.userId = userId;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byLoad = Long.compare(load, other.load);
+            return byLoad != 0 ? byLoad : Integer.compare(userId, other.userId);
+        }
+    }
+}
\ No newline at end of file
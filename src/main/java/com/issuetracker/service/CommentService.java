@@ -0,0 +1,59 @@
+package com.issuetracker.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Comment;
+import com.issuetracker.model.CommentThreadPage;
+
+/**
+ * Service interface for issue comments
+ */
+public interface CommentService {
+
+    /**
+     * Add a comment to an issue, optionally as a reply
+     * @param issueId Issue being commented on
+     * @param userId Author of the comment
+     * @param text Comment text
+     * @param internal true if only staff should see the comment
+     * @param parentCommentId Comment being replied to, 0 for a new thread
+     * @return Id of the new comment
+     * @throws IssueTrackerException if the issue, author or parent is invalid
+     */
+    int addComment(String issueId, int userId, String text, boolean internal, int parentCommentId)
+            throws IssueTrackerException;
+
+    /**
+     * All comment threads of an issue, oldest first, with replies attached
+     * @param issueId Issue ID
+     * @param includeInternal true to include internal comments
+     * @return Top-level comments with nested replies
+     * @throws IssueTrackerException if retrieval fails
+     */
+    List<Comment> getCommentThreads(String issueId, boolean includeInternal) throws IssueTrackerException;
+
+    /**
+     * One page of comment threads; replies are never split across pages
+     * @param issueId Issue ID
+     * @param includeInternal true to include internal comments
+     * @param offset Number of top-level threads to skip
+     * @param limit Maximum number of top-level threads to return
+     * @return Page of threads with totals
+     * @throws IssueTrackerException if retrieval fails
+     */
+    CommentThreadPage getCommentThreads(String issueId, boolean includeInternal, int offset, int limit)
+            throws IssueTrackerException;
+
+    /**
+     * Comment counts for a list of issues, looked up in batches
+     * @param issueIds Issue IDs
+     * @param includeInternal true to count internal comments
+     * @return Count per issue ID, 0 for issues without comments
+     * @throws IssueTrackerException if retrieval fails
+     */
+    Map<String, Integer> getCommentCounts(Collection<String> issueIds, boolean includeInternal)
+            throws IssueTrackerException;
+}
\ No newline at end of file
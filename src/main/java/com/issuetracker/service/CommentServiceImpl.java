@@ -0,0 +1,147 @@
+package com.issuetracker.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.dao.CommentDAO;
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.event.IssueEventBus;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Comment;
+import com.issuetracker.model.CommentThreadPage;
+import com.issuetracker.model.Issue;
+
+/**
+ * Implementation of CommentService. Threads are read with a single query
+ * per issue and linked into a tree in memory.
+ */
+public class CommentServiceImpl implements CommentService {
+
+    private final CommentDAO commentDAO;
+    private final IssueDAO issueDAO;
+    private final UserService userService;
+    private SettingsService settingsService;
+    private IssueEventBus eventBus;
+
+    public CommentServiceImpl(CommentDAO commentDAO, IssueDAO issueDAO, UserService userService) {
+        this.commentDAO = commentDAO;
+        this.issueDAO = issueDAO;
+        this.userService = userService;
+    }
+
+    /**
+     * Publish public comments to the given bus as COMMENT_ADDED events
+     */
+    public void setEventBus(IssueEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Honour enable_issue_comments from the given settings service
+     */
+    public void setSettingsService(SettingsService settingsService) {
+        this.settingsService = settingsService;
+    }
+
+    @Override
+    public int addComment(String issueId, int userId, String text, boolean internal, int parentCommentId)
+            throws IssueTrackerException {
+        if (settingsService != null && !settingsService.getSettings().isIssueCommentsEnabled()) {
+            throw new IssueTrackerException("Comments are disabled");
+        }
+        if (text == null || text.trim().isEmpty()) {
+            throw new IssueTrackerException("Comment text cannot be empty");
+        }
+        Issue issue = issueDAO.getIssueById(issueId);
+        if (issue == null) {
+            throw new IssueTrackerException("Issue not found: " + issueId);
+        }
+        if (userService.findUserById(userId) == null) {
+            throw new IssueTrackerException("Invalid user ID: " + userId);
+        }
+
+        if (parentCommentId != 0) {
+            Comment parent = commentDAO.getCommentById(parentCommentId);
+            if (parent == null || !issueId.equals(parent.getIssueId())) {
+                throw new IssueTrackerException("Comment " + parentCommentId + " does not belong to issue " + issueId);
+            }
+            // A public reply under an internal comment would never be shown to outsiders
+            internal = internal || parent.isInternal();
+        }
+
+        int commentId = commentDAO.addComment(new Comment(issueId, userId, text.trim(), internal, parentCommentId));
+
+        // Internal notes stay out of anything derived from the event, such as the search index
+        if (eventBus != null && !internal) {
+            try {
+                eventBus.publish(IssueChangeEvent.commentAdded(issue, text.trim()));
+            } catch (Exception e) {
+                System.err.println("Warning: Failed to publish comment event: " + e.getMessage());
+            }
+        }
+        return commentId;
+    }
+
+    @Override
+    public List<Comment> getCommentThreads(String issueId, boolean includeInternal) throws IssueTrackerException {
+        return buildThreads(commentDAO.findByIssue(issueId, includeInternal));
+    }
+
+    @Override
+    public CommentThreadPage getCommentThreads(String issueId, boolean includeInternal, int offset, int limit)
+            throws IssueTrackerException {
+        if (offset < 0 || limit <= 0) {
+            throw new IssueTrackerException("Invalid page: offset " + offset + ", limit " + limit);
+        }
+
+        // Only the page's threads are read; the totals come from count queries
+        List<Comment> threads = buildThreads(commentDAO.findThreadPage(issueId, includeInternal, offset, limit));
+        int totalThreads = commentDAO.countThreads(issueId, includeInternal);
+        int totalComments = commentDAO.countByIssues(Collections.singletonList(issueId), includeInternal)
+            .getOrDefault(issueId, 0);
+        return new CommentThreadPage(threads, totalThreads, totalComments, offset, limit);
+    }
+
+    @Override
+    public Map<String, Integer> getCommentCounts(Collection<String> issueIds, boolean includeInternal)
+            throws IssueTrackerException {
+        Map<String, Integer> found = commentDAO.countByIssues(issueIds, includeInternal);
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String issueId : issueIds) {
+            counts.put(issueId, found.getOrDefault(issueId, 0));
+        }
+        return counts;
+    }
+
+    /**
+     * Link a flat, creation-ordered list into threads. Comments whose parent
+     * is not in the list (filtered as internal, or deleted) are dropped
+     * together with their replies.
+     */
+    static List<Comment> buildThreads(List<Comment> comments) {
+        Map<Integer, Comment> byId = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            byId.put(comment.getCommentId(), comment);
+        }
+
+        List<Comment> threads = new ArrayList<>();
+        for (Comment comment : comments) {
+            if (comment.isTopLevel()) {
+                threads.add(comment);
+                continue;
+            }
+            Comment parent = byId.get(comment.getParentCommentId());
+            if (parent != null) {
+                parent.addReply(comment);
+            }
+        }
+        return threads;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.issuetracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.DuplicateCandidate;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.util.MinHashIndex;
+
+/**
+ * Finds open issues whose description resembles a new report.
+ *
+ * The descriptions of open and in-progress issues are held as MinHash
+ * signatures in LSH buckets, loaded once by streaming them and kept current as
+ * issues are reported, resolved, closed, reopened and purged, so a check looks
+ * at the few issues sharing a bucket rather than every open issue. Similarity
+ * is estimated, and an issue changed by another JVM since the load is seen
+ * with its old state.
+ */
+public class DuplicateDetector {
+
+    public static final double DEFAULT_THRESHOLD = 0.6;
+    public static final int DEFAULT_LIMIT = 5;
+
+    private static final List<IssueStatus> OPEN_STATUSES = Arrays.asList(IssueStatus.OPEN, IssueStatus.IN_PROGRESS);
+
+    private final IssueDAO issueDAO;
+    private final MinHashIndex index = new MinHashIndex();
+    private final Map<String, String> descriptions = new ConcurrentHashMap<>();
+    private final double threshold;
+    private volatile boolean loaded;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder checksWithDuplicates = new LongAdder();
+    private final LongAdder checkNanos = new LongAdder();
+
+    public DuplicateDetector(IssueDAO issueDAO) {
+        this(issueDAO, DEFAULT_THRESHOLD);
+    }
+
+    public DuplicateDetector(IssueDAO issueDAO, double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1]: " + threshold);
+        }
+        this.issueDAO = issueDAO;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Rebuild from the open issues in the database
+     */
+    public void load() throws IssueTrackerException {
+        loaded = false;
+        index.clear();
+        descriptions.clear();
+        issueDAO.forEachIssueDescription(OPEN_STATUSES, this::opened);
+        loaded = true;
+    }
+
+    /**
+     * Open issues resembling the description, most similar first
+     */
+    public List<DuplicateCandidate> findLikelyDuplicates(String description) {
+        if (description == null || description.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long started = System.nanoTime();
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        for (MinHashIndex.Match match : index.findSimilar(description, threshold, DEFAULT_LIMIT)) {
+            String matched = descriptions.get(match.getKey());
+            if (matched != null) {
+                candidates.add(new DuplicateCandidate(match.getKey(), matched, match.getSimilarity()));
+            }
+        }
+
+        checks.increment();
+        checkNanos.add(System.nanoTime() - started);
+        if (!candidates.isEmpty()) {
+            checksWithDuplicates.increment();
+        }
+        return candidates;
+    }
+
+    /**
+     * Record an issue that is now open: reported or reopened
+     */
+    public void opened(String issueId, String description) {
+        if (issueId == null || description == null) {
+            return;
+        }
+        descriptions.put(issueId, description);
+        index.put(issueId, description);
+    }
+
+    /**
+     * Record an issue that is no longer open: resolved, closed or purged
+     */
+    public void closed(String issueId) {
+        index.remove(issueId);
+        descriptions.remove(issueId);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public long memoryBytes() {
+        long bytes = index.memoryBytes();
+        for (String description : descriptions.values()) {
+            bytes += 40 + description.length() + 48;
+        }
+        return bytes;
+    }
+
+    public long getChecks() {
+        return checks.sum();
+    }
+
+    public long getChecksWithDuplicates() {
+        return checksWithDuplicates.sum();
+    }
+
+    public double getAverageCheckMillis() {
+        long count = checks.sum();
+        return count == 0 ? 0.0 : checkNanos.sum() / 1_000_000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DuplicateDetector{loaded=%s, openIssues=%d, threshold=%.2f, memoryBytes=%d, "
+                + "checks=%d, withDuplicates=%d, avgCheckMs=%.3f}",
+            loaded, size(), threshold, memoryBytes(), getChecks(), getChecksWithDuplicates(),
+            getAverageCheckMillis());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.issuetracker.service;
+
+import java.nio.file.Path;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.export.ExportFormat;
+import com.issuetracker.export.ExportResult;
+
+/**
+ * Service interface for bulk data exports
+ */
+public interface ExportService {
+
+    String ISSUES = "issues";
+    String HISTORY = "issue_history";
+
+    /**
+     * Stream the issues table to a file
+     * @param target File to create; replaced only once the export completes
+     * @param format CSV or JSONL
+     * @param gzip true to gzip the output
+     * @param incremental true to export only issues changed since the last export
+     * @return Rows written, sizes and the new watermark
+     * @throws IssueTrackerException if reading or writing fails
+     */
+    ExportResult exportIssues(Path target, ExportFormat format, boolean gzip, boolean incremental)
+            throws IssueTrackerException;
+
+    /**
+     * Stream the issue_history audit trail to a file
+     * @param target File to create; replaced only once the export completes
+     * @param format CSV or JSONL
+     * @param gzip true to gzip the output
+     * @param incremental true to export only entries recorded since the last export
+     * @return Rows written, sizes and the new watermark
+     * @throws IssueTrackerException if reading or writing fails
+     */
+    ExportResult exportHistory(Path target, ExportFormat format, boolean gzip, boolean incremental)
+            throws IssueTrackerException;
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.issuetracker.service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+import com.issuetracker.dao.ExportDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.export.ChannelTextWriter;
+import com.issuetracker.export.ExportFormat;
+import com.issuetracker.export.ExportResult;
+import com.issuetracker.export.RecordWriter;
+import com.issuetracker.model.ExportWatermark;
+
+/**
+ * Implementation of ExportService.
+ * Rows go from a forward-only result set through a fixed-size channel
+ * writer into a temporary file next to the target, which is moved into
+ * place on success. The watermark is saved only after the move, so a
+ * failed run is simply repeated.
+ */
+public class ExportServiceImpl implements ExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportDAO exportDAO;
+
+    public ExportServiceImpl(ExportDAO exportDAO) {
+        this.exportDAO = exportDAO;
+    }
+
+    @Override
+    public ExportResult exportIssues(Path target, ExportFormat format, boolean gzip, boolean incremental)
+            throws IssueTrackerException {
+        return export(ISSUES, target, format, gzip, incremental);
+    }
+
+    @Override
+    public ExportResult exportHistory(Path target, ExportFormat format, boolean gzip, boolean incremental)
+            throws IssueTrackerException {
+        return export(HISTORY, target, format, gzip, incremental);
+    }
+
+    private ExportResult export(String exportName, Path target, ExportFormat format, boolean gzip,
+                                boolean incremental) throws IssueTrackerException {
+        long started = System.currentTimeMillis();
+
+        ExportWatermark since = incremental ? exportDAO.getWatermark(exportName) : null;
+        if (since == null) {
+            since = new ExportWatermark(exportName, null, null);
+        }
+
+        Path temp = null;
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+
+            ExportWatermark reached;
+            long records;
+            long uncompressed;
+            try (ChannelTextWriter out = new ChannelTextWriter(openChannel(temp, gzip))) {
+                RecordWriter writer = format.newWriter(out);
+                reached = ISSUES.equals(exportName)
+                    ? exportDAO.streamIssues(since, writer)
+                    : exportDAO.streamHistory(since, writer);
+                out.flush();
+                records = writer.getRecordCount();
+                uncompressed = out.getBytesWritten();
+            }
+
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+
+            reached.setExportName(exportName);
+            reached.setLastRowCount(records);
+            if (records > 0 || !incremental) {
+                exportDAO.saveWatermark(reached);
+            }
+
+            return new ExportResult(target, records, uncompressed, Files.size(target),
+                System.currentTimeMillis() - started, reached);
+
+        } catch (IOException e) {
+            throw new IssueTrackerException("Error writing export to " + target + ": " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("Warning: Failed to remove partial export " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private WritableByteChannel openChannel(Path file, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (!gzip) {
+            return channel;
+        }
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER_SIZE));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.issuetracker.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.IdempotencyKeyDAO;
+import com.issuetracker.exception.IssueTrackerException;
+
+/**
+ * Request keys of recently reported issues.
+ *
+ * The idempotency_keys table is the record; the issue DAO writes each key in the
+ * same transaction as its issue. This class keeps the most recently used keys in
+ * an LRU map so a retry usually resolves without a query, falls back to the table
+ * on a miss, and purges keys older than the time-to-live on a daemon thread.
+ */
+public class IdempotencyKeyStore {
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyKeyDAO keyDAO;
+    private final long ttlNanos;
+    private final Duration ttl;
+    private final Map<String, Entry> recent;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    public IdempotencyKeyStore(IdempotencyKeyDAO keyDAO) {
+        this(keyDAO, DEFAULT_TTL, DEFAULT_CACHE_SIZE);
+    }
+
+    public IdempotencyKeyStore(IdempotencyKeyDAO keyDAO, Duration ttl, int cacheSize) {
+        this.keyDAO = keyDAO;
+        this.ttl = ttl;
+        this.ttlNanos = ttl.toNanos();
+        this.recent = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Issue created with the key, or null if the key has not been used
+     */
+    public String lookup(String requestKey) throws IssueTrackerException {
+        synchronized (recent) {
+            Entry entry = recent.get(requestKey);
+            if (entry != null) {
+                if (System.nanoTime() - entry.rememberedAtNanos < ttlNanos) {
+                    cacheHits.increment();
+                    return entry.issueId;
+                }
+                recent.remove(requestKey);
+            }
+        }
+
+        String issueId = keyDAO.findIssueId(requestKey);
+        if (issueId == null) {
+            misses.increment();
+            return null;
+        }
+        databaseHits.increment();
+        remember(requestKey, issueId);
+        return issueId;
+    }
+
+    /**
+     * Cache a key the issue DAO has just recorded
+     */
+    public void remember(String requestKey, String issueId) {
+        synchronized (recent) {
+            recent.put(requestKey, new Entry(issueId, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Delete keys older than the time-to-live from the table and the cache
+     * @return Number of keys deleted from the table
+     */
+    public int purgeExpired() throws IssueTrackerException {
+        int deleted = keyDAO.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+
+        long now = System.nanoTime();
+        synchronized (recent) {
+            Iterator<Entry> entries = recent.values().iterator();
+            while (entries.hasNext()) {
+                if (now - entries.next().rememberedAtNanos >= ttlNanos) {
+                    entries.remove();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Purge expired keys on a daemon thread at a fixed interval
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-key-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpired();
+            } catch (IssueTrackerException | RuntimeException e) {
+                System.err.println("Warning: Failed to purge request keys: " + e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public int cachedKeys() {
+        synchronized (recent) {
+            return recent.size();
+        }
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getDatabaseHits() {
+        return databaseHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyKeyStore{cached=" + cachedKeys() + ", cacheHits=" + getCacheHits()
+            + ", databaseHits=" + getDatabaseHits() + ", misses=" + getMisses() + "}";
+    }
+
+    private static final class Entry {
+        private final String issueId;
+        private final long rememberedAtNanos;
+
+        Entry(String issueId, long rememberedAtNanos) {
+            this.issueId = issueId;
+            this.rememberedAtNanos = rememberedAtNanos;
+        }
+    }
+}
\ No newline at end of file
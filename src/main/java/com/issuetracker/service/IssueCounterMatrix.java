@@ -0,0 +1,272 @@
+package com.issuetracker.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.StatisticsDAO;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueCount;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+
+/**
+ * Live issue counts by status, unit and priority, plus open issues per assignee.
+ *
+ * Loaded once from the database and then moved by every change IssueServiceImpl
+ * commits, so the dashboard reads counters instead of running aggregates. Each
+ * cell is a LongAdder, which keeps concurrent writers off a shared cache line.
+ * A periodic reconcile compares against the database and corrects any cell that
+ * shows the same drift on two consecutive runs; a single mismatch is usually a
+ * change that committed between the query and the comparison.
+ */
+public class IssueCounterMatrix {
+
+    public static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofMinutes(5);
+
+    private static final IssueStatus[] STATUSES = IssueStatus.values();
+    private static final Unit[] UNITS = Unit.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final StatisticsDAO statisticsDAO;
+    private final LongAdder[] cells = new LongAdder[STATUSES.length * UNITS.length * PRIORITIES.length];
+    private final Map<Integer, LongAdder> openByAssignee = new ConcurrentHashMap<>();
+
+    private Map<Integer, Long> pendingCellDrift = new HashMap<>();
+    private Map<Integer, Long> pendingAssigneeDrift = new HashMap<>();
+    private final LongAdder reconciliations = new LongAdder();
+    private final LongAdder corrections = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    public IssueCounterMatrix(StatisticsDAO statisticsDAO) {
+        this.statisticsDAO = statisticsDAO;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Replace every counter with the current database counts
+     */
+    public synchronized void load() throws IssueTrackerException {
+        long[] cellCounts = queryCells();
+        Map<Integer, Long> assigneeCounts = statisticsDAO.countActiveByAssignee();
+
+        for (int i = 0; i < cells.length; i++) {
+            cells[i].reset();
+            cells[i].add(cellCounts[i]);
+        }
+        openByAssignee.clear();
+        for (Map.Entry<Integer, Long> entry : assigneeCounts.entrySet()) {
+            assignee(entry.getKey()).add(entry.getValue());
+        }
+        pendingCellDrift = new HashMap<>();
+        pendingAssigneeDrift = new HashMap<>();
+    }
+
+    /**
+     * Move the counters for one committed change
+     */
+    public void apply(IssueChangeEvent event) {
+        Unit unit = event.getUnit();
+        Priority priority = event.getPriority();
+        if (unit == null || priority == null) {
+            return;
+        }
+
+        IssueStatus oldStatus = event.getOldStatus();
+        IssueStatus newStatus = event.getNewStatus();
+
+        if (oldStatus != null) {
+            cells[index(oldStatus, unit, priority)].decrement();
+        }
+        if (newStatus != null) {
+            cells[index(newStatus, unit, priority)].increment();
+        }
+
+        if (isOpen(oldStatus) && event.getOldAssigneeId() > 0) {
+            assignee(event.getOldAssigneeId()).decrement();
+        }
+        if (isOpen(newStatus) && event.getNewAssigneeId() > 0) {
+            assignee(event.getNewAssigneeId()).increment();
+        }
+    }
+
+    /**
+     * Compare against the database and fix counters whose drift persisted since the last run
+     * @return Number of counters corrected
+     */
+    public synchronized int reconcile() throws IssueTrackerException {
+        long[] cellCounts = queryCells();
+        Map<Integer, Long> assigneeCounts = statisticsDAO.countActiveByAssignee();
+        int corrected = 0;
+
+        Map<Integer, Long> cellDrift = new HashMap<>();
+        for (int i = 0; i < cells.length; i++) {
+            long drift = cellCounts[i] - cells[i].sum();
+            if (drift == 0) {
+                continue;
+            }
+            if (Long.valueOf(drift).equals(pendingCellDrift.get(i))) {
+                cells[i].add(drift);
+                corrected++;
+            } else {
+                cellDrift.put(i, drift);
+            }
+        }
+
+        Map<Integer, Long> assigneeDrift = new HashMap<>();
+        for (Integer userId : assigneeIds(assigneeCounts)) {
+            long drift = assigneeCounts.getOrDefault(userId, 0L) - openForAssignee(userId);
+            if (drift == 0) {
+                continue;
+            }
+            if (Long.valueOf(drift).equals(pendingAssigneeDrift.get(userId))) {
+                assignee(userId).add(drift);
+                corrected++;
+            } else {
+                assigneeDrift.put(userId, drift);
+            }
+        }
+
+        pendingCellDrift = cellDrift;
+        pendingAssigneeDrift = assigneeDrift;
+        reconciliations.increment();
+        corrections.add(corrected);
+        return corrected;
+    }
+
+    /**
+     * Reconcile on a daemon thread at a fixed interval
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "issue-counter-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (IssueTrackerException | RuntimeException e) {
+                System.err.println("Warning: Failed to reconcile issue counters: " + e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public long count(IssueStatus status, Unit unit, Priority priority) {
+        return cells[index(status, unit, priority)].sum();
+    }
+
+    public Map<IssueStatus, Long> countsByStatus() {
+        Map<IssueStatus, Long> counts = new EnumMap<>(IssueStatus.class);
+        for (IssueStatus status : STATUSES) {
+            long total = 0;
+            for (Unit unit : UNITS) {
+                for (Priority priority : PRIORITIES) {
+                    total += count(status, unit, priority);
+                }
+            }
+            counts.put(status, total);
+        }
+        return counts;
+    }
+
+    /**
+     * Open and in-progress issues per unit
+     */
+    public Map<Unit, Long> activeCountsByUnit() {
+        Map<Unit, Long> counts = new EnumMap<>(Unit.class);
+        for (Unit unit : UNITS) {
+            long total = 0;
+            for (IssueStatus status : STATUSES) {
+                if (!isOpen(status)) {
+                    continue;
+                }
+                for (Priority priority : PRIORITIES) {
+                    total += count(status, unit, priority);
+                }
+            }
+            counts.put(unit, total);
+        }
+        return counts;
+    }
+
+    public long total() {
+        long total = 0;
+        for (LongAdder cell : cells) {
+            total += cell.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Open and in-progress issues assigned to the user
+     */
+    public long openForAssignee(int userId) {
+        LongAdder adder = openByAssignee.get(userId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long getReconciliations() {
+        return reconciliations.sum();
+    }
+
+    public long getCorrections() {
+        return corrections.sum();
+    }
+
+    private long[] queryCells() throws IssueTrackerException {
+        long[] counts = new long[cells.length];
+        for (IssueCount count : statisticsDAO.countByStatusUnitPriority()) {
+            counts[index(count.getStatus(), count.getUnit(), count.getPriority())] += count.getCount();
+        }
+        return counts;
+    }
+
+    private Set<Integer> assigneeIds(Map<Integer, Long> databaseCounts) {
+        Set<Integer> ids = new HashSet<>(databaseCounts.keySet());
+        ids.addAll(openByAssignee.keySet());
+        return ids;
+    }
+
+    private LongAdder assignee(int userId) {
+        return openByAssignee.computeIfAbsent(userId, key -> new LongAdder());
+    }
+
+    private static boolean isOpen(IssueStatus status) {
+        return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
+    }
+
+    private static int index(IssueStatus status, Unit unit, Priority priority) {
+        return (status.ordinal() * UNITS.length + unit.ordinal()) * PRIORITIES.length + priority.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return "IssueCounterMatrix{total=" + total() + ", assignees=" + openByAssignee.size()
+            + ", reconciliations=" + getReconciliations() + ", corrections=" + getCorrections() + "}";
+    }
+}
\ No newline at end of file
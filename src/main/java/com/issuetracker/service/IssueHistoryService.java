@@ -1,8 +1,12 @@
 package com.issuetracker.service;
 
 import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Issue;
 import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.Unit;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for IssueHistory management operations
@@ -88,4 +92,22 @@ public interface IssueHistoryService {
      * @throws IssueTrackerException if operation fails
      */
     void recordIssueCreation(String issueId, int createdBy, String comments) throws IssueTrackerException;
+    
+    /**
+     * Reconstruct an issue as it was at a point in time by replaying its history
+     * from the nearest snapshot taken at or before that time
+     * @param issueId Issue ID
+     * @param asOf Point in time to reconstruct
+     * @return Issue with the status and assignee it had at that time, null if it did not exist yet
+     * @throws IssueTrackerException if operation fails
+     */
+    Issue getIssueAsOf(String issueId, LocalDateTime asOf) throws IssueTrackerException;
+    
+    /**
+     * Count issues that were open (not resolved or closed) at a point in time, per unit
+     * @param asOf Point in time to report on
+     * @return Number of open issues per unit at that time
+     * @throws IssueTrackerException if operation fails
+     */
+    Map<Unit, Integer> getBacklogAsOf(LocalDateTime asOf) throws IssueTrackerException;
 }
\ No newline at end of file
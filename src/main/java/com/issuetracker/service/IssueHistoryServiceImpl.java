@@ -1,20 +1,39 @@
 package com.issuetracker.service;
 
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.dao.IssueDAOJdbcImpl;
 import com.issuetracker.dao.IssueHistoryDAO;
 import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Issue;
 import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.IssueSnapshot;
+import com.issuetracker.model.Unit;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service implementation for IssueHistory management operations
  */
 public class IssueHistoryServiceImpl implements IssueHistoryService {
     
+    /** Number of replayed events after which a new snapshot is persisted */
+    private static final int SNAPSHOT_INTERVAL = 50;
+    
     private IssueHistoryDAO issueHistoryDAO;
+    private IssueDAO issueDAO;
+    private IssueStateReplayer replayer = new IssueStateReplayer();
     
     public IssueHistoryServiceImpl(IssueHistoryDAO issueHistoryDAO) {
+        this(issueHistoryDAO, new IssueDAOJdbcImpl());
+    }
+    
+    public IssueHistoryServiceImpl(IssueHistoryDAO issueHistoryDAO, IssueDAO issueDAO) {
         this.issueHistoryDAO = issueHistoryDAO;
+        this.issueDAO = issueDAO;
     }
     
     @Override
@@ -98,6 +117,8 @@ public class IssueHistoryServiceImpl implements IssueHistoryService {
         IssueHistory history = new IssueHistory();
         history.setIssueId(issueId);
         history.setActionPerformed("STATUS_CHANGE");
+        history.setOldValue(oldStatus);
+        history.setNewValue(newStatus);
         history.setUserId(changedBy);
         history.setActionDate(LocalDateTime.now());
         history.setComments(String.format("Status changed from %s to %s%s", 
@@ -115,6 +136,8 @@ public class IssueHistoryServiceImpl implements IssueHistoryService {
         IssueHistory history = new IssueHistory();
         history.setIssueId(issueId);
         history.setActionPerformed("ASSIGNMENT");
+        history.setOldValue(oldAssignee != null ? oldAssignee.toString() : null);
+        history.setNewValue(newValue);
         history.setUserId(changedBy);
         history.setActionDate(LocalDateTime.now());
         history.setComments(String.format("Assignment changed from %s to %s%s", 
@@ -128,6 +151,7 @@ public class IssueHistoryServiceImpl implements IssueHistoryService {
         IssueHistory history = new IssueHistory();
         history.setIssueId(issueId);
         history.setActionPerformed("ISSUE_CREATED");
+        history.setNewValue("OPEN");
         history.setUserId(createdBy);
         history.setActionDate(LocalDateTime.now());
         history.setComments(comments != null ? comments : "Issue created");
@@ -135,6 +159,142 @@ public class IssueHistoryServiceImpl implements IssueHistoryService {
         recordAction(history);
     }
     
+    @Override
+    public Issue getIssueAsOf(String issueId, LocalDateTime asOf) throws IssueTrackerException {
+        if (issueId == null || issueId.trim().isEmpty()) {
+            throw new IssueTrackerException("Issue ID cannot be null or empty");
+        }
+        if (asOf == null) {
+            throw new IssueTrackerException("Point in time cannot be null");
+        }
+        
+        String id = issueId.trim();
+        try {
+            IssueSnapshot base = issueHistoryDAO.findLatestSnapshot(id, asOf);
+            IssueSnapshot state = base != null ? new IssueSnapshot(base) : new IssueSnapshot(id);
+            
+            List<IssueHistory> events = issueHistoryDAO.findEventsForReplay(id, state.getLastHistoryId(), asOf);
+            for (IssueHistory event : events) {
+                replayer.apply(state, event);
+            }
+            if (events.size() >= SNAPSHOT_INTERVAL) {
+                refreshSnapshots(id);
+            }
+            
+            if (state.getStatus() == null) {
+                return null;
+            }
+            
+            Issue current = issueDAO.getIssueById(id);
+            Issue issue = new Issue();
+            if (current != null) {
+                issue.setIssueDescription(current.getIssueDescription());
+                issue.setIssueUnit(current.getIssueUnit());
+                issue.setReportedOn(current.getReportedOn());
+                issue.setPriority(current.getPriority());
+                issue.setReportedByUserId(current.getReportedByUserId());
+            }
+            issue.setIssueId(id);
+            issue.setStatus(state.getStatus());
+            issue.setAssignedToUserId(state.getAssignedToUserId());
+            issue.setUpdatedAt(state.getSnapshotDate());
+            if (state.getSnapshotDate() != null) {
+                issue.setUpdatedOn(state.getSnapshotDate().toLocalDate());
+            }
+            return issue;
+        } catch (IssueTrackerException e) {
+            throw new IssueTrackerException("Failed to reconstruct issue: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public Map<Unit, Integer> getBacklogAsOf(LocalDateTime asOf) throws IssueTrackerException {
+        if (asOf == null) {
+            throw new IssueTrackerException("Point in time cannot be null");
+        }
+        
+        try {
+            Map<String, IssueSnapshot> states = new HashMap<>();
+            for (IssueSnapshot snapshot : issueHistoryDAO.findLatestSnapshots(asOf)) {
+                states.put(snapshot.getIssueId(), snapshot);
+            }
+            
+            // Events arrive grouped by issue, so a long replay is spotted without counting per issue
+            List<String> longReplays = new ArrayList<>();
+            String[] current = {null};
+            int[] count = {0};
+            issueHistoryDAO.forEachEventSinceLatestSnapshots(asOf, (event, unit) -> {
+                if (!event.getIssueId().equals(current[0])) {
+                    if (count[0] >= SNAPSHOT_INTERVAL) {
+                        longReplays.add(current[0]);
+                    }
+                    current[0] = event.getIssueId();
+                    count[0] = 0;
+                }
+                IssueSnapshot state = states.computeIfAbsent(event.getIssueId(), IssueSnapshot::new);
+                if (unit != null) {
+                    state.setUnit(unit);
+                }
+                replayer.apply(state, event);
+                count[0]++;
+            });
+            if (count[0] >= SNAPSHOT_INTERVAL) {
+                longReplays.add(current[0]);
+            }
+            
+            // Snapshot the issues that needed a long replay so the next report starts further on
+            for (String id : longReplays) {
+                refreshSnapshots(id);
+            }
+            
+            Map<Unit, Integer> backlog = new EnumMap<>(Unit.class);
+            for (Unit unit : Unit.values()) {
+                backlog.put(unit, 0);
+            }
+            
+            for (IssueSnapshot state : states.values()) {
+                if (state.getUnit() != null && replayer.isOpen(state)) {
+                    backlog.merge(state.getUnit(), 1, Integer::sum);
+                }
+            }
+            return backlog;
+        } catch (IssueTrackerException e) {
+            throw new IssueTrackerException("Failed to compute backlog: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Extend the issue's snapshots with every event after the latest one, saving
+     * one each SNAPSHOT_INTERVAL events. The replay is bounded by history_id
+     * alone, so a snapshot covers every row up to its last_history_id whatever
+     * their action dates; a replay cut off at a point in time could leave out a
+     * row with a lower id and a later date, and must not be saved.
+     */
+    private void refreshSnapshots(String issueId) {
+        try {
+            IssueSnapshot latest = issueHistoryDAO.findLatestSnapshot(issueId, null);
+            IssueSnapshot state = latest != null ? new IssueSnapshot(latest) : new IssueSnapshot(issueId);
+            if (state.getUnit() == null) {
+                Issue issue = issueDAO.getIssueById(issueId);
+                if (issue != null) {
+                    state.setUnit(issue.getIssueUnit());
+                }
+            }
+            int lastSnapshotCount = state.getEventCount();
+            
+            for (IssueHistory event : issueHistoryDAO.findEventsForReplay(issueId, state.getLastHistoryId(), null)) {
+                replayer.apply(state, event);
+                if (state.getStatus() != null && state.getEventCount() - lastSnapshotCount >= SNAPSHOT_INTERVAL) {
+                    issueHistoryDAO.saveSnapshot(new IssueSnapshot(state));
+                    lastSnapshotCount = state.getEventCount();
+                }
+            }
+        } catch (IssueTrackerException e) {
+            // A concurrent refresh may have saved the same snapshot; the answer already computed stands
+            System.err.println("Warning: Failed to save history snapshots for " + issueId + ": " + e.getMessage());
+        }
+    }
+    
     /**
      * Validate IssueHistory object
      */
@@ -0,0 +1,104 @@
+package com.issuetracker.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.IssueIdSequenceDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Unit;
+
+/**
+ * Generates issue ids such as MTI-I-042-PAY.
+ *
+ * Numbers come from the issue_id_sequences table in blocks (hi/lo): one database
+ * update reserves blockSize numbers, which are then handed out from an AtomicLong
+ * without touching the database. JVMs sharing the database reserve disjoint
+ * blocks, so ids are unique but only roughly ordered across JVMs, and numbers
+ * left in a block when the JVM stops are skipped. The prefix is the
+ * issue_id_prefix setting and the suffix is the unit code.
+ *
+ * Callers may still choose their own ids, so a generated id can already be
+ * taken; the issue service then moves on to the next number.
+ */
+public class IssueIdGenerator {
+
+    public static final String SEQUENCE_NAME = "issue_id";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private static final String DEFAULT_PREFIX = "MTI-I";
+
+    private final IssueIdSequenceDAO sequenceDAO;
+    private final SettingsService settingsService;
+    private final int blockSize;
+
+    private volatile Block block;
+    private final LongAdder blocksAllocated = new LongAdder();
+
+    public IssueIdGenerator(IssueIdSequenceDAO sequenceDAO, SettingsService settingsService) {
+        this(sequenceDAO, settingsService, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IssueIdGenerator(IssueIdSequenceDAO sequenceDAO, SettingsService settingsService, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.sequenceDAO = sequenceDAO;
+        this.settingsService = settingsService;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next id for an issue of the given unit
+     */
+    public String nextId(Unit unit) throws IssueTrackerException {
+        String prefix = settingsService != null ? settingsService.getSettings().getIssueIdPrefix() : DEFAULT_PREFIX;
+        return String.format("%s-%03d-%s", prefix, nextValue(), unit.getCode());
+    }
+
+    /**
+     * Next number of the sequence, reserving a new block when the current one is used up
+     */
+    public long nextValue() throws IssueTrackerException {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long value = current.next.getAndIncrement();
+                if (value < current.end) {
+                    return value;
+                }
+            }
+
+            // Only the first thread to find the block exhausted reserves the next one
+            synchronized (this) {
+                if (block == current) {
+                    long start = sequenceDAO.allocateBlock(SEQUENCE_NAME, blockSize);
+                    block = new Block(start, start + blockSize);
+                    blocksAllocated.increment();
+                }
+            }
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getBlocksAllocated() {
+        return blocksAllocated.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "IssueIdGenerator{blockSize=" + blockSize + ", blocksAllocated=" + getBlocksAllocated() + "}";
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
\ No newline at end of file
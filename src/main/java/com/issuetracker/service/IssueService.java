@@ -4,9 +4,12 @@ import java.util.List;
 import java.util.Map;
 
 import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.DuplicateCandidate;
 import com.issuetracker.model.Issue;
 import com.issuetracker.model.IssueReport;
 import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.TriageEntry;
+import com.issuetracker.model.Unit;
 
 public interface IssueService
 {
@@ -24,6 +27,35 @@ public interface IssueService
      */
     public abstract String reportAnIssue(Issue issue) throws IssueTrackerException;
 
+    /**
+     * @params
+     *         issue - The new issue
+     *         requestKey - Client-chosen key identifying this request across retries
+     * 
+     * @operation Reports the issue once per key; a retry with a key that has
+     *            already been used skips validation and returns the original issue id
+     * 
+     * @returns
+     *          String - The issue id
+     */
+    public abstract String reportAnIssue(Issue issue, String requestKey) throws IssueTrackerException;
+
+    /**
+     * @params
+     *         issue - The new issue
+     *         requestKey - Client-chosen key identifying this request across retries, or null
+     *         likelyDuplicates - Receives open issues whose description resembles the new one
+     * 
+     * @operation Reports the issue as reportAnIssue(issue, requestKey) does and
+     *            collects likely duplicates among the open issues; the issue is
+     *            reported whether or not any are found
+     * 
+     * @returns
+     *          String - The issue id
+     */
+    public abstract String reportAnIssue(Issue issue, String requestKey,
+                                         List<DuplicateCandidate> likelyDuplicates) throws IssueTrackerException;
+
     /**
      * @params
      *         issueId - The issue id
@@ -50,6 +82,34 @@ public interface IssueService
      */
     public abstract List<IssueReport> showIssues(Map<Character, Object> filterCriteria) throws IssueTrackerException;
 
+    /**
+     * @params
+     *         query - Words to look for in issue descriptions
+     *         filterCriteria - Status, unit, priority and assignee filters as for showIssues
+     *         offset - Number of results to skip
+     *         limit - Page size
+     * 
+     * @operation Full-text search over issue descriptions
+     * 
+     * @returns
+     *          List<IssueReport> - One page of matching issues, most relevant first
+     */
+    public abstract List<IssueReport> searchIssues(String query, Map<Character, Object> filterCriteria,
+                                                   int offset, int limit) throws IssueTrackerException;
+
+    /**
+     * @params
+     *         unit - The unit to triage, or null for all units
+     *         limit - Number of issues wanted
+     * 
+     * @operation Picks the most urgent open and in-progress issues: highest
+     *            priority first, then earliest due date, then oldest
+     * 
+     * @returns
+     *          List<TriageEntry> - At most limit issues, most urgent first
+     */
+    public abstract List<TriageEntry> getTriageQueue(Unit unit, int limit) throws IssueTrackerException;
+
     /**
      * @operation Deletes the issue object which are resolved or closed,
      *            at least 14 days ago
@@ -71,4 +131,17 @@ public interface IssueService
      */
     public abstract Boolean assignIssue(String issueId, int userId) throws IssueTrackerException;
 
+    /**
+     * @params
+     *         userId - The user claiming work
+     *         unit - The unit whose queue to take from
+     * 
+     * @operation Assigns the highest-priority, oldest open unassigned issue of the
+     *            unit to the user; concurrent claimers never receive the same issue
+     * 
+     * @returns
+     *          Issue - The claimed issue, null if the queue is empty
+     */
+    public abstract Issue claimNext(int userId, Unit unit) throws IssueTrackerException;
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.issuetracker.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -8,17 +10,42 @@ import com.issuetracker.dao.IssueHistoryDAO;
 import com.issuetracker.dao.IssueHistoryDAOImpl;
 import com.issuetracker.dao.UserDAO;
 import com.issuetracker.dao.UserDAOImpl;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.event.IssueEventBus;
+import com.issuetracker.exception.DuplicateIssueIdException;
+import com.issuetracker.exception.IssueConflictException;
 import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.DuplicateCandidate;
 import com.issuetracker.model.Issue;
 import com.issuetracker.model.IssueReport;
 import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.TriageEntry;
+import com.issuetracker.model.Unit;
 import com.issuetracker.model.User;
+import com.issuetracker.validator.Validator;
 
 public class IssueServiceImpl implements IssueService {
     
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_TRIAGE_SIZE = 100;
+    /** Generated ids tried for one new issue before giving up on clashes with caller-chosen ids */
+    public static final int GENERATED_ID_ATTEMPTS = 100;
+    
     private IssueDAO issueDAO;
     private UserService userService;
     private IssueHistoryService issueHistoryService;
+    private IssueEventBus eventBus;
+    private SettingsService settingsService;
+    private IssueCounterMatrix counterMatrix;
+    private AssigneeService assigneeService;
+    private AutoAssignmentEngine assignmentEngine;
+    private IdempotencyKeyStore idempotencyKeys;
+    private IssueIdGenerator issueIdGenerator;
+    private KnownIssueIds knownIssueIds;
+    private DuplicateDetector duplicateDetector;
+    private TriageBoard triageBoard;
+    private Validator validator = new Validator();
+    private int conflictRetries;
     
     public IssueServiceImpl(IssueDAO issueDAO) {
         this.issueDAO = issueDAO;
@@ -39,14 +66,106 @@ public class IssueServiceImpl implements IssueService {
     
     @Override
     public String reportAnIssue(Issue issue) throws IssueTrackerException {
+        return report(issue, null);
+    }
+    
+    @Override
+    public String reportAnIssue(Issue issue, String requestKey) throws IssueTrackerException {
+        if (requestKey == null || requestKey.isEmpty()) {
+            return report(issue, null);
+        }
+        if (requestKey.length() > IdempotencyKeyStore.MAX_KEY_LENGTH) {
+            throw new IssueTrackerException("Request key longer than " + IdempotencyKeyStore.MAX_KEY_LENGTH
+                + " characters");
+        }
+        
+        // A retry of a request we have already handled
+        if (idempotencyKeys != null) {
+            String originalId = idempotencyKeys.lookup(requestKey);
+            if (originalId != null) {
+                return originalId;
+            }
+        }
+        return report(issue, requestKey);
+    }
+    
+    @Override
+    public String reportAnIssue(Issue issue, String requestKey, List<DuplicateCandidate> likelyDuplicates)
+            throws IssueTrackerException {
+        // Look before the insert so the new issue does not crowd out the others by matching itself
+        List<DuplicateCandidate> found = duplicateDetector != null
+            ? duplicateDetector.findLikelyDuplicates(issue.getIssueDescription()) : Collections.emptyList();
+        
+        String result = reportAnIssue(issue, requestKey);
+        
+        // A retried key returns an issue that was already open
+        for (DuplicateCandidate candidate : found) {
+            if (!candidate.getIssueId().equals(result)) {
+                likelyDuplicates.add(candidate);
+            }
+        }
+        return result;
+    }
+    
+    private String report(Issue issue, String requestKey) throws IssueTrackerException {
+        // Generate the id when the caller left it to us
+        boolean generatedId = (issue.getIssueId() == null || issue.getIssueId().isEmpty()) && issueIdGenerator != null;
+        if (generatedId) {
+            issue.setIssueId(nextFreeIssueId(issue.getIssueUnit()));
+        }
+        
+        validator.validate(issue);
+        
+        // Turn away a duplicate id before any other work; keyed requests skip this so a
+        // racing retry still gets the original id back from the DAO
+        if (knownIssueIds != null && requestKey == null && issue.getIssueId() != null
+                && !issue.getIssueId().isEmpty() && knownIssueIds.exists(issue.getIssueId())) {
+            throw new IssueTrackerException("An issue with the same ID already exists: " + issue.getIssueId());
+        }
+        
         // Validate that the creator exists
         User creator = userService.findUserById(issue.getReportedByUserId());
         if (creator == null) {
             throw new IssueTrackerException("Invalid creator user ID: " + issue.getReportedByUserId());
         }
         
-        // Report the issue
-        String result = issueDAO.reportAnIssue(issue);
+        // Fill in the configured default priority, read from the cached snapshot
+        if (issue.getPriority() == null && settingsService != null) {
+            issue.setPriority(settingsService.getSettings().getDefaultPriority());
+        }
+        
+        // Due dates drive SLA tracking; the setting makes them mandatory
+        if (issue.getDueDate() == null && settingsService != null
+                && settingsService.getSettings().isRequireDueDate()) {
+            throw new IssueTrackerException("A due date is required for new issues");
+        }
+        if (issue.getDueDate() != null && issue.getDueDate().isBefore(issue.getReportedOn())) {
+            throw new IssueTrackerException("The due date cannot be before the reporting date");
+        }
+        
+        // Report the issue; a generated id can still clash with one a caller chose, so take the next one
+        String result;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                result = requestKey == null ? issueDAO.reportAnIssue(issue) : issueDAO.reportAnIssue(issue, requestKey);
+                break;
+            } catch (DuplicateIssueIdException e) {
+                if (!generatedId || attempt >= GENERATED_ID_ATTEMPTS) {
+                    throw e;
+                }
+                issue.setIssueId(nextFreeIssueId(issue.getIssueUnit()));
+            }
+        }
+        
+        if (result != null && requestKey != null) {
+            if (idempotencyKeys != null) {
+                idempotencyKeys.remember(requestKey, result);
+            }
+            if (!result.equals(issue.getIssueId())) {
+                // A concurrent retry with the same key created the issue first
+                return result;
+            }
+        }
         
         // Record issue creation in history
         try {
@@ -56,6 +175,20 @@ public class IssueServiceImpl implements IssueService {
             System.err.println("Warning: Failed to record issue creation in history: " + e.getMessage());
         }
         
+        if (result != null) {
+            if (knownIssueIds != null) {
+                knownIssueIds.added(result);
+            }
+            if (duplicateDetector != null && isActive(issue.getStatus())) {
+                duplicateDetector.opened(result, issue.getIssueDescription());
+            }
+            if (triageBoard != null) {
+                triageBoard.reported(issue);
+            }
+            publish(IssueChangeEvent.created(issue));
+            autoAssign(issue);
+        }
+        
         return result;
     }
 
@@ -67,20 +200,52 @@ public class IssueServiceImpl implements IssueService {
             throw new IssueTrackerException("Issue not found: " + issueId);
         }
         
+        // Update the status against the version we read, re-reading if someone got there first
+        Boolean result;
+        beginCountChange();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    result = issueDAO.updateStatus(currentIssue, status);
+                    break;
+                } catch (IssueConflictException e) {
+                    currentIssue = reloadAfterConflict(e, attempt);
+                }
+            }
+            if (result && assigneeService != null && isActive(currentIssue.getStatus()) != isActive(status)) {
+                assigneeService.adjustActiveIssueCount(currentIssue.getAssignedToUserId(),
+                    isActive(status) ? 1 : -1);
+            }
+        } finally {
+            endCountChange();
+        }
+        
         String oldStatus = currentIssue.getStatus() != null ? currentIssue.getStatus().toString() : "UNKNOWN";
         String newStatus = status.toString();
         
-        // Update the status
-        Boolean result = issueDAO.updateStatus(issueId, status);
-        
         // Record status change in history
         if (result) {
+            if (duplicateDetector != null && isActive(currentIssue.getStatus()) != isActive(status)) {
+                if (isActive(status)) {
+                    duplicateDetector.opened(issueId, currentIssue.getIssueDescription());
+                } else {
+                    duplicateDetector.closed(issueId);
+                }
+            }
+            if (triageBoard != null) {
+                try {
+                    triageBoard.statusChanged(issueId, status);
+                } catch (IssueTrackerException e) {
+                    System.err.println("Warning: Failed to update the triage board: " + e.getMessage());
+                }
+            }
             try {
                 issueHistoryService.recordStatusChange(issueId, oldStatus, newStatus, 
                     currentIssue.getReportedByUserId(), "Status updated");
             } catch (Exception e) {
                 System.err.println("Warning: Failed to record status change in history: " + e.getMessage());
             }
+            publish(IssueChangeEvent.statusChanged(currentIssue, status));
         }
         
         return result;
@@ -91,9 +256,58 @@ public class IssueServiceImpl implements IssueService {
         return issueDAO.showIssues(filterCriteria);
     }
 
+    @Override
+    public List<IssueReport> searchIssues(String query, Map<Character, Object> filterCriteria, int offset, int limit)
+            throws IssueTrackerException {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IssueTrackerException("Search query is empty");
+        }
+        if (offset < 0 || limit <= 0) {
+            throw new IssueTrackerException("Invalid page: offset " + offset + ", limit " + limit);
+        }
+        return issueDAO.searchIssues(query.trim(), filterCriteria, offset, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+    }
+
+    @Override
+    public List<TriageEntry> getTriageQueue(Unit unit, int limit) throws IssueTrackerException {
+        if (limit <= 0) {
+            throw new IssueTrackerException("Invalid triage limit: " + limit);
+        }
+        limit = Math.min(limit, MAX_TRIAGE_SIZE);
+        if (triageBoard != null && triageBoard.isLoaded()) {
+            return unit != null ? triageBoard.top(unit, limit) : triageBoard.top(limit);
+        }
+        if (unit != null) {
+            return issueDAO.getTriageQueue(unit, limit);
+        }
+        
+        // Every unit's own top entries, merged
+        List<TriageEntry> merged = new ArrayList<>();
+        for (Unit each : Unit.values()) {
+            merged.addAll(issueDAO.getTriageQueue(each, limit));
+        }
+        merged.sort(TriageEntry.MOST_URGENT_FIRST);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+    
     @Override
     public List<Issue> deleteIssues() throws IssueTrackerException {
-        return issueDAO.deleteIssues();
+        List<Issue> deletedIssues = issueDAO.deleteIssues();
+        
+        for (Issue issue : deletedIssues) {
+            if (knownIssueIds != null) {
+                knownIssueIds.removed(issue.getIssueId());
+            }
+            if (duplicateDetector != null) {
+                duplicateDetector.closed(issue.getIssueId());
+            }
+            if (triageBoard != null) {
+                triageBoard.remove(issue.getIssueId());
+            }
+            publish(IssueChangeEvent.deleted(issue));
+        }
+        
+        return deletedIssues;
     }
 
     @Override
@@ -110,10 +324,47 @@ public class IssueServiceImpl implements IssueService {
             throw new IssueTrackerException("Issue not found: " + issueId);
         }
         
-        Integer oldAssignee = currentIssue.getAssignedToUserId() > 0 ? currentIssue.getAssignedToUserId() : null;
+        // Assign against the version we read, re-reading if someone got there first
+        Boolean result;
+        boolean countsTowardLimit;
+        beginCountChange();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                // Take a slot against max_issues_per_user up front; the DAO persists the count itself
+                countsTowardLimit = assigneeService != null && isActive(currentIssue.getStatus())
+                    && currentIssue.getAssignedToUserId() != userId;
+                if (countsTowardLimit) {
+                    int limit = settingsService != null ? settingsService.getSettings().getMaxIssuesPerUser() : 0;
+                    if (!assigneeService.tryReserve(userId, limit)) {
+                        throw new IssueTrackerException(assignee.getFullName() + " already has the maximum of "
+                            + limit + " active issues");
+                    }
+                }
+                
+                try {
+                    result = issueDAO.assignIssue(currentIssue, userId);
+                    break;
+                } catch (IssueConflictException e) {
+                    if (countsTowardLimit) {
+                        assigneeService.adjustActiveIssueCount(userId, -1);
+                    }
+                    currentIssue = reloadAfterConflict(e, attempt);
+                } catch (IssueTrackerException e) {
+                    if (countsTowardLimit) {
+                        assigneeService.adjustActiveIssueCount(userId, -1);
+                    }
+                    throw e;
+                }
+            }
+            
+            if (countsTowardLimit) {
+                assigneeService.adjustActiveIssueCount(result ? currentIssue.getAssignedToUserId() : userId, -1);
+            }
+        } finally {
+            endCountChange();
+        }
         
-        // Assign the issue
-        Boolean result = issueDAO.assignIssue(issueId, userId);
+        Integer oldAssignee = currentIssue.getAssignedToUserId() > 0 ? currentIssue.getAssignedToUserId() : null;
         
         // Record assignment in history
         if (result) {
@@ -123,11 +374,52 @@ public class IssueServiceImpl implements IssueService {
             } catch (Exception e) {
                 System.err.println("Warning: Failed to record assignment in history: " + e.getMessage());
             }
+            if (triageBoard != null) {
+                triageBoard.assigned(issueId, userId);
+            }
+            publish(IssueChangeEvent.assigned(currentIssue, userId));
         }
         
         return result;
     }
     
+    @Override
+    public Issue claimNext(int userId, Unit unit) throws IssueTrackerException {
+        User claimer = userService.findUserById(userId);
+        if (claimer == null) {
+            throw new IssueTrackerException("Invalid user ID: " + userId);
+        }
+        
+        int limit = settingsService != null ? settingsService.getSettings().getMaxIssuesPerUser() : 0;
+        Issue claimed = null;
+        beginCountChange();
+        try {
+            if (assigneeService != null && !assigneeService.tryReserve(userId, limit)) {
+                throw new IssueTrackerException(claimer.getFullName() + " already has the maximum of "
+                    + limit + " active issues");
+            }
+            try {
+                claimed = issueDAO.claimNext(userId, unit);
+            } finally {
+                if (claimed == null && assigneeService != null) {
+                    assigneeService.adjustActiveIssueCount(userId, -1);
+                }
+            }
+        } finally {
+            endCountChange();
+        }
+        
+        if (claimed != null) {
+            // History was written by the DAO in the claim's own transaction
+            publish(IssueChangeEvent.assigned(claimed, userId));
+            claimed.setAssignedToUserId(userId);
+            if (triageBoard != null) {
+                triageBoard.assigned(claimed.getIssueId(), userId);
+            }
+        }
+        return claimed;
+    }
+    
     /**
      * Helper method to get issue by ID
      */
@@ -139,8 +431,192 @@ public class IssueServiceImpl implements IssueService {
         }
     }
     
+    /**
+     * Re-read an issue after a version conflict, or rethrow once the retries are used up
+     */
+    private Issue reloadAfterConflict(IssueConflictException conflict, int attempt) throws IssueTrackerException {
+        if (attempt >= conflictRetries) {
+            throw conflict;
+        }
+        Issue reloaded = getIssueById(conflict.getIssueId());
+        if (reloaded == null) {
+            throw new IssueTrackerException("Issue not found: " + conflict.getIssueId());
+        }
+        return reloaded;
+    }
+    
+    /**
+     * Hand a new unassigned issue to the least-loaded member of its unit when auto_assign_issues is on
+     */
+    private void autoAssign(Issue issue) {
+        if (assignmentEngine == null || settingsService == null || issue.getAssignedToUserId() > 0
+                || !settingsService.getSettings().isAutoAssignIssues()) {
+            return;
+        }
+        
+        int userId = assignmentEngine.pick(issue.getIssueUnit(), issue.getPriority());
+        if (userId == 0) {
+            return;
+        }
+        
+        try {
+            if (assignIssue(issue.getIssueId(), userId)) {
+                issue.setAssignedToUserId(userId);
+            }
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Failed to auto-assign issue " + issue.getIssueId() + ": " + e.getMessage());
+        } finally {
+            // The committed assignment's event carries the permanent load
+            assignmentEngine.release(userId, issue.getPriority());
+        }
+    }
+    
+    /**
+     * Next generated id, skipping numbers the known-id filter already holds
+     */
+    private String nextFreeIssueId(Unit unit) throws IssueTrackerException {
+        String issueId = issueIdGenerator.nextId(unit);
+        for (int attempt = 1; knownIssueIds != null && attempt < GENERATED_ID_ATTEMPTS
+                && knownIssueIds.exists(issueId); attempt++) {
+            issueId = issueIdGenerator.nextId(unit);
+        }
+        return issueId;
+    }
+    
+    /**
+     * Bracket a change that moves active issue counts in the database and in
+     * the assignee cache, so reconcile does not compare the two halfway
+     */
+    private void beginCountChange() {
+        if (assigneeService != null) {
+            assigneeService.beginCountChange();
+        }
+    }
+    
+    private void endCountChange() {
+        if (assigneeService != null) {
+            assigneeService.endCountChange();
+        }
+    }
+    
+    private boolean isActive(IssueStatus status) {
+        return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
+    }
+    
+    /**
+     * Publish a committed change; a failing bus must never fail the mutation
+     */
+    private void publish(IssueChangeEvent event) {
+        if (counterMatrix != null) {
+            // Applied inline rather than via the bus so a dropped event cannot skew the counts or loads;
+            // IssueEventBus lists which structures follow the bus instead
+            counterMatrix.apply(event);
+        }
+        if (assignmentEngine != null) {
+            assignmentEngine.apply(event);
+        }
+        
+        if (eventBus == null) {
+            return;
+        }
+        
+        try {
+            eventBus.publish(event);
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to publish issue change event: " + e.getMessage());
+        }
+    }
+    
     // Additional methods for integration
     
+    /**
+     * Publish issue changes to the given bus after each successful mutation
+     */
+    public void setEventBus(IssueEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    /**
+     * Get event bus instance, null when changes are not published
+     */
+    public IssueEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    /**
+     * Keep the given counters in step with every committed change
+     */
+    public void setCounterMatrix(IssueCounterMatrix counterMatrix) {
+        this.counterMatrix = counterMatrix;
+    }
+    
+    /**
+     * Enforce max_issues_per_user and keep the given service's cached counts current
+     */
+    public void setAssigneeService(AssigneeService assigneeService) {
+        this.assigneeService = assigneeService;
+    }
+    
+    /**
+     * Choose assignees for new issues with the given engine when auto_assign_issues is on,
+     * and keep its loads current
+     */
+    public void setAssignmentEngine(AutoAssignmentEngine assignmentEngine) {
+        this.assignmentEngine = assignmentEngine;
+    }
+    
+    /**
+     * Generate ids for reported issues that arrive without one
+     */
+    public void setIssueIdGenerator(IssueIdGenerator issueIdGenerator) {
+        this.issueIdGenerator = issueIdGenerator;
+    }
+    
+    /**
+     * Check reported issue ids against the given filter before going to the database
+     */
+    public void setKnownIssueIds(KnownIssueIds knownIssueIds) {
+        this.knownIssueIds = knownIssueIds;
+    }
+    
+    /**
+     * Look for likely duplicates among the given detector's open issues when
+     * reporting, and keep it current as issues open and close
+     */
+    public void setDuplicateDetector(DuplicateDetector duplicateDetector) {
+        this.duplicateDetector = duplicateDetector;
+    }
+    
+    /**
+     * Serve getTriageQueue from the given board and keep it current on every change
+     */
+    public void setTriageBoard(TriageBoard triageBoard) {
+        this.triageBoard = triageBoard;
+    }
+    
+    /**
+     * Answer retried reportAnIssue calls from the given store's recent keys before
+     * going to the database
+     */
+    public void setIdempotencyKeyStore(IdempotencyKeyStore idempotencyKeys) {
+        this.idempotencyKeys = idempotencyKeys;
+    }
+    
+    /**
+     * How many times to re-read and retry a status change or assignment that lost a
+     * version race before the IssueConflictException reaches the caller. Defaults to 0.
+     */
+    public void setConflictRetries(int conflictRetries) {
+        this.conflictRetries = Math.max(conflictRetries, 0);
+    }
+    
+    /**
+     * Read runtime settings such as the default priority from the given service
+     */
+    public void setSettingsService(SettingsService settingsService) {
+        this.settingsService = settingsService;
+    }
+    
     /**
      * Get user service instance
      */
@@ -0,0 +1,121 @@
+package com.issuetracker.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.issuetracker.model.IssueHistory;
+import com.issuetracker.model.IssueSnapshot;
+import com.issuetracker.model.IssueStatus;
+
+/**
+ * Folds issue_history events into issue state.
+ *
+ * Understands both the action names written by IssueHistoryServiceImpl
+ * (STATUS_CHANGE, ASSIGNMENT) and the ones written by the schema's stored
+ * procedures and sample data (STATUS_CHANGED, ISSUE_ASSIGNED). Rows recorded
+ * before old_value/new_value were populated are recovered from the comments.
+ */
+public class IssueStateReplayer {
+
+    public static final String ISSUE_CREATED = "ISSUE_CREATED";
+    public static final String STATUS_CHANGE = "STATUS_CHANGE";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String ASSIGNMENT = "ASSIGNMENT";
+    public static final String ISSUE_ASSIGNED = "ISSUE_ASSIGNED";
+
+    private static final String UNASSIGNED = "UNASSIGNED";
+
+    private static final Pattern LEGACY_STATUS_CHANGE =
+        Pattern.compile("^Status changed from (\\w+) to (\\w+)");
+    private static final Pattern LEGACY_ASSIGNMENT =
+        Pattern.compile("^Assignment changed from (\\w+) to (\\w+)");
+
+    /**
+     * Apply a single event to the given state
+     * @param state State to update, positioned before the event
+     * @param event History event to fold in
+     * @return true if the event changed status or assignment
+     */
+    public boolean apply(IssueSnapshot state, IssueHistory event) {
+        String action = event.getActionPerformed();
+        boolean changed = false;
+
+        if (ISSUE_CREATED.equals(action)) {
+            IssueStatus status = parseStatus(event.getNewValue());
+            state.setStatus(status != null ? status : IssueStatus.OPEN);
+            changed = true;
+        } else if (STATUS_CHANGED.equals(action) || STATUS_CHANGE.equals(action)) {
+            String newValue = event.getNewValue() != null
+                ? event.getNewValue() : legacyNewValue(LEGACY_STATUS_CHANGE, event.getComments());
+            IssueStatus status = parseStatus(newValue);
+            if (status != null) {
+                state.setStatus(status);
+                changed = true;
+            }
+        } else if (ISSUE_ASSIGNED.equals(action) || ASSIGNMENT.equals(action)) {
+            String newValue = event.getNewValue() != null
+                ? event.getNewValue() : legacyNewValue(LEGACY_ASSIGNMENT, event.getComments());
+            if (newValue != null) {
+                state.setAssignedToUserId(parseAssignee(newValue));
+                changed = true;
+            }
+        }
+
+        state.setLastHistoryId(event.getHistoryId());
+        state.setEventCount(state.getEventCount() + 1);
+        // Latest action date covered, so a snapshot is only used for points in time after all of its events
+        if (event.getActionDate() != null
+                && (state.getSnapshotDate() == null || event.getActionDate().isAfter(state.getSnapshotDate()))) {
+            state.setSnapshotDate(event.getActionDate());
+        }
+        return changed;
+    }
+
+    /**
+     * Whether the state counts towards the open backlog
+     */
+    public boolean isOpen(IssueSnapshot state) {
+        return state.getStatus() != null
+            && state.getStatus() != IssueStatus.RESOLVED
+            && state.getStatus() != IssueStatus.CLOSED;
+    }
+
+    private IssueStatus parseStatus(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String status = value.trim().toUpperCase();
+        if ("REOPENED".equals(status)) {
+            return IssueStatus.OPEN;
+        }
+
+        try {
+            return IssueStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private int parseAssignee(String value) {
+        String assignee = value.trim();
+        if (assignee.isEmpty() || UNASSIGNED.equalsIgnoreCase(assignee) || "NULL".equalsIgnoreCase(assignee)) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(assignee);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String legacyNewValue(Pattern pattern, String comments) {
+        if (comments == null) {
+            return null;
+        }
+
+        Matcher matcher = pattern.matcher(comments);
+        return matcher.find() ? matcher.group(2) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.issuetracker.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.util.CountingBloomFilter;
+
+/**
+ * Answers "does an issue with this id exist" for reportAnIssue.
+ *
+ * A counting Bloom filter over every issue id is loaded once by streaming the ids,
+ * then kept current as issues are reported and purged. An id the filter has never
+ * seen is new without a database probe; only a possible hit is checked exactly.
+ * The primary key still guards the insert, so an id reported by another JVM since
+ * the load costs a failed insert rather than a missed duplicate.
+ */
+public class KnownIssueIds {
+
+    public static final long DEFAULT_EXPECTED_ISSUES = 1_000_000;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final IssueDAO issueDAO;
+    private final CountingBloomFilter filter;
+    private volatile boolean loaded;
+
+    private final LongAdder definitelyNew = new LongAdder();
+    private final LongAdder exactChecks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public KnownIssueIds(IssueDAO issueDAO) {
+        this(issueDAO, DEFAULT_EXPECTED_ISSUES, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public KnownIssueIds(IssueDAO issueDAO, long expectedIssues, double falsePositiveRate) {
+        this.issueDAO = issueDAO;
+        this.filter = new CountingBloomFilter(expectedIssues, falsePositiveRate);
+    }
+
+    /**
+     * Rebuild the filter from the ids in the database. Until the first load
+     * every check goes to the database.
+     */
+    public void load() throws IssueTrackerException {
+        loaded = false;
+        filter.clear();
+        issueDAO.forEachIssueId(filter::add);
+        loaded = true;
+    }
+
+    public boolean exists(String issueId) throws IssueTrackerException {
+        if (loaded && !filter.mightContain(issueId)) {
+            definitelyNew.increment();
+            return false;
+        }
+
+        exactChecks.increment();
+        boolean exists = issueDAO.existsById(issueId);
+        if (!exists && loaded) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Record an issue that has been inserted
+     */
+    public void added(String issueId) {
+        filter.add(issueId);
+    }
+
+    /**
+     * Record an issue that has been deleted
+     */
+    public void removed(String issueId) {
+        filter.remove(issueId);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long size() {
+        return filter.size();
+    }
+
+    public long memoryBytes() {
+        return filter.memoryBytes();
+    }
+
+    public double getTargetFalsePositiveRate() {
+        return filter.getTargetFalsePositiveRate();
+    }
+
+    /**
+     * False-positive rate the filter should show at its current size
+     */
+    public double getExpectedFalsePositiveRate() {
+        return filter.expectedFalsePositiveRate();
+    }
+
+    /**
+     * Share of checks for new ids that still went to the database
+     */
+    public double getObservedFalsePositiveRate() {
+        long fresh = definitelyNew.sum() + falsePositives.sum();
+        return fresh == 0 ? 0.0 : (double) falsePositives.sum() / fresh;
+    }
+
+    public long getDefinitelyNew() {
+        return definitelyNew.sum();
+    }
+
+    public long getExactChecks() {
+        return exactChecks.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KnownIssueIds{loaded=%s, ids=%d, memoryBytes=%d, definitelyNew=%d, exactChecks=%d, "
+                + "falsePositives=%d, expectedFpp=%.4f, observedFpp=%.4f}",
+            loaded, size(), memoryBytes(), getDefinitelyNew(), getExactChecks(), getFalsePositives(),
+            getExpectedFalsePositiveRate(), getObservedFalsePositiveRate());
+    }
+}
\ No newline at end of file
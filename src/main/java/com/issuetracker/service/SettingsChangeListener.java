@@ -0,0 +1,19 @@
+package com.issuetracker.service;
+
+import java.util.Set;
+
+import com.issuetracker.model.SystemSettings;
+
+/**
+ * Callback for settings changes picked up by {@link SettingsService}
+ */
+public interface SettingsChangeListener {
+
+    /**
+     * Called on the refreshing thread after the new snapshot is published
+     * @param previous Snapshot before the change
+     * @param current Snapshot now served by the service
+     * @param changedKeys Keys that were added, removed or given a new value
+     */
+    void onSettingsChanged(SystemSettings previous, SystemSettings current, Set<String> changedKeys);
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.issuetracker.service;
+
+import java.time.Duration;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.SystemSettings;
+
+/**
+ * Service interface for runtime settings stored in system_settings
+ */
+public interface SettingsService {
+
+    /**
+     * Current settings snapshot; never touches the database once loaded
+     * @return Immutable settings snapshot
+     */
+    SystemSettings getSettings();
+
+    /**
+     * Re-read settings changed since the last refresh and publish a new
+     * snapshot if anything differs
+     * @return true if the snapshot changed
+     * @throws IssueTrackerException if the settings cannot be read
+     */
+    boolean refresh() throws IssueTrackerException;
+
+    /**
+     * Update a setting and publish it immediately
+     * @param key Setting key
+     * @param value New value
+     * @return true if the setting exists and was updated
+     * @throws IssueTrackerException if the update fails
+     */
+    boolean updateSetting(String key, String value) throws IssueTrackerException;
+
+    /**
+     * Register a listener for settings changes
+     * @param listener Listener to notify
+     */
+    void addListener(SettingsChangeListener listener);
+
+    /**
+     * Remove a previously registered listener
+     * @param listener Listener to remove
+     */
+    void removeListener(SettingsChangeListener listener);
+
+    /**
+     * Start refreshing on a background thread
+     * @param interval Delay between refreshes
+     */
+    void startPolling(Duration interval);
+
+    /**
+     * Stop the background refresh
+     */
+    void stopPolling();
+}
\ No newline at end of file
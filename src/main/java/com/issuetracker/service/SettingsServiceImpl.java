@@ -0,0 +1,191 @@
+package com.issuetracker.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.issuetracker.dao.SystemSettingsDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.SystemSetting;
+import com.issuetracker.model.SystemSettings;
+
+/**
+ * Serves system_settings from an immutable snapshot held in a volatile
+ * field. Readers never lock or query; a refresh builds a new snapshot and
+ * swaps it in. Refreshes only fetch rows whose updated_at is at most
+ * OVERLAP_SECONDS before the newest one already seen, and fall back to a
+ * full reload when the row count changes (a deleted row has no updated_at
+ * to find).
+ */
+public class SettingsServiceImpl implements SettingsService {
+
+    /**
+     * How far behind the newest updated_at a refresh reads again. The stamp
+     * is taken before the change commits, so a change can turn up behind
+     * rows an earlier refresh already saw.
+     */
+    public static final int OVERLAP_SECONDS = 5;
+
+    private final SystemSettingsDAO settingsDAO;
+    private final List<SettingsChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile SystemSettings snapshot;
+    private boolean loaded;
+    private ScheduledExecutorService scheduler;
+
+    public SettingsServiceImpl(SystemSettingsDAO settingsDAO) {
+        this.settingsDAO = settingsDAO;
+    }
+
+    @Override
+    public SystemSettings getSettings() {
+        SystemSettings current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return loadInitial();
+    }
+
+    private synchronized SystemSettings loadInitial() {
+        if (snapshot == null) {
+            try {
+                refresh();
+            } catch (IssueTrackerException e) {
+                // Serve defaults rather than fail the caller; the next refresh retries the load
+                System.err.println("Warning: Failed to load system settings, using defaults: " + e.getMessage());
+                snapshot = SystemSettings.empty();
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public synchronized boolean refresh() throws IssueTrackerException {
+        SystemSettings previous = snapshot != null ? snapshot : SystemSettings.empty();
+        SystemSettings next;
+
+        if (!loaded || settingsDAO.countSettings() != previous.size()) {
+            next = fullLoad();
+        } else if (previous.getLastUpdatedAt() == null) {
+            next = previous;
+        } else {
+            next = applyChanges(previous,
+                settingsDAO.findUpdatedSince(previous.getLastUpdatedAt().minusSeconds(OVERLAP_SECONDS)));
+        }
+        loaded = true;
+
+        Set<String> changedKeys = previous.changedKeys(next);
+        if (next != previous) {
+            snapshot = next;
+        }
+        if (changedKeys.isEmpty()) {
+            return false;
+        }
+
+        notifyListeners(previous, next, changedKeys);
+        return true;
+    }
+
+    private SystemSettings fullLoad() throws IssueTrackerException {
+        Map<String, String> values = new HashMap<>();
+        LocalDateTime lastUpdatedAt = null;
+        for (SystemSetting setting : settingsDAO.findAll()) {
+            values.put(setting.getSettingKey(), setting.getSettingValue());
+            lastUpdatedAt = newest(lastUpdatedAt, setting.getUpdatedAt());
+        }
+        return new SystemSettings(values, lastUpdatedAt);
+    }
+
+    private SystemSettings applyChanges(SystemSettings previous, List<SystemSetting> rows) {
+        // Rows inside the overlap come back every time, so only keep values
+        // that really differ
+        Map<String, String> changes = new HashMap<>();
+        LocalDateTime lastUpdatedAt = previous.getLastUpdatedAt();
+        for (SystemSetting setting : rows) {
+            lastUpdatedAt = newest(lastUpdatedAt, setting.getUpdatedAt());
+            if (!setting.getSettingValue().equals(previous.getString(setting.getSettingKey(), null))) {
+                changes.put(setting.getSettingKey(), setting.getSettingValue());
+            }
+        }
+
+        if (changes.isEmpty() && lastUpdatedAt.equals(previous.getLastUpdatedAt())) {
+            return previous;
+        }
+        return previous.with(changes, lastUpdatedAt);
+    }
+
+    private static LocalDateTime newest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private void notifyListeners(SystemSettings previous, SystemSettings current, Set<String> changedKeys) {
+        for (SettingsChangeListener listener : listeners) {
+            try {
+                listener.onSettingsChanged(previous, current, changedKeys);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Settings listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean updateSetting(String key, String value) throws IssueTrackerException {
+        if (key == null || value == null) {
+            throw new IssueTrackerException("Setting key and value are required");
+        }
+
+        boolean updated = settingsDAO.updateSetting(key, value);
+        if (updated) {
+            refresh();
+        }
+        return updated;
+    }
+
+    @Override
+    public void addListener(SettingsChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(SettingsChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void startPolling(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "settings-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (IssueTrackerException | RuntimeException e) {
+                System.err.println("Warning: Failed to refresh system settings: " + e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stopPolling() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+}
\ No newline at end of file
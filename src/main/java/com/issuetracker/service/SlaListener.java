@@ -0,0 +1,16 @@
+package com.issuetracker.service;
+
+import com.issuetracker.model.SlaAlert;
+
+/**
+ * Callback for alerts raised by {@link SlaMonitor}
+ */
+public interface SlaListener {
+
+    /**
+     * Called on the monitor's thread when an open issue comes within the
+     * near-breach window of its deadline or passes it, and again for the new
+     * assignee when such an issue is reassigned
+     */
+    void onSlaAlert(SlaAlert alert);
+}
\ No newline at end of file
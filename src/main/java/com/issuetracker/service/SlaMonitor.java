@@ -0,0 +1,366 @@
+package com.issuetracker.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.event.IssueEventSubscriber;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.SlaAlert;
+import com.issuetracker.model.SlaState;
+import com.issuetracker.model.Unit;
+import com.issuetracker.util.TimerWheel;
+
+/**
+ * Raises alerts as open issues approach and pass their due dates.
+ *
+ * An issue is due by the end of its due date and is near breach from
+ * nearBreachWindow before that. Each open issue with a due date holds one
+ * timer on a TimerWheel for its next deadline, so a tick costs the timers it
+ * fires rather than a scan of the open issues. Loaded once from the open
+ * issues, then kept current from the event bus: a reported or reopened issue
+ * is tracked, a resolved, closed or deleted one dropped, and a reassigned one
+ * past near breach alerted again for its new assignee. Issues already near or
+ * past their deadline at load are counted without an alert.
+ */
+public class SlaMonitor implements IssueEventSubscriber {
+
+
+    public static final Duration DEFAULT_TICK = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_NEAR_BREACH_WINDOW = Duration.ofDays(1);
+
+    private static final Comparator<Deadline> MOST_OVERDUE_FIRST = Comparator
+        .comparing((Deadline d) -> d.state, Comparator.reverseOrder())
+        .thenComparing(d -> d.dueDate)
+        .thenComparing(d -> d.issueId);
+
+    private final IssueDAO issueDAO;
+    private final Clock clock;
+    private final long tickMillis;
+    private final Duration nearBreachWindow;
+    private final List<SlaListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private TimerWheel<String> wheel;
+    private final Map<String, Deadline> deadlines = new HashMap<>();
+
+    private volatile boolean loaded;
+    private ScheduledExecutorService scheduler;
+
+    private final LongAdder nearBreachAlerts = new LongAdder();
+    private final LongAdder breachAlerts = new LongAdder();
+
+    public SlaMonitor(IssueDAO issueDAO) {
+        this(issueDAO, Clock.systemDefaultZone(), DEFAULT_TICK, DEFAULT_NEAR_BREACH_WINDOW);
+    }
+
+    public SlaMonitor(IssueDAO issueDAO, Clock clock, Duration tick, Duration nearBreachWindow) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least a millisecond: " + tick);
+        }
+        this.issueDAO = issueDAO;
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+        this.nearBreachWindow = nearBreachWindow;
+        this.wheel = new TimerWheel<>(currentTick());
+    }
+
+    /**
+     * Rebuild from the open issues in the database
+     */
+    public synchronized void load() throws IssueTrackerException {
+        loaded = false;
+        deadlines.clear();
+        wheel = new TimerWheel<>(currentTick());
+        issueDAO.forEachTriageEntry(entry -> {
+            if (entry.getDueDate() != null) {
+                track(entry.getIssueId(), entry.getIssueDescription(), entry.getUnit(), entry.getPriority(),
+                    entry.getAssignedToUserId(), entry.getDueDate(), false);
+            }
+        });
+        loaded = true;
+    }
+
+    /**
+     * Fire the deadlines passed since the last tick
+     * @return Number of alerts raised
+     */
+    public int tick() {
+        List<SlaAlert> alerts = new ArrayList<>();
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            wheel.advanceTo(currentTick(), issueId -> expired(issueId, now, alerts));
+        }
+        raise(alerts);
+        return alerts.size();
+    }
+
+    @Override
+    public void onEvents(List<IssueChangeEvent> events) {
+        List<SlaAlert> alerts = new ArrayList<>();
+        synchronized (this) {
+            for (IssueChangeEvent event : events) {
+                switch (event.getType()) {
+                case CREATED:
+                    if (isActive(event.getNewStatus()) && event.getDueDate() != null) {
+                        track(event.getIssueId(), event.getDescription(), event.getUnit(), event.getPriority(),
+                            event.getNewAssigneeId(), event.getDueDate(), true);
+                    }
+                    break;
+                case STATUS_CHANGED:
+                    if (!isActive(event.getNewStatus())) {
+                        untrack(event.getIssueId());
+                    } else if (!deadlines.containsKey(event.getIssueId()) && event.getDueDate() != null) {
+                        track(event.getIssueId(), event.getDescription(), event.getUnit(), event.getPriority(),
+                            event.getNewAssigneeId(), event.getDueDate(), true);
+                    }
+                    break;
+                case ASSIGNED:
+                    Deadline deadline = deadlines.get(event.getIssueId());
+                    if (deadline != null && deadline.assignedToUserId != event.getNewAssigneeId()) {
+                        deadline.assignedToUserId = event.getNewAssigneeId();
+                        if (deadline.state != SlaState.ON_TRACK && deadline.assignedToUserId > 0) {
+                            alerts.add(deadline.alert(LocalDateTime.now(clock)));
+                        }
+                    }
+                    break;
+                case DELETED:
+                    untrack(event.getIssueId());
+                    break;
+                default:
+                    break;
+                }
+            }
+        }
+        raise(alerts);
+    }
+
+    /**
+     * @param alertPast Whether an issue already near or past its deadline is
+     *        alerted on the next tick, or only counted
+     */
+    private void track(String issueId, String description, Unit unit, Priority priority, int assignedToUserId,
+                       LocalDate dueDate, boolean alertPast) {
+        Deadline deadline = new Deadline(issueId, description, unit, priority, assignedToUserId, dueDate);
+        Instant due = dueDate.plusDays(1).atStartOfDay(clock.getZone()).toInstant();
+        deadline.breachTick = deadlineTick(due);
+        deadline.nearBreachTick = deadlineTick(due.minus(nearBreachWindow));
+        deadlines.put(issueId, deadline);
+
+        long now = wheel.currentTick();
+        if (alertPast || now < deadline.nearBreachTick) {
+            wheel.schedule(issueId, deadline.nearBreachTick);
+        } else if (now < deadline.breachTick) {
+            deadline.state = SlaState.NEAR_BREACH;
+            wheel.schedule(issueId, deadline.breachTick);
+        } else {
+            deadline.state = SlaState.BREACHED;
+            wheel.cancel(issueId);
+        }
+    }
+
+    private void untrack(String issueId) {
+        deadlines.remove(issueId);
+        wheel.cancel(issueId);
+    }
+
+    /**
+     * A timer has fired: move the issue to its next state and set the timer for the one after
+     */
+    private void expired(String issueId, LocalDateTime now, List<SlaAlert> alerts) {
+        Deadline deadline = deadlines.get(issueId);
+        if (deadline == null) {
+            return;
+        }
+        // An issue tracked after both deadlines passed skips straight to breached
+        if (deadline.state == SlaState.ON_TRACK && wheel.currentTick() < deadline.breachTick) {
+            deadline.state = SlaState.NEAR_BREACH;
+            wheel.schedule(issueId, deadline.breachTick);
+        } else {
+            deadline.state = SlaState.BREACHED;
+        }
+        alerts.add(deadline.alert(now));
+    }
+
+    private void raise(List<SlaAlert> alerts) {
+        for (SlaAlert alert : alerts) {
+            if (alert.getState() == SlaState.BREACHED) {
+                breachAlerts.increment();
+                System.err.println("Warning: Issue " + alert.getIssueId() + " is past its due date " + alert.getDueDate());
+            } else {
+                nearBreachAlerts.increment();
+            }
+            for (SlaListener listener : listeners) {
+                try {
+                    listener.onSlaAlert(alert);
+                } catch (RuntimeException e) {
+                    System.err.println("Warning: SLA listener failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tick on a daemon thread at the monitor's tick interval
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                System.err.println("Warning: SLA monitor tick failed: " + e.getMessage());
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public void addListener(SlaListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SlaListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * State of an open issue, or null when it is not tracked (closed or without a due date)
+     */
+    public synchronized SlaState getState(String issueId) {
+        Deadline deadline = deadlines.get(issueId);
+        return deadline == null ? null : deadline.state;
+    }
+
+    /**
+     * Open issues near or past their deadline, breached first, then by due date
+     */
+    public List<SlaAlert> atRisk() {
+        List<Deadline> atRisk = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (this) {
+            for (Deadline deadline : deadlines.values()) {
+                if (deadline.state != SlaState.ON_TRACK) {
+                    atRisk.add(deadline);
+                }
+            }
+            atRisk.sort(MOST_OVERDUE_FIRST);
+            List<SlaAlert> alerts = new ArrayList<>(atRisk.size());
+            for (Deadline deadline : atRisk) {
+                alerts.add(deadline.alert(now));
+            }
+            return alerts;
+        }
+    }
+
+    /**
+     * Number of tracked issues in each state
+     */
+    public synchronized Map<SlaState, Integer> counts() {
+        Map<SlaState, Integer> counts = new EnumMap<>(SlaState.class);
+        for (SlaState state : SlaState.values()) {
+            counts.put(state, 0);
+        }
+        for (Deadline deadline : deadlines.values()) {
+            counts.merge(deadline.state, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    public synchronized int pendingTimers() {
+        return wheel.size();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long getNearBreachAlerts() {
+        return nearBreachAlerts.sum();
+    }
+
+    public long getBreachAlerts() {
+        return breachAlerts.sum();
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(clock.millis(), tickMillis);
+    }
+
+    /**
+     * First tick at or after the instant, so a deadline never fires early
+     */
+    private long deadlineTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+
+    private static boolean isActive(IssueStatus status) {
+        return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
+    }
+
+    @Override
+    public String toString() {
+        return "SlaMonitor{loaded=" + loaded + ", tracked=" + size() + ", states=" + counts()
+            + ", nearBreachAlerts=" + getNearBreachAlerts() + ", breachAlerts=" + getBreachAlerts() + "}";
+    }
+
+    private static final class Deadline {
+        private final String issueId;
+        private final String description;
+        private final Unit unit;
+        private final Priority priority;
+        private final LocalDate dueDate;
+        private int assignedToUserId;
+        private long nearBreachTick;
+        private long breachTick;
+        private SlaState state = SlaState.ON_TRACK;
+
+        Deadline(String issueId, String description, Unit unit, Priority priority, int assignedToUserId,
+                 LocalDate dueDate) {
+            this.issueId = issueId;
+            this.description = description;
+            this.unit = unit;
+            this.priority = priority;
+            this.assignedToUserId = assignedToUserId;
+            this.dueDate = dueDate;
+        }
+
+        SlaAlert alert(LocalDateTime raisedAt) {
+            return new SlaAlert(issueId, description, unit, priority, assignedToUserId, dueDate, state, raisedAt);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.issuetracker.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueStatistics;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+import com.issuetracker.model.UserWorkload;
+
+/**
+ * Service interface for dashboard statistics
+ */
+public interface StatisticsService {
+
+    /**
+     * Totals by status plus critical, high priority, unassigned and overdue counts
+     * @return Issue statistics
+     * @throws IssueTrackerException if the statistics cannot be read
+     */
+    IssueStatistics getIssueStatistics() throws IssueTrackerException;
+
+    /**
+     * Number of issues per priority, including priorities with no issues
+     * @return Count per priority
+     * @throws IssueTrackerException if the counts cannot be read
+     */
+    Map<Priority, Long> getCountsByPriority() throws IssueTrackerException;
+
+    /**
+     * Number of unresolved issues per unit
+     * @return Count per unit
+     * @throws IssueTrackerException if the counts cannot be read
+     */
+    Map<Unit, Long> getActiveCountsByUnit() throws IssueTrackerException;
+
+    /**
+     * Unresolved issues due within the given number of days
+     * @param days Days from today, inclusive
+     * @return Number of issues
+     * @throws IssueTrackerException if the count cannot be read
+     */
+    long countActiveDueWithin(int days) throws IssueTrackerException;
+
+    /**
+     * Active assignments per active user, busiest first
+     * @return Workload per user
+     * @throws IssueTrackerException if the workload cannot be read
+     */
+    List<UserWorkload> getUserWorkload() throws IssueTrackerException;
+
+    /**
+     * Forget cached results so the next call reads the database
+     */
+    void invalidate();
+}
\ No newline at end of file
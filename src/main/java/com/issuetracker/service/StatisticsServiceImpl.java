@@ -0,0 +1,87 @@
+package com.issuetracker.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.issuetracker.dao.StatisticsDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.IssueStatistics;
+import com.issuetracker.model.Priority;
+import com.issuetracker.model.Unit;
+import com.issuetracker.model.UserWorkload;
+import com.issuetracker.util.CachedValue;
+
+/**
+ * Implementation of StatisticsService.
+ * Each figure is one aggregate query over the reporting views, cached for a
+ * short time-to-live so a refreshing dashboard does not rerun it on every view.
+ */
+public class StatisticsServiceImpl implements StatisticsService {
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(10);
+
+    private final StatisticsDAO statisticsDAO;
+    private final Duration ttl;
+    private final CachedValue<IssueStatistics> issueStatistics;
+    private final CachedValue<Map<Priority, Long>> countsByPriority;
+    private final CachedValue<Map<Unit, Long>> activeCountsByUnit;
+    private final CachedValue<List<UserWorkload>> userWorkload;
+    private final Map<Integer, CachedValue<Long>> dueWithin = new ConcurrentHashMap<>();
+
+    public StatisticsServiceImpl(StatisticsDAO statisticsDAO) {
+        this(statisticsDAO, DEFAULT_TTL);
+    }
+
+    public StatisticsServiceImpl(StatisticsDAO statisticsDAO, Duration ttl) {
+        this.statisticsDAO = statisticsDAO;
+        this.ttl = ttl;
+        this.issueStatistics = new CachedValue<>(ttl, statisticsDAO::getIssueStatistics);
+        this.countsByPriority = new CachedValue<>(ttl,
+            () -> Collections.unmodifiableMap(statisticsDAO.getCountsByPriority()));
+        this.activeCountsByUnit = new CachedValue<>(ttl,
+            () -> Collections.unmodifiableMap(statisticsDAO.getActiveCountsByUnit()));
+        this.userWorkload = new CachedValue<>(ttl,
+            () -> Collections.unmodifiableList(statisticsDAO.getUserWorkload()));
+    }
+
+    @Override
+    public IssueStatistics getIssueStatistics() throws IssueTrackerException {
+        return issueStatistics.get();
+    }
+
+    @Override
+    public Map<Priority, Long> getCountsByPriority() throws IssueTrackerException {
+        return countsByPriority.get();
+    }
+
+    @Override
+    public Map<Unit, Long> getActiveCountsByUnit() throws IssueTrackerException {
+        return activeCountsByUnit.get();
+    }
+
+    @Override
+    public long countActiveDueWithin(int days) throws IssueTrackerException {
+        if (days < 0) {
+            throw new IssueTrackerException("Days must not be negative: " + days);
+        }
+        return dueWithin.computeIfAbsent(days,
+            key -> new CachedValue<>(ttl, () -> statisticsDAO.countActiveDueWithin(key))).get();
+    }
+
+    @Override
+    public List<UserWorkload> getUserWorkload() throws IssueTrackerException {
+        return userWorkload.get();
+    }
+
+    @Override
+    public void invalidate() {
+        issueStatistics.invalidate();
+        countsByPriority.invalidate();
+        activeCountsByUnit.invalidate();
+        userWorkload.invalidate();
+        dueWithin.values().forEach(CachedValue::invalidate);
+    }
+}
\ No newline at end of file
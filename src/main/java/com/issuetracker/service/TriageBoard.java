@@ -0,0 +1,197 @@
+package com.issuetracker.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Issue;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.TriageEntry;
+import com.issuetracker.model.Unit;
+
+/**
+ * The most urgent open issues per unit, answered from memory.
+ *
+ * Every open and in-progress issue sits in its unit's skip list, ordered by
+ * TriageEntry.MOST_URGENT_FIRST, so a unit's top K is its first K entries and
+ * an issue leaving the top K is replaced by the next one without a query.
+ * The view across all units merges the unit lists with a heap of one cursor
+ * per unit. Loaded once by streaming the open issues, then updated by
+ * IssueServiceImpl on every report, status change, assignment and purge;
+ * changes made by another JVM show up after the next load.
+ */
+public class TriageBoard {
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    private final IssueDAO issueDAO;
+    private final Map<Unit, ConcurrentSkipListSet<TriageEntry>> queues = new EnumMap<>(Unit.class);
+    private final Map<String, TriageEntry> entries = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public TriageBoard(IssueDAO issueDAO) {
+        this.issueDAO = issueDAO;
+        for (Unit unit : Unit.values()) {
+            queues.put(unit, new ConcurrentSkipListSet<>(TriageEntry.MOST_URGENT_FIRST));
+        }
+    }
+
+    /**
+     * Rebuild from the open issues in the database
+     */
+    public synchronized void load() throws IssueTrackerException {
+        loaded = false;
+        entries.clear();
+        for (ConcurrentSkipListSet<TriageEntry> queue : queues.values()) {
+            queue.clear();
+        }
+        issueDAO.forEachTriageEntry(this::put);
+        loaded = true;
+    }
+
+    /**
+     * The most urgent open issues of the unit, most urgent first
+     */
+    public List<TriageEntry> top(Unit unit, int limit) {
+        List<TriageEntry> top = new ArrayList<>(Math.min(limit, 64));
+        Iterator<TriageEntry> it = queues.get(unit).iterator();
+        while (top.size() < limit && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    /**
+     * The most urgent open issues across all units, most urgent first
+     */
+    public List<TriageEntry> top(int limit) {
+        // One cursor per unit, ordered by the entry each is on
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(
+            (a, b) -> TriageEntry.MOST_URGENT_FIRST.compare(a.current, b.current));
+        for (ConcurrentSkipListSet<TriageEntry> queue : queues.values()) {
+            Iterator<TriageEntry> it = queue.iterator();
+            if (it.hasNext()) {
+                heap.add(new Cursor(it));
+            }
+        }
+
+        List<TriageEntry> top = new ArrayList<>(Math.min(limit, 64));
+        while (top.size() < limit && !heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            top.add(cursor.current);
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Record a newly reported issue
+     */
+    public void reported(Issue issue) {
+        if (isActive(issue.getStatus())) {
+            put(new TriageEntry(issue.getIssueId(), issue.getIssueDescription(), issue.getIssueUnit(),
+                issue.getPriority(), issue.getStatus(), issue.getDueDate(), issue.getReportedOn(), issue.getAssignedToUserId()));
+        }
+    }
+
+    /**
+     * Record a status change; a reopened issue is read back from the database
+     */
+    public void statusChanged(String issueId, IssueStatus status) throws IssueTrackerException {
+        if (!isActive(status)) {
+            remove(issueId);
+            return;
+        }
+        TriageEntry entry = entries.get(issueId);
+        if (entry != null) {
+            put(entry.withStatus(status));
+        } else {
+            TriageEntry reopened = issueDAO.getTriageEntry(issueId);
+            if (reopened != null) {
+                put(reopened.withStatus(status));
+            }
+        }
+    }
+
+    public void assigned(String issueId, int userId) {
+        TriageEntry entry = entries.get(issueId);
+        if (entry != null) {
+            put(entry.withAssignee(userId));
+        }
+    }
+
+    /**
+     * Record an issue leaving the board other than by a status change, e.g. purged
+     */
+    public synchronized void remove(String issueId) {
+        TriageEntry entry = entries.remove(issueId);
+        if (entry != null) {
+            queues.get(entry.getUnit()).remove(entry);
+        }
+    }
+
+    private synchronized void put(TriageEntry entry) {
+        TriageEntry previous = entries.put(entry.getIssueId(), entry);
+        if (previous != null) {
+            queues.get(previous.getUnit()).remove(previous);
+        }
+        queues.get(entry.getUnit()).add(entry);
+    }
+
+    private static boolean isActive(IssueStatus status) {
+        return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int size(Unit unit) {
+        return queues.get(unit).size();
+    }
+
+    public Map<Unit, Integer> sizes() {
+        Map<Unit, Integer> sizes = new EnumMap<>(Unit.class);
+        for (Map.Entry<Unit, ConcurrentSkipListSet<TriageEntry>> queue : queues.entrySet()) {
+            sizes.put(queue.getKey(), queue.getValue().size());
+        }
+        return Collections.unmodifiableMap(sizes);
+    }
+
+    @Override
+    public String toString() {
+        return "TriageBoard{loaded=" + loaded + ", openIssues=" + size() + ", perUnit=" + sizes() + "}";
+    }
+
+    private static final class Cursor {
+        private final Iterator<TriageEntry> it;
+        private TriageEntry current;
+
+        Cursor(Iterator<TriageEntry> it) {
+            this.it = it;
+            this.current = it.next();
+        }
+
+        boolean advance() {
+            if (!it.hasNext()) {
+                return false;
+            }
+            current = it.next();
+            return true;
+        }
+    }
+}
\ No newline at end of file
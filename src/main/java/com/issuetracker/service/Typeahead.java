@@ -0,0 +1,137 @@
+package com.issuetracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.event.IssueChangeEvent;
+import com.issuetracker.event.IssueEventSubscriber;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.User;
+import com.issuetracker.util.PrefixIndex;
+
+/**
+ * Suggests users and issue ids from the first few characters typed.
+ *
+ * Users are found by a prefix of their username, email, full name or any word
+ * of it; issue ids by a prefix of the whole id or of the id from any of its
+ * later groups, so "042" finds MTI-I-042-PAY. Both indexes are loaded once and
+ * then kept current: users through UserServiceImpl's listeners, issues from the
+ * event bus. Changes made by another JVM show up after the next load.
+ */
+public class Typeahead implements UserChangeListener, IssueEventSubscriber {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    private final PrefixIndex<User> users =
+        new PrefixIndex<>(user -> String.valueOf(user.getUserId()), Typeahead::userTerms);
+    private final PrefixIndex<String> issueIds = new PrefixIndex<>(issueId -> issueId, Typeahead::issueIdTerms);
+    private volatile boolean loaded;
+
+    /**
+     * Rebuild both indexes from the database
+     */
+    public void load(UserService userService, IssueDAO issueDAO) throws IssueTrackerException {
+        loaded = false;
+        List<User> all = new ArrayList<>();
+        for (User user : userService.getAllUsers()) {
+            all.add(withoutPassword(user));
+        }
+        users.load(all);
+
+        List<String> ids = new ArrayList<>();
+        issueDAO.forEachIssueId(ids::add);
+        issueIds.load(ids);
+        loaded = true;
+    }
+
+    public List<User> suggestUsers(String prefix, int limit) {
+        return users.suggest(prefix, limit);
+    }
+
+    public List<String> suggestIssueIds(String prefix, int limit) {
+        return issueIds.suggest(prefix, limit);
+    }
+
+    @Override
+    public void onUserSaved(User user) {
+        users.put(withoutPassword(user));
+    }
+
+    @Override
+    public void onUserDeleted(int userId) {
+        users.remove(String.valueOf(userId));
+    }
+
+    @Override
+    public void onEvents(List<IssueChangeEvent> events) {
+        for (IssueChangeEvent event : events) {
+            switch (event.getType()) {
+            case CREATED:
+                issueIds.put(event.getIssueId());
+                break;
+            case DELETED:
+                issueIds.remove(event.getIssueId());
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * The index outlives the request that loaded it, so it keeps no passwords
+     */
+    private static User withoutPassword(User user) {
+        User copy = new User(user.getUsername(), user.getEmail(), null, user.getFullName());
+        copy.setUserId(user.getUserId());
+        return copy;
+    }
+
+    private static Collection<String> userTerms(User user) {
+        List<String> terms = new ArrayList<>();
+        terms.add(user.getUsername());
+        terms.add(user.getEmail());
+        if (user.getFullName() != null) {
+            terms.add(user.getFullName());
+            terms.addAll(Arrays.asList(user.getFullName().trim().split("\\s+")));
+        }
+        return terms;
+    }
+
+    /**
+     * The id and each of its suffixes starting after a hyphen, except the unit code alone
+     */
+    private static Collection<String> issueIdTerms(String issueId) {
+        List<String> terms = new ArrayList<>();
+        terms.add(issueId);
+        int last = issueId.lastIndexOf('-');
+        for (int i = issueId.indexOf('-'); i >= 0 && i < last; i = issueId.indexOf('-', i + 1)) {
+            terms.add(issueId.substring(i + 1));
+        }
+        return terms;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getUserCount() {
+        return users.size();
+    }
+
+    public int getIssueIdCount() {
+        return issueIds.size();
+    }
+
+    public long memoryBytes() {
+        return users.memoryBytes() + issueIds.memoryBytes();
+    }
+
+    @Override
+    public String toString() {
+        return "Typeahead{loaded=" + loaded + ", users=" + users + ", issueIds=" + issueIds + "}";
+    }
+}
\ No newline at end of file
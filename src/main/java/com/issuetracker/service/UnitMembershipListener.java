@@ -0,0 +1,17 @@
+package com.issuetracker.service;
+
+import com.issuetracker.model.Unit;
+
+/**
+ * Callback for unit membership changes picked up by {@link AssigneeDirectory}
+ */
+public interface UnitMembershipListener {
+
+    /**
+     * Called on the refreshing thread after the directory has been updated
+     * @param unit Unit whose membership changed
+     * @param userId Member that joined or left
+     * @param member true if the user is now a member, false if they left
+     */
+    void onMembershipChanged(Unit unit, int userId, boolean member);
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.issuetracker.service;
+
+import com.issuetracker.model.User;
+
+/**
+ * Callback for user changes made through {@link UserServiceImpl}
+ */
+public interface UserChangeListener {
+
+    /**
+     * Called after a user has been registered or updated
+     * @param user The user as saved, with its id set
+     */
+    void onUserSaved(User user);
+
+    /**
+     * Called after a user has been deleted
+     * @param userId Id of the deleted user
+     */
+    void onUserDeleted(int userId);
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.User;
 import com.issuetracker.validator.Validator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Service implementation for User management operations
@@ -13,12 +14,21 @@ public class UserServiceImpl implements UserService {
     
     private UserDAO userDAO;
     private Validator validator;
+    private final List<UserChangeListener> listeners = new CopyOnWriteArrayList<>();
     
     public UserServiceImpl(UserDAO userDAO) {
         this.userDAO = userDAO;
         this.validator = new Validator();
     }
     
+    public void addListener(UserChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(UserChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
     @Override
     public int registerUser(User user) throws IssueTrackerException {
         // Validate user input
@@ -35,11 +45,18 @@ public class UserServiceImpl implements UserService {
         }
         
         // Save user
+        int userId;
         try {
-            return userDAO.saveUser(user);
+            userId = userDAO.saveUser(user);
         } catch (Exception e) {
             throw new IssueTrackerException("Failed to register user: " + e.getMessage());
         }
+        
+        if (userId > 0) {
+            user.setUserId(userId);
+            notifySaved(user);
+        }
+        return userId;
     }
     
     @Override
@@ -107,11 +124,17 @@ public class UserServiceImpl implements UserService {
         // Validate user input
         validateUserInputForUpdate(user);
         
+        boolean updated;
         try {
-            return userDAO.updateUser(user);
+            updated = userDAO.updateUser(user);
         } catch (Exception e) {
             throw new IssueTrackerException("Failed to update user: " + e.getMessage());
         }
+        
+        if (updated) {
+            notifySaved(user);
+        }
+        return updated;
     }
     
     @Override
@@ -120,11 +143,33 @@ public class UserServiceImpl implements UserService {
             throw new IssueTrackerException("User ID must be positive");
         }
         
+        boolean deleted;
         try {
-            return userDAO.deleteUser(userId);
+            deleted = userDAO.deleteUser(userId);
         } catch (Exception e) {
             throw new IssueTrackerException("Failed to delete user: " + e.getMessage());
         }
+        
+        if (deleted) {
+            for (UserChangeListener listener : listeners) {
+                try {
+                    listener.onUserDeleted(userId);
+                } catch (RuntimeException e) {
+                    System.err.println("Warning: User change listener failed: " + e.getMessage());
+                }
+            }
+        }
+        return deleted;
+    }
+    
+    private void notifySaved(User user) {
+        for (UserChangeListener listener : listeners) {
+            try {
+                listener.onUserSaved(user);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: User change listener failed: " + e.getMessage());
+            }
+        }
     }
     
     @Override
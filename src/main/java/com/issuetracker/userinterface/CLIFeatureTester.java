@@ -15,6 +15,9 @@ import java.util.Map;
  */
 public class CLIFeatureTester {
     
+    // Reported through IssueService, so it has to match the Validator's PREFIX-NNN-UNITCODE format
+    private static final String TEST_ISSUE_ID = "MTI-I-901-ADM";
+    
     private static IssueService issueService;
     private static UserDAO userDAO;
     private static User testUser;
@@ -89,7 +92,7 @@ public class CLIFeatureTester {
         
         // Test reporting new issue
         Issue newIssue = new Issue(
-            "MTI-I-TEST-001",
+            TEST_ISSUE_ID,
             "Test issue for CLI validation",
             Unit.ADMINISTRATION,
             LocalDate.now(),
@@ -108,7 +111,7 @@ public class CLIFeatureTester {
         }
         
         // Test updating issue status
-        Boolean updateResult = issueService.updateStatus("MTI-I-TEST-001", IssueStatus.IN_PROGRESS);
+        Boolean updateResult = issueService.updateStatus(TEST_ISSUE_ID, IssueStatus.IN_PROGRESS);
         if (updateResult != null && updateResult) {
             System.out.println("✅ Issue status update works");
         } else {
@@ -145,7 +148,7 @@ public class CLIFeatureTester {
         System.out.println("\n👥 Testing Assignment Features...");
         
         // Test assigning issue to user
-        Boolean assignResult = issueService.assignIssue("MTI-I-TEST-001", testUser.getUserId());
+        Boolean assignResult = issueService.assignIssue(TEST_ISSUE_ID, testUser.getUserId());
         if (assignResult != null && assignResult) {
             System.out.println("✅ Issue assignment works");
         } else {
@@ -1,14 +1,34 @@
 package com.issuetracker.userinterface;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 
+import com.issuetracker.analytics.AnalyticsSnapshotBuilder;
+import com.issuetracker.analytics.ColumnarSnapshot;
+import com.issuetracker.analytics.ColumnarSnapshotWriter;
 import com.issuetracker.dao.*;
+import com.issuetracker.event.IssueEventBus;
+import com.issuetracker.event.OverflowPolicy;
 import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.export.ExportFormat;
+import com.issuetracker.export.ExportResult;
 import com.issuetracker.model.*;
+import com.issuetracker.notification.FileNotificationTransport;
+import com.issuetracker.notification.NotificationDispatcher;
+import com.issuetracker.search.IssueSearchIndex;
+import com.issuetracker.search.SearchHit;
 import com.issuetracker.service.*;
+import com.issuetracker.util.DateTimeUtil;
 
 /**
  * Console-based Issue Tracker CLI.
@@ -19,6 +39,22 @@ public class IssueTrackerCLI {
     private static IssueService issueService;
     private static UserService userService;
     private static IssueHistoryService issueHistoryService;
+    private static IssueEventBus eventBus;
+    private static NotificationDispatcher notificationDispatcher;
+    private static SettingsService settingsService;
+    private static CommentService commentService;
+    private static AttachmentService attachmentService;
+    private static ExportService exportService;
+    private static StatisticsService statisticsService;
+    private static IssueCounterMatrix counterMatrix;
+    private static AssigneeDirectory assigneeDirectory;
+    private static IdempotencyKeyStore idempotencyKeys;
+    private static KnownIssueIds knownIssueIds;
+    private static DuplicateDetector duplicateDetector;
+    private static Typeahead typeahead;
+    private static TriageBoard triageBoard;
+    private static SlaMonitor slaMonitor;
+    private static IssueSearchIndex searchIndex;
     private static Scanner scanner;
     private static User currentUser;
 
@@ -39,14 +75,146 @@ public class IssueTrackerCLI {
             System.err.println("Application error: " + e.getMessage());
         } finally {
             if (scanner != null) scanner.close();
+            if (eventBus != null) eventBus.shutdown();
+            if (notificationDispatcher != null) notificationDispatcher.stop();
+            if (settingsService != null) settingsService.stopPolling();
+            if (counterMatrix != null) counterMatrix.stop();
+            if (assigneeDirectory != null) assigneeDirectory.stopPolling();
+            if (idempotencyKeys != null) idempotencyKeys.stop();
+            if (slaMonitor != null) slaMonitor.stop();
         }
     }
 
     // Initialize DAOs and Services
     private static void initializeServices() {
-        issueService = new IssueServiceImpl(new IssueDAOJdbcImpl());
-        userService = new UserServiceImpl(new UserDAOImpl());
+        eventBus = new IssueEventBus();
+        settingsService = new SettingsServiceImpl(new SystemSettingsDAOImpl());
+
+        counterMatrix = new IssueCounterMatrix(new StatisticsDAOImpl());
+        try {
+            counterMatrix.load();
+        } catch (IssueTrackerException e) {
+            // Reconciliation brings the counters in line once the database is reachable
+            System.err.println("Warning: Failed to load issue counters: " + e.getMessage());
+        }
+        counterMatrix.start(IssueCounterMatrix.DEFAULT_RECONCILE_INTERVAL);
+
+        IssueServiceImpl issueServiceImpl = new IssueServiceImpl(new IssueDAOJdbcImpl());
+        issueServiceImpl.setEventBus(eventBus);
+        issueServiceImpl.setSettingsService(settingsService);
+        issueServiceImpl.setCounterMatrix(counterMatrix);
+
+        idempotencyKeys = new IdempotencyKeyStore(new IdempotencyKeyDAOImpl());
+        idempotencyKeys.start(Duration.ofHours(1));
+        issueServiceImpl.setIdempotencyKeyStore(idempotencyKeys);
+        issueServiceImpl.setIssueIdGenerator(new IssueIdGenerator(new IssueIdSequenceDAOImpl(), settingsService));
+
+        knownIssueIds = new KnownIssueIds(new IssueDAOJdbcImpl());
+        try {
+            knownIssueIds.load();
+        } catch (IssueTrackerException e) {
+            // Unloaded, every check goes to the database
+            System.err.println("Warning: Failed to load issue ids: " + e.getMessage());
+        }
+        issueServiceImpl.setKnownIssueIds(knownIssueIds);
+
+        duplicateDetector = new DuplicateDetector(new IssueDAOJdbcImpl());
+        try {
+            duplicateDetector.load();
+            issueServiceImpl.setDuplicateDetector(duplicateDetector);
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Duplicate detection disabled, failed to load open issues: " + e.getMessage());
+        }
+
+        triageBoard = new TriageBoard(new IssueDAOJdbcImpl());
+        try {
+            triageBoard.load();
+        } catch (IssueTrackerException e) {
+            // Unloaded, the triage view is queried from the database
+            System.err.println("Warning: Failed to load the triage board: " + e.getMessage());
+        }
+        issueServiceImpl.setTriageBoard(triageBoard);
+
+        slaMonitor = new SlaMonitor(new IssueDAOJdbcImpl());
+        try {
+            slaMonitor.load();
+        } catch (IssueTrackerException e) {
+            // Issues reported or reopened from now on are still tracked
+            System.err.println("Warning: Failed to load due dates for SLA tracking: " + e.getMessage());
+        }
+        // A dropped resolve or delete would leave the issue raising breach alerts, so never drop
+        eventBus.subscribe("sla-monitor", slaMonitor, OverflowPolicy.BLOCK, IssueEventBus.DEFAULT_BATCH_SIZE);
+        slaMonitor.start();
+
+        assigneeDirectory = new AssigneeDirectory(new AssigneeDAOImpl());
+        AutoAssignmentEngine assignmentEngine = new AutoAssignmentEngine(new StatisticsDAOImpl());
+        assigneeDirectory.addListener(assignmentEngine);
+        try {
+            assigneeDirectory.refresh();
+            assignmentEngine.load();
+            issueServiceImpl.setAssignmentEngine(assignmentEngine);
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Auto-assignment disabled, failed to load assignees: " + e.getMessage());
+        }
+        assigneeDirectory.startPolling(Duration.ofSeconds(60));
+
+        AssigneeService assigneeService = new AssigneeServiceImpl(
+            new UserDAOImpl(), new StatisticsDAOImpl(), assigneeDirectory);
+        try {
+            assigneeService.reconcile();
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Failed to reconcile active issue counts: " + e.getMessage());
+        }
+        issueServiceImpl.setAssigneeService(assigneeService);
+        issueService = issueServiceImpl;
+
+        UserServiceImpl userServiceImpl = new UserServiceImpl(new UserDAOImpl());
+        userService = userServiceImpl;
+
+        typeahead = new Typeahead();
+        try {
+            typeahead.load(userService, new IssueDAOJdbcImpl());
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Failed to load typeahead suggestions: " + e.getMessage());
+        }
+        userServiceImpl.addListener(typeahead);
+        // A dropped change would leave a stale or missing suggestion until restart
+        eventBus.subscribe("typeahead", typeahead, OverflowPolicy.BLOCK, IssueEventBus.DEFAULT_BATCH_SIZE);
         issueHistoryService = new IssueHistoryServiceImpl(new IssueHistoryDAOImpl());
+
+        CommentServiceImpl commentServiceImpl = new CommentServiceImpl(
+            new CommentDAOImpl(), new IssueDAOJdbcImpl(), userService);
+        commentServiceImpl.setSettingsService(settingsService);
+        commentServiceImpl.setEventBus(eventBus);
+        commentService = commentServiceImpl;
+
+        searchIndex = new IssueSearchIndex();
+        try {
+            searchIndex.load(new IssueDAOJdbcImpl());
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Failed to build the search index: " + e.getMessage());
+        }
+        // Blocking keeps the index from silently missing changes if it falls behind
+        eventBus.subscribe("search-index", searchIndex, OverflowPolicy.BLOCK, IssueEventBus.DEFAULT_BATCH_SIZE);
+
+        AttachmentServiceImpl attachmentServiceImpl = new AttachmentServiceImpl(
+            new AttachmentDAOImpl(), new IssueDAOJdbcImpl());
+        attachmentServiceImpl.setSettingsService(settingsService);
+        attachmentService = attachmentServiceImpl;
+
+        exportService = new ExportServiceImpl(new ExportDAOImpl());
+        statisticsService = new StatisticsServiceImpl(new StatisticsDAOImpl());
+
+        notificationDispatcher = new NotificationDispatcher(
+            new NotificationOutboxDAOImpl(), new FileNotificationTransport());
+        notificationDispatcher.setEnabled(settingsService.getSettings().isEmailNotificationsEnabled());
+        settingsService.addListener((previous, current, changedKeys) -> {
+            if (changedKeys.contains(SystemSettings.EMAIL_NOTIFICATIONS_ENABLED)) {
+                notificationDispatcher.setEnabled(current.isEmailNotificationsEnabled());
+            }
+        });
+        settingsService.startPolling(Duration.ofSeconds(30));
+        notificationDispatcher.start();
     }
 
     // Welcome Screen
@@ -148,6 +316,11 @@ public class IssueTrackerCLI {
                 case 6: deleteResolvedIssues(); break;
                 case 7: manageUsers(); break;
                 case 8: showSystemInfo(); break;
+                case 9: issueComments(); break;
+                case 10: issueAttachments(); break;
+                case 11: exportData(); break;
+                case 12: showDashboard(); break;
+                case 13: claimNextIssue(); break;
                 case 0:
                     running = false;
                     showExitMessage();
@@ -172,6 +345,11 @@ public class IssueTrackerCLI {
         System.out.println("6. Delete Resolved Issues");
         System.out.println("7. Manage Users");
         System.out.println("8. System Information");
+        System.out.println("9. Issue Comments");
+        System.out.println("10. Issue Attachments");
+        System.out.println("11. Export Data");
+        System.out.println("12. Dashboard");
+        System.out.println("13. Claim Next Issue");
         System.out.println("0. Exit");
         System.out.println("------------------------------");
     }
@@ -181,7 +359,7 @@ public class IssueTrackerCLI {
         System.out.println("\nREPORT NEW ISSUE");
 
         try {
-            System.out.print("Issue ID: ");
+            System.out.print("Issue ID or Enter to generate: ");
             String issueId = scanner.nextLine().trim();
 
             System.out.print("Description: ");
@@ -202,12 +380,23 @@ public class IssueTrackerCLI {
             Priority[] priorities = Priority.values();
             for (int i = 0; i < priorities.length; i++)
                 System.out.println((i + 1) + ". " + priorities[i].getDisplayName());
-            int pChoice = getIntInput("Select priority: ") - 1;
-            if (pChoice < 0 || pChoice >= priorities.length) {
-                System.out.println("Invalid priority.");
-                return;
+            System.out.print("Select priority or Enter for "
+                + settingsService.getSettings().getDefaultPriority().getDisplayName() + ": ");
+            String pInput = scanner.nextLine().trim();
+            Priority priority = null;
+            if (!pInput.isEmpty()) {
+                int pChoice;
+                try {
+                    pChoice = Integer.parseInt(pInput) - 1;
+                } catch (NumberFormatException e) {
+                    pChoice = -1;
+                }
+                if (pChoice < 0 || pChoice >= priorities.length) {
+                    System.out.println("Invalid priority.");
+                    return;
+                }
+                priority = priorities[pChoice];
             }
-            Priority priority = priorities[pChoice];
 
             // Date
             System.out.print("Reporting Date (YYYY-MM-DD) or Enter for today: ");
@@ -224,16 +413,42 @@ public class IssueTrackerCLI {
                 }
             }
 
+            boolean dueDateRequired = settingsService.getSettings().isRequireDueDate();
+            System.out.print(dueDateRequired ? "Due Date (YYYY-MM-DD): " : "Due Date (YYYY-MM-DD) or Enter for none: ");
+            String dueInput = scanner.nextLine().trim();
+            LocalDate dueDate = null;
+
+            if (!dueInput.isEmpty()) {
+                try {
+                    dueDate = LocalDate.parse(dueInput, DateTimeFormatter.ISO_LOCAL_DATE);
+                } catch (DateTimeParseException e) {
+                    System.out.println("Invalid due date.");
+                    return;
+                }
+            }
+
             Issue issue = new Issue(
                 issueId, description, unit, reportingDate,
                 null, IssueStatus.OPEN, priority,
                 currentUser.getUserId(), 0
             );
+            issue.setDueDate(dueDate);
 
-            String resultId = issueService.reportAnIssue(issue);
+            List<DuplicateCandidate> duplicates = new ArrayList<>();
+            String resultId = issueService.reportAnIssue(issue, null, duplicates);
 
             System.out.println("\nIssue reported successfully.");
             System.out.println("Issue ID: " + (resultId != null ? resultId : issueId));
+            if (issue.getAssignedToUserId() > 0) {
+                System.out.println("Auto-assigned to user ID " + issue.getAssignedToUserId());
+            }
+            if (!duplicates.isEmpty()) {
+                System.out.println("\nPossible duplicates of this issue:");
+                for (DuplicateCandidate duplicate : duplicates) {
+                    System.out.printf(" - %s (%.0f%% similar): %s%n", duplicate.getIssueId(),
+                        duplicate.getSimilarity() * 100, duplicate.getIssueDescription());
+                }
+            }
 
         } catch (Exception e) {
             System.out.println("Error reporting issue: " + e.getMessage());
@@ -243,8 +458,7 @@ public class IssueTrackerCLI {
     // UPDATE ISSUE STATUS
     private static void updateIssueStatus() {
         System.out.println("\nUPDATE ISSUE STATUS");
-        System.out.print("Enter Issue ID: ");
-        String issueId = scanner.nextLine().trim();
+        String issueId = readIssueId("Enter Issue ID: ");
 
         IssueStatus[] statuses = IssueStatus.values();
         for (int i = 0; i < statuses.length; i++)
@@ -277,6 +491,10 @@ public class IssueTrackerCLI {
         System.out.println("2. Filter by Status");
         System.out.println("3. Filter by Assignee");
         System.out.println("4. Show My Issues");
+        System.out.println("5. Search Descriptions");
+        System.out.println("6. Quick Search");
+        System.out.println("7. Triage (Most Urgent)");
+        System.out.println("8. SLA At Risk");
         System.out.println("0. Back");
 
         int choice = getIntInput("Select option: ");
@@ -286,6 +504,10 @@ public class IssueTrackerCLI {
             case 2: showIssuesByStatus(); break;
             case 3: showIssuesByAssignee(); break;
             case 4: showMyIssues(); break;
+            case 5: searchIssues(); break;
+            case 6: quickSearch(); break;
+            case 7: showTriage(); break;
+            case 8: showSlaAtRisk(); break;
             case 0: return;
             default: System.out.println("Invalid choice.");
         }
@@ -324,6 +546,137 @@ public class IssueTrackerCLI {
         }
     }
 
+    private static void searchIssues() {
+        System.out.print("Search for: ");
+        String query = scanner.nextLine().trim();
+
+        // Optional status filter, combined with the search in one query
+        IssueStatus[] statuses = IssueStatus.values();
+        for (int i = 0; i < statuses.length; i++)
+            System.out.println((i + 1) + ". " + statuses[i]);
+        System.out.print("Select status or Enter for any: ");
+        String sInput = scanner.nextLine().trim();
+
+        Map<Character, Object> filter = new HashMap<>();
+        if (!sInput.isEmpty()) {
+            try {
+                filter.put('S', statuses[Integer.parseInt(sInput) - 1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                System.out.println("Invalid status.");
+                return;
+            }
+        }
+
+        int pageSize = 20;
+        int offset = 0;
+        try {
+            while (true) {
+                List<IssueReport> page = issueService.searchIssues(query, filter, offset, pageSize);
+                displayIssueReports(page, "Search: " + query + " (results " + (offset + 1) + "-"
+                    + (offset + page.size()) + ")");
+                if (page.size() < pageSize) {
+                    break;
+                }
+                System.out.print("Enter for more, or q to stop: ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                    break;
+                }
+                offset += pageSize;
+            }
+        } catch (Exception e) {
+            System.out.println("Error searching issues: " + e.getMessage());
+        }
+    }
+
+    private static void quickSearch() {
+        System.out.println("Words must all match; use OR for any, \"quotes\" for a phrase.");
+        System.out.print("Search for: ");
+        String query = scanner.nextLine().trim();
+        if (query.isEmpty()) {
+            System.out.println("Search text cannot be empty.");
+            return;
+        }
+
+        List<SearchHit> hits = searchIndex.search(query, IssueSearchIndex.DEFAULT_LIMIT);
+        if (hits.isEmpty()) {
+            System.out.println("No matching issues.");
+            return;
+        }
+
+        System.out.println("\nQuick Search: " + query);
+        System.out.printf("%-20s %7s  %s%n", "Issue ID", "Score", "Description");
+        for (SearchHit hit : hits) {
+            System.out.printf("%-20s %7.2f  %s%n", hit.getIssueId(), hit.getScore(), hit.getSnippet());
+        }
+    }
+
+    private static void showTriage() {
+        // Default to the user's own unit when they belong to exactly one
+        Set<Unit> memberOf = assigneeDirectory.getUnits(currentUser.getUserId());
+        Unit unit = null;
+        Unit[] units = Unit.values();
+        for (int i = 0; i < units.length; i++)
+            System.out.println((i + 1) + ". " + units[i] + (memberOf.contains(units[i]) ? " (member)" : ""));
+        String defaultLabel = memberOf.size() == 1 ? memberOf.iterator().next().toString() : "all units";
+        System.out.print("Select unit or Enter for " + defaultLabel + ": ");
+        String uInput = scanner.nextLine().trim();
+        if (uInput.isEmpty()) {
+            unit = memberOf.size() == 1 ? memberOf.iterator().next() : null;
+        } else {
+            try {
+                unit = units[Integer.parseInt(uInput) - 1];
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                System.out.println("Invalid unit.");
+                return;
+            }
+        }
+
+        try {
+            List<TriageEntry> entries = issueService.getTriageQueue(unit, TriageBoard.DEFAULT_LIMIT);
+            System.out.println("\nMOST URGENT OPEN ISSUES - " + (unit != null ? unit : "ALL UNITS"));
+            System.out.println("------------------------------------------------------------");
+            if (entries.isEmpty()) {
+                System.out.println("No open issues.");
+                return;
+            }
+
+            System.out.printf("%-15s %-9s %-11s %-11s %-10s %-35s%n",
+                "Issue ID", "Priority", "Due", "Reported", "Assignee", "Description");
+            for (TriageEntry e : entries) {
+                String desc = e.getIssueDescription();
+                if (desc != null && desc.length() > 32)
+                    desc = desc.substring(0, 32) + "...";
+                System.out.printf("%-15s %-9s %-11s %-11s %-10s %-35s%n",
+                    e.getIssueId(), e.getPriority().getDisplayName(),
+                    e.getDueDate() != null ? e.getDueDate() : "-", e.getReportingDate(),
+                    e.getAssignedToUserId() > 0 ? "#" + e.getAssignedToUserId() : "Unassigned", desc);
+            }
+        } catch (Exception e) {
+            System.out.println("Error reading triage queue: " + e.getMessage());
+        }
+    }
+
+    private static void showSlaAtRisk() {
+        List<SlaAlert> atRisk = slaMonitor.atRisk();
+        System.out.println("\nOPEN ISSUES NEAR OR PAST THEIR DUE DATE");
+        System.out.println("------------------------------------------------------------");
+        if (atRisk.isEmpty()) {
+            System.out.println("No open issues are near or past their due date.");
+            return;
+        }
+
+        System.out.printf("%-15s %-12s %-11s %-9s %-10s %-35s%n",
+            "Issue ID", "SLA", "Due", "Priority", "Assignee", "Description");
+        for (SlaAlert a : atRisk) {
+            String desc = a.getIssueDescription();
+            if (desc != null && desc.length() > 32)
+                desc = desc.substring(0, 32) + "...";
+            System.out.printf("%-15s %-12s %-11s %-9s %-10s %-35s%n",
+                a.getIssueId(), a.getState(), a.getDueDate(), a.getPriority().getDisplayName(),
+                a.getAssignedToUserId() > 0 ? "#" + a.getAssignedToUserId() : "Unassigned", desc);
+        }
+    }
+
     private static void showIssuesByAssignee() {
         System.out.print("Enter assignee email: ");
         String email = scanner.nextLine().trim();
@@ -358,27 +711,14 @@ public class IssueTrackerCLI {
     // ASSIGN ISSUE
     private static void assignIssue() {
         System.out.println("\nASSIGN ISSUE");
-        System.out.print("Enter Issue ID: ");
-        String issueId = scanner.nextLine().trim();
+        String issueId = readIssueId("Enter Issue ID: ");
 
         try {
-            List<User> users = userService.getAllUsers();
-
-            if (users.isEmpty()) {
-                System.out.println("No users available.");
+            User selectedUser = selectUser("Assign to (name, username or email): ");
+            if (selectedUser == null) {
                 return;
             }
 
-            for (int i = 0; i < users.size(); i++)
-                System.out.println((i + 1) + ". " + users.get(i).getFullName());
-
-            int choice = getIntInput("Select user: ") - 1;
-            if (choice < 0 || choice >= users.size()) {
-                System.out.println("Invalid user.");
-                return;
-            }
-
-            User selectedUser = users.get(choice);
             Boolean result = issueService.assignIssue(issueId, selectedUser.getUserId());
 
             if (Boolean.TRUE.equals(result)) {
@@ -392,12 +732,301 @@ public class IssueTrackerCLI {
         }
     }
 
+    // ISSUE COMMENTS
+    private static void issueComments() {
+        System.out.println("\nISSUE COMMENTS");
+        System.out.println("1. View comments");
+        System.out.println("2. Add comment");
+        System.out.println("3. Reply to comment");
+        System.out.println("0. Back");
+
+        int choice = getIntInput("Select option: ");
+
+        try {
+            switch (choice) {
+                case 1: viewComments(); break;
+                case 2: addComment(false); break;
+                case 3: addComment(true); break;
+                case 0: return;
+                default: System.out.println("Invalid choice.");
+            }
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    private static void viewComments() throws IssueTrackerException {
+        String id = readIssueId("Enter Issue ID: ");
+
+        int pageSize = 5;
+        int offset = 0;
+        while (true) {
+            CommentThreadPage page = commentService.getCommentThreads(id, true, offset, pageSize);
+            if (page.getTotalThreads() == 0) {
+                System.out.println("No comments found.");
+                return;
+            }
+
+            System.out.println("\nComments for " + id + " (threads " + (offset + 1) + "-"
+                + (offset + page.getThreads().size()) + " of " + page.getTotalThreads() + ")");
+            System.out.println("------------------------------------------------------------");
+            for (Comment thread : page.getThreads()) {
+                printComment(thread, 0);
+            }
+
+            if (!page.hasMore()) {
+                return;
+            }
+            System.out.print("\nEnter for more, 0 to stop: ");
+            if (scanner.nextLine().trim().equals("0")) {
+                return;
+            }
+            offset += pageSize;
+        }
+    }
+
+    private static void printComment(Comment comment, int depth) {
+        String indent = String.join("", Collections.nCopies(depth, "    "));
+        System.out.println(indent + "#" + comment.getCommentId() + " "
+            + (comment.getAuthorName() != null ? comment.getAuthorName() : "User " + comment.getUserId())
+            + " | " + DateTimeUtil.formatDateTime(comment.getCreatedAt())
+            + (comment.isInternal() ? " | INTERNAL" : ""));
+        System.out.println(indent + "  " + comment.getCommentText());
+        for (Comment reply : comment.getReplies()) {
+            printComment(reply, depth + 1);
+        }
+    }
+
+    private static void addComment(boolean reply) throws IssueTrackerException {
+        String id = readIssueId("Enter Issue ID: ");
+
+        int parentId = reply ? getIntInput("Reply to comment #: ") : 0;
+
+        System.out.print("Comment: ");
+        String text = scanner.nextLine().trim();
+
+        System.out.print("Internal only? (y/N): ");
+        boolean internal = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+        int commentId = commentService.addComment(id, currentUser.getUserId(), text, internal, parentId);
+        System.out.println("Comment #" + commentId + " added.");
+    }
+
+    // ISSUE ATTACHMENTS
+    private static void issueAttachments() {
+        System.out.println("\nISSUE ATTACHMENTS");
+        System.out.println("1. List attachments");
+        System.out.println("2. Upload file");
+        System.out.println("3. Download attachment");
+        System.out.println("0. Back");
+
+        int choice = getIntInput("Select option: ");
+
+        try {
+            switch (choice) {
+                case 1: listAttachments(); break;
+                case 2: uploadAttachment(); break;
+                case 3: downloadAttachment(); break;
+                case 0: return;
+                default: System.out.println("Invalid choice.");
+            }
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    private static void listAttachments() throws IssueTrackerException {
+        String id = readIssueId("Enter Issue ID: ");
+
+        List<Attachment> attachments = attachmentService.getAttachments(id);
+        if (attachments.isEmpty()) {
+            System.out.println("No attachments found.");
+            return;
+        }
+
+        System.out.printf("%-6s %-30s %-12s %-25s %-20s%n", "ID", "File", "Size", "Type", "Uploaded");
+        for (Attachment a : attachments) {
+            System.out.printf("%-6d %-30s %-12d %-25s %-20s%n", a.getAttachmentId(), a.getFilename(),
+                a.getFileSize(), a.getMimeType(), DateTimeUtil.formatDateTime(a.getUploadedAt()));
+        }
+    }
+
+    private static void uploadAttachment() throws IssueTrackerException {
+        String id = readIssueId("Enter Issue ID: ");
+
+        System.out.print("Path of file to upload: ");
+        Path file = Paths.get(scanner.nextLine().trim());
+
+        Attachment attachment = attachmentService.upload(id, currentUser.getUserId(), file, null);
+        System.out.println("Attachment #" + attachment.getAttachmentId() + " stored ("
+            + attachment.getFileSize() + " bytes).");
+    }
+
+    private static void downloadAttachment() throws IssueTrackerException, IOException {
+        int attachmentId = getIntInput("Attachment ID: ");
+
+        System.out.print("Save to path: ");
+        Path target = Paths.get(scanner.nextLine().trim());
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long bytes = attachmentService.download(attachmentId, out);
+            System.out.println(bytes + " bytes written to " + target);
+        }
+    }
+
+    // DASHBOARD
+    private static void showDashboard() {
+        System.out.println("\nDASHBOARD");
+        System.out.println("------------------------------------------------------------");
+
+        try {
+            IssueStatistics stats = statisticsService.getIssueStatistics();
+            System.out.println("Total issues: " + counterMatrix.total());
+            System.out.println("\nBy status:");
+            counterMatrix.countsByStatus().forEach((status, count) ->
+                System.out.printf(" - %-15s %d%n", status, count));
+
+            System.out.println("\nBy priority:");
+            statisticsService.getCountsByPriority().forEach((priority, count) ->
+                System.out.printf(" - %-15s %d%n", priority.getDisplayName(), count));
+
+            System.out.println("\nActive by unit:");
+            counterMatrix.activeCountsByUnit().forEach((unit, count) ->
+                System.out.printf(" - %-15s %d%n", unit, count));
+
+            System.out.println("\nUnassigned: " + stats.getUnassignedIssues()
+                + "   Overdue: " + stats.getOverdueIssues()
+                + "   Due within 3 days: " + statisticsService.countActiveDueWithin(3));
+
+            System.out.println("\nWorkload:");
+            System.out.printf("%-25s %-8s %-8s %-12s %-9s %-8s%n",
+                "User", "Active", "Open", "In Progress", "Critical", "Overdue");
+            for (UserWorkload w : statisticsService.getUserWorkload()) {
+                System.out.printf("%-25s %-8d %-8d %-12d %-9d %-8d%n", w.getFullName(),
+                    w.getTotalAssignedIssues(), w.getOpenAssignments(), w.getInProgressAssignments(),
+                    w.getCriticalAssignments(), w.getOverdueAssignments());
+            }
+        } catch (IssueTrackerException e) {
+            System.out.println("Error loading dashboard: " + e.getMessage());
+        }
+    }
+
+    // CLAIM NEXT ISSUE
+    private static void claimNextIssue() {
+        System.out.println("\nCLAIM NEXT ISSUE");
+
+        // Take from the user's own unit when they belong to exactly one
+        Set<Unit> memberOf = assigneeDirectory.getUnits(currentUser.getUserId());
+        Unit unit;
+        if (memberOf.size() == 1) {
+            unit = memberOf.iterator().next();
+        } else {
+            Unit[] units = Unit.values();
+            for (int i = 0; i < units.length; i++)
+                System.out.println((i + 1) + ". " + units[i] + (memberOf.contains(units[i]) ? " (member)" : ""));
+            int unitChoice = getIntInput("Select unit: ") - 1;
+            if (unitChoice < 0 || unitChoice >= units.length) {
+                System.out.println("Invalid unit.");
+                return;
+            }
+            unit = units[unitChoice];
+        }
+
+        try {
+            Issue issue = issueService.claimNext(currentUser.getUserId(), unit);
+            if (issue == null) {
+                System.out.println("No unassigned open issues in " + unit + ".");
+                return;
+            }
+            System.out.println("Claimed " + issue.getIssueId() + " [" + issue.getPriority() + "]: "
+                + issue.getIssueDescription());
+        } catch (IssueTrackerException e) {
+            System.out.println("Error claiming issue: " + e.getMessage());
+        }
+    }
+
+    // EXPORT DATA
+    private static void exportData() {
+        System.out.println("\nEXPORT DATA");
+        System.out.println("1. Issues");
+        System.out.println("2. Issue history");
+        System.out.println("3. Columnar analytics snapshot");
+        System.out.println("0. Back");
+
+        int choice = getIntInput("Select option: ");
+        if (choice == 3) {
+            buildAnalyticsSnapshot();
+            return;
+        }
+        if (choice != 1 && choice != 2) {
+            if (choice != 0) System.out.println("Invalid choice.");
+            return;
+        }
+
+        ExportFormat format = getIntInput("Format (1. CSV, 2. JSONL): ") == 2 ? ExportFormat.JSONL : ExportFormat.CSV;
+
+        System.out.print("Gzip output? (y/N): ");
+        boolean gzip = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+        System.out.print("Only changes since the last export? (y/N): ");
+        boolean incremental = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+        String name = (choice == 1 ? "issues" : "issue-history") + "-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "." + format.getExtension() + (gzip ? ".gz" : "");
+        Path defaultTarget = Paths.get("export", name);
+
+        System.out.print("Output file or Enter for " + defaultTarget + ": ");
+        String input = scanner.nextLine().trim();
+        Path target = input.isEmpty() ? defaultTarget : Paths.get(input);
+
+        try {
+            ExportResult result = choice == 1
+                ? exportService.exportIssues(target, format, gzip, incremental)
+                : exportService.exportHistory(target, format, gzip, incremental);
+
+            System.out.println("Exported " + result.getRowCount() + " rows to " + result.getFile()
+                + " (" + result.getFileBytes() + " bytes, " + result.getElapsedMillis() + " ms)");
+            if (result.getWatermark().getLastValueAt() != null) {
+                System.out.println("Next incremental export starts after "
+                    + DateTimeUtil.formatDateTime(result.getWatermark().getLastValueAt()));
+            }
+        } catch (IssueTrackerException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
+    private static void buildAnalyticsSnapshot() {
+        Path defaultTarget = Paths.get("export", "analytics-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".snapshot");
+
+        System.out.print("Output file or Enter for " + defaultTarget + ": ");
+        String input = scanner.nextLine().trim();
+        Path target = input.isEmpty() ? defaultTarget : Paths.get(input);
+
+        try {
+            ColumnarSnapshotWriter writer = new AnalyticsSnapshotBuilder(
+                new IssueDAOJdbcImpl(), new IssueHistoryDAOImpl()).build(target);
+            System.out.println("Snapshot of " + writer.getIssueCount() + " issues and "
+                + writer.getHistoryCount() + " history entries written to " + target);
+
+            ColumnarSnapshot snapshot = ColumnarSnapshot.open(target);
+            System.out.println("Issues by unit and status: "
+                + snapshot.countBy(ColumnarSnapshot.ISSUE_UNIT, ColumnarSnapshot.ISSUE_STATUS));
+        } catch (IssueTrackerException | IOException e) {
+            System.out.println("Snapshot failed: " + e.getMessage());
+        }
+    }
+
     // ISSUE HISTORY
     private static void viewIssueHistory() {
         System.out.println("\nISSUE HISTORY");
         System.out.println("1. View specific issue history");
         System.out.println("2. View all recent history");
         System.out.println("3. View my actions");
+        System.out.println("4. View issue as of a date");
+        System.out.println("5. View open backlog as of a date");
         System.out.println("0. Back");
 
         int choice = getIntInput("Select option: ");
@@ -407,6 +1036,8 @@ public class IssueTrackerCLI {
                 case 1: viewSpecificIssueHistory(); break;
                 case 2: viewAllRecentHistory(); break;
                 case 3: viewMyActions(); break;
+                case 4: viewIssueAsOf(); break;
+                case 5: viewBacklogAsOf(); break;
                 case 0: return;
                 default: System.out.println("Invalid choice.");
             }
@@ -416,8 +1047,7 @@ public class IssueTrackerCLI {
     }
 
     private static void viewSpecificIssueHistory() throws IssueTrackerException {
-        System.out.print("Enter Issue ID: ");
-        String id = scanner.nextLine().trim();
+        String id = readIssueId("Enter Issue ID: ");
 
         List<IssueHistory> history = issueHistoryService.getIssueHistory(id);
 
@@ -501,6 +1131,48 @@ public class IssueTrackerCLI {
         }
     }
 
+    private static void viewIssueAsOf() throws IssueTrackerException {
+        String id = readIssueId("Enter Issue ID: ");
+        LocalDateTime asOf = readEndOfDay();
+        if (asOf == null) return;
+
+        Issue issue = issueHistoryService.getIssueAsOf(id, asOf);
+        if (issue == null) {
+            System.out.println("Issue did not exist at " + asOf.toLocalDate() + ".");
+            return;
+        }
+
+        System.out.println("\nIssue " + id + " as of " + asOf.toLocalDate());
+        System.out.println("------------------------------------------------------------");
+        System.out.println("Status:      " + issue.getStatus());
+        System.out.println("Assignee ID: " + (issue.getAssignedToUserId() > 0 ? issue.getAssignedToUserId() : "Unassigned"));
+        System.out.println("Last change: " + (issue.getUpdatedAt() != null ? issue.getUpdatedAt() : "-"));
+    }
+
+    private static void viewBacklogAsOf() throws IssueTrackerException {
+        LocalDateTime asOf = readEndOfDay();
+        if (asOf == null) return;
+
+        Map<Unit, Integer> backlog = issueHistoryService.getBacklogAsOf(asOf);
+
+        System.out.println("\nOpen backlog as of " + asOf.toLocalDate());
+        System.out.println("------------------------------------------------------------");
+        for (Map.Entry<Unit, Integer> entry : backlog.entrySet()) {
+            System.out.printf("%-20s %d%n", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static LocalDateTime readEndOfDay() {
+        System.out.print("Date (YYYY-MM-DD): ");
+        String input = scanner.nextLine().trim();
+        try {
+            return LocalDate.parse(input, DateTimeFormatter.ISO_LOCAL_DATE).atTime(LocalTime.MAX);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date.");
+            return null;
+        }
+    }
+
     // DELETE RESOLVED / CLOSED
     private static void deleteResolvedIssues() {
         System.out.println("\nDELETE RESOLVED ISSUES");
@@ -599,8 +1271,18 @@ public class IssueTrackerCLI {
             return;
         }
 
-        System.out.printf("%-15s %-35s %-25s %-15s%n",
-                "Issue ID", "Description", "Assignee", "Status");
+        // One grouped count query for the whole list instead of one per row
+        Map<String, Integer> commentCounts = Collections.emptyMap();
+        try {
+            List<String> ids = new ArrayList<>(issues.size());
+            for (IssueReport i : issues) ids.add(i.getIssueId());
+            commentCounts = commentService.getCommentCounts(ids, true);
+        } catch (IssueTrackerException e) {
+            System.err.println("Warning: Failed to load comment counts: " + e.getMessage());
+        }
+
+        System.out.printf("%-15s %-35s %-25s %-15s %-11s %-8s%n",
+                "Issue ID", "Description", "Assignee", "Status", "Due", "Comments");
 
         for (IssueReport i : issues) {
             String desc = i.getIssueDescription();
@@ -609,8 +1291,10 @@ public class IssueTrackerCLI {
 
             String assignee = (i.getAssigneeEmail() != null) ? i.getAssigneeEmail() : "Unassigned";
 
-            System.out.printf("%-15s %-35s %-25s %-15s%n",
-                i.getIssueId(), desc, assignee, i.getStatus()
+            System.out.printf("%-15s %-35s %-25s %-15s %-11s %-8d%n",
+                i.getIssueId(), desc, assignee, i.getStatus(),
+                i.getDueDate() != null ? i.getDueDate() : "-",
+                commentCounts.getOrDefault(i.getIssueId(), 0)
             );
         }
     }
@@ -632,6 +1316,52 @@ public class IssueTrackerCLI {
         System.out.println("\nPriority Levels:");
         for (Priority p : Priority.values())
             System.out.println(" - " + p.getDisplayName() + " (Level " + p.getLevel() + ")");
+
+        SystemSettings settings = settingsService.getSettings();
+        System.out.println("\nSettings (updated " + settings.getLastUpdatedAt() + "):");
+        new TreeMap<>(settings.asMap()).forEach((key, value) -> System.out.println(" - " + key + " = " + value));
+
+        System.out.println("\nNotifications:");
+        System.out.println(" - Sent: " + notificationDispatcher.getMessagesSent()
+            + " messages from " + notificationDispatcher.getRowsSent() + " changes");
+        System.out.println(" - Retried: " + notificationDispatcher.getRowsRetried()
+            + ", Failed: " + notificationDispatcher.getRowsFailed());
+        System.out.println(" - Lag: " + notificationDispatcher.getLastLagMillis() + " ms (max "
+            + notificationDispatcher.getMaxLagMillis() + " ms)");
+        System.out.printf(" - Throughput: %.2f changes/s%n", notificationDispatcher.getThroughputPerSecond());
+
+        System.out.println("\nDuplicate ID Filter:");
+        System.out.println(" - Ids: " + knownIssueIds.size() + " in " + knownIssueIds.memoryBytes() / 1024 + " KB");
+        System.out.println(" - New without a lookup: " + knownIssueIds.getDefinitelyNew()
+            + ", Checked exactly: " + knownIssueIds.getExactChecks());
+        System.out.printf(" - False positives: %.4f observed, %.4f expected (target %.4f)%n",
+            knownIssueIds.getObservedFalsePositiveRate(), knownIssueIds.getExpectedFalsePositiveRate(),
+            knownIssueIds.getTargetFalsePositiveRate());
+
+        System.out.println("\nDuplicate Detection:");
+        System.out.println(" - Open issues: " + duplicateDetector.size() + " in "
+            + duplicateDetector.memoryBytes() / 1024 + " KB, threshold " + duplicateDetector.getThreshold());
+        System.out.printf(" - Checks: %d, With duplicates: %d, Average: %.3f ms%n", duplicateDetector.getChecks(),
+            duplicateDetector.getChecksWithDuplicates(), duplicateDetector.getAverageCheckMillis());
+
+        System.out.println("\nTriage Board:");
+        System.out.println(" - Open issues: " + triageBoard.size() + " " + triageBoard.sizes());
+
+        System.out.println("\nSLA Monitor:");
+        System.out.println(" - Tracked: " + slaMonitor.size() + " " + slaMonitor.counts()
+            + ", Pending timers: " + slaMonitor.pendingTimers());
+        System.out.println(" - Alerts raised: " + slaMonitor.getNearBreachAlerts() + " near breach, "
+            + slaMonitor.getBreachAlerts() + " breached");
+
+        System.out.println("\nTypeahead:");
+        System.out.println(" - Users: " + typeahead.getUserCount() + ", Issue IDs: " + typeahead.getIssueIdCount()
+            + ", Memory: " + typeahead.memoryBytes() / 1024 + " KB");
+
+        System.out.println("\nSearch Index:");
+        System.out.println(" - Issues: " + searchIndex.size() + ", Terms: " + searchIndex.termCount()
+            + ", Memory: " + searchIndex.memoryBytes() / 1024 + " KB");
+        System.out.printf(" - Searches: %d, Average: %.3f ms%n",
+            searchIndex.getSearches(), searchIndex.getAverageSearchMillis());
     }
 
     // Exit Message
@@ -643,6 +1373,76 @@ public class IssueTrackerCLI {
     }
 
     // Input Helpers
+    /**
+     * Read an issue id, offering completions when the input is only part of one.
+     * Returns the input as typed when nothing or exactly it matches.
+     */
+    private static String readIssueId(String prompt) {
+        System.out.print(prompt);
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            return input;
+        }
+
+        List<String> matches = typeahead.suggestIssueIds(input, Typeahead.DEFAULT_LIMIT);
+        for (String match : matches) {
+            if (match.equalsIgnoreCase(input)) {
+                return match;
+            }
+        }
+        if (matches.isEmpty()) {
+            return input;
+        }
+        if (matches.size() == 1) {
+            System.out.println("Using " + matches.get(0));
+            return matches.get(0);
+        }
+
+        for (int i = 0; i < matches.size(); i++)
+            System.out.println((i + 1) + ". " + matches.get(i));
+        System.out.print("Select issue or Enter to keep \"" + input + "\": ");
+        String choice = scanner.nextLine().trim();
+        try {
+            return choice.isEmpty() ? input : matches.get(Integer.parseInt(choice) - 1);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            System.out.println("Invalid selection.");
+            return input;
+        }
+    }
+
+    /**
+     * Narrow users down by what is typed until one is chosen
+     * @return The chosen user, or null when the input is left empty
+     */
+    private static User selectUser(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return null;
+            }
+
+            List<User> matches = typeahead.suggestUsers(input, Typeahead.DEFAULT_LIMIT);
+            if (matches.isEmpty()) {
+                System.out.println("No matching users. Try again or press Enter to cancel.");
+                continue;
+            }
+
+            for (int i = 0; i < matches.size(); i++)
+                System.out.printf("%d. %s (%s)%n", i + 1, matches.get(i).getFullName(), matches.get(i).getEmail());
+            System.out.print("Select user or Enter to search again: ");
+            String choice = scanner.nextLine().trim();
+            if (choice.isEmpty()) {
+                continue;
+            }
+            try {
+                return matches.get(Integer.parseInt(choice) - 1);
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                System.out.println("Invalid selection.");
+            }
+        }
+    }
+
     private static int getIntInput(String prompt) {
         while (true) {
             try {
@@ -0,0 +1,62 @@
+package com.issuetracker.util;
+
+import java.time.Duration;
+
+import com.issuetracker.exception.IssueTrackerException;
+
+/**
+ * A value reloaded at most once per time-to-live. Readers of a fresh value
+ * never lock; when it expires one caller reloads while the others wait for
+ * it rather than all hitting the database at once.
+ */
+public final class CachedValue<T> {
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IssueTrackerException;
+    }
+
+    private static final class Entry<T> {
+        final T value;
+        final long expiresAtNanos;
+
+        Entry(T value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final Loader<T> loader;
+    private final long ttlNanos;
+    private volatile Entry<T> entry;
+
+    public CachedValue(Duration ttl, Loader<T> loader) {
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public T get() throws IssueTrackerException {
+        Entry<T> current = entry;
+        if (current != null && System.nanoTime() - current.expiresAtNanos < 0) {
+            return current.value;
+        }
+        return reload();
+    }
+
+    private synchronized T reload() throws IssueTrackerException {
+        Entry<T> current = entry;
+        if (current != null && System.nanoTime() - current.expiresAtNanos < 0) {
+            return current.value;
+        }
+        T value = loader.load();
+        entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        return value;
+    }
+
+    /**
+     * Drop the cached value so the next read reloads it
+     */
+    public void invalidate() {
+        entry = null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.issuetracker.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A Bloom filter over strings whose bits are 4-bit counters, so members can be
+ * removed as well as added. mightContain never returns false for a member; it
+ * returns true for a non-member with roughly the configured probability while
+ * the filter holds no more than the expected number of members. A counter that
+ * reaches 15 stays there, which keeps removals from causing false negatives at
+ * the cost of a slightly higher false-positive rate.
+ */
+public final class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long MAX_COUNT = 15;
+
+    private final long[] words;
+    private final int counterCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final double targetFalsePositiveRate;
+    private long size;
+
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        double ln2 = Math.log(2);
+        long counters = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        if (counters > Integer.MAX_VALUE - COUNTERS_PER_WORD) {
+            throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " insertions");
+        }
+
+        this.counterCount = (int) Math.max(counters, COUNTERS_PER_WORD);
+        this.hashCount = (int) Math.max(1, Math.round((double) counterCount / expectedInsertions * ln2));
+        this.words = new long[(counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD];
+        this.expectedInsertions = expectedInsertions;
+        this.targetFalsePositiveRate = falsePositiveRate;
+    }
+
+    public synchronized void add(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(hash, i);
+            long count = counter(index);
+            if (count < MAX_COUNT) {
+                setCounter(index, count + 1);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Remove a value previously added. Removing a value that was never added
+     * can make the filter report members as absent.
+     */
+    public synchronized void remove(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(index(hash, i)) == 0) {
+                return;
+            }
+        }
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(hash, i);
+            long count = counter(index);
+            if (count < MAX_COUNT) {
+                setCounter(index, count - 1);
+            }
+        }
+        size--;
+    }
+
+    /**
+     * @return false if the value is definitely not a member
+     */
+    public synchronized boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(index(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * False-positive rate expected at the current number of members
+     */
+    public synchronized double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * size / counterCount), hashCount);
+    }
+
+    public double getTargetFalsePositiveRate() {
+        return targetFalsePositiveRate;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public int getCounterCount() {
+        return counterCount;
+    }
+
+    public long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private long counter(int index) {
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+        return (words[index / COUNTERS_PER_WORD] >>> shift) & MAX_COUNT;
+    }
+
+    private void setCounter(int index, long count) {
+        int word = index / COUNTERS_PER_WORD;
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+        words[word] = (words[word] & ~(MAX_COUNT << shift)) | (count << shift);
+    }
+
+    /**
+     * Double hashing: the i-th index is h1 + i * h2, both halves of one 64-bit hash
+     */
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % counterCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("CountingBloomFilter{size=%d, counters=%d, hashes=%d, memoryBytes=%d, "
+                + "targetFpp=%.4f, expectedFpp=%.4f}",
+            size, counterCount, hashCount, memoryBytes(), targetFalsePositiveRate, expectedFalsePositiveRate());
+    }
+}
\ No newline at end of file
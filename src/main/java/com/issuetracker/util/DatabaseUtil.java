@@ -2,6 +2,8 @@ package com.issuetracker.util;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.io.InputStream;
@@ -44,6 +46,25 @@ public class DatabaseUtil {
         return DriverManager.getConnection(URL, USERNAME, PASSWORD);
     }
     
+    /**
+     * Whether the connection talks to MySQL, for the few statements whose
+     * syntax or driver behaviour differs from the embedded test database
+     */
+    public static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+    
+    /**
+     * Forward-only, read-only statement that streams rows instead of
+     * buffering the whole result. MySQL Connector/J only streams when the
+     * fetch size is Integer.MIN_VALUE; other drivers take a normal fetch size.
+     */
+    public static PreparedStatement prepareStreamingStatement(Connection connection, String sql) throws SQLException {
+        PreparedStatement pstmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        pstmt.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : 1000);
+        return pstmt;
+    }
+    
     public static void closeConnection(Connection connection) {
         if (connection != null) {
             try {
@@ -0,0 +1,418 @@
+package com.issuetracker.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds keyed texts similar to a query text without comparing it to all of them.
+ *
+ * A text becomes the set of its character shingles (SHINGLE_LENGTH characters of
+ * the lower-cased words joined by single spaces), and the set a MinHash signature
+ * of bands * rows values; the share of equal values between two signatures
+ * estimates the Jaccard similarity of their sets. Signatures are split into
+ * bands and each band is hashed into a bucket (locality-sensitive hashing), so
+ * only texts sharing at least one bucket with the query are compared. With the
+ * default 32 bands of 4 rows a pair at similarity 0.6 shares a bucket about 99%
+ * of the time and a pair at 0.3 about 23% of the time.
+ */
+public final class MinHashIndex {
+
+    public static final int DEFAULT_BANDS = 32;
+    public static final int DEFAULT_ROWS = 4;
+    public static final int SHINGLE_LENGTH = 4;
+
+    private final int bands;
+    private final int rows;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    // Keys live in slots; a slot's signature is signatures[slot * hashes ..]
+    private final int hashes;
+    private final Map<String, Integer> slotByKey = new HashMap<>();
+    private String[] keys = new String[16];
+    private int[] signatures;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private final BandTable[] buckets;
+
+    public MinHashIndex() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS);
+    }
+
+    public MinHashIndex(int bands, int rows) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Bands and rows must be positive: " + bands + " x " + rows);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.hashes = bands * rows;
+
+        // A fixed seed keeps signatures comparable across instances
+        Random random = new Random(0x5DEECE66DL);
+        this.multipliers = new long[hashes];
+        this.increments = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+
+        this.signatures = new int[keys.length * hashes];
+        this.buckets = new BandTable[bands];
+        for (int band = 0; band < bands; band++) {
+            buckets[band] = new BandTable();
+        }
+    }
+
+    /**
+     * Index the text under the key, replacing whatever the key held
+     */
+    public synchronized void put(String key, String text) {
+        remove(key);
+        int[] signature = signature(text);
+
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+                signatures = Arrays.copyOf(signatures, keys.length * hashes);
+            }
+            slot = slotCount++;
+        }
+        keys[slot] = key;
+        System.arraycopy(signature, 0, signatures, slot * hashes, hashes);
+        slotByKey.put(key, slot);
+        for (int band = 0; band < bands; band++) {
+            buckets[band].add(bandHash(signatures, slot * hashes, band), slot);
+        }
+    }
+
+    public synchronized boolean remove(String key) {
+        Integer slot = slotByKey.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        for (int band = 0; band < bands; band++) {
+            buckets[band].remove(bandHash(signatures, slot * hashes, band), slot);
+        }
+        keys[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    public synchronized void clear() {
+        slotByKey.clear();
+        keys = new String[16];
+        signatures = new int[keys.length * hashes];
+        freeSlots = new int[16];
+        freeCount = 0;
+        slotCount = 0;
+        for (int band = 0; band < bands; band++) {
+            buckets[band] = new BandTable();
+        }
+    }
+
+    /**
+     * Keys whose estimated similarity to the text is at least the threshold
+     * @return Matches, most similar first, at most limit of them
+     */
+    public List<Match> findSimilar(String text, double threshold, int limit) {
+        int[] signature = signature(text);
+        List<Match> matches = new ArrayList<>();
+
+        synchronized (this) {
+            Set<Integer> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                buckets[band].forEach(bandHash(signature, 0, band), candidates::add);
+            }
+            for (int slot : candidates) {
+                double similarity = similarity(signature, signatures, slot * hashes);
+                if (similarity >= threshold) {
+                    matches.add(new Match(keys[slot], similarity));
+                }
+            }
+        }
+
+        Collections.sort(matches, (x, y) -> Double.compare(y.similarity, x.similarity));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * MinHash signature of the text's shingle set; an empty text hashes as one empty shingle
+     */
+    public int[] signature(String text) {
+        int[] signature = new int[bands * rows];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingleHashes(text)) {
+            for (int i = 0; i < signature.length; i++) {
+                // Multiply-shift: the top 31 bits of a random affine map of the shingle hash
+                int value = (int) ((shingle * multipliers[i] + increments[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Share of equal values, an estimate of the Jaccard similarity of the shingle sets
+     */
+    public static double similarity(int[] a, int[] b) {
+        return similarity(a, b, 0);
+    }
+
+    private static double similarity(int[] signature, int[] stored, int offset) {
+        int equal = 0;
+        for (int i = 0; i < signature.length; i++) {
+            if (signature[i] == stored[offset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / signature.length;
+    }
+
+    /**
+     * Distinct hashes of the text's shingles, sorted
+     */
+    public static long[] shingleHashes(String text) {
+        String normalized = normalize(text);
+        int last = Math.max(0, normalized.length() - SHINGLE_LENGTH);
+        long[] hashes = new long[last + 1];
+        for (int start = 0; start <= last; start++) {
+            hashes[start] = hash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+        }
+        Arrays.sort(hashes);
+
+        int distinct = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (i == 0 || hashes[i] != hashes[i - 1]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return distinct == hashes.length ? hashes : Arrays.copyOf(hashes, distinct);
+    }
+
+    /**
+     * Exact Jaccard similarity of two sorted shingle hash sets, for checking estimates
+     */
+    public static double jaccard(long[] a, long[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - common;
+        return union == 0 ? 1.0 : (double) common / union;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits joined by single spaces
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private long bandHash(int[] values, int offset, int band) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = offset + band * rows; i < offset + (band + 1) * rows; i++) {
+            hash ^= values[i];
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer
+     */
+    private static long hash(String text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public synchronized int size() {
+        return slotByKey.size();
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Rough heap footprint: signatures, band tables and the key map
+     */
+    public synchronized long memoryBytes() {
+        long bytes = 4L * signatures.length + 8L * keys.length + 4L * freeSlots.length;
+        // Key map entry, boxed slot and the key itself
+        bytes += slotByKey.size() * (48 + 16 + 56L);
+        for (BandTable table : buckets) {
+            bytes += table.memoryBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "MinHashIndex{size=" + slotByKey.size() + ", bands=" + bands + ", rows=" + rows
+            + ", memoryBytes=" + memoryBytes() + "}";
+    }
+
+    /**
+     * A key whose text is similar to the query
+     */
+    public static final class Match {
+        private final String key;
+        private final double similarity;
+
+        Match(String key, double similarity) {
+            this.key = key;
+            this.similarity = similarity;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    /**
+     * The buckets of one band: (band hash, slot) pairs in an open-addressing
+     * table with linear probing. Slots sharing a band hash sit in one probe run;
+     * removal shifts later entries back so no tombstones are left.
+     */
+    private static final class BandTable {
+        private long[] hashes = new long[16];
+        private int[] slots = new int[16];
+        private int size;
+
+        void add(long hash, int slot) {
+            if (2 * (size + 1) > slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            int i = home(hash, mask);
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            slots[i] = slot + 1;
+            size++;
+        }
+
+        void remove(long hash, int slot) {
+            int mask = slots.length - 1;
+            int i = home(hash, mask);
+            while (slots[i] != 0 && (hashes[i] != hash || slots[i] != slot + 1)) {
+                i = (i + 1) & mask;
+            }
+            if (slots[i] == 0) {
+                return;
+            }
+
+            // Shift back each later entry of the run that may not sit past the gap
+            int gap = i;
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (slots[j] == 0) {
+                    break;
+                }
+                int home = home(hashes[j], mask);
+                boolean movable = gap <= j ? (home <= gap || home > j) : (home <= gap && home > j);
+                if (movable) {
+                    hashes[gap] = hashes[j];
+                    slots[gap] = slots[j];
+                    gap = j;
+                }
+            }
+            slots[gap] = 0;
+            size--;
+        }
+
+        void forEach(long hash, IntConsumer action) {
+            int mask = slots.length - 1;
+            for (int i = home(hash, mask); slots[i] != 0; i = (i + 1) & mask) {
+                if (hashes[i] == hash) {
+                    action.accept(slots[i] - 1);
+                }
+            }
+        }
+
+        long memoryBytes() {
+            return 12L * slots.length + 32;
+        }
+
+        private void grow() {
+            long[] oldHashes = hashes;
+            int[] oldSlots = slots;
+            hashes = new long[oldSlots.length * 2];
+            slots = new int[oldSlots.length * 2];
+            size = 0;
+            for (int i = 0; i < oldSlots.length; i++) {
+                if (oldSlots[i] != 0) {
+                    add(oldHashes[i], oldSlots[i] - 1);
+                }
+            }
+        }
+
+        private static int home(long hash, int mask) {
+            return (int) ((hash * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,292 @@
+package com.issuetracker.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Finds values by a prefix of any of their terms, case-insensitively.
+ *
+ * Every (term, value) pair sits in one sorted array, so the values for a prefix
+ * are a contiguous run found with a binary search. Values are identified by a
+ * key and stored in reusable slots; put and remove shift the array, which costs
+ * a copy of the entries after the insertion point, and load sorts everything
+ * once. Suited to indexes read far more often than changed, such as user names
+ * and issue ids.
+ */
+public final class PrefixIndex<V> {
+
+    private final Function<V, String> keyOf;
+    private final Function<V, Collection<String>> termsOf;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Entries sorted by term, then slot
+    private String[] terms = new String[16];
+    private int[] owners = new int[16];
+    private int size;
+
+    private final Map<String, Integer> slotByKey = new HashMap<>();
+    private Object[] values = new Object[16];
+    private String[][] slotTerms = new String[16][];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    /**
+     * @param keyOf Identity of a value; putting a value with the same key replaces the old one
+     * @param termsOf Strings whose prefixes find the value
+     */
+    public PrefixIndex(Function<V, String> keyOf, Function<V, Collection<String>> termsOf) {
+        this.keyOf = keyOf;
+        this.termsOf = termsOf;
+    }
+
+    /**
+     * Replace the whole index with the given values, sorting once
+     */
+    public void load(Collection<V> all) {
+        lock.writeLock().lock();
+        try {
+            slotByKey.clear();
+            values = new Object[Math.max(16, all.size())];
+            slotTerms = new String[values.length][];
+            freeSlots = new int[16];
+            freeCount = 0;
+            slotCount = 0;
+
+            List<Object[]> entries = new ArrayList<>();
+            for (V value : all) {
+                String key = keyOf.apply(value);
+                if (slotByKey.containsKey(key)) {
+                    continue;
+                }
+                int slot = slotCount++;
+                String[] normalized = normalize(termsOf.apply(value));
+                values[slot] = value;
+                slotTerms[slot] = normalized;
+                slotByKey.put(key, slot);
+                for (String term : normalized) {
+                    entries.add(new Object[] {term, slot});
+                }
+            }
+            entries.sort((a, b) -> compare((String) a[0], (Integer) a[1], (String) b[0], (Integer) b[1]));
+
+            terms = new String[Math.max(16, entries.size())];
+            owners = new int[terms.length];
+            size = entries.size();
+            for (int i = 0; i < size; i++) {
+                terms[i] = (String) entries.get(i)[0];
+                owners[i] = (Integer) entries.get(i)[1];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the value, replacing any value with the same key
+     */
+    public void put(V value) {
+        String key = keyOf.apply(value);
+        String[] normalized = normalize(termsOf.apply(value));
+
+        lock.writeLock().lock();
+        try {
+            removeSlot(key);
+
+            int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                if (slotCount == values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                    slotTerms = Arrays.copyOf(slotTerms, values.length);
+                }
+                slot = slotCount++;
+            }
+            values[slot] = value;
+            slotTerms[slot] = normalized;
+            slotByKey.put(key, slot);
+
+            for (String term : normalized) {
+                if (size == terms.length) {
+                    terms = Arrays.copyOf(terms, terms.length * 2);
+                    owners = Arrays.copyOf(owners, terms.length);
+                }
+                int position = -search(term, slot) - 1;
+                System.arraycopy(terms, position, terms, position + 1, size - position);
+                System.arraycopy(owners, position, owners, position + 1, size - position);
+                terms[position] = term;
+                owners[position] = slot;
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            return removeSlot(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Values with a term starting with the prefix, ordered by their first such
+     * term; a value matching several ways is listed once
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        Set<Integer> slots = new LinkedHashSet<>();
+
+        lock.readLock().lock();
+        try {
+            int position = search(normalized, -1);
+            position = position < 0 ? -position - 1 : position;
+            for (int i = position; i < size && slots.size() < limit && terms[i].startsWith(normalized); i++) {
+                slots.add(owners[i]);
+            }
+
+            List<V> result = new ArrayList<>(slots.size());
+            for (int slot : slots) {
+                result.add((V) values[slot]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotByKey.get(key);
+            return slot == null ? null : (V) values[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of (term, value) entries
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint of the entries and slots, not counting the values themselves
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 12L * terms.length + 12L * values.length + 4L * freeSlots.length;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slotTerms[slot] != null) {
+                    bytes += 16 + 4L * slotTerms[slot].length;
+                    for (String term : slotTerms[slot]) {
+                        bytes += 40 + term.length();
+                    }
+                }
+            }
+            // Key map entry and boxed slot
+            return bytes + slotByKey.size() * 64L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeSlot(String key) {
+        Integer slot = slotByKey.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        for (String term : slotTerms[slot]) {
+            int position = search(term, slot);
+            if (position >= 0) {
+                System.arraycopy(terms, position + 1, terms, position, size - position - 1);
+                System.arraycopy(owners, position + 1, owners, position, size - position - 1);
+                size--;
+                terms[size] = null;
+            }
+        }
+        values[slot] = null;
+        slotTerms[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Binary search for (term, slot); as Arrays.binarySearch, -(insertion point) - 1 when absent
+     */
+    private int search(String term, int slot) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(terms[mid], owners[mid], term, slot);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int compare(String termA, int slotA, String termB, int slotB) {
+        int cmp = termA.compareTo(termB);
+        return cmp != 0 ? cmp : Integer.compare(slotA, slotB);
+    }
+
+    /**
+     * Lower-cased, trimmed, non-empty and distinct
+     */
+    private static String[] normalize(Collection<String> raw) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String term : raw) {
+            if (term != null && !term.trim().isEmpty()) {
+                normalized.add(term.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return "PrefixIndex{values=" + size() + ", terms=" + termCount() + ", memoryBytes=" + memoryBytes() + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.issuetracker.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keyed timers on a hierarchical timing wheel.
+ *
+ * Time is counted in ticks. Level 0 has one slot per tick for the next
+ * SLOTS ticks, and each level above has slots SLOTS times as coarse, so
+ * LEVELS levels reach SLOTS^LEVELS ticks ahead; later deadlines wait in the
+ * top level and are placed again as it turns. A timer sits in one slot's
+ * doubly linked list, so scheduling and cancelling cost O(1). Advancing one
+ * tick empties one level-0 slot, and every SLOTS ticks moves the timers of one
+ * slot of the level above down a level, which is O(1) per timer per level.
+ * Not thread-safe; callers synchronize.
+ */
+public final class TimerWheel<K> {
+
+    public static final int SLOT_BITS = 6;
+    public static final int SLOTS = 1 << SLOT_BITS;
+    public static final int LEVELS = 4;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    // Sentinel heads of each slot's circular list
+    private final Node<K>[][] wheels;
+    // Timers already due when scheduled, fired by the next advance
+    private final Node<K> expired = new Node<>(null, 0);
+    private final Map<K, Node<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startTick) {
+        this.currentTick = startTick;
+        this.wheels = (Node<K>[][]) new Node<?>[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new Node<>(null, 0);
+            }
+        }
+    }
+
+    /**
+     * Set the key's timer to fire at the deadline tick, replacing any timer it had.
+     * A deadline at or before the current tick fires on the next advance.
+     */
+    public void schedule(K key, long deadline) {
+        Node<K> node = timers.get(key);
+        if (node != null) {
+            node.unlink();
+            node.deadline = deadline;
+        } else {
+            node = new Node<>(key, deadline);
+            timers.put(key, node);
+        }
+        place(node);
+    }
+
+    /**
+     * @return Whether the key had a timer
+     */
+    public boolean cancel(K key) {
+        Node<K> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * Deadline tick of the key's timer, or -1 when it has none
+     */
+    public long deadline(K key) {
+        Node<K> node = timers.get(key);
+        return node == null ? -1 : node.deadline;
+    }
+
+    /**
+     * Advance to the given tick, firing each timer whose deadline is passed in
+     * deadline order. A fired timer is removed before its action runs, so the
+     * action may schedule the key again.
+     * @return Number of timers fired
+     */
+    public int advanceTo(long tick, Consumer<K> action) {
+        int fired = fire(expired, action);
+
+        // Nothing to pass on the way, so skip the empty ticks
+        if (timers.isEmpty() && tick > currentTick) {
+            currentTick = tick;
+            return fired;
+        }
+
+        while (currentTick < tick) {
+            currentTick++;
+            cascade(1);
+            fired += fire(wheels[0][(int) (currentTick & SLOT_MASK)], action);
+            fired += fire(expired, action);
+        }
+        return fired;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    public boolean isEmpty() {
+        return timers.isEmpty();
+    }
+
+    /**
+     * Move the timers of the level's current slot down once the level below
+     * has turned, starting with the coarsest level that turned
+     */
+    private void cascade(int level) {
+        if (level >= LEVELS || (currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+            return;
+        }
+        cascade(level + 1);
+
+        Node<K> head = wheels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        Node<K> node = head.next;
+        head.next = head;
+        head.previous = head;
+        while (node != head) {
+            Node<K> next = node.next;
+            place(node);
+            node = next;
+        }
+    }
+
+    private void place(Node<K> node) {
+        long delta = node.deadline - currentTick;
+        if (delta <= 0) {
+            expired.append(node);
+            return;
+        }
+        // Deadlines past the top level wait in its furthest slot and are placed again from there
+        long deadline = delta < SPAN ? node.deadline : currentTick + SPAN - 1;
+        int level = 0;
+        while (level < LEVELS - 1 && (deadline >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK)].append(node);
+    }
+
+    private int fire(Node<K> head, Consumer<K> action) {
+        int fired = 0;
+        while (head.next != head) {
+            Node<K> node = head.next;
+            node.unlink();
+            timers.remove(node.key);
+            fired++;
+            action.accept(node.key);
+        }
+        return fired;
+    }
+
+    @Override
+    public String toString() {
+        return "TimerWheel{timers=" + timers.size() + ", currentTick=" + currentTick + "}";
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private long deadline;
+        private Node<K> previous = this;
+        private Node<K> next = this;
+
+        Node(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Append to the list whose sentinel this is
+         */
+        void append(Node<K> node) {
+            node.previous = previous;
+            node.next = this;
+            previous.next = node;
+            previous = node;
+        }
+
+        void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = this;
+            next = this;
+        }
+    }
+}
\ No newline at end of file
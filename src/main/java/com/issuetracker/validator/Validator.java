@@ -1,54 +1,284 @@
 package com.issuetracker.validator;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.issuetracker.exception.IssueTrackerException;
 import com.issuetracker.model.Issue;
 import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Unit;
+import com.issuetracker.util.PropertiesLoader;
 
+/**
+ * Checks issues before they are stored.
+ *
+ * Issue ids have the form PREFIX-NUMBER-CODE, e.g. MTI-I-001-ADM: a prefix of
+ * upper-case letters and digits in hyphen-separated groups, at least three
+ * digits, and a unit code. The id, description and email checks are hand-written
+ * character scans or precompiled patterns, and a valid issue is checked without
+ * allocating. Violations are reported as the Validator.* keys of
+ * configuration.properties; message() turns a key into its text.
+ */
 // Do Not Change Any Signature
 public class Validator
 {
+    public static final String INVALID_ISSUE_ID = "Validator.INVALID_ISSUE_ID";
+    public static final String INVALID_ISSUE_DESCRIPTION = "Validator.INVALID_ISSUE_DESCRIPTION";
+    public static final String INVALID_REPORTED_DATE = "Validator.INVALID_REPORTED_DATE";
+    public static final String INVALID_STATUS = "Validator.INVALID_STATUS";
+    public static final String INVALID_ASSIGNEE_EMAIL = "Validator.INVALID_ASSIGNEE_EMAIL";
+
+    public static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    private static final int MIN_ID_DIGITS = 3;
+    private static final int UNIT_CODE_LENGTH = 3;
+    private static final int RULE_COUNT = 5;
+    private static final Unit[] UNITS = Unit.values();
+
+    private static final Pattern EMAIL_PATTERN =
+	Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+
+    private static volatile PropertiesLoader messages;
+    private static volatile Today today = Today.now();
+
     public void validate(Issue issue) throws IssueTrackerException
     {
-	// Your Code Goes Here
+	String violation = firstViolation(issue);
+	if (violation != null) {
+	    throw new IssueTrackerException(message(violation));
+	}
     }
 
-    public Boolean isValidIssueId(String issueId)
+    /**
+     * Every rule the issue breaks, in a single pass
+     * @return Violation keys, empty when the issue is valid
+     */
+    public List<String> collectViolations(Issue issue)
+    {
+	List<String> violations = null;
+	for (int rule = 0; rule < RULE_COUNT; rule++) {
+	    String violation = check(rule, issue);
+	    if (violation != null) {
+		if (violations == null) {
+		    violations = new ArrayList<>(RULE_COUNT - rule);
+		}
+		violations.add(violation);
+	    }
+	}
+	return violations == null ? Collections.emptyList() : violations;
+    }
+
+    /**
+     * Validate a bulk import in one call
+     * @return Violation keys of each invalid issue, keyed by its position in the list
+     */
+    public Map<Integer, List<String>> validateAll(List<Issue> issues)
     {
-	// Your Code Goes Here
+	Map<Integer, List<String>> invalid = new LinkedHashMap<>();
+	for (int i = 0; i < issues.size(); i++) {
+	    List<String> violations = collectViolations(issues.get(i));
+	    if (!violations.isEmpty()) {
+		invalid.put(i, violations);
+	    }
+	}
+	return invalid;
+    }
 
-	return null;
+    public Boolean isValidIssueId(String issueId)
+    {
+	return isValidIssueId(issueId, null);
     }
 
     public Boolean isValidIssueDescription(String issueDescription)
     {
-	// Your Code Goes Here
+	if (issueDescription == null || issueDescription.isEmpty()
+		|| issueDescription.length() > MAX_DESCRIPTION_LENGTH) {
+	    return false;
+	}
 
-	return null;
+	boolean hasText = false;
+	for (int i = 0; i < issueDescription.length(); i++) {
+	    char c = issueDescription.charAt(i);
+	    if (Character.isISOControl(c) && c != '\n' && c != '\r' && c != '\t') {
+		return false;
+	    }
+	    if (!Character.isWhitespace(c)) {
+		hasText = true;
+	    }
+	}
+	return hasText;
     }
 
     public Boolean isValidReportedOn(LocalDate reportedOn)
     {
-	// Your Code Goes Here
-
-	return null;
+	return reportedOn != null && !reportedOn.isAfter(today());
     }
 
+    /**
+     * A new issue starts open or already in progress
+     */
     public Boolean isValidStatus(IssueStatus status)
     {
-	// Your Code Goes Here
-
-	return null;
+	return status == IssueStatus.OPEN || status == IssueStatus.IN_PROGRESS;
     }
-    
+
     public boolean isValidEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             return false;
         }
-        
-        // Simple email validation regex
-        String emailRegex = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
-        return email.trim().matches(emailRegex);
+
+        return EMAIL_PATTERN.matcher(email.trim()).matches();
+    }
+
+    /**
+     * Text of a Validator.* key from configuration.properties, or the key itself if it has none
+     */
+    public static String message(String key)
+    {
+	PropertiesLoader loaded = messages;
+	if (loaded == null) {
+	    loaded = new PropertiesLoader("configuration.properties");
+	    messages = loaded;
+	}
+	return loaded.getProperty(key, key);
+    }
+
+    private String firstViolation(Issue issue)
+    {
+	for (int rule = 0; rule < RULE_COUNT; rule++) {
+	    String violation = check(rule, issue);
+	    if (violation != null) {
+		return violation;
+	    }
+	}
+	return null;
+    }
+
+    private String check(int rule, Issue issue)
+    {
+	switch (rule) {
+	case 0:
+	    return isValidIssueId(issue.getIssueId(), issue.getIssueUnit()) ? null : INVALID_ISSUE_ID;
+	case 1:
+	    return isValidIssueDescription(issue.getIssueDescription()) ? null : INVALID_ISSUE_DESCRIPTION;
+	case 2:
+	    return isValidReportedOn(issue.getReportedOn()) ? null : INVALID_REPORTED_DATE;
+	case 3:
+	    return isValidStatus(issue.getStatus()) ? null : INVALID_STATUS;
+	default:
+	    // The assignee email is optional on a new issue
+	    return issue.getAssigneeEmail() == null || isValidEmail(issue.getAssigneeEmail())
+		? null : INVALID_ASSIGNEE_EMAIL;
+	}
+    }
+
+    /**
+     * Scan PREFIX-NUMBER-CODE from the end; when unit is given the code must be its own
+     */
+    private boolean isValidIssueId(String issueId, Unit unit)
+    {
+	if (issueId == null) {
+	    return false;
+	}
+
+	int end = issueId.length();
+	int codeStart = end - UNIT_CODE_LENGTH;
+	if (codeStart < 1 || issueId.charAt(codeStart - 1) != '-' || !isUnitCode(issueId, codeStart, unit)) {
+	    return false;
+	}
+
+	int digitsEnd = codeStart - 1;
+	int digitsStart = digitsEnd;
+	boolean nonZero = false;
+	while (digitsStart > 0 && isDigit(issueId.charAt(digitsStart - 1))) {
+	    digitsStart--;
+	    nonZero |= issueId.charAt(digitsStart) != '0';
+	}
+	if (digitsEnd - digitsStart < MIN_ID_DIGITS || !nonZero
+		|| digitsStart < 2 || issueId.charAt(digitsStart - 1) != '-') {
+	    return false;
+	}
+
+	// Prefix: groups of upper-case letters and digits, starting with a letter
+	int prefixEnd = digitsStart - 1;
+	if (!isUpper(issueId.charAt(0))) {
+	    return false;
+	}
+	boolean afterHyphen = false;
+	for (int i = 1; i < prefixEnd; i++) {
+	    char c = issueId.charAt(i);
+	    if (c == '-') {
+		if (afterHyphen) {
+		    return false;
+		}
+		afterHyphen = true;
+	    } else if (isUpper(c) || isDigit(c)) {
+		afterHyphen = false;
+	    } else {
+		return false;
+	    }
+	}
+	return !afterHyphen;
+    }
+
+    private static boolean isUnitCode(String issueId, int start, Unit unit)
+    {
+	if (unit != null) {
+	    return issueId.startsWith(unit.getCode(), start);
+	}
+	for (Unit candidate : UNITS) {
+	    if (issueId.startsWith(candidate.getCode(), start)) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * LocalDate.now() allocates on every call, so keep today's date until midnight
+     */
+    private static LocalDate today()
+    {
+	Today current = today;
+	if (System.currentTimeMillis() >= current.endMillis) {
+	    current = Today.now();
+	    today = current;
+	}
+	return current.date;
+    }
+
+    private static final class Today
+    {
+	private final LocalDate date;
+	private final long endMillis;
+
+	private Today(LocalDate date, long endMillis)
+	{
+	    this.date = date;
+	    this.endMillis = endMillis;
+	}
+
+	static Today now()
+	{
+	    LocalDate date = LocalDate.now();
+	    long end = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	    return new Today(date, end);
+	}
+    }
+
+    private static boolean isDigit(char c)
+    {
+	return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c)
+    {
+	return c >= 'A' && c <= 'Z';
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.issuetracker.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.issuetracker.util.CountingBloomFilter;
+
+public class CountingBloomFilterTest
+{
+    @Test
+    public void addedValuesAreAlwaysFoundTest()
+    {
+	CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+	for (int i = 0; i < 10_000; i++) {
+	    filter.add("MTI-I-" + i + "-PAY");
+	}
+	for (int i = 0; i < 10_000; i++) {
+	    assertTrue(filter.mightContain("MTI-I-" + i + "-PAY"));
+	}
+	assertEquals(10_000, filter.size());
+    }
+
+    @Test
+    public void falsePositiveRateStaysNearTargetTest()
+    {
+	CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+	for (int i = 0; i < 10_000; i++) {
+	    filter.add("MTI-I-" + i + "-PAY");
+	}
+	int falsePositives = 0;
+	for (int i = 0; i < 100_000; i++) {
+	    if (filter.mightContain("MTI-I-" + i + "-SHP")) {
+		falsePositives++;
+	    }
+	}
+	assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void removeKeepsOtherMembersTest()
+    {
+	CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+	for (int i = 0; i < 1_000; i++) {
+	    filter.add("ID-" + i);
+	}
+	for (int i = 0; i < 1_000; i += 2) {
+	    filter.remove("ID-" + i);
+	}
+	for (int i = 1; i < 1_000; i += 2) {
+	    assertTrue(filter.mightContain("ID-" + i));
+	}
+	assertEquals(500, filter.size());
+
+	int stillReported = 0;
+	for (int i = 0; i < 1_000; i += 2) {
+	    if (filter.mightContain("ID-" + i)) {
+		stillReported++;
+	    }
+	}
+	assertTrue(stillReported < 50, "removed ids still reported: " + stillReported);
+    }
+
+    @Test
+    public void saturatedCountersNeverCauseFalseNegativesTest()
+    {
+	// A tiny filter drives counters to the 15 cap; removals must then leave them there
+	CountingBloomFilter filter = new CountingBloomFilter(1, 0.5);
+	for (int i = 0; i < 200; i++) {
+	    filter.add("ID-" + i);
+	}
+	for (int i = 0; i < 100; i++) {
+	    filter.remove("ID-" + i);
+	}
+	for (int i = 100; i < 200; i++) {
+	    assertTrue(filter.mightContain("ID-" + i));
+	}
+    }
+
+    @Test
+    public void removingAnAbsentValueChangesNothingTest()
+    {
+	CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+	filter.add("MTI-I-001-ADM");
+	filter.remove("MTI-I-002-ADM");
+	assertTrue(filter.mightContain("MTI-I-001-ADM"));
+	assertEquals(1, filter.size());
+    }
+
+    @Test
+    public void clearEmptiesTheFilterTest()
+    {
+	CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+	filter.add("MTI-I-001-ADM");
+	filter.clear();
+	assertFalse(filter.mightContain("MTI-I-001-ADM"));
+	assertEquals(0, filter.size());
+    }
+
+    @Test
+    public void invalidSizingIsRejectedTest()
+    {
+	assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+	assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 0));
+	assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1));
+    }
+}
\ No newline at end of file
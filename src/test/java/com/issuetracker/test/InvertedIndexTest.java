@@ -0,0 +1,248 @@
+package com.issuetracker.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.issuetracker.search.InvertedIndex;
+import com.issuetracker.search.SearchHit;
+import com.issuetracker.search.SearchQuery;
+import com.issuetracker.search.Tokenizer;
+
+public class InvertedIndexTest
+{
+    private static final int ALL = 1_000_000;
+
+    private final InvertedIndex index = new InvertedIndex();
+    // Sections of every live document, the brute-force answer to each query
+    private final Map<String, List<List<String>>> documents = new HashMap<>();
+
+    @Test
+    public void randomEditsMatchBruteForceTest()
+    {
+	Random random = new Random(11);
+	for (int i = 0; i < 12_000; i++) {
+	    String key = "MTI-I-" + random.nextInt(3_000) + "-PAY";
+	    int operation = random.nextInt(10);
+	    if (operation < 5) {
+		put(key, text(random));
+	    } else if (operation < 7) {
+		append(key, text(random));
+	    } else if (operation < 8) {
+		putSections(key, text(random), text(random));
+	    } else {
+		remove(key);
+	    }
+	    if (i % 500 == 0) {
+		for (int q = 0; q < 20; q++) {
+		    assertMatchesBruteForce(query(random));
+		}
+	    }
+	}
+	assertTrue(index.getCompactions() > 0, "no compaction ran");
+	assertEquals(documents.size(), index.size());
+	for (int q = 0; q < 200; q++) {
+	    assertMatchesBruteForce(query(random));
+	}
+    }
+
+    @Test
+    public void phrasesFarIntoLongDocumentsMatchTest()
+    {
+	// Positions past 16383 take three varint bytes
+	StringBuilder text = new StringBuilder();
+	for (int i = 0; i < 20_000; i++) {
+	    text.append("filler").append(i % 3).append(' ');
+	}
+	put("long", text + "gateway timeout after retry");
+	put("short", "retry after gateway timeout");
+
+	assertEquals(keys("\"gateway timeout after\""), set("long"));
+	assertEquals(keys("\"after gateway\""), set("short"));
+	assertEquals(keys("\"timeout retry\""), set());
+	assertMatchesBruteForce("\"filler2 filler0\" retry");
+    }
+
+    @Test
+    public void rareTermsAcrossManyBlocksAreFoundTest()
+    {
+	// "common" is in every document; "rare" only far apart, so AND skips whole blocks
+	for (int i = 0; i < 20_000; i++) {
+	    put("D" + i, "common " + (i % 4_999 == 0 ? "rare " : "") + "w" + (i % 97));
+	}
+	assertEquals(set("D0", "D4999", "D9998", "D14997", "D19996"), keys("common rare"));
+	assertEquals(set("D4999"), keys("rare w52 common"));
+	assertMatchesBruteForce("rare OR w3");
+    }
+
+    @Test
+    public void deletedDocumentsAreNeverReturnedTest()
+    {
+	for (int i = 0; i < 300; i++) {
+	    put("D" + i, "payment failed card " + i);
+	}
+	for (int i = 0; i < 300; i += 3) {
+	    remove("D" + i);
+	}
+	put("D3", "payment failed again");
+
+	Set<String> hits = keys("payment failed");
+	assertEquals(201, hits.size());
+	assertTrue(hits.contains("D3"));
+	assertTrue(!hits.contains("D6"));
+	assertMatchesBruteForce("\"payment failed\" OR card");
+	assertEquals(index.search(SearchQuery.parse("payment"), ALL).size(), keys("payment").size());
+    }
+
+    @Test
+    public void phrasesDoNotCrossSectionsTest()
+    {
+	putSections("split", "card payment failed", "retry later");
+	append("appended", "card payment failed");
+	append("appended", "retry later");
+	put("joined", "card payment failed retry later");
+
+	assertEquals(set("joined"), keys("\"failed retry\""));
+	assertEquals(set("split", "appended", "joined"), keys("\"retry later\" \"payment failed\""));
+    }
+
+    @Test
+    public void compactionKeepsLiveDocumentsTest()
+    {
+	for (int i = 0; i < 4_000; i++) {
+	    put("D" + i, "shipment " + (i % 2 == 0 ? "delayed " : "lost ") + "box" + (i % 50));
+	}
+	for (int i = 0; i < 4_000; i++) {
+	    if (i % 4 != 0) {
+		remove("D" + i);
+	    }
+	}
+
+	assertTrue(index.getCompactions() > 0);
+	assertTrue(index.deletedCount() < 1_024);
+	assertEquals(1_000, index.size());
+	assertMatchesBruteForce("shipment delayed");
+	assertMatchesBruteForce("lost OR box8");
+	assertMatchesBruteForce("\"shipment delayed box4\"");
+    }
+
+    private void put(String key, String text)
+    {
+	index.put(key, text);
+	documents.put(key, new ArrayList<>(Collections.singletonList(Tokenizer.tokenize(text))));
+    }
+
+    private void putSections(String key, String first, String second)
+    {
+	index.put(key, Arrays.asList(first, second));
+	documents.put(key, new ArrayList<>(Arrays.asList(Tokenizer.tokenize(first), Tokenizer.tokenize(second))));
+    }
+
+    private void append(String key, String text)
+    {
+	index.append(key, text);
+	documents.computeIfAbsent(key, k -> new ArrayList<>()).add(Tokenizer.tokenize(text));
+    }
+
+    private void remove(String key)
+    {
+	assertEquals(documents.remove(key) != null, index.remove(key));
+    }
+
+    private Set<String> keys(String query)
+    {
+	Set<String> keys = new HashSet<>();
+	for (SearchHit hit : index.search(SearchQuery.parse(query), ALL)) {
+	    keys.add(hit.getIssueId());
+	}
+	return keys;
+    }
+
+    private static Set<String> set(String... keys)
+    {
+	return new HashSet<>(Arrays.asList(keys));
+    }
+
+    private void assertMatchesBruteForce(String query)
+    {
+	SearchQuery parsed = SearchQuery.parse(query);
+	Set<String> expected = new HashSet<>();
+	for (Map.Entry<String, List<List<String>>> document : documents.entrySet()) {
+	    if (matches(parsed, document.getValue())) {
+		expected.add(document.getKey());
+	    }
+	}
+
+	List<SearchHit> hits = index.search(parsed, ALL);
+	Set<String> found = new HashSet<>();
+	for (int i = 0; i < hits.size(); i++) {
+	    found.add(hits.get(i).getIssueId());
+	    if (i > 0) {
+		assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore(), "hits out of order for " + query);
+	    }
+	}
+	assertEquals(hits.size(), found.size(), "duplicate hits for " + query);
+	assertEquals(expected, found, query);
+    }
+
+    private static boolean matches(SearchQuery query, List<List<String>> sections)
+    {
+	Set<String> words = new HashSet<>();
+	for (List<String> section : sections) {
+	    words.addAll(section);
+	}
+	boolean terms = query.isAny()
+	    ? query.getTerms().stream().anyMatch(words::contains)
+	    : words.containsAll(query.getTerms());
+	if (!terms) {
+	    return false;
+	}
+	for (List<String> phrase : query.getPhrases()) {
+	    if (sections.stream().noneMatch(section -> Collections.indexOfSubList(section, phrase) >= 0)) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    private static String word(Random random)
+    {
+	// Skewed so some terms are in most documents and others in very few
+	return "w" + (int) Math.abs(random.nextGaussian() * 30);
+    }
+
+    private static String text(Random random)
+    {
+	StringBuilder text = new StringBuilder();
+	int length = 1 + random.nextInt(30);
+	for (int i = 0; i < length; i++) {
+	    text.append(word(random)).append(' ');
+	}
+	return text.toString();
+    }
+
+    private static String query(Random random)
+    {
+	switch (random.nextInt(4)) {
+	case 0:
+	    return word(random) + " " + word(random);
+	case 1:
+	    return word(random) + " OR " + word(random) + " OR " + word(random);
+	case 2:
+	    return "\"" + word(random) + " " + word(random) + "\" " + word(random);
+	default:
+	    return word(random) + " OR \"" + word(random) + " " + word(random) + "\"";
+	}
+    }
+}
\ No newline at end of file
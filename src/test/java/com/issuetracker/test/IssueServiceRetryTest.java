@@ -0,0 +1,188 @@
+package com.issuetracker.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.exception.IssueConflictException;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.model.Issue;
+import com.issuetracker.model.IssueStatus;
+import com.issuetracker.model.Unit;
+import com.issuetracker.model.User;
+import com.issuetracker.service.IssueHistoryService;
+import com.issuetracker.service.IssueServiceImpl;
+import com.issuetracker.service.UserService;
+
+public class IssueServiceRetryTest
+{
+    private static final String ISSUE_ID = "MTI-I-001-ADM";
+
+    private IssueDAO issueDAO;
+    private IssueHistoryService issueHistoryService;
+    private IssueServiceImpl issueService;
+
+    // The stored row; each write bumps its version like the JDBC DAO does
+    private int version;
+    private IssueStatus status;
+    private int assigneeId;
+
+    // Writes by other users that land just before each of our next attempts
+    private int concurrentWrites;
+
+    @BeforeEach
+    public void setUp() throws IssueTrackerException
+    {
+	version = 0;
+	status = IssueStatus.OPEN;
+	assigneeId = 0;
+	concurrentWrites = 0;
+
+	issueDAO = mock(IssueDAO.class);
+	when(issueDAO.getIssueById(ISSUE_ID)).thenAnswer(invocation -> storedIssue());
+	when(issueDAO.updateStatus(any(Issue.class), any(IssueStatus.class))).thenAnswer(invocation -> {
+	    Issue current = invocation.getArgument(0);
+	    otherUserWrites();
+	    checkVersion(current);
+	    status = invocation.getArgument(1);
+	    version++;
+	    return true;
+	});
+	when(issueDAO.assignIssue(any(Issue.class), anyInt())).thenAnswer(invocation -> {
+	    Issue current = invocation.getArgument(0);
+	    otherUserWrites();
+	    checkVersion(current);
+	    assigneeId = invocation.getArgument(1);
+	    version++;
+	    return true;
+	});
+
+	UserService userService = mock(UserService.class);
+	when(userService.findUserById(anyInt())).thenReturn(new User("jdoe", "jdoe@example.com", "secret", "Jane Doe"));
+	issueHistoryService = mock(IssueHistoryService.class);
+
+	issueService = new IssueServiceImpl(issueDAO, userService, issueHistoryService);
+    }
+
+    @Test
+    public void conflictPropagatesWithoutRetriesTest() throws IssueTrackerException
+    {
+	concurrentWrites = 1;
+
+	IssueConflictException e = assertThrows(IssueConflictException.class,
+		() -> issueService.updateStatus(ISSUE_ID, IssueStatus.RESOLVED));
+	assertEquals(ISSUE_ID, e.getIssueId());
+	assertEquals(0, e.getExpectedVersion());
+	assertEquals(IssueStatus.IN_PROGRESS, status);
+	verify(issueDAO, times(1)).getIssueById(ISSUE_ID);
+	verify(issueHistoryService, never()).recordStatusChange(anyString(), anyString(), anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    public void updateStatusRereadsAndRetriesTest() throws IssueTrackerException
+    {
+	issueService.setConflictRetries(3);
+	concurrentWrites = 2;
+
+	assertTrue(issueService.updateStatus(ISSUE_ID, IssueStatus.RESOLVED));
+	assertEquals(IssueStatus.RESOLVED, status);
+	assertEquals(3, version);
+	verify(issueDAO, times(3)).updateStatus(any(Issue.class), eq(IssueStatus.RESOLVED));
+	verify(issueDAO, times(3)).getIssueById(ISSUE_ID);
+
+	// History shows the change from what the last re-read saw, not the first read
+	verify(issueHistoryService).recordStatusChange(eq(ISSUE_ID), eq("IN_PROGRESS"), eq("RESOLVED"), anyInt(), anyString());
+    }
+
+    @Test
+    public void updateStatusGivesUpAfterTheRetriesTest() throws IssueTrackerException
+    {
+	issueService.setConflictRetries(2);
+	concurrentWrites = 3;
+
+	assertThrows(IssueConflictException.class, () -> issueService.updateStatus(ISSUE_ID, IssueStatus.RESOLVED));
+	assertEquals(IssueStatus.IN_PROGRESS, status);
+	verify(issueDAO, times(3)).updateStatus(any(Issue.class), eq(IssueStatus.RESOLVED));
+	verify(issueHistoryService, never()).recordStatusChange(anyString(), anyString(), anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    public void assignIssueRereadsAndRetriesTest() throws IssueTrackerException
+    {
+	issueService.setConflictRetries(1);
+	concurrentWrites = 1;
+
+	assertTrue(issueService.assignIssue(ISSUE_ID, 7));
+	assertEquals(7, assigneeId);
+	verify(issueDAO, times(2)).assignIssue(any(Issue.class), eq(7));
+	verify(issueHistoryService).recordAssignment(eq(ISSUE_ID), any(), eq(7), anyInt(), anyString());
+    }
+
+    @Test
+    public void assignIssueGivesUpAfterTheRetriesTest() throws IssueTrackerException
+    {
+	issueService.setConflictRetries(1);
+	concurrentWrites = 2;
+
+	assertThrows(IssueConflictException.class, () -> issueService.assignIssue(ISSUE_ID, 7));
+	assertEquals(0, assigneeId);
+	verify(issueDAO, times(2)).assignIssue(any(Issue.class), eq(7));
+	verify(issueHistoryService, never()).recordAssignment(anyString(), any(), anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    public void missingIssueOnRereadIsReportedTest() throws IssueTrackerException
+    {
+	issueService.setConflictRetries(3);
+	concurrentWrites = 1;
+	when(issueDAO.getIssueById(ISSUE_ID))
+		.thenAnswer(invocation -> storedIssue())
+		.thenThrow(new IssueTrackerException("Issue not found: " + ISSUE_ID));
+
+	IssueTrackerException e = assertThrows(IssueTrackerException.class,
+		() -> issueService.updateStatus(ISSUE_ID, IssueStatus.RESOLVED));
+	assertEquals("Issue not found: " + ISSUE_ID, e.getMessage());
+	verify(issueDAO, times(1)).updateStatus(any(Issue.class), any(IssueStatus.class));
+    }
+
+    private Issue storedIssue()
+    {
+	Issue issue = new Issue();
+	issue.setIssueId(ISSUE_ID);
+	issue.setIssueDescription("Login page does not load");
+	issue.setIssueUnit(Unit.ADMINISTRATION);
+	issue.setStatus(status);
+	issue.setAssignedToUserId(assigneeId);
+	issue.setVersion(version);
+	return issue;
+    }
+
+    private void otherUserWrites()
+    {
+	if (concurrentWrites > 0) {
+	    concurrentWrites--;
+	    status = IssueStatus.IN_PROGRESS;
+	    version++;
+	}
+    }
+
+    private void checkVersion(Issue current) throws IssueConflictException
+    {
+	if (current.getVersion() != version) {
+	    throw new IssueConflictException(current.getIssueId(), current.getVersion());
+	}
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.issuetracker.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.issuetracker.dao.IssueDAO;
+import com.issuetracker.exception.IssueTrackerException;
+import com.issuetracker.service.KnownIssueIds;
+
+public class KnownIssueIdsTest
+{
+    private IssueDAO issueDAO;
+    private KnownIssueIds knownIssueIds;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IssueTrackerException
+    {
+	issueDAO = mock(IssueDAO.class);
+	doAnswer(invocation -> {
+	    Consumer<String> action = invocation.getArgument(0);
+	    action.accept("MTI-I-001-ADM");
+	    action.accept("MTI-I-002-PAY");
+	    return null;
+	}).when(issueDAO).forEachIssueId(any(Consumer.class));
+	when(issueDAO.existsById("MTI-I-001-ADM")).thenReturn(true);
+	when(issueDAO.existsById("MTI-I-002-PAY")).thenReturn(true);
+
+	knownIssueIds = new KnownIssueIds(issueDAO, 1_000, 0.01);
+    }
+
+    @Test
+    public void everyCheckGoesToTheDatabaseBeforeLoadTest() throws IssueTrackerException
+    {
+	assertFalse(knownIssueIds.isLoaded());
+	assertFalse(knownIssueIds.exists("MTI-I-500-SHP"));
+	verify(issueDAO).existsById("MTI-I-500-SHP");
+    }
+
+    @Test
+    public void newIdsSkipTheDatabaseOnceLoadedTest() throws IssueTrackerException
+    {
+	knownIssueIds.load();
+
+	assertTrue(knownIssueIds.isLoaded());
+	assertEquals(2, knownIssueIds.size());
+	for (int i = 100; i < 200; i++) {
+	    knownIssueIds.exists("MTI-I-" + i + "-SHP");
+	}
+	// The filter answers most of them; the rest are confirmed absent by the database
+	assertEquals(100, knownIssueIds.getDefinitelyNew() + knownIssueIds.getFalsePositives());
+	assertTrue(knownIssueIds.getDefinitelyNew() >= 90);
+    }
+
+    @Test
+    public void loadedIdsAreConfirmedByTheDatabaseTest() throws IssueTrackerException
+    {
+	knownIssueIds.load();
+
+	assertTrue(knownIssueIds.exists("MTI-I-001-ADM"));
+	verify(issueDAO).existsById("MTI-I-001-ADM");
+	assertEquals(0, knownIssueIds.getFalsePositives());
+    }
+
+    @Test
+    public void addedAndRemovedIdsFollowTheFilterTest() throws IssueTrackerException
+    {
+	knownIssueIds.load();
+	knownIssueIds.added("MTI-I-003-CSG");
+	when(issueDAO.existsById("MTI-I-003-CSG")).thenReturn(true);
+	assertTrue(knownIssueIds.exists("MTI-I-003-CSG"));
+
+	knownIssueIds.removed("MTI-I-003-CSG");
+	when(issueDAO.existsById("MTI-I-003-CSG")).thenReturn(false);
+	assertFalse(knownIssueIds.exists("MTI-I-003-CSG"));
+	assertEquals(2, knownIssueIds.size());
+    }
+
+    @Test
+    public void aFailedLoadKeepsCheckingTheDatabaseTest() throws IssueTrackerException
+    {
+	IssueDAO failing = mock(IssueDAO.class);
+	doAnswer(invocation -> {
+	    Consumer<String> action = invocation.getArgument(0);
+	    action.accept("MTI-I-001-ADM");
+	    throw new IssueTrackerException("connection lost");
+	}).when(failing).forEachIssueId(any());
+	KnownIssueIds partial = new KnownIssueIds(failing, 1_000, 0.01);
+
+	// A half-read filter must not be trusted
+	assertThrows(IssueTrackerException.class, partial::load);
+	assertFalse(partial.isLoaded());
+	partial.exists("MTI-I-900-SHP");
+	verify(failing).existsById("MTI-I-900-SHP");
+    }
+}
\ No newline at end of file
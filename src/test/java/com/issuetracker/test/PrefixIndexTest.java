@@ -0,0 +1,201 @@
+package com.issuetracker.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.issuetracker.util.PrefixIndex;
+
+public class PrefixIndexTest
+{
+    private static final int ALL = Integer.MAX_VALUE;
+
+    private PrefixIndex<String> index;
+    // Live values by key, the brute-force answer to each suggestion
+    private final Map<String, String> values = new HashMap<>();
+
+    @BeforeEach
+    public void setUp()
+    {
+	// A value is "key|term|term..."
+	index = new PrefixIndex<>(value -> value.split("\\|")[0], PrefixIndexTest::termsOf);
+    }
+
+    @Test
+    public void randomPutsAndRemovesMatchBruteForceTest()
+    {
+	Random random = new Random(5);
+	List<String> seed = new ArrayList<>();
+	for (int i = 0; i < 200; i++) {
+	    seed.add(value(random, "K" + i));
+	}
+	load(seed);
+
+	for (int i = 0; i < 5_000; i++) {
+	    String key = "K" + random.nextInt(400);
+	    if (random.nextInt(3) == 0) {
+		assertEquals(values.remove(key) != null, index.remove(key));
+	    } else {
+		put(value(random, key));
+	    }
+	    if (i % 50 == 0) {
+		for (String prefix : new String[] { "", "a", "b", "ab", "ca", "bad", "zzz", "c" }) {
+		    assertMatchesBruteForce(prefix);
+		}
+	    }
+	}
+	assertEquals(values.size(), index.size());
+	assertEquals(values.values().stream().mapToInt(value -> distinctTerms(value).size()).sum(), index.termCount());
+    }
+
+    @Test
+    public void suggestionsAreCaseInsensitiveAndOrderedByTermTest()
+    {
+	put("u1|Jane|Smith|jane.smith@monttrance.com");
+	put("u2|John|Doe|john.doe@monttrance.com");
+	put("u3|Sarah|Johnson|sarah.johnson@monttrance.com");
+
+	assertEquals(Arrays.asList("u2|John|Doe|john.doe@monttrance.com", "u3|Sarah|Johnson|sarah.johnson@monttrance.com"),
+	    index.suggest("  JOHN ", ALL));
+	assertEquals(Arrays.asList("u1|Jane|Smith|jane.smith@monttrance.com"), index.suggest("j", 1));
+	assertEquals(3, index.suggest("", ALL).size());
+	assertTrue(index.suggest("x", ALL).isEmpty());
+    }
+
+    @Test
+    public void aValueMatchingSeveralTermsIsListedOnceTest()
+    {
+	put("u1|Anna|Annabel|ann@monttrance.com");
+
+	assertEquals(1, index.suggest("ann", ALL).size());
+	assertEquals(3, index.termCount());
+    }
+
+    @Test
+    public void putReplacesAndRemoveFreesTheSlotTest()
+    {
+	put("u1|Alex|Brown");
+	put("u1|Alexander|Green");
+	assertTrue(index.suggest("brown", ALL).isEmpty());
+	assertEquals("u1|Alexander|Green", index.get("u1"));
+	assertEquals(1, index.size());
+
+	assertTrue(index.remove("u1"));
+	assertFalse(index.remove("u1"));
+	assertNull(index.get("u1"));
+	assertEquals(0, index.termCount());
+
+	// Freed slots are reused, so churn does not grow the index
+	long before = index.memoryBytes();
+	for (int i = 0; i < 1_000; i++) {
+	    put("u" + (i % 4) + "|name" + i);
+	    index.remove("u" + (i % 4));
+	}
+	assertEquals(0, index.size());
+	assertTrue(index.memoryBytes() <= before + 1_024);
+    }
+
+    @Test
+    public void loadKeepsTheFirstValueOfEachKeyTest()
+    {
+	load(Arrays.asList("u1|first", "u1|second", "u2|other"));
+
+	assertEquals(2, index.size());
+	assertEquals("u1|first", index.get("u1"));
+	assertTrue(index.suggest("second", ALL).isEmpty());
+
+	// Changes after a load shift the loaded entries correctly
+	put("u0|aaa");
+	put("u9|zzz");
+	assertTrue(index.remove("u2"));
+	values.remove("u2");
+	assertMatchesBruteForce("");
+	assertMatchesBruteForce("f");
+    }
+
+    private void load(Collection<String> all)
+    {
+	index.load(all);
+	values.clear();
+	for (String value : all) {
+	    values.putIfAbsent(value.split("\\|")[0], value);
+	}
+    }
+
+    private void put(String value)
+    {
+	index.put(value);
+	values.put(value.split("\\|")[0], value);
+    }
+
+    private void assertMatchesBruteForce(String prefix)
+    {
+	String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+	Set<String> expected = new HashSet<>();
+	for (String value : values.values()) {
+	    if (distinctTerms(value).stream().anyMatch(term -> term.startsWith(normalized))) {
+		expected.add(value);
+	    }
+	}
+
+	List<String> suggested = index.suggest(prefix, ALL);
+	assertEquals(expected, new HashSet<>(suggested), "prefix '" + prefix + "'");
+	assertEquals(expected.size(), suggested.size(), "duplicates for prefix '" + prefix + "'");
+
+	// Ordered by each value's first matching term
+	String previous = "";
+	for (String value : suggested) {
+	    String first = distinctTerms(value).stream().filter(term -> term.startsWith(normalized)).min(String::compareTo).get();
+	    assertTrue(previous.compareTo(first) <= 0, "order for prefix '" + prefix + "'");
+	    previous = first;
+	}
+    }
+
+    private static Collection<String> termsOf(String value)
+    {
+	List<String> parts = Arrays.asList(value.split("\\|"));
+	return parts.subList(1, parts.size());
+    }
+
+    private static Set<String> distinctTerms(String value)
+    {
+	Set<String> terms = new LinkedHashSet<>();
+	for (String term : termsOf(value)) {
+	    if (!term.trim().isEmpty()) {
+		terms.add(term.trim().toLowerCase(Locale.ROOT));
+	    }
+	}
+	return terms;
+    }
+
+    private static String value(Random random, String key)
+    {
+	StringBuilder value = new StringBuilder(key);
+	int terms = 1 + random.nextInt(3);
+	for (int t = 0; t < terms; t++) {
+	    value.append('|');
+	    int length = 1 + random.nextInt(4);
+	    for (int c = 0; c < length; c++) {
+		char letter = (char) ('a' + random.nextInt(4));
+		value.append(random.nextInt(5) == 0 ? Character.toUpperCase(letter) : letter);
+	    }
+	}
+	return value.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.issuetracker.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.issuetracker.util.TimerWheel;
+
+public class TimerWheelTest
+{
+    private static final long SPAN = 1L << (TimerWheel.SLOT_BITS * TimerWheel.LEVELS);
+
+    @Test
+    public void timersFireAtTheirDeadlineOnEveryLevelTest()
+    {
+	long start = 1_000_003;
+	TimerWheel<Integer> wheel = new TimerWheel<>(start);
+	Map<Integer, Long> deadlines = new HashMap<>();
+	Random random = new Random(7);
+	for (int key = 0; key < 5_000; key++) {
+	    // Spread deadlines over each level's reach
+	    long reach = 1L << (TimerWheel.SLOT_BITS * (1 + key % TimerWheel.LEVELS));
+	    long deadline = start + 1 + (long) (random.nextDouble() * reach);
+	    wheel.schedule(key, deadline);
+	    deadlines.put(key, deadline);
+	}
+
+	Map<Integer, Long> firedAt = new HashMap<>();
+	long end = start + SPAN;
+	for (long tick = start; tick < end; tick += 1 + random.nextInt(5_000)) {
+	    wheel.advanceTo(tick, key -> firedAt.put(key, wheel.currentTick()));
+	}
+	wheel.advanceTo(end, key -> firedAt.put(key, wheel.currentTick()));
+
+	assertEquals(deadlines, firedAt);
+	assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void cascadeBoundariesFireOnTimeTest()
+    {
+	TimerWheel<Long> wheel = new TimerWheel<>(0);
+	List<Long> deadlines = new ArrayList<>();
+	for (int level = 1; level < TimerWheel.LEVELS; level++) {
+	    long boundary = 1L << (TimerWheel.SLOT_BITS * level);
+	    for (long deadline : new long[] { boundary - 1, boundary, boundary + 1, 3 * boundary }) {
+		wheel.schedule(deadline, deadline);
+		deadlines.add(deadline);
+	    }
+	}
+
+	List<Long> fired = new ArrayList<>();
+	wheel.advanceTo(SPAN, key -> {
+	    assertEquals((long) key, wheel.currentTick());
+	    fired.add(key);
+	});
+	deadlines.sort(null);
+	assertEquals(deadlines, fired);
+    }
+
+    @Test
+    public void deadlinesBeyondTheTopLevelAreHeldBackTest()
+    {
+	TimerWheel<String> wheel = new TimerWheel<>(5);
+	long far = 5 + 2 * SPAN + 17;
+	wheel.schedule("far", far);
+
+	List<Long> firedAt = new ArrayList<>();
+	for (long tick = 5; tick <= far + 10; tick += 999) {
+	    wheel.advanceTo(tick, key -> firedAt.add(wheel.currentTick()));
+	}
+	wheel.advanceTo(far + 10, key -> firedAt.add(wheel.currentTick()));
+
+	assertEquals(1, firedAt.size());
+	assertEquals(far, (long) firedAt.get(0));
+    }
+
+    @Test
+    public void overdueTimersFireOnTheNextAdvanceTest()
+    {
+	TimerWheel<String> wheel = new TimerWheel<>(100);
+	wheel.schedule("late", 40);
+	wheel.schedule("now", 100);
+
+	List<String> fired = new ArrayList<>();
+	assertEquals(2, wheel.advanceTo(100, fired::add));
+	assertEquals(2, fired.size());
+	assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void rescheduleAndCancelReplaceTheTimerTest()
+    {
+	TimerWheel<String> wheel = new TimerWheel<>(0);
+	wheel.schedule("moved", 10);
+	wheel.schedule("moved", 5_000);
+	wheel.schedule("cancelled", 20);
+	assertTrue(wheel.cancel("cancelled"));
+	assertFalse(wheel.cancel("cancelled"));
+	assertEquals(5_000, wheel.deadline("moved"));
+	assertEquals(-1, wheel.deadline("cancelled"));
+
+	List<String> fired = new ArrayList<>();
+	wheel.advanceTo(4_999, fired::add);
+	assertTrue(fired.isEmpty());
+	wheel.advanceTo(5_000, fired::add);
+	assertEquals(List.of("moved"), fired);
+    }
+
+    @Test
+    public void anActionMayScheduleItsKeyAgainTest()
+    {
+	TimerWheel<String> wheel = new TimerWheel<>(0);
+	wheel.schedule("repeat", 100);
+
+	List<Long> firedAt = new ArrayList<>();
+	wheel.advanceTo(1_000, key -> {
+	    firedAt.add(wheel.currentTick());
+	    wheel.schedule(key, wheel.currentTick() + 300);
+	});
+	assertEquals(List.of(100L, 400L, 700L, 1_000L), firedAt);
+	assertEquals(1_300, wheel.deadline("repeat"));
+    }
+
+    @Test
+    public void emptyWheelJumpsStraightToTheTickTest()
+    {
+	TimerWheel<String> wheel = new TimerWheel<>(0);
+	assertEquals(0, wheel.advanceTo(Long.MAX_VALUE / 2, key -> { }));
+	assertEquals(Long.MAX_VALUE / 2, wheel.currentTick());
+
+	wheel.schedule("next", Long.MAX_VALUE / 2 + 65);
+	List<Long> firedAt = new ArrayList<>();
+	wheel.advanceTo(Long.MAX_VALUE / 2 + 100, key -> firedAt.add(wheel.currentTick()));
+	assertEquals(List.of(Long.MAX_VALUE / 2 + 65), firedAt);
+    }
+}
\ No newline at end of file